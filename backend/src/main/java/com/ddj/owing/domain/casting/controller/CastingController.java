@@ -2,6 +2,7 @@ package com.ddj.owing.domain.casting.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,7 +13,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
 import com.ddj.owing.domain.casting.model.dto.CastingImageRequestDto;
 import com.ddj.owing.domain.casting.model.dto.CastingImageResponseDto;
 import com.ddj.owing.domain.casting.model.dto.casting.CastingConnectionCreateDto;
@@ -35,7 +38,7 @@ public class CastingController {
 	private final CastingService castingService;
 
 	@PostMapping("/image")
-	public ResponseEntity<String> generateCharacterImage(@RequestBody CastingRequestDto castingRequestDto) {
+	public ResponseEntity<ImageJobDto> generateCharacterImage(@RequestBody CastingRequestDto castingRequestDto) {
 		return castingService.generateCharacterImage(castingRequestDto);
 	}
 
@@ -72,11 +75,18 @@ public class CastingController {
 
 	@PutMapping("/{castingId}/coord")
 	public ResponseEntity<CastingDto> updateCastingCoord(@PathVariable Long castingId,
-		@RequestBody CastingCoordUpdateDto castingCoordUpdateDto) {
-		CastingDto casting = castingService.updateCastingCoord(castingId, castingCoordUpdateDto);
+		@RequestBody CastingCoordUpdateDto castingCoordUpdateDto,
+		@RequestParam(defaultValue = "false") boolean dragEnd) {
+		CastingDto casting = castingService.updateCastingCoord(castingId, castingCoordUpdateDto, dragEnd);
 		return ResponseEntity.ok(casting);
 	}
 
+	@PutMapping("/coord")
+	public ResponseEntity<Void> updateCastingCoords(@RequestBody List<CastingCoordUpdateDto> castingCoordUpdateDtoList) {
+		castingService.updateCastingCoords(castingCoordUpdateDtoList);
+		return ResponseEntity.ok().build();
+	}
+
 	@DeleteMapping("/{castingId}")
 	public ResponseEntity<Void> deleteCasting(@PathVariable Long castingId) {
 		castingService.deleteCasting(castingId);
@@ -112,4 +122,12 @@ public class CastingController {
 		CastingGraphDto graph = castingService.getGraph(projectId);
 		return ResponseEntity.ok(graph);
 	}
+
+	@GetMapping("/graph/stream")
+	public ResponseEntity<StreamingResponseBody> streamGraph(@RequestParam Long projectId) {
+		StreamingResponseBody body = outputStream -> castingService.writeGraph(projectId, outputStream);
+		return ResponseEntity.ok()
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(body);
+	}
 }
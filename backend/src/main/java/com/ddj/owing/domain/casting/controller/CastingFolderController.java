@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderCreateDto;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderDto;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderPositionUpdateDto;
+import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderTreeDto;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderUpdateDto;
 import com.ddj.owing.domain.casting.service.CastingFolderService;
 
@@ -34,6 +35,11 @@ public class CastingFolderController {
 		return ResponseEntity.ok(stories);
 	}
 
+	@GetMapping("/tree")
+	public ResponseEntity<List<CastingFolderTreeDto>> getCastingFolderTree(@RequestParam Long projectId) {
+		return ResponseEntity.ok(castingFolderService.getCastingFolderTree(projectId));
+	}
+
 	@GetMapping("/{castingFolderId}")
 	public ResponseEntity<CastingFolderDto> getCastingFolder(@PathVariable Long castingFolderId) {
 		CastingFolderDto castingFolder = castingFolderService.getCastingFolder(castingFolderId);
@@ -4,8 +4,10 @@ import org.hibernate.annotations.SoftDelete;
 
 import com.ddj.owing.global.entity.BaseTimeEntity;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -43,6 +45,7 @@ public class Casting extends BaseTimeEntity {
 	private String role;
 
 	@Lob
+	@Basic(fetch = FetchType.LAZY)
 	@Column(columnDefinition = "TEXT")
 	private String detail;
 
@@ -60,8 +63,13 @@ public class Casting extends BaseTimeEntity {
 	@JoinColumn(name = "casting_folder_id")
 	private CastingFolder castingFolder;
 
+	// 정렬 키 도입 이전의 순서. 기존 데이터의 정렬 키를 채울 때만 사용한다.
+	@Column(insertable = false, updatable = false)
 	private Integer position;
 
+	@Column(columnDefinition = "varchar(255) COLLATE \"C\"")
+	private String orderKey;
+
     public void updateInfo(String name, Long age, String gender, String role, String detail, String imageUrl) {
         this.name = name;
         this.age = age;
@@ -80,7 +88,7 @@ public class Casting extends BaseTimeEntity {
 		this.castingFolder = newFolder;
 	}
 
-	public void updatePosition(int newPosition) {
-		this.position = newPosition;
+	public void updateOrderKey(String orderKey) {
+		this.orderKey = orderKey;
 	}
 }
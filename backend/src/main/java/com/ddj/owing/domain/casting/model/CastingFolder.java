@@ -8,6 +8,7 @@ import org.hibernate.annotations.SoftDelete;
 import com.ddj.owing.global.entity.BaseTimeEntity;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -32,17 +33,23 @@ public class CastingFolder extends BaseTimeEntity {
 
 	private String name;
 	private String description;
+
+	// 정렬 키 도입 이전의 순서. 기존 데이터의 정렬 키를 채울 때만 사용한다.
+	@Column(insertable = false, updatable = false)
 	private Integer position;
 
+	@Column(columnDefinition = "varchar(255) COLLATE \"C\"")
+	private String orderKey;
+
 	@OneToMany(mappedBy = "castingFolder", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Casting> castings = new ArrayList<>();
 
 	@Builder
-	CastingFolder(Long projectId, String name, String description, Integer position) {
+	CastingFolder(Long projectId, String name, String description, String orderKey) {
 		this.projectId = projectId;
 		this.name = name;
 		this.description = description;
-		this.position = position;
+		this.orderKey = orderKey;
 	}
 
 	public void update(String name, String description) {
@@ -50,7 +57,7 @@ public class CastingFolder extends BaseTimeEntity {
 		this.description = description;
 	}
 
-	public void updatePosition(Integer position) {
-		this.position = position;
+	public void updateOrderKey(String orderKey) {
+		this.orderKey = orderKey;
 	}
 }
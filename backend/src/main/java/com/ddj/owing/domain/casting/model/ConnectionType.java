@@ -14,7 +14,7 @@ public enum ConnectionType {
 
     public static ConnectionType of(String value) {
         for (ConnectionType type : ConnectionType.values()) {
-            if (type.value.equalsIgnoreCase(value)) {
+            if (type.value.equalsIgnoreCase(value) || type.name().equalsIgnoreCase(value)) {
                 return type;
             }
         }
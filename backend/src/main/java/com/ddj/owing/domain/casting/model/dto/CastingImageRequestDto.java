@@ -17,7 +17,7 @@ public record CastingImageRequestDto(
         Long folderId
 ) {
 
-    public Casting toEntity(CastingFolder castingFolder, Integer folderPosition, String imageUrl) {
+    public Casting toEntity(CastingFolder castingFolder, String orderKey, String imageUrl) {
 
         return Casting.builder()
                 .name(name)
@@ -29,7 +29,7 @@ public record CastingImageRequestDto(
                 .coordX(position.x())
                 .coordY(position.y())
                 .castingFolder(castingFolder)
-                .position(folderPosition)
+                .orderKey(orderKey)
                 .build();
     }
 
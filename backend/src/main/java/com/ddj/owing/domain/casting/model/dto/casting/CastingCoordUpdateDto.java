@@ -2,7 +2,12 @@ package com.ddj.owing.domain.casting.model.dto.casting;
 
 import com.ddj.owing.domain.casting.model.Position;
 
+/**
+ * @param id 일괄 변경 시 대상 캐릭터 id. 단건 변경은 경로의 id를 사용한다.
+ * @param position 변경할 좌표
+ */
 public record CastingCoordUpdateDto(
+	Long id,
 	Position position
 ) {
 }
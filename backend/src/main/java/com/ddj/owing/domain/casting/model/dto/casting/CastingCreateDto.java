@@ -19,7 +19,7 @@ public record CastingCreateDto(
 	Long folderId
 ) {
 
-	public Casting toEntity(CastingFolder castingFolder, Integer folderPosition) {
+	public Casting toEntity(CastingFolder castingFolder, String orderKey) {
 		return Casting.builder()
 			.name(name)
 			.age(age)
@@ -30,7 +30,7 @@ public record CastingCreateDto(
 			.coordX(position.x())
 			.coordY(position.y())
 			.castingFolder(castingFolder)
-			.position(folderPosition)
+			.orderKey(orderKey)
 			.build();
 	}
 
@@ -18,6 +18,14 @@ public record CastingDto(
 	Position position
 ) {
 
+	/**
+	 * 목록 조회 projection 용. detail 은 목록에 보이지 않으므로 읽지 않는다.
+	 */
+	public CastingDto(Long id, String name, Long age, String gender, String role, String imageUrl,
+		Integer coordX, Integer coordY) {
+		this(id, name, age, gender, role, null, imageUrl, new Position(coordX, coordY));
+	}
+
 	public static CastingDto from(CastingNode castingNode) {
 		return CastingDto.builder()
 			.id(castingNode.getId())
@@ -42,4 +50,23 @@ public record CastingDto(
 			.position(new Position(casting.getCoordX(), casting.getCoordY()))
 			.build();
 	}
+
+	/**
+	 * 이미 읽은 엔티티를 목록에 담을 때 쓴다. detail 은 지연 로딩이므로 건드리지 않는다.
+	 */
+	public static CastingDto listItemFrom(Casting casting) {
+		return CastingDto.builder()
+			.id(casting.getId())
+			.name(casting.getName())
+			.age(casting.getAge())
+			.gender(casting.getGender())
+			.role(casting.getRole())
+			.imageUrl(casting.getImageUrl())
+			.position(new Position(casting.getCoordX(), casting.getCoordY()))
+			.build();
+	}
+
+	public CastingDto withPosition(Position position) {
+		return new CastingDto(id, name, age, gender, role, detail, imageUrl, position);
+	}
 }
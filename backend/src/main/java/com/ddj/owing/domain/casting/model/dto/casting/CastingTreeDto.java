@@ -0,0 +1,9 @@
+package com.ddj.owing.domain.casting.model.dto.casting;
+
+public record CastingTreeDto(
+	Long folderId,
+	Long id,
+	String name,
+	String orderKey
+) {
+}
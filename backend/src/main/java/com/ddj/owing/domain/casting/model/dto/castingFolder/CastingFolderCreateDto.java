@@ -11,12 +11,12 @@ public record CastingFolderCreateDto(
 	String description
 ) {
 
-	public CastingFolder toEntity(Integer position) {
+	public CastingFolder toEntity(String orderKey) {
 		return CastingFolder.builder()
 			.projectId(projectId)
 			.name(name)
 			.description(description)
-			.position(position)
+			.orderKey(orderKey)
 			.build();
 	}
 }
\ No newline at end of file
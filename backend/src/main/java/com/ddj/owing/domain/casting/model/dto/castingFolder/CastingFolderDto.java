@@ -15,18 +15,25 @@ public record CastingFolderDto(
 	String name,
 	String description,
 	Integer position,
+	String orderKey,
 	List<CastingDto> files
 ) {
 
-	public static CastingFolderDto from(CastingFolder castingFolder) {
+	/**
+	 * @param position 프로젝트 안에서의 순번(0부터)
+	 */
+	public static CastingFolderDto from(CastingFolder castingFolder, int position) {
 		return CastingFolderDto.builder()
 			.id(castingFolder.getId())
 			.name(castingFolder.getName())
 			.description(castingFolder.getDescription())
-			.position(castingFolder.getPosition())
+			.position(position)
+			.orderKey(castingFolder.getOrderKey())
 			.files(castingFolder.getCastings().stream()
-				.sorted(Comparator.comparing(Casting::getPosition))
-				.map(CastingDto::from)
+				.sorted(Comparator.comparing(Casting::getOrderKey, Comparator.nullsFirst(Comparator.naturalOrder()))
+					.thenComparing(Casting::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+					.thenComparing(Casting::getId))
+				.map(CastingDto::listItemFrom)
 				.toList())
 			.build();
 	}
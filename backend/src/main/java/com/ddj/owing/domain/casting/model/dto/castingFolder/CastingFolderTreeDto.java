@@ -0,0 +1,24 @@
+package com.ddj.owing.domain.casting.model.dto.castingFolder;
+
+import java.util.List;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingTreeDto;
+
+/**
+ * 사이드바 트리에 필요한 필드만 담은 폴더. 조회 쿼리에서 바로 만들고, 파일 목록은 나중에 채운다.
+ */
+public record CastingFolderTreeDto(
+	Long id,
+	String name,
+	String orderKey,
+	List<CastingTreeDto> files
+) {
+
+	public CastingFolderTreeDto(Long id, String name, String orderKey) {
+		this(id, name, orderKey, List.of());
+	}
+
+	public CastingFolderTreeDto withFiles(List<CastingTreeDto> files) {
+		return new CastingFolderTreeDto(id, name, orderKey, files);
+	}
+}
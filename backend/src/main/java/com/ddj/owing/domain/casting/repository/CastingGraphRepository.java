@@ -0,0 +1,119 @@
+package com.ddj.owing.domain.casting.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import com.ddj.owing.domain.casting.model.ConnectionHandle;
+import com.ddj.owing.domain.casting.model.Position;
+import com.ddj.owing.domain.casting.model.dto.CastingRelationshipInfoDto;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingNodeDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 관계도 조회 전용 Repository.
+ * 노드와 관계를 하나의 projection 쿼리로 가져오며, SDN 엔티티 매핑 없이 레코드 단위로 전달한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CastingGraphRepository {
+
+	private static final String NODE_KIND = "node";
+
+	/**
+	 * UNION ALL 은 앞쪽 쿼리의 결과를 먼저 반환하므로 노드가 모두 나온 뒤 관계가 이어진다.
+	 */
+	private static final String GRAPH_QUERY = """
+		MATCH (p:Project{id: $projectId})-[:INCLUDED]->(n:Cast)
+		WHERE p.deletedAt IS NULL AND n.deletedAt IS NULL
+		RETURN 'node' AS kind,
+			n.id AS id, n.name AS name, n.role AS role, n.imageUrl AS imageUrl,
+			n.coordX AS coordX, n.coordY AS coordY,
+			null AS uuid, null AS type, null AS label, null AS sourceId, null AS targetId,
+			null AS sourceHandle, null AS targetHandle
+		UNION ALL
+		MATCH (p:Project{id: $projectId})-[:INCLUDED]->(n:Cast)-[r:CONNECTION|BI_CONNECTION]->(m:Cast)
+		WHERE p.deletedAt IS NULL AND n.deletedAt IS NULL AND m.deletedAt IS NULL
+		WITH DISTINCT type(r) AS type, r.uuid AS uuid, r.label AS label,
+			r.sourceId AS sourceId, r.targetId AS targetId,
+			r.sourceHandle AS sourceHandle, r.targetHandle AS targetHandle
+		RETURN 'edge' AS kind,
+			null AS id, null AS name, null AS role, null AS imageUrl,
+			null AS coordX, null AS coordY,
+			uuid, type, label, sourceId, targetId,
+			sourceHandle, targetHandle
+		""";
+
+	private final Neo4jClient neo4jClient;
+
+	/**
+	 * 프로젝트의 관계도를 한 번의 왕복으로 조회하여 레코드가 도착하는 대로 consumer 에 넘긴다.
+	 *
+	 * @param projectId 프로젝트 id
+	 * @param nodeConsumer 노드 레코드 처리기. 모든 노드는 관계보다 먼저 전달된다.
+	 * @param edgeConsumer 관계 레코드 처리기
+	 */
+	public void streamGraph(
+		Long projectId,
+		Consumer<CastingNodeDto> nodeConsumer,
+		Consumer<CastingRelationshipInfoDto> edgeConsumer
+	) {
+		neo4jClient.delegateTo(queryRunner -> {
+			Result result = queryRunner.run(GRAPH_QUERY, Map.of("projectId", projectId));
+			while (result.hasNext()) {
+				Record record = result.next();
+				if (NODE_KIND.equals(record.get("kind").asString())) {
+					nodeConsumer.accept(toNode(record));
+				} else {
+					edgeConsumer.accept(toEdge(record));
+				}
+			}
+			return Optional.empty();
+		}).run();
+	}
+
+	private CastingNodeDto toNode(Record record) {
+		return CastingNodeDto.builder()
+			.id(asLong(record.get("id")))
+			.name(asString(record.get("name")))
+			.role(asString(record.get("role")))
+			.imageUrl(asString(record.get("imageUrl")))
+			.position(new Position(asInteger(record.get("coordX")), asInteger(record.get("coordY"))))
+			.build();
+	}
+
+	private CastingRelationshipInfoDto toEdge(Record record) {
+		return new CastingRelationshipInfoDto(
+			asString(record.get("uuid")),
+			asString(record.get("type")),
+			asString(record.get("label")),
+			asLong(record.get("sourceId")),
+			asLong(record.get("targetId")),
+			asHandle(record.get("sourceHandle")),
+			asHandle(record.get("targetHandle"))
+		);
+	}
+
+	private static String asString(Value value) {
+		return value.isNull() ? null : value.asString();
+	}
+
+	private static Long asLong(Value value) {
+		return value.isNull() ? null : value.asLong();
+	}
+
+	private static Integer asInteger(Value value) {
+		return value.isNull() ? null : value.asInt();
+	}
+
+	private static ConnectionHandle asHandle(Value value) {
+		return value.isNull() ? null : ConnectionHandle.fromString(value.asString());
+	}
+}
@@ -9,6 +9,7 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -21,6 +22,36 @@ public interface CastingNodeRepository extends Neo4jRepository<CastingNode, Long
             "RETURN n1, collect(r), collect(n2)")
     Optional<CastingNode> findById(Long id);
 
+    @Query("MATCH (n1:Cast{id: $id}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "RETURN count(n1) > 0")
+    boolean existsActiveById(Long id);
+
+    /**
+     * Postgres 의 현재 상태로 노드를 덮어쓴다. 프로젝트 노드가 아직 없으면 0 을 반환한다.
+     */
+    @Query("MATCH (n2:Project{id: $projectId}) " +
+            "MERGE (n1:Cast{id: $id}) " +
+            "ON CREATE SET n1.createdAt = localdatetime() " +
+            "SET n1.name = $name, n1.age = $age, n1.gender = $gender, n1.role = $role, n1.imageUrl = $imageUrl, " +
+                "n1.coordX = $coordX, n1.coordY = $coordY, n1.updatedAt = localdatetime(), n1.deletedAt = null " +
+            "MERGE (n2)-[:INCLUDED]->(n1) " +
+            "RETURN count(n1)")
+    Integer upsertById(Long id, Long projectId, String name, Long age, String gender, String role, String imageUrl,
+            Integer coordX, Integer coordY);
+
+    /**
+     * 프로젝트와의 INCLUDED 관계가 없어도 노드는 삭제 처리한다. 이때는 비울 캐시가 없으므로 빈 값을 반환한다.
+     */
+    @Query("MATCH (n1:Cast{id: $id}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "SET n1.deletedAt = localdatetime(), n1.updatedAt = localdatetime() " +
+            "WITH n1 " +
+            "OPTIONAL MATCH (n2:Project)-[:INCLUDED]->(n1) " +
+            "RETURN n2.id " +
+            "LIMIT 1")
+    Optional<Long> softDeleteReturningProjectId(Long id);
+
     @Query("MATCH (n1:Cast{id: $sourceId})-[r:CONNECTION{uuid: $uuid}]->(n2:Cast{id: $targetId}) " +
             "WHERE n1.deletedAt IS NULL AND n2.deletedAt IS NULL " +
             "SET r.label = $label " +
@@ -44,6 +75,20 @@ public interface CastingNodeRepository extends Neo4jRepository<CastingNode, Long
             "RETURN count(DISTINCT r)")
     Integer deleteConnectionByUuid(String uuid);
 
+    @Query("MATCH (n1:Project)-[:INCLUDED]->(n2:Cast)-[r:CONNECTION|BI_CONNECTION{uuid: $uuid}]-(:Cast) " +
+            "RETURN n1.id " +
+            "LIMIT 1")
+    Optional<Long> findProjectIdByConnectionUuid(String uuid);
+
+    @Query("UNWIND $coords AS coord " +
+            "MATCH (n1:Cast{id: coord.id}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "SET n1.coordX = coord.x, n1.coordY = coord.y, n1.updatedAt = localdatetime() " +
+            "WITH n1 " +
+            "MATCH (n2:Project)-[:INCLUDED]->(n1) " +
+            "RETURN DISTINCT n2.id")
+    List<Long> updateCoords(List<Map<String, Object>> coords);
+
     @Query("MATCH (n1:Project{id: $projectId})-[r1:INCLUDED]->(n2:Cast) " +
             "WHERE n1.deletedAt IS NULL " +
                 "AND n2.deletedAt IS NULL " +
@@ -1,6 +1,8 @@
 package com.ddj.owing.domain.casting.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,27 +10,38 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ddj.owing.domain.casting.model.Casting;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingDto;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingTreeDto;
 
 @Repository
 public interface CastingRepository extends JpaRepository<Casting, Long> {
-	@Query("SELECT COALESCE(MAX(position), 0) FROM Casting WHERE castingFolder.id = :folderId")
-	Integer findMaxOrderByCastingFolderId(Long folderId);
+	@Query("SELECT c FROM Casting c WHERE c.castingFolder.id = :folderId "
+		+ "ORDER BY c.orderKey ASC NULLS FIRST, c.position ASC, c.id ASC")
+	List<Casting> findByCastingFolderIdOrderByOrderKey(Long folderId);
 
-	@Modifying
-	@Query("update Casting set position = position - 1 where position between :start and :end and castingFolder.id = :folderId")
-	void decrementPositionBetween(Integer start, Integer end, Long folderId);
+	/**
+	 * 프로젝트의 모든 캐릭터를 폴더별 순서대로 가져온다. 사이드바 트리에 필요한 필드만 읽으므로 detail 같은 긴 컬럼은 읽지 않는다.
+	 */
+	@Query("SELECT new com.ddj.owing.domain.casting.model.dto.casting.CastingTreeDto(cf.id, c.id, c.name, c.orderKey) "
+		+ "FROM Casting c JOIN c.castingFolder cf WHERE cf.projectId = :projectId "
+		+ "ORDER BY cf.id ASC, c.orderKey ASC NULLS FIRST, c.position ASC, c.id ASC")
+	List<CastingTreeDto> findTreeByProjectId(Long projectId);
 
-	@Modifying
-	@Query("update Casting set position = position + 1 where position between :start and :end and castingFolder.id = :folderId")
-	void incrementPositionBetween(Integer start, Integer end, Long folderId);
+	@Query("SELECT new com.ddj.owing.domain.casting.model.dto.casting.CastingDto("
+		+ "c.id, c.name, c.age, c.gender, c.role, c.imageUrl, c.coordX, c.coordY) "
+		+ "FROM Casting c WHERE c.castingFolder.id = :folderId "
+		+ "ORDER BY c.orderKey ASC NULLS FIRST, c.position ASC, c.id ASC")
+	List<CastingDto> findListByCastingFolderId(Long folderId);
 
-	@Modifying
-	@Query("update Casting set position = position - 1 where position > :position and castingFolder.id = :folderId")
-	void decrementPositionAfter(Integer position, Long folderId);
+	long countByIdIn(Collection<Long> ids);
 
-	@Modifying
-	@Query("update Casting set position = position + 1 where position >= :position and castingFolder.id = :folderId")
-	void incrementPositionAfter(Integer position, Long folderId);
+	@Query("SELECT c.castingFolder.projectId FROM Casting c WHERE c.id = :id")
+	Optional<Long> findProjectIdById(Long id);
 
-	List<Casting> findByCastingFolderIdOrderByPositionAsc(Long folderId);
+	@Modifying
+	@Query(value = "UPDATE casting c SET coord_x = v.coord_x, coord_y = v.coord_y, updated_at = now() " +
+		"FROM unnest(CAST(:ids AS bigint[]), CAST(:coordXs AS integer[]), CAST(:coordYs AS integer[])) " +
+		"AS v(id, coord_x, coord_y) " +
+		"WHERE c.id = v.id AND c.deleted = false", nativeQuery = true)
+	int updateCoords(Long[] ids, Integer[] coordXs, Integer[] coordYs);
 }
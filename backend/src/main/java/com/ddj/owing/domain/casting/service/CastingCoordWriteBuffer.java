@@ -0,0 +1,137 @@
+package com.ddj.owing.domain.casting.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.casting.model.Position;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 드래그 중 빈번하게 들어오는 좌표 변경을 캐릭터별 마지막 값만 남겨 모아두었다가 주기적으로 반영한다.
+ * 버퍼는 인스턴스 메모리에 있으며 최대 건수를 넘으면 요청 스레드에서 즉시 반영한다.
+ * 관계도 조회는 해당 프로젝트의 대기 좌표만 반영하므로, 다른 프로젝트의 조회는 반영을 기다리지 않는다.
+ */
+@Slf4j
+@Component
+public class CastingCoordWriteBuffer {
+
+	private final Map<Long, PendingCoord> pendingCoords = new ConcurrentHashMap<>();
+	// 반영은 DB 호출을 포함하므로 가상 스레드의 캐리어를 고정하지 않도록 synchronized 대신 사용한다.
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final CastingCoordWriter castingCoordWriter;
+	private final int maxPendingSize;
+
+	public CastingCoordWriteBuffer(
+		CastingCoordWriter castingCoordWriter,
+		@Value("${casting.coord.buffer.max-size:10000}") int maxPendingSize
+	) {
+		this.castingCoordWriter = castingCoordWriter;
+		this.maxPendingSize = maxPendingSize;
+	}
+
+	/**
+	 * 좌표를 버퍼에 담는다. 버퍼가 가득 차 있고 반영에도 실패하면 해당 좌표를 바로 저장한다.
+	 */
+	public void buffer(Long projectId, Long castingId, Position position) {
+		if (!pendingCoords.containsKey(castingId) && pendingCoords.size() >= maxPendingSize) {
+			flush();
+			if (pendingCoords.size() >= maxPendingSize) {
+				castingCoordWriter.write(Map.of(castingId, position));
+				return;
+			}
+		}
+		pendingCoords.put(castingId, new PendingCoord(projectId, position));
+	}
+
+	public Optional<Position> get(Long castingId) {
+		return Optional.ofNullable(pendingCoords.get(castingId)).map(PendingCoord::position);
+	}
+
+	/**
+	 * 더 최신 값으로 직접 저장되었거나 삭제된 캐릭터의 대기 좌표를 버린다.
+	 */
+	public void discard(Collection<Long> castingIds) {
+		castingIds.forEach(pendingCoords::remove);
+	}
+
+	@Scheduled(fixedDelayString = "${casting.coord.buffer.flush-interval-ms:500}")
+	public void flushPeriodically() {
+		flush();
+	}
+
+	/**
+	 * 대기 중인 좌표를 한 번에 반영한다. 반영 도중 새로 들어온 좌표는 다음 반영까지 남겨둔다.
+	 * 실패하면 대기 좌표를 그대로 두고 다음 주기에 다시 시도한다.
+	 */
+	public void flush() {
+		flushLock.lock();
+		try {
+			flushMatching(pending -> true);
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * 프로젝트의 대기 좌표만 반영한다. 대기 좌표가 없으면 잠금 없이 바로 반환한다.
+	 */
+	public void flush(Long projectId) {
+		Predicate<PendingCoord> ofProject = pending -> projectId.equals(pending.projectId());
+		if (pendingCoords.values().stream().noneMatch(ofProject)) {
+			return;
+		}
+		flushLock.lock();
+		try {
+			flushMatching(ofProject);
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * 반영 도중 같은 캐릭터의 좌표가 다시 들어왔으면 그 좌표는 남겨둔다.
+	 */
+	private void flushMatching(Predicate<PendingCoord> filter) {
+		Map<Long, PendingCoord> snapshot = new HashMap<>();
+		pendingCoords.forEach((castingId, pending) -> {
+			if (filter.test(pending)) {
+				snapshot.put(castingId, pending);
+			}
+		});
+		if (snapshot.isEmpty()) {
+			return;
+		}
+
+		Map<Long, Position> coords = new HashMap<>();
+		snapshot.forEach((castingId, pending) -> coords.put(castingId, pending.position()));
+		try {
+			int updatedCount = castingCoordWriter.write(coords);
+			if (updatedCount != coords.size()) {
+				log.warn("삭제된 캐릭터의 좌표는 반영하지 않았습니다. 요청:{}, 반영:{}", coords.size(), updatedCount);
+			}
+		} catch (RuntimeException e) {
+			log.error("캐릭터 좌표 반영 실패. 대기 건수:{}", coords.size(), e);
+			return;
+		}
+		snapshot.forEach(pendingCoords::remove);
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		flush();
+	}
+
+	private record PendingCoord(Long projectId, Position position) {
+	}
+}
@@ -0,0 +1,132 @@
+package com.ddj.owing.domain.casting.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.domain.casting.model.Position;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.global.config.JpaTransactionConfig;
+import com.ddj.owing.global.config.Neo4jConfiguration;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphOutboxPublisher;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 캐릭터 좌표를 Postgres 와 Neo4j 에 일괄 반영한다.
+ * 건수와 무관하게 저장소마다 한 번의 쿼리만 실행한다.
+ * 조회 트랜잭션 안에서 버퍼를 비울 때도 쓰이므로 항상 별도 트랜잭션으로 실행한다.
+ * 관계도가 바로 새 좌표를 보여야 하므로 Neo4j 에도 직접 쓰되, Postgres 가 롤백되면 쓰지 않도록 커밋 후에 쓴다.
+ * Neo4j 쓰기가 실패하면 outbox 에 남겨 릴레이가 Postgres 좌표로 맞추게 한다.
+ */
+@Slf4j
+@Component
+public class CastingCoordWriter {
+
+	private final CastingRepository castingRepository;
+	private final CastingNodeRepository castingNodeRepository;
+	private final CastingGraphCache castingGraphCache;
+	private final GraphOutboxPublisher graphOutboxPublisher;
+	private final TransactionTemplate neo4jTransactionTemplate;
+	private final TransactionTemplate jpaTransactionTemplate;
+
+	public CastingCoordWriter(
+		CastingRepository castingRepository,
+		CastingNodeRepository castingNodeRepository,
+		CastingGraphCache castingGraphCache,
+		GraphOutboxPublisher graphOutboxPublisher,
+		@Qualifier(Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER) PlatformTransactionManager neo4jTransactionManager,
+		@Qualifier(JpaTransactionConfig.JPA_TRANSACTION_MANAGER) PlatformTransactionManager jpaTransactionManager
+	) {
+		this.castingRepository = castingRepository;
+		this.castingNodeRepository = castingNodeRepository;
+		this.castingGraphCache = castingGraphCache;
+		this.graphOutboxPublisher = graphOutboxPublisher;
+		// 커밋 후 콜백 안에서는 기존 트랜잭션에 참여하지 않도록 항상 새 트랜잭션을 연다.
+		this.neo4jTransactionTemplate = new TransactionTemplate(neo4jTransactionManager);
+		this.neo4jTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.jpaTransactionTemplate = new TransactionTemplate(jpaTransactionManager);
+		this.jpaTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * @param coords 캐릭터 id별 좌표
+	 * @return Postgres 에서 실제로 변경된 캐릭터 수. 삭제된 캐릭터는 제외된다.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int write(Map<Long, Position> coords) {
+		if (coords.isEmpty()) {
+			return 0;
+		}
+
+		Long[] ids = coords.keySet().toArray(Long[]::new);
+		Integer[] coordXs = new Integer[ids.length];
+		Integer[] coordYs = new Integer[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			Position position = coords.get(ids[i]);
+			coordXs[i] = position.x();
+			coordYs[i] = position.y();
+		}
+		int updatedCount = castingRepository.updateCoords(ids, coordXs, coordYs);
+		writeNodes(coords);
+
+		return updatedCount;
+	}
+
+	/**
+	 * 호출 측의 JPA 트랜잭션 안에서 Postgres 좌표를 바꾼 뒤에 호출한다.
+	 * 트랜잭션이 커밋된 뒤에만 Neo4j 에 쓰며, 롤백되면 아무것도 쓰지 않는다.
+	 */
+	public void writeNodes(Map<Long, Position> coords) {
+		Map<Long, Position> snapshot = Map.copyOf(coords);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			writeNodesNow(snapshot);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				writeNodesNow(snapshot);
+			}
+		});
+	}
+
+	private void writeNodesNow(Map<Long, Position> coords) {
+		List<Map<String, Object>> nodeCoords = coords.entrySet().stream()
+			.map(entry -> Map.<String, Object>of(
+				"id", entry.getKey(),
+				"x", entry.getValue().x(),
+				"y", entry.getValue().y()
+			))
+			.toList();
+		try {
+			neo4jTransactionTemplate.executeWithoutResult(
+				status -> castingNodeRepository.updateCoords(nodeCoords).forEach(castingGraphCache::evict));
+		} catch (DataAccessException | TransactionException e) {
+			log.warn("Neo4j 좌표 반영 실패. outbox 로 다시 반영합니다. size:{}", coords.size(), e);
+			publishToOutbox(coords);
+		}
+	}
+
+	private void publishToOutbox(Map<Long, Position> coords) {
+		try {
+			jpaTransactionTemplate.executeWithoutResult(
+				status -> graphOutboxPublisher.publishAll(GraphAggregateType.CASTING, coords.keySet()));
+		} catch (DataAccessException | TransactionException e) {
+			log.error("좌표 outbox 기록 실패. 정합성 검사에서 다시 맞춰집니다. ids:{}", coords.keySet(), e);
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package com.ddj.owing.domain.casting.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,9 +13,14 @@ import com.ddj.owing.domain.casting.error.exception.CastingFolderException;
 import com.ddj.owing.domain.casting.model.CastingFolder;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderCreateDto;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderDto;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingTreeDto;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderPositionUpdateDto;
+import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderTreeDto;
 import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderUpdateDto;
 import com.ddj.owing.domain.casting.repository.CastingFolderRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.global.ordering.OrderKeyAssigner;
+import com.ddj.owing.global.ordering.OrderedTable;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +29,8 @@ import lombok.RequiredArgsConstructor;
 @Transactional(readOnly = true)
 public class CastingFolderService {
 	private final CastingFolderRepository castingFolderRepository;
+	private final CastingRepository castingRepository;
+	private final OrderKeyAssigner orderKeyAssigner;
 
 	private CastingFolder findById(Long id) {
 		return castingFolderRepository.findById(id)
@@ -29,24 +39,43 @@ public class CastingFolderService {
 
 	public List<CastingFolderDto> getCastingFolderList(Long projectId) {
 		// todo: permission
-		return castingFolderRepository.findAllByProjectIdOrderByPositionAsc(projectId)
+		List<CastingFolder> castingFolders = castingFolderRepository.findAllByProjectIdOrderByOrderKey(projectId);
+		return IntStream.range(0, castingFolders.size())
+			.mapToObj(i -> CastingFolderDto.from(castingFolders.get(i), i))
+			.toList();
+	}
+
+	/**
+	 * 사이드바 트리. 폴더 수와 무관하게 폴더와 캐릭터를 각각 한 번의 projection 쿼리로 읽는다.
+	 */
+	public List<CastingFolderTreeDto> getCastingFolderTree(Long projectId) {
+		// todo: permission
+		Map<Long, List<CastingTreeDto>> filesByFolderId = castingRepository.findTreeByProjectId(projectId)
+			.stream()
+			.collect(Collectors.groupingBy(CastingTreeDto::folderId));
+		return castingFolderRepository.findTreeByProjectId(projectId)
 			.stream()
-			.map(CastingFolderDto::from)
+			.map(folder -> folder.withFiles(filesByFolderId.getOrDefault(folder.id(), List.of())))
 			.toList();
 	}
 
 	public CastingFolderDto getCastingFolder(Long id) {
 		// todo: permission
 		CastingFolder folder = findById(id);
-		return CastingFolderDto.from(folder);
+		return toDto(folder);
+	}
+
+	private CastingFolderDto toDto(CastingFolder castingFolder) {
+		return CastingFolderDto.from(castingFolder,
+			orderKeyAssigner.indexOf(OrderedTable.CASTING_FOLDER, castingFolder.getId(), castingFolder.getProjectId()));
 	}
 
 	@Transactional
 	public CastingFolderDto createCastingFolder(CastingFolderCreateDto castingFolderCreateDto) {
 		// todo: permission
-		Integer position = castingFolderRepository.findMaxOrderByProjectId(castingFolderCreateDto.projectId());
-		CastingFolder castingFolder = castingFolderCreateDto.toEntity(position);
-		return CastingFolderDto.from(castingFolderRepository.save(castingFolder));
+		String orderKey = orderKeyAssigner.last(OrderedTable.CASTING_FOLDER, castingFolderCreateDto.projectId());
+		CastingFolder castingFolder = castingFolderCreateDto.toEntity(orderKey);
+		return toDto(castingFolderRepository.save(castingFolder));
 	}
 
 	@Transactional
@@ -56,42 +85,28 @@ public class CastingFolderService {
 		CastingFolder castingFolder = findById(id);
 		castingFolder.update(castingFolderUpdateDto.name(), castingFolderUpdateDto.description());
 
-		return CastingFolderDto.from(castingFolderRepository.save(castingFolder));
+		return toDto(castingFolderRepository.save(castingFolder));
 	}
 
 	@Transactional
 	public void deleteCastingFolder(Long id) {
-		CastingFolder castingFolder = findById(id);
-		castingFolderRepository.decrementPositionAfter(castingFolder.getPosition(), castingFolder.getProjectId());
-
+		findById(id);
 		castingFolderRepository.deleteById(id);
 	}
 
+	/**
+	 * 이동하는 폴더를 제외한 목록의 position 번째(0부터) 자리로 옮긴다. 다른 폴더의 순서는 갱신하지 않는다.
+	 */
 	@Transactional
 	public CastingFolderDto updateCastingFolderPosition(Long id,
 		CastingFolderPositionUpdateDto castingFolderPositionUpdateDto) {
 		CastingFolder castingFolder = findById(id);
-		Integer newPosition = castingFolderPositionUpdateDto.position();
-
-		if (castingFolder.getPosition().equals(newPosition)) {
-			return CastingFolderDto.from(castingFolder);
-		}
-
-		Integer maxPosition = castingFolderRepository.findMaxOrderByProjectId(castingFolder.getProjectId());
-		if (newPosition < 0 || newPosition > maxPosition) {
-			throw CastingFolderException.of(CastingFolderErrorCode.INVALID_POSITION);
-		}
-
-		if (castingFolder.getPosition() < newPosition) {
-			castingFolderRepository.decrementPositionBetween(castingFolder.getPosition() + 1, newPosition,
-				castingFolder.getProjectId());
-		} else {
-			castingFolderRepository.incrementPositionBetween(newPosition, castingFolder.getPosition() - 1,
-				castingFolder.getProjectId());
-		}
-		castingFolder.updatePosition(newPosition);
+		String orderKey = orderKeyAssigner.at(OrderedTable.CASTING_FOLDER, castingFolder.getId(),
+				castingFolderPositionUpdateDto.position(), castingFolder.getProjectId())
+			.orElseThrow(() -> CastingFolderException.of(CastingFolderErrorCode.INVALID_POSITION));
+		castingFolder.updateOrderKey(orderKey);
 		castingFolder = castingFolderRepository.save(castingFolder);
 
-		return CastingFolderDto.from(castingFolder);
+		return CastingFolderDto.from(castingFolder, castingFolderPositionUpdateDto.position());
 	}
 }
@@ -0,0 +1,148 @@
+package com.ddj.owing.domain.casting.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 프로젝트 단위 관계도 JSON 캐시.
+ * Redis 장애 시에는 캐시 미스로 취급하여 조회가 Neo4j 로 넘어가도록 한다.
+ * 프로젝트마다 세대 번호를 두어, 조회를 시작한 뒤 관계도가 바뀌었으면 조회 결과를 캐시하지 않는다.
+ */
+@Slf4j
+@Component
+public class CastingGraphCache {
+
+	private static final String KEY_PREFIX = "casting:graph:";
+	private static final String VERSION_KEY_PREFIX = "casting:graph:version:";
+	private static final String METRIC_NAME = "casting.graph.cache";
+
+	/**
+	 * 세대 번호가 조회 시작 때와 같을 때만 저장한다. 세대 번호가 없으면 빈 문자열과 같은 것으로 본다.
+	 */
+	private static final RedisScript<Long> PUT_IF_VERSION_SCRIPT = RedisScript.of("""
+		if (redis.call('GET', KEYS[1]) or '') == ARGV[1] then
+			redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+			return 1
+		end
+		return 0
+		""", Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+	private final Duration ttl;
+	private final int maxBytes;
+	private final Counter hitCounter;
+	private final Counter missCounter;
+
+	public CastingGraphCache(
+		StringRedisTemplate redisTemplate,
+		MeterRegistry meterRegistry,
+		@Value("${casting.graph.cache.ttl:10m}") Duration ttl,
+		@Value("${casting.graph.cache.max-bytes:1048576}") int maxBytes
+	) {
+		this.redisTemplate = redisTemplate;
+		this.ttl = ttl;
+		this.maxBytes = maxBytes;
+		this.hitCounter = meterRegistry.counter(METRIC_NAME, "result", "hit");
+		this.missCounter = meterRegistry.counter(METRIC_NAME, "result", "miss");
+	}
+
+	public Optional<String> get(Long projectId) {
+		try {
+			String graphJson = redisTemplate.opsForValue().get(key(projectId));
+			(graphJson == null ? missCounter : hitCounter).increment();
+			return Optional.ofNullable(graphJson);
+		} catch (DataAccessException e) {
+			log.warn("관계도 캐시 조회 실패. projectId:{}", projectId, e);
+			missCounter.increment();
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * 관계도를 읽기 전에 호출하여, 저장할 때 넘길 세대 번호를 받는다.
+	 *
+	 * @return 세대 번호. Redis 장애 시에는 empty 이며 이때는 저장하지 않는다.
+	 */
+	public Optional<String> version(Long projectId) {
+		try {
+			String version = redisTemplate.opsForValue().get(versionKey(projectId));
+			return Optional.of(version == null ? "" : version);
+		} catch (DataAccessException e) {
+			log.warn("관계도 캐시 세대 조회 실패. projectId:{}", projectId, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * 캐시에 담을 수 있는 관계도 JSON 의 최대 바이트 수. 이보다 큰 관계도는 캐시하지 않는다.
+	 */
+	public int getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * @param version 조회 전에 {@link #version} 으로 받은 세대 번호. 그 사이 관계도가 바뀌었으면 저장하지 않는다.
+	 */
+	public void put(Long projectId, String version, String graphJson) {
+		try {
+			redisTemplate.execute(PUT_IF_VERSION_SCRIPT, List.of(versionKey(projectId), key(projectId)),
+				version, graphJson, String.valueOf(ttl.toMillis()));
+		} catch (DataAccessException e) {
+			log.warn("관계도 캐시 저장 실패. projectId:{}", projectId, e);
+		}
+	}
+
+	/**
+	 * 트랜잭션 안에서 호출되면 커밋 이후에 삭제하여, 커밋 전 조회가 이전 그래프를 다시 캐시하지 않도록 한다.
+	 * 삭제 전에 세대 번호를 올리므로, 삭제 전에 조회를 시작한 요청도 이전 그래프를 다시 저장하지 못한다.
+	 *
+	 * @param projectId 변경된 관계도의 프로젝트 id
+	 */
+	public void evict(Long projectId) {
+		if (projectId == null) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					delete(projectId);
+				}
+			});
+			return;
+		}
+		delete(projectId);
+	}
+
+	private void delete(Long projectId) {
+		try {
+			redisTemplate.opsForValue().increment(versionKey(projectId));
+			redisTemplate.expire(versionKey(projectId), ttl.multipliedBy(2));
+			redisTemplate.delete(key(projectId));
+		} catch (DataAccessException e) {
+			log.warn("관계도 캐시 삭제 실패. projectId:{}", projectId, e);
+		}
+	}
+
+	private String key(Long projectId) {
+		return KEY_PREFIX + projectId;
+	}
+
+	private String versionKey(Long projectId) {
+		return VERSION_KEY_PREFIX + projectId;
+	}
+}
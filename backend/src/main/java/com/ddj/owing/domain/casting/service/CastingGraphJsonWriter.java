@@ -0,0 +1,130 @@
+package com.ddj.owing.domain.casting.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import com.ddj.owing.domain.casting.model.dto.CastingRelationshipInfoDto;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingNodeDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * CastingGraphDto 와 같은 형태({"nodes": [...], "edges": [...]})의 JSON 을 레코드 단위로 직접 출력한다.
+ * 노드를 모두 쓴 뒤 관계를 쓰는 순서를 전제로 한다.
+ */
+class CastingGraphJsonWriter implements AutoCloseable {
+
+	private final JsonGenerator generator;
+	private boolean edgesStarted;
+
+	CastingGraphJsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+		this.generator = objectMapper.createGenerator(outputStream)
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("nodes");
+	}
+
+	/**
+	 * 응답으로 내보내는 바이트를 캐시 저장용으로 함께 복사하는 스트림을 만든다.
+	 */
+	static OutputStream tee(OutputStream outputStream, OutputStream copy) {
+		return new FilterOutputStream(outputStream) {
+			@Override
+			public void write(int b) throws IOException {
+				out.write(b);
+				copy.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+				copy.write(b, off, len);
+			}
+		};
+	}
+
+	void writeNode(CastingNodeDto node) {
+		write(node);
+	}
+
+	void writeEdge(CastingRelationshipInfoDto edge) {
+		try {
+			if (!edgesStarted) {
+				generator.writeEndArray();
+				generator.writeArrayFieldStart("edges");
+				edgesStarted = true;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		write(edge);
+	}
+
+	private void write(Object value) {
+		try {
+			generator.writeObject(value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 모든 레코드를 쓴 뒤 호출한다. 조회 도중 실패하면 호출되지 않으므로 잘린 응답이 완결된 JSON 처럼 보이지 않는다.
+	 */
+	void finish() throws IOException {
+		if (!edgesStarted) {
+			generator.writeEndArray();
+			generator.writeArrayFieldStart("edges");
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+
+	/**
+	 * 최대 크기까지만 모으는 사본. 넘치면 모은 바이트를 버리고 이후로는 복사하지 않는다.
+	 */
+	static final class CappedCopy extends OutputStream {
+
+		private final int maxBytes;
+		private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		CappedCopy(int maxBytes) {
+			this.maxBytes = maxBytes;
+		}
+
+		@Override
+		public void write(int b) {
+			write(new byte[] {(byte)b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			if (buffer == null) {
+				return;
+			}
+			if (buffer.size() + len > maxBytes) {
+				buffer = null;
+				return;
+			}
+			buffer.write(b, off, len);
+		}
+
+		/**
+		 * @return 최대 크기를 넘었으면 empty
+		 */
+		Optional<String> content() {
+			return buffer == null ? Optional.empty() : Optional.of(buffer.toString(StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.ddj.owing.domain.casting.service;
+
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.casting.model.Casting;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
+import com.ddj.owing.domain.project.error.exception.ProjectException;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphSyncHandler;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 관계도 캐시는 Neo4j 를 기준으로 만들어지므로, 노드를 반영한 뒤에 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CastingGraphSyncHandler implements GraphSyncHandler {
+
+	private final CastingRepository castingRepository;
+	private final CastingNodeRepository castingNodeRepository;
+	private final CastingGraphCache castingGraphCache;
+
+	@Override
+	public GraphAggregateType aggregateType() {
+		return GraphAggregateType.CASTING;
+	}
+
+	@Override
+	public void sync(Long castingId) {
+		Casting casting = castingRepository.findById(castingId).orElse(null);
+		if (casting == null) {
+			castingNodeRepository.softDeleteReturningProjectId(castingId).ifPresent(castingGraphCache::evict);
+			return;
+		}
+
+		Long projectId = casting.getCastingFolder().getProjectId();
+		Integer upsertedCount = castingNodeRepository.upsertById(casting.getId(), projectId, casting.getName(),
+			casting.getAge(), casting.getGender(), casting.getRole(), casting.getImageUrl(),
+			casting.getCoordX(), casting.getCoordY());
+		if (upsertedCount < 1) {
+			throw ProjectException.of(ProjectErrorCode.PROJECT_NODE_NOT_FOUND);
+		}
+		castingGraphCache.evict(projectId);
+	}
+}
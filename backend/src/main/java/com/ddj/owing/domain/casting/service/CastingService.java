@@ -1,6 +1,13 @@
 package com.ddj.owing.domain.casting.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import com.ddj.owing.domain.casting.model.*;
@@ -18,15 +25,21 @@ import com.ddj.owing.domain.casting.model.dto.CastingImageRequestDto;
 import com.ddj.owing.domain.casting.model.dto.CastingImageResponseDto;
 import com.ddj.owing.domain.casting.model.dto.CastingRelationshipInfoDto;
 import com.ddj.owing.domain.casting.repository.CastingFolderRepository;
+import com.ddj.owing.domain.casting.repository.CastingGraphRepository;
 import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
 import com.ddj.owing.domain.casting.repository.CastingRepository;
-import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
-import com.ddj.owing.domain.project.error.exception.ProjectException;
-import com.ddj.owing.domain.project.model.ProjectNode;
-import com.ddj.owing.domain.project.repository.ProjectNodeRepository;
+import com.ddj.owing.global.config.Neo4jConfiguration;
+import com.ddj.owing.global.ordering.OrderKeyAssigner;
+import com.ddj.owing.global.ordering.OrderedTable;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphOutboxPublisher;
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.domain.image.service.ImageJobService;
 import com.ddj.owing.global.util.OpenAiUtil;
 import com.ddj.owing.global.util.Parser;
 import com.ddj.owing.global.util.S3FileUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -37,30 +50,38 @@ public class CastingService {
 
 	private final S3FileUtil s3FileUtil;
 	private final OpenAiUtil openAiUtil;
+	private final ImageJobService imageJobService;
+	private final ObjectMapper objectMapper;
+	private final CastingGraphCache castingGraphCache;
+	private final CastingCoordWriter castingCoordWriter;
+	private final CastingCoordWriteBuffer castingCoordWriteBuffer;
+	private final OrderKeyAssigner orderKeyAssigner;
+	private final GraphOutboxPublisher graphOutboxPublisher;
 
 	private final CastingRepository castingRepository;
 	private final CastingNodeRepository castingNodeRepository;
+	private final CastingGraphRepository castingGraphRepository;
 	private final CastingFolderRepository castingFolderRepository;
-	private final ProjectNodeRepository projectNodeRepository;
 
     @Value("${cloud.aws.s3.directory.casting}")
     private String castingDirectory;
 
+	@Value("${casting.coord.buffer.enabled:true}")
+	private boolean coordBufferEnabled;
+
     /**
      * 캐릭터 이미지를 생성하는 메서드
      * 주어진 CastingRequestDto를 이용해서 프롬프트를 만들고, OpenAI API를 통해 이미지를 생성
      *
      * @param castingRequestDto 캐릭터 정보를 담고 있는 DTO
-     * @return 생성된 이미지의 URL을 ResponseEntity로 반환
+     * @return 이미지 생성 작업을 등록하고 작업 상태를 ResponseEntity로 반환
      */
-    @Transactional
-    public ResponseEntity<String> generateCharacterImage(CastingRequestDto castingRequestDto) {
+    public ResponseEntity<ImageJobDto> generateCharacterImage(CastingRequestDto castingRequestDto) {
 
         String prompt = openAiUtil.createPrompt(castingRequestDto);
-        String result = openAiUtil.createImage(prompt);
-        String imageBase64 = Parser.extractBase64(result);
+        ImageJobDto imageJob = imageJobService.submit(prompt, castingDirectory);
 
-        return ResponseEntity.ok(imageBase64);
+        return ResponseEntity.accepted().body(imageJob);
     }
 
 	/**
@@ -75,37 +96,32 @@ public class CastingService {
 		CastingFolder castingFolder = castingFolderRepository.findById(castingImageRequestDto.folderId())
 				.orElseThrow(() -> CastingFolderException.of(CastingFolderErrorCode.FOLDER_NOT_FOUND));
 
-		Integer position = castingRepository.findMaxOrderByCastingFolderId(castingImageRequestDto.folderId()) + 1;
+		String orderKey = orderKeyAssigner.last(OrderedTable.CASTING, castingFolder.getId());
 
 		String fileName = "casting-image.png";
 		String preSignedUrl = s3FileUtil.getPreSignedUrl(castingDirectory, fileName);
 		String imageUrl = Parser.extractPresignedUrl(preSignedUrl);
 
-		Casting casting = castingImageRequestDto.toEntity(castingFolder, position, imageUrl);
+		Casting casting = castingImageRequestDto.toEntity(castingFolder, orderKey, imageUrl);
 		castingRepository.save(casting);
+		graphOutboxPublisher.publish(GraphAggregateType.CASTING, casting.getId());
 
-		CastingNode castingNode = castingImageRequestDto.toNodeEntity(casting);
-		ProjectNode projectNode = projectNodeRepository.findById(castingFolder.getProjectId())
-				.orElseThrow(() -> ProjectException.of(ProjectErrorCode.PROJECT_NODE_NOT_FOUND));
-		castingNode.linkProjectNode(projectNode);
-
-		castingNodeRepository.save(castingNode);
 		CastingImageResponseDto castingImageResponseDto = CastingImageResponseDto.fromEntity(casting, preSignedUrl);
 
 		return ResponseEntity.ok(castingImageResponseDto);
 	}
 
 	public List<CastingDto> getCastingList(Long folderId) {
-		return castingRepository.findByCastingFolderIdOrderByPositionAsc(folderId)
+		return castingRepository.findListByCastingFolderId(folderId)
 			.stream()
-			.map(CastingDto::from)
+			.map(this::withBufferedCoord)
 			.toList();
 	}
 
 	public CastingDto getCasting(Long id) {
 		Casting casting = castingRepository.findById(id)
 			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NOT_FOUND));
-		return CastingDto.from(casting);
+		return withBufferedCoord(CastingDto.from(casting));
 	}
 
 //	@Transactional
@@ -136,88 +152,98 @@ public class CastingService {
 			castingInfoUpdateDto.detail(),
 			castingInfoUpdateDto.imageUrl()
 		);
-
-		CastingNode castingNode = castingNodeRepository.findById(id)
-			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
-		castingNode.updateInfo(
-			castingInfoUpdateDto.name(),
-			castingInfoUpdateDto.age(),
-			castingInfoUpdateDto.gender(),
-			castingInfoUpdateDto.role(),
-			castingInfoUpdateDto.imageUrl()
-		);
-		castingNodeRepository.save(castingNode);
+		graphOutboxPublisher.publish(GraphAggregateType.CASTING, id);
 
 		return CastingDto.from(casting);
 	}
 
+	/**
+	 * 캐릭터 좌표를 변경하는 메서드.
+	 * 쓰기 버퍼가 켜져 있으면 좌표를 버퍼에 담고 바로 반환하며, 드래그가 끝난 요청이면 즉시 반영한다.
+	 *
+	 * @param id 캐릭터 id
+	 * @param coordUpdateDto 변경할 좌표
+	 * @param dragEnd 드래그 종료 여부
+	 * @return 변경된 좌표가 담긴 CastingDto
+	 */
 	@Transactional
-	public CastingDto updateCastingCoord(Long id, CastingCoordUpdateDto coordUpdateDto) {
+	public CastingDto updateCastingCoord(Long id, CastingCoordUpdateDto coordUpdateDto, boolean dragEnd) {
+		if (!isValidCoord(coordUpdateDto.position())) {
+			throw CastingException.of(CastingErrorCode.INVALID_ARGS_FOR_UPDATE);
+		}
 		Casting casting = castingRepository.findById(id)
 			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NOT_FOUND));
+
+		if (coordBufferEnabled) {
+			Long projectId = casting.getCastingFolder().getProjectId();
+			castingCoordWriteBuffer.buffer(projectId, id, coordUpdateDto.position());
+			if (dragEnd) {
+				castingCoordWriteBuffer.flush(projectId);
+			}
+			return CastingDto.from(casting).withPosition(coordUpdateDto.position());
+		}
+
 		casting.updateCoord(
 			coordUpdateDto.position().x(),
 			coordUpdateDto.position().y()
 		);
+		castingCoordWriter.writeNodes(Map.of(id, coordUpdateDto.position()));
 
-		CastingNode castingNode = castingNodeRepository.findById(id)
-			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
-		castingNode.updateCoord(
-			coordUpdateDto.position().x(),
-			coordUpdateDto.position().y()
-		);
-		CastingNode updatedCastingNode = castingNodeRepository.save(castingNode);
+		return CastingDto.from(casting);
+	}
 
-		return CastingDto.from(updatedCastingNode);
+	/**
+	 * 여러 캐릭터의 좌표를 한 번에 변경하는 메서드.
+	 * 요청 수와 무관하게 Postgres 와 Neo4j 에 각각 한 번의 쿼리만 실행한다.
+	 * 좌표 반영은 별도 트랜잭션으로 바로 커밋되므로, 없는 캐릭터가 섞여 있으면 쓰기 전에 거절한다.
+	 *
+	 * @param coordUpdateDtoList 캐릭터 id와 좌표 목록. 같은 id가 여러 번 오면 마지막 좌표를 사용
+	 */
+	@Transactional
+	public void updateCastingCoords(List<CastingCoordUpdateDto> coordUpdateDtoList) {
+		Map<Long, Position> coords = new LinkedHashMap<>();
+		for (CastingCoordUpdateDto coordUpdateDto : coordUpdateDtoList) {
+			if (coordUpdateDto.id() == null || !isValidCoord(coordUpdateDto.position())) {
+				throw CastingException.of(CastingErrorCode.INVALID_ARGS_FOR_UPDATE);
+			}
+			coords.put(coordUpdateDto.id(), coordUpdateDto.position());
+		}
+		if (castingRepository.countByIdIn(coords.keySet()) != coords.size()) {
+			throw CastingException.of(CastingErrorCode.CASTING_NOT_FOUND);
+		}
+
+		castingCoordWriteBuffer.discard(coords.keySet());
+		castingCoordWriter.write(coords);
 	}
 
+	/**
+	 * 캐릭터를 대상 폴더에서 이동하는 캐릭터를 제외한 목록의 position 번째(0부터) 자리로 옮긴다. 다른 캐릭터의 순서는 갱신하지 않는다.
+	 */
 	@Transactional
 	public CastingDto updateCastingPosition(Long id, CastingPositionUpdateDto dto) {
 		Casting casting = castingRepository.findById(id)
 			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NOT_FOUND));
 
-		CastingFolder oldFolder = casting.getCastingFolder();
-		CastingFolder newFolder = castingFolderRepository.findById(casting.getCastingFolder().getId())
+		CastingFolder newFolder = castingFolderRepository.findById(dto.folderId())
 			.orElseThrow(() -> CastingFolderException.of(CastingFolderErrorCode.FOLDER_NOT_FOUND));
 
-		int oldPosition = casting.getPosition();
-		int newPosition = dto.position();
-
-		if (oldFolder.getId().equals(newFolder.getId()) && oldPosition == newPosition) {
-			return CastingDto.from(casting);
-		}
+		String orderKey = orderKeyAssigner.at(OrderedTable.CASTING, casting.getId(), dto.position(), newFolder.getId())
+			.orElseThrow(() -> CastingException.of(CastingErrorCode.INVALID_POSITION));
 
-		if (newPosition < 0 || newPosition > newFolder.getCastings().size()) {
-			throw CastingException.of(CastingErrorCode.INVALID_POSITION);
-		}
-
-		if (oldFolder.getId().equals(newFolder.getId())) {
-			if (oldPosition < newPosition) {
-				castingRepository.decrementPositionBetween(oldPosition, newPosition, oldFolder.getId());
-			} else {
-				castingRepository.incrementPositionBetween(newPosition, oldPosition - 1, oldFolder.getId());
-			}
-		} else {
-			castingRepository.decrementPositionAfter(oldPosition, oldFolder.getId());
-			castingRepository.incrementPositionAfter(newPosition, newFolder.getId());
+		if (!casting.getCastingFolder().getId().equals(newFolder.getId())) {
 			casting.updateFolder(newFolder);
 		}
-
-		casting.updatePosition(newPosition);
+		casting.updateOrderKey(orderKey);
 		return CastingDto.from(castingRepository.save(casting));
 	}
 
 	@Transactional
 	public void deleteCasting(Long id) {
-		Casting casting = castingRepository.findById(id)
+		castingRepository.findById(id)
 			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NOT_FOUND));
-		castingRepository.decrementPositionAfter(casting.getPosition(), casting.getCastingFolder().getId());
-
+		castingCoordWriteBuffer.discard(List.of(id));
 		castingRepository.deleteById(id);
-		CastingNode castingNode = castingNodeRepository.findById(id)
-			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
-		castingNode.delete();
-		castingNodeRepository.save(castingNode);
+		graphOutboxPublisher.publish(GraphAggregateType.CASTING, id);
 	}
 
 	/**
@@ -226,7 +252,7 @@ public class CastingService {
 	 * @param connectionCreateDto type()을 통해 단방향, 양방향 지정
 	 * @return
 	 */
-	@Transactional
+	@Transactional(transactionManager = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
 	public CastingRelationshipDto createConnection(CastingConnectionCreateDto connectionCreateDto) {
 		CastingNode sourceCasting = castingNodeRepository.findById(connectionCreateDto.sourceId())
 			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
@@ -262,6 +288,7 @@ public class CastingService {
 			.filter(conn -> conn.getLabel().equals(connectionCreateDto.label()))
 			.findFirst()
 			.orElseThrow(() -> CastingException.of(CastingErrorCode.CONNECTION_NOT_FOUND));
+		evictGraphOf(connectionCreateDto.sourceId());
 
 		return new CastingRelationshipDto(
 			castingRelationship.getUuid(),
@@ -281,19 +308,19 @@ public class CastingService {
 	 * @return
 	 * 관계 id, 시작객체 id, 끝객체 id, connectionType이 포함된 CastingRelationshipDto
 	 */
-	@Transactional
+	@Transactional(transactionManager = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
 	public CastingRelationshipDto updateConnectionName(String uuid, CastingConnectionUpdateDto connectionUpdateDto) {
-		CastingNode sourceCasting = castingNodeRepository.findById(connectionUpdateDto.sourceId())
-			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
-		CastingNode targetCasting = castingNodeRepository.findById(connectionUpdateDto.targetId())
-			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
+		if (!castingNodeRepository.existsActiveById(connectionUpdateDto.sourceId())
+			|| !castingNodeRepository.existsActiveById(connectionUpdateDto.targetId())) {
+			throw CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND);
+		}
 
 		boolean isNameUpdated = false;
 		switch (connectionUpdateDto.type()) {
 			case ConnectionType.DIRECTIONAL -> isNameUpdated = castingNodeRepository.updateDirectionalConnectionName(
 					uuid,
-					sourceCasting.getId(),
-					targetCasting.getId(),
+					connectionUpdateDto.sourceId(),
+					connectionUpdateDto.targetId(),
 					connectionUpdateDto.label(),
 					connectionUpdateDto.sourceHandle().name(),
 					connectionUpdateDto.targetHandle().name()
@@ -301,8 +328,8 @@ public class CastingService {
 			case ConnectionType.BIDIRECTIONAL ->
 				isNameUpdated = castingNodeRepository.updateBidirectionalConnectionName(
 						uuid,
-						sourceCasting.getId(),
-						targetCasting.getId(),
+						connectionUpdateDto.sourceId(),
+						connectionUpdateDto.targetId(),
 						connectionUpdateDto.label(),
 						connectionUpdateDto.sourceHandle().name(),
 						connectionUpdateDto.targetHandle().name()
@@ -312,6 +339,7 @@ public class CastingService {
 		if (!isNameUpdated) {
 			throw CastingException.of(CastingErrorCode.CONNECTION_NAME_UPDATE_FAIL);
 		}
+		evictGraphOf(connectionUpdateDto.sourceId());
 
 		return new CastingRelationshipDto(
 			uuid,
@@ -323,8 +351,9 @@ public class CastingService {
 		);
 	}
 
-	@Transactional
+	@Transactional(transactionManager = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
 	public void deleteConnection(String uuid) {
+		Long projectId = castingNodeRepository.findProjectIdByConnectionUuid(uuid).orElse(null);
 		Integer deletedConnectionCount = castingNodeRepository.deleteConnectionByUuid(uuid);
 
 		if (deletedConnectionCount < 1) {
@@ -334,15 +363,88 @@ public class CastingService {
 		if (deletedConnectionCount > 1) {
 			throw CastingException.of(CastingErrorCode.INVALID_DELETE_COUNT);
 		}
+		castingGraphCache.evict(projectId);
 	}
 
 	public CastingGraphDto getGraph(Long projectId) {
+		castingCoordWriteBuffer.flush(projectId);
+		Optional<CastingGraphDto> cachedGraph = castingGraphCache.get(projectId).map(this::readGraph);
+		if (cachedGraph.isPresent()) {
+			return cachedGraph.get();
+		}
+		Optional<String> cacheVersion = castingGraphCache.version(projectId);
+
 		List<CastingNodeDto> castingNodeList =
 			castingNodeRepository.findAllByProjectId(projectId).stream()
 				.map(CastingNodeDto::from).toList();
 		List<CastingRelationshipInfoDto> castingConnectionList =
 			castingNodeRepository.findAllConnectionByProjectId(projectId);
 
-		return new CastingGraphDto(castingNodeList, castingConnectionList);
+		CastingGraphDto graph = new CastingGraphDto(castingNodeList, castingConnectionList);
+		if (cacheVersion.isPresent()) {
+			try {
+				byte[] graphJson = objectMapper.writeValueAsBytes(graph);
+				if (graphJson.length <= castingGraphCache.getMaxBytes()) {
+					castingGraphCache.put(projectId, cacheVersion.get(), new String(graphJson, StandardCharsets.UTF_8));
+				}
+			} catch (JsonProcessingException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * 프로젝트의 관계도를 하나의 projection 쿼리로 조회하여 JSON 으로 바로 출력한다.
+	 * 응답 형태는 getGraph 와 같지만 노드 엔티티를 매핑하거나 전체 목록을 메모리에 모으지 않는다.
+	 * 캐시에 담을 사본은 최대 크기까지만 모으며, 그보다 큰 관계도는 캐시하지 않는다.
+	 *
+	 * @param projectId 프로젝트 id
+	 * @param outputStream 응답 스트림
+	 */
+	public void writeGraph(Long projectId, OutputStream outputStream) throws IOException {
+		castingCoordWriteBuffer.flush(projectId);
+		Optional<String> cachedGraph = castingGraphCache.get(projectId);
+		if (cachedGraph.isPresent()) {
+			outputStream.write(cachedGraph.get().getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+
+		Optional<String> cacheVersion = castingGraphCache.version(projectId);
+		CastingGraphJsonWriter.CappedCopy graphCopy = new CastingGraphJsonWriter.CappedCopy(
+			cacheVersion.isPresent() ? castingGraphCache.getMaxBytes() : 0);
+		OutputStream target = CastingGraphJsonWriter.tee(outputStream, graphCopy);
+		try (CastingGraphJsonWriter writer = new CastingGraphJsonWriter(objectMapper, target)) {
+			castingGraphRepository.streamGraph(projectId, writer::writeNode, writer::writeEdge);
+			writer.finish();
+		}
+		if (cacheVersion.isPresent()) {
+			graphCopy.content().ifPresent(graphJson -> castingGraphCache.put(projectId, cacheVersion.get(), graphJson));
+		}
+	}
+
+	/**
+	 * 좌표 컬럼과 노드 속성은 x, y 가 모두 있어야 하므로 한쪽만 오는 요청은 거절한다.
+	 */
+	private boolean isValidCoord(Position position) {
+		return position != null && position.x() != null && position.y() != null;
+	}
+
+	private CastingDto withBufferedCoord(CastingDto castingDto) {
+		return castingCoordWriteBuffer.get(castingDto.id())
+			.map(castingDto::withPosition)
+			.orElse(castingDto);
+	}
+
+	private CastingGraphDto readGraph(String graphJson) {
+		try {
+			return objectMapper.readValue(graphJson, CastingGraphDto.class);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void evictGraphOf(Long castingId) {
+		castingRepository.findProjectIdById(castingId).ifPresent(castingGraphCache::evict);
 	}
 }
@@ -0,0 +1,26 @@
+package com.ddj.owing.domain.image.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.domain.image.service.ImageJobService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/image/jobs")
+public class ImageJobController {
+
+	private final ImageJobService imageJobService;
+
+	@GetMapping("/{jobId}")
+	public ResponseEntity<ImageJobDto> getImageJob(@PathVariable String jobId) {
+		ImageJobDto imageJob = imageJobService.getJob(jobId);
+		return ResponseEntity.ok(imageJob);
+	}
+}
@@ -0,0 +1,25 @@
+package com.ddj.owing.domain.image.error.code;
+
+import org.springframework.http.HttpStatus;
+
+import com.ddj.owing.global.error.code.OwingErrorCode;
+
+import lombok.Getter;
+
+@Getter
+public enum ImageJobErrorCode implements OwingErrorCode {
+
+	JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "001", "이미지 생성 작업을 찾을 수 없습니다."),
+	JOB_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "002", "이미지 생성 요청이 많습니다. 잠시 후 다시 시도해 주세요."),
+	IMAGE_UPLOAD_FAIL(HttpStatus.INTERNAL_SERVER_ERROR, "003", "생성된 이미지를 저장하지 못했습니다.");
+
+	private final HttpStatus status;
+	private final String code;
+	private final String message;
+
+	ImageJobErrorCode(HttpStatus status, String code, String message) {
+		this.status = status;
+		this.code = "IMAGE" + code;
+		this.message = message;
+	}
+}
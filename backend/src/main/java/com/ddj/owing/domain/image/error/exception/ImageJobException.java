@@ -0,0 +1,15 @@
+package com.ddj.owing.domain.image.error.exception;
+
+import com.ddj.owing.domain.image.error.code.ImageJobErrorCode;
+import com.ddj.owing.global.error.exception.OwingException;
+
+public class ImageJobException extends OwingException {
+
+	private ImageJobException(ImageJobErrorCode errorCode) {
+		super(errorCode);
+	}
+
+	public static ImageJobException of(ImageJobErrorCode errorCode) {
+		return new ImageJobException(errorCode);
+	}
+}
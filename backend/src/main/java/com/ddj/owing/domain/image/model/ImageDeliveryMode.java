@@ -0,0 +1,9 @@
+package com.ddj.owing.domain.image.model;
+
+/**
+ * 생성된 이미지를 클라이언트에 전달하는 방식.
+ * BASE64 는 작업 결과에 이미지를 그대로 담고, S3 는 서버가 바로 업로드한 뒤 객체 URL 만 담는다.
+ */
+public enum ImageDeliveryMode {
+	BASE64, S3
+}
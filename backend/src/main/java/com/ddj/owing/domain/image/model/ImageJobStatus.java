@@ -0,0 +1,5 @@
+package com.ddj.owing.domain.image.model;
+
+public enum ImageJobStatus {
+	PENDING, RUNNING, SUCCEEDED, FAILED
+}
@@ -0,0 +1,39 @@
+package com.ddj.owing.domain.image.model.dto;
+
+import com.ddj.owing.domain.image.model.ImageJobStatus;
+
+/**
+ * 이미지 생성 작업의 상태. 완료되면 전달 방식에 따라 imageBase64 또는 imageUrl 에, 실패하면 errorCode 에 결과가 담긴다.
+ */
+public record ImageJobDto(
+	String jobId,
+	ImageJobStatus status,
+	String imageBase64,
+	String imageUrl,
+	String errorCode
+) {
+
+	public static ImageJobDto pending(String jobId) {
+		return new ImageJobDto(jobId, ImageJobStatus.PENDING, null, null, null);
+	}
+
+	public ImageJobDto running() {
+		return new ImageJobDto(jobId, ImageJobStatus.RUNNING, null, null, null);
+	}
+
+	public ImageJobDto succeeded(String imageBase64) {
+		return new ImageJobDto(jobId, ImageJobStatus.SUCCEEDED, imageBase64, null, null);
+	}
+
+	public ImageJobDto uploaded(String imageUrl) {
+		return new ImageJobDto(jobId, ImageJobStatus.SUCCEEDED, null, imageUrl, null);
+	}
+
+	public ImageJobDto failed(String errorCode) {
+		return new ImageJobDto(jobId, ImageJobStatus.FAILED, null, null, errorCode);
+	}
+
+	public boolean isFinished() {
+		return status == ImageJobStatus.SUCCEEDED || status == ImageJobStatus.FAILED;
+	}
+}
@@ -0,0 +1,130 @@
+package com.ddj.owing.domain.image.service;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import com.amazonaws.AmazonClientException;
+import com.ddj.owing.domain.image.error.code.ImageJobErrorCode;
+import com.ddj.owing.domain.image.error.exception.ImageJobException;
+import com.ddj.owing.domain.image.model.ImageDeliveryMode;
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.global.error.code.OpenAiErrorCode;
+import com.ddj.owing.global.error.exception.OwingException;
+import com.ddj.owing.global.util.OpenAiUtil;
+import com.ddj.owing.global.util.S3FileUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OpenAI 이미지 생성을 요청 스레드 밖에서 실행한다.
+ * 요청은 작업 id 만 받아 바로 반환되고, 결과는 {@link #getJob(String)} 로 폴링한다.
+ * 전달 방식이 S3 이면 생성된 이미지를 서버에서 바로 업로드하고 객체 URL 만 결과에 남긴다.
+ */
+@Slf4j
+@Service
+public class ImageJobService {
+
+	private static final String IMAGE_FILE_NAME = "ai-image.png";
+
+	private final OpenAiUtil openAiUtil;
+	private final ImageJobStore imageJobStore;
+	private final TaskExecutor imageJobExecutor;
+	private final S3FileUtil s3FileUtil;
+	private final ImageDeliveryMode deliveryMode;
+
+	public ImageJobService(
+		OpenAiUtil openAiUtil,
+		ImageJobStore imageJobStore,
+		@Qualifier("imageJobExecutor") TaskExecutor imageJobExecutor,
+		S3FileUtil s3FileUtil,
+		@Value("${image.job.delivery:BASE64}") ImageDeliveryMode deliveryMode
+	) {
+		this.openAiUtil = openAiUtil;
+		this.imageJobStore = imageJobStore;
+		this.imageJobExecutor = imageJobExecutor;
+		this.s3FileUtil = s3FileUtil;
+		this.deliveryMode = deliveryMode;
+	}
+
+	/**
+	 * 이미지 생성 작업을 등록한다. 같은 프롬프트의 작업이 아직 남아 있으면 새로 만들지 않고 그 작업을 반환한다.
+	 *
+	 * @param prompt 생성할 이미지에 대한 설명
+	 * @param directory S3 전달 방식일 때 이미지를 올릴 디렉토리
+	 * @return 등록된 작업의 현재 상태
+	 */
+	public ImageJobDto submit(String prompt, String directory) {
+		String promptHash = hash(prompt);
+		String jobId = UUID.randomUUID().toString();
+
+		// 작업 키는 항상 프롬프트 연결 뒤에 저장되어 더 늦게 만료되므로, 작업이 없다면 먼저 연결한 요청이 아직 저장 전이다.
+		Optional<String> existingJobId = imageJobStore.claimPrompt(promptHash, jobId);
+		if (existingJobId.isPresent()) {
+			return imageJobStore.find(existingJobId.get())
+				.orElseGet(() -> ImageJobDto.pending(existingJobId.get()));
+		}
+
+		ImageJobDto job = ImageJobDto.pending(jobId);
+		imageJobStore.save(job);
+		try {
+			imageJobExecutor.execute(() -> run(job, prompt, directory, promptHash));
+		} catch (TaskRejectedException e) {
+			imageJobStore.save(job.failed(ImageJobErrorCode.JOB_QUEUE_FULL.getCode()));
+			imageJobStore.releasePrompt(promptHash, jobId);
+			throw ImageJobException.of(ImageJobErrorCode.JOB_QUEUE_FULL);
+		}
+		return job;
+	}
+
+	public ImageJobDto getJob(String jobId) {
+		return imageJobStore.find(jobId)
+			.orElseThrow(() -> ImageJobException.of(ImageJobErrorCode.JOB_NOT_FOUND));
+	}
+
+	private void run(ImageJobDto job, String prompt, String directory, String promptHash) {
+		imageJobStore.save(job.running());
+		try {
+			String imageBase64 = openAiUtil.createImage(prompt);
+			if (deliveryMode == ImageDeliveryMode.BASE64) {
+				imageJobStore.save(job.succeeded(imageBase64));
+				return;
+			}
+			String imageUrl = s3FileUtil.uploadBase64Image(directory, IMAGE_FILE_NAME, imageBase64);
+			imageJobStore.save(job.uploaded(imageUrl));
+		} catch (AmazonClientException | UncheckedIOException e) {
+			log.warn("생성된 이미지 업로드 실패. jobId:{}", job.jobId(), e);
+			fail(job, promptHash, ImageJobErrorCode.IMAGE_UPLOAD_FAIL.getCode());
+		} catch (OwingException e) {
+			log.warn("이미지 생성 실패. jobId:{}", job.jobId(), e);
+			fail(job, promptHash, e.getErrorCode().getCode());
+		} catch (RuntimeException e) {
+			log.error("이미지 생성 중 예외 발생. jobId:{}", job.jobId(), e);
+			fail(job, promptHash, OpenAiErrorCode.IMAGE_GENERATION_FAIL.getCode());
+		}
+	}
+
+	private void fail(ImageJobDto job, String promptHash, String errorCode) {
+		imageJobStore.save(job.failed(errorCode));
+		imageJobStore.releasePrompt(promptHash, job.jobId());
+	}
+
+	private String hash(String prompt) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.ddj.owing.domain.image.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.global.util.JsonHelperUtil;
+
+/**
+ * 이미지 생성 작업 상태를 Redis 에 보관한다. 여러 서버 중 어디로 폴링이 와도 같은 결과를 볼 수 있다.
+ * 같은 프롬프트의 작업이 진행 중이거나 결과가 남아 있으면 그 작업을 다시 사용하도록 프롬프트 해시로 색인한다.
+ */
+@Component
+public class ImageJobStore {
+
+	private static final String JOB_KEY_PREFIX = "image:job:";
+	private static final String PROMPT_KEY_PREFIX = "image:job:prompt:";
+
+	private final StringRedisTemplate redisTemplate;
+	private final Duration ttl;
+
+	public ImageJobStore(
+		StringRedisTemplate redisTemplate,
+		@Value("${image.job.ttl:10m}") Duration ttl
+	) {
+		this.redisTemplate = redisTemplate;
+		this.ttl = ttl;
+	}
+
+	public Optional<ImageJobDto> find(String jobId) {
+		String jobJson = redisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+		return Optional.ofNullable(jobJson).map(json -> JsonHelperUtil.fromJsonString(json, ImageJobDto.class));
+	}
+
+	public void save(ImageJobDto job) {
+		redisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.jobId(), JsonHelperUtil.toJsonString(job), ttl);
+	}
+
+	/**
+	 * 프롬프트에 작업을 연결한다. 이미 연결된 작업이 있으면 그 id 를 반환한다.
+	 */
+	public Optional<String> claimPrompt(String promptHash, String jobId) {
+		Boolean claimed = redisTemplate.opsForValue().setIfAbsent(PROMPT_KEY_PREFIX + promptHash, jobId, ttl);
+		if (Boolean.TRUE.equals(claimed)) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(redisTemplate.opsForValue().get(PROMPT_KEY_PREFIX + promptHash));
+	}
+
+	/**
+	 * 실패한 작업은 같은 프롬프트로 다시 요청할 수 있도록 연결을 끊는다.
+	 */
+	public void releasePrompt(String promptHash, String jobId) {
+		String key = PROMPT_KEY_PREFIX + promptHash;
+		if (jobId.equals(redisTemplate.opsForValue().get(key))) {
+			redisTemplate.delete(key);
+		}
+	}
+}
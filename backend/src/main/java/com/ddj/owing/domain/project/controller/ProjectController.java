@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
 import com.ddj.owing.domain.project.model.dto.ProjectCreateRequestDto;
 import com.ddj.owing.domain.project.model.dto.ProjectCreateResponseDto;
 import com.ddj.owing.domain.project.model.dto.ProjectDetailResponseDto;
@@ -48,7 +49,7 @@ public class ProjectController {
 	}
 
 	@PostMapping("/image")
-	public ResponseEntity<String> generateProjectImage(@RequestBody ProjectRequestDto projectRequestDto) {
+	public ResponseEntity<ImageJobDto> generateProjectImage(@RequestBody ProjectRequestDto projectRequestDto) {
 		return projectService.generateProjectImage(projectRequestDto);
 	}
 
@@ -29,6 +29,7 @@ public class Project extends BaseTimeEntity {
     private String title;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String description;
 
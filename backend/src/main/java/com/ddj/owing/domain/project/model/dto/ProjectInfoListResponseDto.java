@@ -20,4 +20,11 @@ public record ProjectInfoListResponseDto(
                 .projects(projectInfoListResponseDto)
                 .build();
     }
+
+    public static ProjectInfoListResponseDto from(List<ProjectInfoResponseDto> projects) {
+
+        return ProjectInfoListResponseDto.builder()
+                .projects(projects)
+                .build();
+    }
 }
@@ -1,6 +1,7 @@
 package com.ddj.owing.domain.project.repository;
 
 import com.ddj.owing.domain.project.model.Project;
+import com.ddj.owing.domain.project.model.dto.ProjectInfoResponseDto;
 
 import java.util.List;
 
@@ -8,4 +9,5 @@ public interface ProjectCustomRepository {
 
     List<Project> findTop3ByOrderByUpdatedAtDesc();
     List<Project> findAllByOrderByUpdatedAtDesc();
+    List<ProjectInfoResponseDto> findAllInfoByOrderByUpdatedAtDesc();
 }
@@ -1,6 +1,8 @@
 package com.ddj.owing.domain.project.repository;
 
 import com.ddj.owing.domain.project.model.Project;
+import com.ddj.owing.domain.project.model.dto.ProjectInfoResponseDto;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -33,4 +35,22 @@ public class ProjectCustomRepositoryImpl implements ProjectCustomRepository {
                 .orderBy(project.updatedAt.desc())
                 .fetch();
     }
+
+    /**
+     * 목록에 보이는 컬럼만 읽는다. description 같은 긴 컬럼은 제외한다.
+     */
+    @Override
+    public List<ProjectInfoResponseDto> findAllInfoByOrderByUpdatedAtDesc() {
+
+        return jpaQueryFactory
+                .select(Projections.constructor(ProjectInfoResponseDto.class,
+                        project.id,
+                        project.title,
+                        project.createdAt,
+                        project.updatedAt,
+                        project.imageUrl))
+                .from(project)
+                .orderBy(project.updatedAt.desc())
+                .fetch();
+    }
 }
@@ -2,8 +2,21 @@ package com.ddj.owing.domain.project.repository;
 
 import com.ddj.owing.domain.project.model.ProjectNode;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ProjectNodeRepository extends Neo4jRepository<ProjectNode, Long>, ProjectCustomRepository {
+
+    @Query("MERGE (n1:Project{id: $id}) " +
+            "ON CREATE SET n1.createdAt = localdatetime() " +
+            "SET n1.title = $title, n1.updatedAt = localdatetime(), n1.deletedAt = null " +
+            "RETURN count(n1)")
+    Integer upsertById(Long id, String title);
+
+    @Query("MATCH (n1:Project{id: $id}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "SET n1.deletedAt = localdatetime(), n1.updatedAt = localdatetime() " +
+            "RETURN count(n1)")
+    Integer softDeleteById(Long id);
 }
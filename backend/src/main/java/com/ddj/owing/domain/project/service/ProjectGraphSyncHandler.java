@@ -0,0 +1,31 @@
+package com.ddj.owing.domain.project.service;
+
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.project.repository.ProjectNodeRepository;
+import com.ddj.owing.domain.project.repository.ProjectRepository;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphSyncHandler;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ProjectGraphSyncHandler implements GraphSyncHandler {
+
+	private final ProjectRepository projectRepository;
+	private final ProjectNodeRepository projectNodeRepository;
+
+	@Override
+	public GraphAggregateType aggregateType() {
+		return GraphAggregateType.PROJECT;
+	}
+
+	@Override
+	public void sync(Long projectId) {
+		projectRepository.findById(projectId).ifPresentOrElse(
+			project -> projectNodeRepository.upsertById(project.getId(), project.getTitle()),
+			() -> projectNodeRepository.softDeleteById(projectId)
+		);
+	}
+}
@@ -1,13 +1,15 @@
 package com.ddj.owing.domain.project.service;
 
 import com.ddj.owing.domain.project.model.Project;
-import com.ddj.owing.domain.project.model.ProjectNode;
 import com.ddj.owing.domain.project.model.dto.*;
-import com.ddj.owing.domain.project.repository.ProjectNodeRepository;
 import com.ddj.owing.domain.project.repository.ProjectRepository;
 import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
 import com.ddj.owing.domain.project.error.exception.ProjectException;
 import com.ddj.owing.domain.story.repository.StoryPlotNodeRepository;
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.domain.image.service.ImageJobService;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphOutboxPublisher;
 import com.ddj.owing.global.util.OpenAiUtil;
 import com.ddj.owing.global.util.Parser;
 import com.ddj.owing.global.util.S3FileUtil;
@@ -30,9 +32,10 @@ public class ProjectService {
     private final int MAX_GENRE_COUNT = 5;
 
     private final ProjectRepository projectRepository;
-    private final ProjectNodeRepository projectNodeRepository;
+    private final GraphOutboxPublisher graphOutboxPublisher;
     private final S3FileUtil s3FileUtil;
     private final OpenAiUtil openAiUtil;
+    private final ImageJobService imageJobService;
 
     @Value("${cloud.aws.s3.directory.project}")
     private String projectDirectory;
@@ -45,13 +48,13 @@ public class ProjectService {
      */
     public ResponseEntity<ProjectInfoListResponseDto> loadProject() {
 
-        List<Project> projects = projectRepository.findAllByOrderByUpdatedAtDesc();
+        List<ProjectInfoResponseDto> projects = projectRepository.findAllInfoByOrderByUpdatedAtDesc();
 
         if (projects.isEmpty()) {
             throw ProjectException.of(ProjectErrorCode.PROJECT_NOT_FOUND);
         }
 
-        ProjectInfoListResponseDto projectInfoListResponseDto = ProjectInfoListResponseDto.fromEntity(projects);
+        ProjectInfoListResponseDto projectInfoListResponseDto = ProjectInfoListResponseDto.from(projects);
 
         return ResponseEntity.ok(projectInfoListResponseDto);
     }
@@ -60,16 +63,14 @@ public class ProjectService {
      * OpenAI API 를 이용해 프로젝트 이미지를 생성하는 메서드
      *
      * @param projectRequestDto 프로젝트 요청 정보를 담은 DTO
-     * @return 생성된 이미지의 URL 을 ResponseEntity 로 반환
+     * @return 이미지 생성 작업을 등록하고 작업 상태를 ResponseEntity 로 반환
      */
-    @Transactional
-    public ResponseEntity<String> generateProjectImage(ProjectRequestDto projectRequestDto) {
+    public ResponseEntity<ImageJobDto> generateProjectImage(ProjectRequestDto projectRequestDto) {
 
         String prompt = openAiUtil.createPrompt(projectRequestDto);
-        String result = openAiUtil.createImage(prompt);
-        String imageBase64 = Parser.extractBase64(result);
+        ImageJobDto imageJob = imageJobService.submit(prompt, projectDirectory);
 
-        return ResponseEntity.ok(imageBase64);
+        return ResponseEntity.accepted().body(imageJob);
     }
 
     /**
@@ -92,9 +93,7 @@ public class ProjectService {
 
         Project project = projectCreateDto.toEntity(imageUrl);
         projectRepository.save(project);
-
-        ProjectNode projectNode = projectCreateDto.toNode(project.getId());
-        projectNodeRepository.save(projectNode);
+        graphOutboxPublisher.publish(GraphAggregateType.PROJECT, project.getId());
 
         return ResponseEntity.ok(ProjectCreateResponseDto.fromEntity(project, preSignedUrl));
     }
@@ -113,11 +112,7 @@ public class ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> ProjectException.of(ProjectErrorCode.PROJECT_NOT_FOUND));
         project.update(projectUpdateRequestDto);
-
-        ProjectNode projectNode = projectNodeRepository.findById(id)
-                .orElseThrow(() -> ProjectException.of(ProjectErrorCode.PROJECT_NODE_NOT_FOUND));
-        projectNode.updateTitle(projectUpdateRequestDto.title());
-        projectNodeRepository.save(projectNode);
+        graphOutboxPublisher.publish(GraphAggregateType.PROJECT, id);
     }
 
     @Transactional
@@ -125,13 +120,6 @@ public class ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> ProjectException.of(ProjectErrorCode.PROJECT_NOT_FOUND));
         projectRepository.delete(project);
-
-        projectNodeRepository.findById(id).ifPresentOrElse(
-                (node) -> {
-                    node.delete();
-                    projectNodeRepository.save(node);
-                },
-                () -> log.warn("Project 데이터 불일치 발생. entity id:{}", project.getId())
-        );
+        graphOutboxPublisher.publish(GraphAggregateType.PROJECT, id);
     }
 }
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderCreateDto;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderDto;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderPositionUpdateDto;
+import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderTreeDto;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderUpdateDto;
 import com.ddj.owing.domain.story.service.StoryFolderService;
 
@@ -34,6 +35,11 @@ public class StoryFolderController {
 		return ResponseEntity.ok(stories);
 	}
 
+	@GetMapping("/tree")
+	public ResponseEntity<List<StoryFolderTreeDto>> getStoryFolderTree(@RequestParam Long projectId) {
+		return ResponseEntity.ok(storyFolderService.getStoryFolderTree(projectId));
+	}
+
 	@GetMapping("/{storyFolderId}")
 	public ResponseEntity<StoryFolderDto> getStoryFolder(@PathVariable Long storyFolderId) {
 		StoryFolderDto storyFolder = storyFolderService.getStoryFolder(storyFolderId);
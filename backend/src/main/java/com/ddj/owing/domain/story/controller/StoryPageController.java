@@ -2,6 +2,7 @@ package com.ddj.owing.domain.story.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -9,9 +10,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ddj.owing.domain.story.model.StoryPageStorageMode;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageBlockSliceDto;
 import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPagePatchDto;
 import com.ddj.owing.domain.story.service.StoryPageService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -26,6 +31,13 @@ public class StoryPageController {
 		return ResponseEntity.ok(storyPage);
 	}
 
+	@GetMapping("/blocks")
+	public ResponseEntity<StoryPageBlockSliceDto> getStoryPageBlocks(@RequestParam Long storyPlotId,
+		@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int size) {
+		StoryPageBlockSliceDto blocks = storyPageService.getStoryPageBlocks(storyPlotId, cursor, size);
+		return ResponseEntity.ok(blocks);
+	}
+
 	@PostMapping
 	public ResponseEntity<StoryPageDto> createStoryBlock(@RequestBody StoryPageDto storyPageDto) {
 		StoryPageDto createdStory = storyPageService.createStoryPage(storyPageDto);
@@ -38,4 +50,17 @@ public class StoryPageController {
 		return ResponseEntity.ok(updatedStory);
 	}
 
+	@PatchMapping
+	public ResponseEntity<Void> patchStoryPage(@Valid @RequestBody StoryPagePatchDto storyPagePatchDto) {
+		storyPageService.patchStoryPage(storyPagePatchDto);
+		return ResponseEntity.noContent().build();
+	}
+
+	@PutMapping("/storage-mode")
+	public ResponseEntity<Void> changeStorageMode(@RequestParam Long storyPlotId,
+		@RequestParam StoryPageStorageMode storageMode) {
+		storyPageService.changeStorageMode(storyPlotId, storageMode);
+		return ResponseEntity.noContent().build();
+	}
+
 }
@@ -5,7 +5,9 @@ import java.util.Map;
 
 import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
 import com.ddj.owing.domain.story.model.dto.storyPlot.*;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -18,9 +20,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastDto;
+import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastPairDto;
 import com.ddj.owing.domain.story.service.StoryPlotService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/api/storyPlot")
@@ -76,6 +80,15 @@ public class StoryPlotController {
 		return ResponseEntity.ok(appearedCastList);
 	}
 
+	@PostMapping("/appearedCast")
+	public ResponseEntity<List<StoryPlotAppearedCastPairDto>> createAppearedCasts(
+			@RequestBody List<StoryPlotAppearedCastBatchCreateDto> storyPlotAppearedCastCreateDtoList
+	) {
+		List<StoryPlotAppearedCastPairDto> appearedCastList = storyPlotService.registerCasts(
+				storyPlotAppearedCastCreateDtoList);
+		return ResponseEntity.ok(appearedCastList);
+	}
+
 	@DeleteMapping("/{storyPlotId}/appearedCast/{castId}")
 	public ResponseEntity<Void> deleteAppearedCast(@PathVariable Long storyPlotId, @PathVariable Long castId) {
 		storyPlotService.deleteAppearedCast(storyPlotId, castId);
@@ -93,4 +106,12 @@ public class StoryPlotController {
 		String checkResult = storyPlotService.checkStoryConflict(storyPlotId, targetDto.targetStory());
 		return ResponseEntity.ok(checkResult);
 	}
+
+	@PostMapping(value = "/{storyPlotId}/findStoryConflict/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<StoryPlotConflictDto>> streamStoryConflict(@PathVariable Long storyPlotId,
+		@RequestBody StoryPlotConflictCheckTargetDto targetDto) {
+		return storyPlotService.streamStoryConflict(storyPlotId, targetDto.targetStory())
+			.map(conflict -> ServerSentEvent.builder(conflict).event("conflict").build())
+			.concatWithValues(ServerSentEvent.<StoryPlotConflictDto>builder().event("done").build());
+	}
 }
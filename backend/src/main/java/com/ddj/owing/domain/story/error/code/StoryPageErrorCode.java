@@ -8,7 +8,11 @@ import lombok.Getter;
 
 @Getter
 public enum StoryPageErrorCode implements OwingErrorCode {
-	PAGE_NOT_FOUND(HttpStatus.NOT_FOUND, "001", "원고를 찾을 수 없습니다.");
+	PAGE_NOT_FOUND(HttpStatus.NOT_FOUND, "001", "원고를 찾을 수 없습니다."),
+	BLOCK_NOT_FOUND(HttpStatus.NOT_FOUND, "002", "원고의 블록을 찾을 수 없습니다."),
+	INVALID_PATCH_OPERATION(HttpStatus.BAD_REQUEST, "003", "원고 변경 요청이 올바르지 않습니다."),
+	INVALID_CURSOR(HttpStatus.BAD_REQUEST, "004", "원고 조회 커서가 올바르지 않습니다."),
+	INVALID_STORAGE_MODE(HttpStatus.BAD_REQUEST, "005", "원고 저장 방식이 올바르지 않습니다.");
 
 	private final HttpStatus status;
 	private final String code;
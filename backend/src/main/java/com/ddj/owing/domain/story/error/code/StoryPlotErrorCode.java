@@ -11,7 +11,8 @@ public enum StoryPlotErrorCode implements OwingErrorCode {
 	PLOT_NOT_FOUND(HttpStatus.NOT_FOUND, "001", "플롯을 찾을 수 없습니다."),
 	INVALID_POSITION(HttpStatus.BAD_REQUEST, "002", "플롯의 위치를 변경할 수 없습니다."),
     PLOT_NODE_NOT_FOUND(HttpStatus.NOT_FOUND, "003", "플롯 노드를 찾을 수 없습니다."),
-	NOT_APPEARED_RELATIONSHIP(HttpStatus.BAD_REQUEST, "004", "해당 플롯에 출연한 캐릭터가 아닙니다.");
+	NOT_APPEARED_RELATIONSHIP(HttpStatus.BAD_REQUEST, "004", "해당 플롯에 출연한 캐릭터가 아닙니다."),
+	INVALID_APPEARED_CAST_LIST(HttpStatus.BAD_REQUEST, "005", "출연 인물 목록이 올바르지 않습니다.");
 
 	private final HttpStatus status;
 	private final String code;
@@ -0,0 +1,20 @@
+package com.ddj.owing.domain.story.event;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 원고 저장 후 발행되는 이벤트.
+ *
+ * @param blockTexts 저장된 원고의 블록 id 별 본문(하위 블록 제외)
+ * @param changedBlockIds 이전 원고와 비교해 추가, 수정, 삭제된 블록 id. 삭제된 블록은 blockTexts 에 없다.
+ * @param partial true 면 블록 단위 변경으로 발행되어 blockTexts 에 바뀐 블록만 담긴다.
+ */
+public record StoryPageChangedEvent(
+	Long storyPlotId,
+	Long projectId,
+	Map<String, String> blockTexts,
+	Set<String> changedBlockIds,
+	boolean partial
+) {
+}
@@ -0,0 +1,89 @@
+package com.ddj.owing.domain.story.model;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.ddj.owing.global.entity.BaseTimeEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * BLOCKS 저장 방식의 원고 블록. 블록 id 와 부모 블록 id 로 트리를 이루며 형제 간 순서는 orderKey 로 정한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+	uniqueConstraints = @UniqueConstraint(columnNames = {"story_page_id", "block_id"}),
+	indexes = @Index(columnList = "story_page_id, parent_block_id, order_key")
+)
+public class PageBlock extends BaseTimeEntity {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "story_page_id", nullable = false)
+	private Long storyPageId;
+
+	@Column(name = "block_id", nullable = false)
+	private String blockId;
+
+	@Column(name = "parent_block_id")
+	private String parentBlockId;
+
+	@Column(name = "order_key", nullable = false, columnDefinition = "varchar(255) COLLATE \"C\"")
+	private String orderKey;
+
+	private String type;
+
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(columnDefinition = "jsonb")
+	private Map<String, Object> props;
+
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(columnDefinition = "jsonb")
+	private List<Content> content;
+
+	@Builder
+	PageBlock(Long storyPageId, String blockId, String parentBlockId, String orderKey, String type,
+		Map<String, Object> props, List<Content> content) {
+		this.storyPageId = storyPageId;
+		this.blockId = blockId;
+		this.parentBlockId = parentBlockId;
+		this.orderKey = orderKey;
+		this.type = type;
+		this.props = props;
+		this.content = content;
+	}
+
+	public void update(String type, Map<String, Object> props, List<Content> content) {
+		if (type != null) {
+			this.type = type;
+		}
+		if (props != null) {
+			this.props = props;
+		}
+		if (content != null) {
+			this.content = content;
+		}
+	}
+
+	public void move(String parentBlockId, String orderKey) {
+		this.parentBlockId = parentBlockId;
+		this.orderKey = orderKey;
+	}
+}
@@ -20,6 +20,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -51,22 +52,28 @@ public class StoryBlock extends BaseTimeEntity {
 	private StoryBlock parentBlock;
 
 	@OneToMany(mappedBy = "parentBlock", cascade = CascadeType.ALL, orphanRemoval = true)
+	@OrderBy("orderKey ASC NULLS FIRST, position ASC, id ASC")
 	private List<StoryBlock> children = new ArrayList<>();
 
+	// 정렬 키 도입 이전의 순서. 기존 데이터의 정렬 키를 채울 때만 사용한다.
+	@Column(insertable = false, updatable = false)
 	private Integer position;
 
+	@Column(columnDefinition = "varchar(255) COLLATE \"C\"")
+	private String orderKey;
+
 	@ManyToOne
 	@JoinColumn(name = "story_plot_id")
 	private StoryPlot storyPlot;
 
 	@Builder
 	public StoryBlock(String type, Map<String, Object> props, List<Content> content, StoryBlock parentBlock,
-		Integer position, StoryPlot storyPlot) {
+		String orderKey, StoryPlot storyPlot) {
 		this.type = type;
 		this.props = props;
 		this.content = content;
 		this.parentBlock = parentBlock;
-		this.position = position;
+		this.orderKey = orderKey;
 		this.storyPlot = storyPlot;
 	}
 
@@ -76,8 +83,8 @@ public class StoryBlock extends BaseTimeEntity {
 		this.content = content;
 	}
 
-	public void updatePosition(Integer newPosition) {
-		this.position = newPosition;
+	public void updateOrderKey(String orderKey) {
+		this.orderKey = orderKey;
 	}
 
 	public void updateParentBlock(StoryBlock parentBlock) {
@@ -8,6 +8,7 @@ import org.hibernate.annotations.SoftDelete;
 import com.ddj.owing.global.entity.BaseTimeEntity;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -31,17 +32,23 @@ public class StoryFolder extends BaseTimeEntity {
 
 	private String name;
 	private String description;
+
+	// 정렬 키 도입 이전의 순서. 기존 데이터의 정렬 키를 채울 때만 사용한다.
+	@Column(insertable = false, updatable = false)
 	private Integer position;
 
+	@Column(columnDefinition = "varchar(255) COLLATE \"C\"")
+	private String orderKey;
+
 	@OneToMany(mappedBy = "storyFolder", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<StoryPlot> storyPlots = new ArrayList<>();
 
 	@Builder
-	StoryFolder(Long projectId, String name, String description, Integer position) {
+	StoryFolder(Long projectId, String name, String description, String orderKey) {
 		this.projectId = projectId;
 		this.name = name;
 		this.description = description;
-		this.position = position;
+		this.orderKey = orderKey;
 	}
 
 	public void update(String name, String description) {
@@ -49,7 +56,7 @@ public class StoryFolder extends BaseTimeEntity {
 		this.description = description;
 	}
 
-	public void updatePosition(Integer position) {
-		this.position = position;
+	public void updateOrderKey(String orderKey) {
+		this.orderKey = orderKey;
 	}
 }
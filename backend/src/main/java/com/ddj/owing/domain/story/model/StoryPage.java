@@ -2,6 +2,9 @@ package com.ddj.owing.domain.story.model;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SoftDelete;
@@ -11,12 +14,15 @@ import com.ddj.owing.global.entity.BaseTimeEntity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -38,14 +44,27 @@ public class StoryPage extends BaseTimeEntity {
 	@Column(columnDefinition = "jsonb")
 	private List<StoryPageBlock> blocks;
 
+	// 기존 행은 null 이며 DOCUMENT 로 취급한다.
+	@Enumerated(EnumType.STRING)
+	@Column(length = 20)
+	private StoryPageStorageMode storageMode;
+
+	// 하위 블록까지 포함한 본문 텍스트. AI 기능이 jsonb 를 다시 펼치지 않도록 저장 시 함께 갱신한다.
+	@Column(columnDefinition = "text")
+	private String plainText;
+
 	@Builder
-	public StoryPage(StoryPlot storyPlot, List<StoryPageBlock> blocks) {
+	public StoryPage(StoryPlot storyPlot, List<StoryPageBlock> blocks, StoryPageStorageMode storageMode) {
 		this.storyPlot = storyPlot;
 		this.blocks = blocks;
+		this.storageMode = storageMode;
+		this.plainText = toPlainText(blocks);
 	}
 
 	@Getter
 	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
 	public static class StoryPageBlock {
 		private String id;
 		private String type;
@@ -63,6 +82,47 @@ public class StoryPage extends BaseTimeEntity {
 
 	public void updatePageBlocks(List<StoryPageBlock> blocks) {
 		this.blocks = blocks;
+		this.plainText = toPlainText(blocks);
+	}
+
+	/**
+	 * BLOCKS 방식에서 블록 행을 새로 저장한 뒤 본문 텍스트만 갱신한다.
+	 */
+	public void updatePlainText(List<StoryPageBlock> blocks) {
+		this.plainText = toPlainText(blocks);
+	}
+
+	public boolean isBlockStorage() {
+		return storageMode == StoryPageStorageMode.BLOCKS;
+	}
+
+	/**
+	 * BLOCKS 로 바꾸면 jsonb 트리를 비우고, DOCUMENT 로 바꾸면 주어진 트리를 저장한다.
+	 */
+	public void changeStorageMode(StoryPageStorageMode storageMode, List<StoryPageBlock> blocks) {
+		this.storageMode = storageMode;
+		this.blocks = storageMode == StoryPageStorageMode.BLOCKS ? null : blocks;
+		if (storageMode != StoryPageStorageMode.BLOCKS) {
+			this.plainText = toPlainText(blocks);
+		}
+	}
+
+	/**
+	 * 블록을 문서 순서(부모, 자식 순)로 펼쳐 content 의 text 를 줄바꿈으로 잇는다.
+	 */
+	private static String toPlainText(List<StoryPageBlock> blocks) {
+		return flatten(blocks)
+			.flatMap(block -> block.getContent() == null ? Stream.empty() : block.getContent().stream())
+			.map(Content::getText)
+			.filter(Objects::nonNull)
+			.collect(Collectors.joining("\n"));
+	}
+
+	private static Stream<StoryPageBlock> flatten(List<StoryPageBlock> blocks) {
+		if (blocks == null) {
+			return Stream.empty();
+		}
+		return blocks.stream().flatMap(block -> Stream.concat(Stream.of(block), flatten(block.getChildren())));
 	}
 
 }
@@ -0,0 +1,5 @@
+package com.ddj.owing.domain.story.model;
+
+public enum StoryPagePatchType {
+	INSERT, UPDATE, MOVE, DELETE
+}
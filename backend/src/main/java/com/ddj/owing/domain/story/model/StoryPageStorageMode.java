@@ -0,0 +1,9 @@
+package com.ddj.owing.domain.story.model;
+
+/**
+ * 원고 블록 저장 방식.
+ * DOCUMENT 는 story_page.blocks jsonb 하나에 트리 전체를 저장하고, BLOCKS 는 page_block 테이블에 블록별 행으로 저장한다.
+ */
+public enum StoryPageStorageMode {
+	DOCUMENT, BLOCKS
+}
@@ -32,8 +32,14 @@ public class StoryPlot extends BaseTimeEntity {
 
 	private String name;
 	private String description;
+
+	// 정렬 키 도입 이전의 순서. 기존 데이터의 정렬 키를 채울 때만 사용한다.
+	@Column(insertable = false, updatable = false)
 	private Integer position;
 
+	@Column(columnDefinition = "varchar(255) COLLATE \"C\"")
+	private String orderKey;
+
 	@Column(columnDefinition = "int default 0")
 	private int textCount;
 
@@ -45,10 +51,10 @@ public class StoryPlot extends BaseTimeEntity {
 	private List<StoryBlock> storyBlocks = new ArrayList<>();
 
 	@Builder
-	StoryPlot(String name, String description, Integer position, int textCount, StoryFolder storyFolder) {
+	StoryPlot(String name, String description, String orderKey, int textCount, StoryFolder storyFolder) {
 		this.name = name;
 		this.description = description;
-		this.position = position;
+		this.orderKey = orderKey;
 		this.textCount = textCount;
 		this.storyFolder = storyFolder;
 	}
@@ -58,8 +64,8 @@ public class StoryPlot extends BaseTimeEntity {
 		this.description = description;
 	}
 
-	public void updatePosition(Integer position) {
-		this.position = position;
+	public void updateOrderKey(String orderKey) {
+		this.orderKey = orderKey;
 	}
 
 	public void updateFolder(StoryFolder newFolder) {
@@ -0,0 +1,8 @@
+package com.ddj.owing.domain.story.model.dto;
+
+public record StoryPlotAppearedCastPairDto(
+        Long storyPlotId,
+        Long castId,
+        String castName
+) {
+}
@@ -14,13 +14,13 @@ public record StoryBlockCreateDto(
 	Long storyPlotId
 ) {
 
-	public StoryBlock toEntity(StoryPlot storyPlot, StoryBlock parentBlock, Integer position) {
+	public StoryBlock toEntity(StoryPlot storyPlot, StoryBlock parentBlock, String orderKey) {
 		return StoryBlock.builder()
 			.type(type)
 			.props(props)
 			.content(content == null ? null : content.stream().map(ContentDto::toEntity).toList())
 			.parentBlock(parentBlockId == null ? null : parentBlock)
-			.position(position)
+			.orderKey(orderKey)
 			.storyPlot(storyPlot)
 			.build();
 	}
@@ -2,6 +2,7 @@ package com.ddj.owing.domain.story.model.dto.storyBlock;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.ddj.owing.domain.story.model.StoryBlock;
 
@@ -15,11 +16,16 @@ public record StoryBlockDto(
 	List<ContentDto> content,
 	Long parentBlockId,
 	Integer position,
+	String orderKey,
 	Long storyPlotId,
 	List<StoryBlockDto> children
 ) {
 
-	public static StoryBlockDto from(StoryBlock storyBlock) {
+	/**
+	 * @param position 부모 블록 안에서의 순번(1부터). 하위 블록은 정렬된 순서대로 순번을 매긴다.
+	 */
+	public static StoryBlockDto from(StoryBlock storyBlock, int position) {
+		List<StoryBlock> children = storyBlock.getChildren();
 		return StoryBlockDto.builder()
 			.id(storyBlock.getId())
 			.type(storyBlock.getType())
@@ -27,9 +33,12 @@ public record StoryBlockDto(
 			.content(storyBlock.getContent() == null ? null :
 				storyBlock.getContent().stream().map(ContentDto::from).toList())
 			.parentBlockId(storyBlock.getParentBlock() == null ? null : storyBlock.getParentBlock().getId())
-			.position(storyBlock.getPosition())
+			.position(position)
+			.orderKey(storyBlock.getOrderKey())
 			.storyPlotId(storyBlock.getStoryPlot().getId())
-			.children(storyBlock.getChildren().stream().map(StoryBlockDto::from).toList())
+			.children(IntStream.range(0, children.size())
+				.mapToObj(i -> StoryBlockDto.from(children.get(i), i + 1))
+				.toList())
 			.build();
 	}
 
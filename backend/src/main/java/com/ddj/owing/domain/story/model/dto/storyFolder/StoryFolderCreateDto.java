@@ -11,12 +11,12 @@ public record StoryFolderCreateDto(
 	String description
 ) {
 
-	public StoryFolder toEntity(Integer position) {
+	public StoryFolder toEntity(String orderKey) {
 		return StoryFolder.builder()
 			.projectId(projectId)
 			.name(name)
 			.description(description)
-			.position(position)
+			.orderKey(orderKey)
 			.build();
 	}
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.ddj.owing.domain.story.model.dto.storyFolder;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import com.ddj.owing.domain.story.model.StoryFolder;
 import com.ddj.owing.domain.story.model.StoryPlot;
@@ -15,18 +16,27 @@ public record StoryFolderDto(
 	String name,
 	String description,
 	Integer position,
+	String orderKey,
 	List<StoryPlotDto> files
 ) {
 
-	public static StoryFolderDto from(StoryFolder storyFolder) {
+	/**
+	 * @param position 프로젝트 안에서의 순번(0부터)
+	 */
+	public static StoryFolderDto from(StoryFolder storyFolder, int position) {
+		List<StoryPlot> sorted = storyFolder.getStoryPlots().stream()
+			.sorted(Comparator.comparing(StoryPlot::getOrderKey, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparing(StoryPlot::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+				.thenComparing(StoryPlot::getId))
+			.toList();
 		return StoryFolderDto.builder()
 			.id(storyFolder.getId())
 			.name(storyFolder.getName())
 			.description(storyFolder.getDescription())
-			.position(storyFolder.getPosition())
-			.files(storyFolder.getStoryPlots().stream()
-				.sorted(Comparator.comparing(StoryPlot::getPosition))
-				.map(StoryPlotDto::from)
+			.position(position)
+			.orderKey(storyFolder.getOrderKey())
+			.files(IntStream.range(0, sorted.size())
+				.mapToObj(i -> StoryPlotDto.from(sorted.get(i), i))
 				.toList())
 			.build();
 	}
@@ -0,0 +1,24 @@
+package com.ddj.owing.domain.story.model.dto.storyFolder;
+
+import java.util.List;
+
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotTreeDto;
+
+/**
+ * 사이드바 트리에 필요한 필드만 담은 폴더. 조회 쿼리에서 바로 만들고, 파일 목록은 나중에 채운다.
+ */
+public record StoryFolderTreeDto(
+	Long id,
+	String name,
+	String orderKey,
+	List<StoryPlotTreeDto> files
+) {
+
+	public StoryFolderTreeDto(Long id, String name, String orderKey) {
+		this(id, name, orderKey, List.of());
+	}
+
+	public StoryFolderTreeDto withFiles(List<StoryPlotTreeDto> files) {
+		return new StoryFolderTreeDto(id, name, orderKey, files);
+	}
+}
@@ -3,6 +3,7 @@ package com.ddj.owing.domain.story.model.dto.storyPage;
 import java.util.List;
 import java.util.Map;
 
+import com.ddj.owing.domain.story.model.PageBlock;
 import com.ddj.owing.domain.story.model.StoryPage;
 import com.ddj.owing.domain.story.model.dto.storyBlock.ContentDto;
 
@@ -25,7 +26,19 @@ public record StoryPageBlockDto(
 			.props(storyPageBlock.getProps())
 			.content(storyPageBlock.getContent() == null ? null :
 				storyPageBlock.getContent().stream().map(ContentDto::from).toList())
-			.children(storyPageBlock.getChildren().stream().map(StoryPageBlockDto::from).toList())
+			.children(storyPageBlock.getChildren() == null ? List.of() :
+				storyPageBlock.getChildren().stream().map(StoryPageBlockDto::from).toList())
+			.build();
+	}
+
+	public static StoryPageBlockDto from(PageBlock pageBlock, List<StoryPageBlockDto> children) {
+		return StoryPageBlockDto.builder()
+			.id(pageBlock.getBlockId())
+			.type(pageBlock.getType())
+			.props(pageBlock.getProps())
+			.content(pageBlock.getContent() == null ? null :
+				pageBlock.getContent().stream().map(ContentDto::from).toList())
+			.children(children)
 			.build();
 	}
 
@@ -36,7 +49,7 @@ public record StoryPageBlockDto(
 			.props(props)
 			.content(content == null ? null :
 				content.stream().map(ContentDto::toEntity).toList())
-			.children(children.stream().map(StoryPageBlockDto::toEntity).toList())
+			.children(children == null ? List.of() : children.stream().map(StoryPageBlockDto::toEntity).toList())
 			.build();
 	}
 }
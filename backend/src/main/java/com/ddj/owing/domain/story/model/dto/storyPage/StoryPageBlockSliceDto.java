@@ -0,0 +1,15 @@
+package com.ddj.owing.domain.story.model.dto.storyPage;
+
+import java.util.List;
+
+/**
+ * 최상위 블록 단위로 나눈 원고 일부. 각 블록은 하위 블록을 모두 포함한다.
+ *
+ * @param nextCursor 다음 조회에 넘길 커서. 마지막이면 null
+ */
+public record StoryPageBlockSliceDto(
+	Long storyPlotId,
+	List<StoryPageBlockDto> blocks,
+	String nextCursor
+) {
+}
@@ -0,0 +1,13 @@
+package com.ddj.owing.domain.story.model.dto.storyPage;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record StoryPagePatchDto(
+	@NotNull Long storyPlotId,
+	@NotEmpty List<@Valid StoryPagePatchOperationDto> operations
+) {
+}
@@ -0,0 +1,23 @@
+package com.ddj.owing.domain.story.model.dto.storyPage;
+
+import com.ddj.owing.domain.story.model.StoryPagePatchType;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 원고 블록 트리에 대한 단일 변경.
+ *
+ * @param type 변경 종류
+ * @param blockId UPDATE, MOVE, DELETE 대상 블록 id
+ * @param parentBlockId INSERT, MOVE 시 afterBlockId 가 없을 때 첫 번째 자식으로 넣을 부모 블록 id. 없으면 최상위의 맨 앞
+ * @param afterBlockId INSERT, MOVE 시 바로 앞에 올 형제 블록 id
+ * @param block INSERT 할 블록 또는 UPDATE 할 필드. UPDATE 에서는 null 이 아닌 type, props, content 만 반영한다.
+ */
+public record StoryPagePatchOperationDto(
+	@NotNull StoryPagePatchType type,
+	String blockId,
+	String parentBlockId,
+	String afterBlockId,
+	StoryPageBlockDto block
+) {
+}
@@ -0,0 +1,16 @@
+package com.ddj.owing.domain.story.model.dto.storyPage;
+
+import com.ddj.owing.domain.story.model.StoryPageStorageMode;
+
+/**
+ * 블록 트리를 읽지 않고 원고의 저장 방식만 확인하기 위한 projection.
+ */
+public record StoryPageStorageDto(
+	Long id,
+	StoryPageStorageMode storageMode
+) {
+
+	public boolean isBlockStorage() {
+		return storageMode == StoryPageStorageMode.BLOCKS;
+	}
+}
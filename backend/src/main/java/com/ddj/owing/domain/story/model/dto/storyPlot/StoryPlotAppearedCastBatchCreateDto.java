@@ -0,0 +1,9 @@
+package com.ddj.owing.domain.story.model.dto.storyPlot;
+
+import java.util.List;
+
+public record StoryPlotAppearedCastBatchCreateDto(
+	Long storyPlotId,
+	List<Long> castIdList
+) {
+}
@@ -0,0 +1,15 @@
+package com.ddj.owing.domain.story.model.dto.storyPlot;
+
+/**
+ * 설정 오류 검사 결과 한 건.
+ *
+ * @param base 기존 내용에서 관련된 문장 또는 구절
+ * @param add 추가 내용에서 문제가 되는 문장 또는 구절
+ * @param reason 오류가 발생한 이유
+ */
+public record StoryPlotConflictDto(
+	String base,
+	String add,
+	String reason
+) {
+}
@@ -13,11 +13,11 @@ public record StoryPlotCreateDto(
 	@NotNull Long folderId
 ) {
 
-	public StoryPlot toEntity(StoryFolder storyFolder, Integer position) {
+	public StoryPlot toEntity(StoryFolder storyFolder, String orderKey) {
 		return StoryPlot.builder()
 			.name(name)
 			.description(description)
-			.position(position)
+			.orderKey(orderKey)
 			.storyFolder(storyFolder)
 			.build();
 	}
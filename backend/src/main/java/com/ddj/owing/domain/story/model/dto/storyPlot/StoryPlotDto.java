@@ -10,15 +10,20 @@ public record StoryPlotDto(
 	String name,
 	String description,
 	Integer position,
+	String orderKey,
 	int textCount
 ) {
 
-	public static StoryPlotDto from(StoryPlot storyPlot) {
+	/**
+	 * @param position 폴더 안에서의 순번(0부터)
+	 */
+	public static StoryPlotDto from(StoryPlot storyPlot, int position) {
 		return StoryPlotDto.builder()
 			.id(storyPlot.getId())
 			.name(storyPlot.getName())
 			.description(storyPlot.getDescription())
-			.position(storyPlot.getPosition())
+			.position(position)
+			.orderKey(storyPlot.getOrderKey())
 			.textCount(storyPlot.getTextCount())
 			.build();
 	}
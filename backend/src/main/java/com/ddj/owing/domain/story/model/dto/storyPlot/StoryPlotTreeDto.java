@@ -0,0 +1,9 @@
+package com.ddj.owing.domain.story.model.dto.storyPlot;
+
+public record StoryPlotTreeDto(
+	Long folderId,
+	Long id,
+	String name,
+	String orderKey
+) {
+}
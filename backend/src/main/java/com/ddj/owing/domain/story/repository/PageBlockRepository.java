@@ -0,0 +1,72 @@
+package com.ddj.owing.domain.story.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.ddj.owing.domain.story.model.PageBlock;
+
+public interface PageBlockRepository extends JpaRepository<PageBlock, Long> {
+
+	List<PageBlock> findAllByStoryPageId(Long storyPageId);
+
+	Optional<PageBlock> findByStoryPageIdAndBlockId(Long storyPageId, String blockId);
+
+	@Query("SELECT pb FROM PageBlock pb WHERE pb.storyPageId = :storyPageId AND pb.parentBlockId IS NULL "
+		+ "ORDER BY pb.orderKey")
+	List<PageBlock> findTopLevelBlocks(Long storyPageId, Limit limit);
+
+	@Query("SELECT pb FROM PageBlock pb WHERE pb.storyPageId = :storyPageId AND pb.parentBlockId IS NULL "
+		+ "AND pb.orderKey > :cursor ORDER BY pb.orderKey")
+	List<PageBlock> findTopLevelBlocksAfter(Long storyPageId, String cursor, Limit limit);
+
+	/**
+	 * 주어진 블록들의 모든 하위 블록을 조회한다.
+	 */
+	@Query(value = """
+		WITH RECURSIVE sub AS (
+			SELECT pb.* FROM page_block pb
+			WHERE pb.story_page_id = :storyPageId AND pb.parent_block_id IN (:parentBlockIds)
+			UNION ALL
+			SELECT pb.* FROM page_block pb
+			JOIN sub ON pb.story_page_id = sub.story_page_id AND pb.parent_block_id = sub.block_id
+		)
+		SELECT * FROM sub
+		""", nativeQuery = true)
+	List<PageBlock> findDescendants(Long storyPageId, Collection<String> parentBlockIds);
+
+	@Query(value = "SELECT min(order_key) FROM page_block "
+		+ "WHERE story_page_id = :storyPageId AND parent_block_id IS NOT DISTINCT FROM CAST(:parentBlockId AS varchar)",
+		nativeQuery = true)
+	Optional<String> findFirstOrderKey(Long storyPageId, String parentBlockId);
+
+	@Query(value = "SELECT min(order_key) FROM page_block "
+		+ "WHERE story_page_id = :storyPageId AND parent_block_id IS NOT DISTINCT FROM CAST(:parentBlockId AS varchar) "
+		+ "AND order_key > :orderKey", nativeQuery = true)
+	Optional<String> findNextOrderKey(Long storyPageId, String parentBlockId, String orderKey);
+
+	/**
+	 * 블록과 그 하위 블록을 모두 삭제한다.
+	 */
+	@Modifying
+	@Query(value = """
+		WITH RECURSIVE sub AS (
+			SELECT pb.id, pb.block_id FROM page_block pb
+			WHERE pb.story_page_id = :storyPageId AND pb.block_id = :blockId
+			UNION ALL
+			SELECT pb.id, pb.block_id FROM page_block pb
+			JOIN sub ON pb.story_page_id = :storyPageId AND pb.parent_block_id = sub.block_id
+		)
+		DELETE FROM page_block WHERE id IN (SELECT id FROM sub)
+		""", nativeQuery = true)
+	int deleteSubtree(Long storyPageId, String blockId);
+
+	@Modifying
+	@Query("DELETE FROM PageBlock pb WHERE pb.storyPageId = :storyPageId")
+	int deleteAllOfPage(Long storyPageId);
+}
@@ -1,18 +1,246 @@
 package com.ddj.owing.domain.story.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.ddj.owing.domain.story.model.StoryPage;
-
-import io.lettuce.core.dynamic.annotation.Param;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageStorageDto;
 
 public interface StoryPageRepository extends JpaRepository<StoryPage, Long> {
+
+	/**
+	 * 원고의 블록 트리를 펼쳐 각 블록의 jsonb 경로(path)를 구한다.
+	 */
+	String BLOCK_TREE_CTE = """
+		WITH RECURSIVE tree(path, block) AS (
+			SELECT ARRAY[CAST(e.idx - 1 AS text)], e.block
+			FROM story_page sp
+			CROSS JOIN LATERAL jsonb_array_elements(sp.blocks) WITH ORDINALITY AS e(block, idx)
+			WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+			UNION ALL
+			SELECT t.path || ARRAY['children', CAST(c.idx - 1 AS text)], c.block
+			FROM tree t
+			CROSS JOIN LATERAL jsonb_array_elements(
+				CASE WHEN jsonb_typeof(t.block -> 'children') = 'array'
+					THEN t.block -> 'children' ELSE CAST('[]' AS jsonb) END
+			) WITH ORDINALITY AS c(block, idx)
+		)
+		""";
+
+	/**
+	 * {@link #BLOCK_TREE_CTE} 에 :blockId 블록의 경로인 target 을 더한다.
+	 */
+	String BLOCK_PATH_CTE = BLOCK_TREE_CTE + """
+		,
+		target AS (
+			SELECT path FROM tree WHERE block ->> 'id' = :blockId LIMIT 1
+		)
+		""";
+
 	Optional<StoryPage> findByStoryPlotId(Long storyPlotId);
 
+	/**
+	 * DOCUMENT 저장 방식 원고의 트리 전체에서 blockIds 중 이미 있는 블록 id 를 찾는다.
+	 */
+	@Query(value = BLOCK_TREE_CTE + """
+		SELECT block ->> 'id' FROM tree WHERE block ->> 'id' IN (:blockIds)
+		""", nativeQuery = true)
+	List<String> findExistingBlockIds(Long storyPlotId, Collection<String> blockIds);
+
+	@Query("SELECT new com.ddj.owing.domain.story.model.dto.storyPage.StoryPageStorageDto(sp.id, sp.storageMode) "
+		+ "FROM StoryPage sp WHERE sp.storyPlot.id = :storyPlotId")
+	Optional<StoryPageStorageDto> findStorageByStoryPlotId(Long storyPlotId);
+
+	/**
+	 * DOCUMENT 저장 방식 원고의 최상위 블록을 처음부터 limit 개 가져온다.
+	 */
+	@Query(value = """
+		SELECT CAST(e.block AS text)
+		FROM story_page sp
+		CROSS JOIN LATERAL jsonb_array_elements(sp.blocks) WITH ORDINALITY AS e(block, idx)
+		WHERE sp.id = :storyPageId
+		ORDER BY e.idx
+		LIMIT :limit
+		""", nativeQuery = true)
+	List<String> findBlockJsonSlice(Long storyPageId, int limit);
+
+	/**
+	 * DOCUMENT 저장 방식 원고에서 id 가 afterBlockId 인 최상위 블록 다음부터 limit 개 가져온다.
+	 * 앞쪽에 블록이 추가되거나 삭제되어도 이어서 읽을 위치가 밀리지 않는다. afterBlockId 블록이 없으면 빈 목록이다.
+	 */
+	@Query(value = """
+		WITH elements AS (
+			SELECT e.block, e.idx
+			FROM story_page sp
+			CROSS JOIN LATERAL jsonb_array_elements(sp.blocks) WITH ORDINALITY AS e(block, idx)
+			WHERE sp.id = :storyPageId
+		)
+		SELECT CAST(block AS text)
+		FROM elements
+		WHERE idx > (SELECT idx FROM elements WHERE block ->> 'id' = :afterBlockId LIMIT 1)
+		ORDER BY idx
+		LIMIT :limit
+		""", nativeQuery = true)
+	List<String> findBlockJsonSliceAfter(Long storyPageId, String afterBlockId, int limit);
+
+	/**
+	 * DOCUMENT 저장 방식 원고에 id 가 blockId 인 최상위 블록이 있는지 확인한다.
+	 */
+	@Query(value = """
+		SELECT EXISTS (
+			SELECT 1
+			FROM story_page sp
+			CROSS JOIN LATERAL jsonb_array_elements(sp.blocks) AS e(block)
+			WHERE sp.id = :storyPageId AND e.block ->> 'id' = :blockId
+		)
+		""", nativeQuery = true)
+	boolean existsTopLevelBlock(Long storyPageId, String blockId);
+
+	/**
+	 * 패치 적용 동안 같은 원고에 대한 다른 패치가 경로를 바꾸지 않도록 행을 잠근다.
+	 */
+	@Query(value = "SELECT sp.id FROM story_page sp WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false "
+		+ "FOR UPDATE", nativeQuery = true)
+	Optional<Long> lockByStoryPlotId(Long storyPlotId);
+
+	@Query(value = BLOCK_PATH_CTE + """
+		SELECT CAST(sp.blocks #> t.path AS text)
+		FROM story_page sp, target t
+		WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+		""", nativeQuery = true)
+	Optional<String> findBlockJson(Long storyPlotId, String blockId);
+
+	/**
+	 * 블록의 필드를 병합한다. fields 에 없는 필드와 children 은 유지된다.
+	 */
+	@Modifying
+	@Query(value = BLOCK_PATH_CTE + """
+		UPDATE story_page sp
+		SET blocks = jsonb_set(sp.blocks, t.path, (sp.blocks #> t.path) || CAST(:fields AS jsonb)),
+			updated_at = now()
+		FROM target t
+		WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+		""", nativeQuery = true)
+	int updateBlockFields(Long storyPlotId, String blockId, String fields);
+
+	@Modifying
+	@Query(value = BLOCK_PATH_CTE + """
+		UPDATE story_page sp
+		SET blocks = sp.blocks #- t.path, updated_at = now()
+		FROM target t
+		WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+		""", nativeQuery = true)
+	int deleteBlock(Long storyPlotId, String blockId);
+
+	/**
+	 * :blockId 블록 바로 뒤에 형제로 삽입한다.
+	 */
+	@Modifying
+	@Query(value = BLOCK_PATH_CTE + """
+		UPDATE story_page sp
+		SET blocks = jsonb_insert(sp.blocks, t.path, CAST(:block AS jsonb), true), updated_at = now()
+		FROM target t
+		WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+		""", nativeQuery = true)
+	int insertBlockAfter(Long storyPlotId, String blockId, String block);
+
+	/**
+	 * :blockId 블록의 첫 번째 자식으로 삽입한다. children 이 없으면 만든다.
+	 */
+	@Modifying
+	@Query(value = BLOCK_PATH_CTE + """
+		UPDATE story_page sp
+		SET blocks = jsonb_insert(
+				jsonb_set(sp.blocks, t.path || ARRAY['children'],
+					COALESCE(sp.blocks #> (t.path || ARRAY['children']), CAST('[]' AS jsonb))),
+				t.path || ARRAY['children', '0'], CAST(:block AS jsonb)),
+			updated_at = now()
+		FROM target t
+		WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+		""", nativeQuery = true)
+	int insertFirstChild(Long storyPlotId, String blockId, String block);
+
+	@Modifying
+	@Query(value = """
+		UPDATE story_page sp
+		SET blocks = jsonb_insert(COALESCE(sp.blocks, CAST('[]' AS jsonb)), ARRAY['0'], CAST(:block AS jsonb)),
+			updated_at = now()
+		WHERE sp.story_plot_id = :storyPlotId AND sp.deleted = false
+		""", nativeQuery = true)
+	int insertFirstBlock(Long storyPlotId, String block);
+
+	@Query("SELECT sp.plainText FROM StoryPage sp WHERE sp.id = :storyPageId")
+	Optional<String> findPlainTextById(Long storyPageId);
+
+	/**
+	 * 패치처럼 SQL 로 블록을 바꾼 뒤 호출한다. 비워둔 plain_text 는 다음 본문 조회 때 한 번만 다시 계산된다.
+	 */
+	@Modifying
+	@Query(value = "UPDATE story_page SET plain_text = NULL WHERE id = :storyPageId", nativeQuery = true)
+	int clearPlainText(Long storyPageId);
+
+	/**
+	 * DOCUMENT 방식 원고의 jsonb 트리를 문서 순서로 펼쳐 plain_text 를 다시 계산한다.
+	 */
+	@Modifying
+	@Query(value = """
+		UPDATE story_page sp
+		SET plain_text = (
+			WITH RECURSIVE tree(path, block) AS (
+				SELECT ARRAY[e.idx], e.block
+				FROM story_page p
+				CROSS JOIN LATERAL jsonb_array_elements(p.blocks) WITH ORDINALITY AS e(block, idx)
+				WHERE p.id = :storyPageId
+				UNION ALL
+				SELECT t.path || c.idx, c.block
+				FROM tree t
+				CROSS JOIN LATERAL jsonb_array_elements(
+					CASE WHEN jsonb_typeof(t.block -> 'children') = 'array'
+						THEN t.block -> 'children' ELSE CAST('[]' AS jsonb) END
+				) WITH ORDINALITY AS c(block, idx)
+			)
+			SELECT COALESCE(string_agg(ct.content ->> 'text', E'\\n' ORDER BY t.path, ct.idx), '')
+			FROM tree t
+			CROSS JOIN LATERAL jsonb_array_elements(
+				CASE WHEN jsonb_typeof(t.block -> 'content') = 'array'
+					THEN t.block -> 'content' ELSE CAST('[]' AS jsonb) END
+			) WITH ORDINALITY AS ct(content, idx)
+			WHERE ct.content ->> 'text' IS NOT NULL
+		)
+		WHERE sp.id = :storyPageId
+		""", nativeQuery = true)
+	int refreshDocumentPlainText(Long storyPageId);
+
+	/**
+	 * BLOCKS 방식 원고의 page_block 행을 정렬 키 경로 순으로 펼쳐 plain_text 를 다시 계산한다.
+	 * 정렬 키는 영숫자뿐이므로 '/' 로 이은 경로를 "C" 로 비교하면 부모, 자식, 다음 형제 순이 된다.
+	 */
+	@Modifying
 	@Query(value = """
-		SELECT string_agg(c ->> 'text', E'\\n') AS tx FROM story_page sp, jsonb_array_elements(sp.page_blocks) AS pb, jsonb_array_elements(pb -> 'content') AS c WHERE sp.story_plot_id = :storyPlotId""", nativeQuery = true)
-	String findAllTextListByStoryPlotId(@Param("storyPlotId") Long storyPlotId);
+		UPDATE story_page sp
+		SET plain_text = (
+			WITH RECURSIVE tree(path, block_id, content) AS (
+				SELECT CAST(pb.order_key AS text) COLLATE "default", pb.block_id, pb.content
+				FROM page_block pb
+				WHERE pb.story_page_id = :storyPageId AND pb.parent_block_id IS NULL
+				UNION ALL
+				SELECT CAST(t.path || '/' || pb.order_key AS text) COLLATE "default", pb.block_id, pb.content
+				FROM tree t
+				JOIN page_block pb ON pb.story_page_id = :storyPageId AND pb.parent_block_id = t.block_id
+			)
+			SELECT COALESCE(string_agg(ct.content ->> 'text', E'\\n' ORDER BY t.path COLLATE "C", ct.idx), '')
+			FROM tree t
+			CROSS JOIN LATERAL jsonb_array_elements(
+				CASE WHEN jsonb_typeof(t.content) = 'array' THEN t.content ELSE CAST('[]' AS jsonb) END
+			) WITH ORDINALITY AS ct(content, idx)
+			WHERE ct.content ->> 'text' IS NOT NULL
+		)
+		WHERE sp.id = :storyPageId
+		""", nativeQuery = true)
+	int refreshBlocksPlainText(Long storyPageId);
 }
@@ -1,11 +1,14 @@
 package com.ddj.owing.domain.story.repository;
 
 import com.ddj.owing.domain.story.model.StoryPlotNode;
+import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastDto;
+import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastPairDto;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -13,13 +16,119 @@ public interface StoryPlotNodeRepository extends Neo4jRepository<StoryPlotNode,
 
     @Query("MATCH (n1:StoryPlot{id: $id}) " +
             "WHERE n1.deletedAt IS NULL " +
-            "OPTIONAL MATCH (n1)-[r]-(n2:Cast) " +
+            "OPTIONAL MATCH (n1)-[r:APPEARED]-(n2:Cast) " +
             "WHERE n2 IS NULL OR n2.deletedAt IS NULL " +
             "RETURN n1, collect(r), collect(n2)")
     Optional<StoryPlotNode> findById(Long id);
 
-    @Query("MATCH (n1:StoryPlot{id: $storyPlotId})-[r]-(n2:Cast{id: $castId}) " +
+    @Query("MATCH (n1:StoryPlot{id: $id}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "RETURN count(n1) > 0")
+    boolean existsActiveById(Long id);
+
+    /**
+     * 프로젝트 노드가 아직 없으면 아무것도 만들지 않고 0 을 반환한다.
+     */
+    @Query("MATCH (n2:Project{id: $projectId}) " +
+            "MERGE (n1:StoryPlot{id: $id}) " +
+            "ON CREATE SET n1.createdAt = localdatetime() " +
+            "SET n1.name = $name, n1.updatedAt = localdatetime(), n1.deletedAt = null " +
+            "MERGE (n2)-[:INCLUDED]->(n1) " +
+            "RETURN count(n1)")
+    Integer upsertById(Long id, String name, Long projectId);
+
+    @Query("MATCH (n1:StoryPlot{id: $id}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "SET n1.deletedAt = localdatetime(), n1.updatedAt = localdatetime() " +
+            "RETURN count(n1)")
+    Integer softDeleteById(Long id);
+
+    @Query("MATCH (n1:StoryPlot) " +
+            "WHERE n1.id IN $ids AND n1.deletedAt IS NULL " +
+            "RETURN n1.id")
+    List<Long> findActiveIdsByIdIn(List<Long> ids);
+
+    /**
+     * 아직 출연 관계가 없는 인물만 한 번에 연결하고, 새로 만든 관계를 반환한다.
+     * 동시에 같은 인물을 등록해도 관계가 중복되지 않도록 MERGE 로 만든다.
+     * 직접 등록한 관계는 source = 'MANUAL' 이며, 이미 자동으로 만든 관계가 있으면 MANUAL 로 바꾸고 삭제 기록을 지운다.
+     */
+    @Query("MATCH (n1:StoryPlot{id: $storyPlotId}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "UNWIND $castIds AS castId " +
+            "MATCH (n2:Cast{id: castId}) " +
+            "WHERE n2.deletedAt IS NULL " +
+            "OPTIONAL MATCH (n2)-[s:APPEARANCE_SUPPRESSED]->(n1) " +
+            "DELETE s " +
+            "WITH DISTINCT n1, n2 " +
+            "MERGE (n2)-[r:APPEARED]->(n1) " +
+            "ON CREATE SET r.createdAt = localdatetime(), r.created = true " +
+            "SET r.source = 'MANUAL' " +
+            "WITH n1, n2, r, r.created IS NOT NULL AS created " +
+            "REMOVE r.created " +
+            "WITH n1, n2, created " +
+            "WHERE created " +
+            "RETURN n2.id AS castId, n2.name AS castName")
+    List<StoryPlotAppearedCastDto> createAppearedCastings(Long storyPlotId, List<Long> castIds);
+
+    /**
+     * 여러 플롯의 출연 관계를 한 번에 만든다. 이미 있는 관계는 {@link #createAppearedCastings} 와 같이 MANUAL 로 바꾼다.
+     *
+     * @param rows storyPlotId 와 castIds 를 담은 행 목록
+     */
+    @Query("UNWIND $rows AS row " +
+            "MATCH (n1:StoryPlot{id: row.storyPlotId}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "UNWIND row.castIds AS castId " +
+            "MATCH (n2:Cast{id: castId}) " +
+            "WHERE n2.deletedAt IS NULL " +
+            "OPTIONAL MATCH (n2)-[s:APPEARANCE_SUPPRESSED]->(n1) " +
+            "DELETE s " +
+            "WITH DISTINCT n1, n2 " +
+            "MERGE (n2)-[r:APPEARED]->(n1) " +
+            "ON CREATE SET r.createdAt = localdatetime(), r.created = true " +
+            "SET r.source = 'MANUAL' " +
+            "WITH n1, n2, r, r.created IS NOT NULL AS created " +
+            "REMOVE r.created " +
+            "WITH n1, n2, created " +
+            "WHERE created " +
+            "RETURN n1.id AS storyPlotId, n2.id AS castId, n2.name AS castName")
+    List<StoryPlotAppearedCastPairDto> createAppearedCastingsOfPlots(List<Map<String, Object>> rows);
+
+    /**
+     * 출연 관계를 지우고, 원고에 이름이 계속 남아 있어도 자동 색인이 다시 만들지 않도록 삭제 기록을 남긴다.
+     */
+    @Query("MATCH (n1:StoryPlot{id: $storyPlotId})<-[r:APPEARED]-(n2:Cast{id: $castId}) " +
             "DELETE r " +
+            "MERGE (n2)-[:APPEARANCE_SUPPRESSED]->(n1) " +
             "RETURN count(DISTINCT r)")
     Integer deleteAppearedCasting(Long storyPlotId, Long castId);
+
+    @Query("MATCH (n2:Cast)-[:APPEARED {source: 'AUTO'}]->(n1:StoryPlot{id: $storyPlotId}) " +
+            "RETURN n2.id")
+    List<Long> findAutoAppearedCastIds(Long storyPlotId);
+
+    /**
+     * 원고 본문에서 찾은 인물의 출연 관계를 만든다. 직접 등록한 관계가 이미 있으면 그대로 두고,
+     * 사용자가 삭제한 관계는 다시 만들지 않는다.
+     */
+    @Query("MATCH (n1:StoryPlot{id: $storyPlotId}) " +
+            "WHERE n1.deletedAt IS NULL " +
+            "UNWIND $castIds AS castId " +
+            "MATCH (n2:Cast{id: castId}) " +
+            "WHERE n2.deletedAt IS NULL " +
+                "AND NOT (n2)-[:APPEARANCE_SUPPRESSED]->(n1) " +
+            "MERGE (n2)-[r:APPEARED]->(n1) " +
+            "ON CREATE SET r.source = 'AUTO' " +
+            "RETURN count(r)")
+    Integer mergeAutoAppearedCastings(Long storyPlotId, List<Long> castIds);
+
+    /**
+     * 자동으로 만든 출연 관계만 삭제한다.
+     */
+    @Query("MATCH (n2:Cast)-[r:APPEARED {source: 'AUTO'}]->(n1:StoryPlot{id: $storyPlotId}) " +
+            "WHERE n2.id IN $castIds " +
+            "DELETE r " +
+            "RETURN count(r)")
+    Integer deleteAutoAppearedCastings(Long storyPlotId, List<Long> castIds);
 }
@@ -3,31 +3,22 @@ package com.ddj.owing.domain.story.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotTreeDto;
 
 public interface StoryPlotRepository extends JpaRepository<StoryPlot, Long> {
 
-	List<StoryPlot> findByStoryFolderIdOrderByPositionAsc(Long storyFolderId);
-
-	@Query("SELECT COALESCE(MAX(position), 0) FROM StoryPlot WHERE storyFolder.id = :folderId")
-	Integer findMaxOrderByStoryFolderId(Long folderId);
-
-	@Modifying
-	@Query("update StoryPlot set position = position - 1 where position between :start and :end and storyFolder.id = :folderId")
-	void decrementPositionBetween(Integer start, Integer end, Long folderId);
-
-	@Modifying
-	@Query("update StoryPlot set position = position + 1 where position between :start and :end and storyFolder.id = :folderId")
-	void incrementPositionBetween(Integer start, Integer end, Long folderId);
-
-	@Modifying
-	@Query("update StoryPlot set position = position - 1 where position > :position and storyFolder.id = :folderId")
-	void decrementPositionAfter(Integer position, Long folderId);
-
-	@Modifying
-	@Query("update StoryPlot set position = position + 1 where position >= :position and storyFolder.id = :folderId")
-	void incrementPositionAfter(Integer position, Long folderId);
+	@Query("SELECT sp FROM StoryPlot sp WHERE sp.storyFolder.id = :storyFolderId "
+		+ "ORDER BY sp.orderKey ASC NULLS FIRST, sp.position ASC, sp.id ASC")
+	List<StoryPlot> findByStoryFolderIdOrderByOrderKey(Long storyFolderId);
+
+	/**
+	 * 프로젝트의 모든 플롯을 폴더별 순서대로 가져온다. 사이드바 트리에 필요한 필드만 읽는다.
+	 */
+	@Query("SELECT new com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotTreeDto(sf.id, sp.id, sp.name, sp.orderKey) "
+		+ "FROM StoryPlot sp JOIN sp.storyFolder sf WHERE sf.projectId = :projectId "
+		+ "ORDER BY sf.id ASC, sp.orderKey ASC NULLS FIRST, sp.position ASC, sp.id ASC")
+	List<StoryPlotTreeDto> findTreeByProjectId(Long projectId);
 }
@@ -0,0 +1,202 @@
+package com.ddj.owing.domain.story.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.story.event.StoryPageChangedEvent;
+import com.ddj.owing.domain.story.repository.StoryPlotNodeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 원고가 저장될 때마다 본문에 이름이 등장한 인물로 APPEARED 관계를 맞춘다. LLM 은 사용하지 않는다.
+ * 블록별로 찾은 인물을 Redis 에 보관하여 바뀐 블록만 다시 검사하며, 프로젝트 인물 목록이 바뀌었거나 보관본이 없으면 전체를 검사한다.
+ * 자동으로 만든 관계에는 source = 'AUTO' 를 기록하고, 삭제는 자동 관계에만 적용하여 직접 등록한 관계는 건드리지 않는다.
+ * 사용자가 삭제한 관계는 APPEARANCE_SUPPRESSED 로 기록되어 다시 만들지 않는다.
+ */
+@Slf4j
+@Component
+public class CastAppearanceIndexer {
+
+	private static final String KEY_PREFIX = "story:appearance:";
+	private static final String CASTS_FIELD = "casts";
+	private static final String BLOCK_FIELD_PREFIX = "block:";
+
+	private final StringRedisTemplate redisTemplate;
+	private final CastingNodeRepository castingNodeRepository;
+	private final StoryPlotNodeRepository storyPlotNodeRepository;
+	private final StoryPageService storyPageService;
+	private final TaskExecutor castAppearanceExecutor;
+	private final Duration ttl;
+	private final int batchSize;
+
+	public CastAppearanceIndexer(
+		StringRedisTemplate redisTemplate,
+		CastingNodeRepository castingNodeRepository,
+		StoryPlotNodeRepository storyPlotNodeRepository,
+		StoryPageService storyPageService,
+		@Qualifier("castAppearanceExecutor") TaskExecutor castAppearanceExecutor,
+		@Value("${story.appearance.index.ttl:7d}") Duration ttl,
+		@Value("${story.appearance.index.batch-size:100}") int batchSize
+	) {
+		this.redisTemplate = redisTemplate;
+		this.castingNodeRepository = castingNodeRepository;
+		this.storyPlotNodeRepository = storyPlotNodeRepository;
+		this.storyPageService = storyPageService;
+		this.castAppearanceExecutor = castAppearanceExecutor;
+		this.ttl = ttl;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * 커밋된 저장만 반영하며, 트랜잭션 없이 저장된 경우에도 실행한다.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStoryPageChanged(StoryPageChangedEvent event) {
+		try {
+			castAppearanceExecutor.execute(() -> index(event));
+		} catch (TaskRejectedException e) {
+			log.warn("출연 관계 색인 대기열 초과. 다음 저장 때 다시 반영됩니다. storyPlotId:{}", event.storyPlotId());
+		}
+	}
+
+	private void index(StoryPageChangedEvent event) {
+		try {
+			List<CastingSummaryDto> casts = castingNodeRepository.findAllSummaryByProjectId(event.projectId());
+			CastNameMatcher matcher = CastNameMatcher.of(casts);
+			String castsFingerprint = fingerprint(casts);
+
+			Map<String, String> blockMentions = loadBlockMentions(event.storyPlotId(), castsFingerprint);
+			Map<String, String> blockTexts = event.blockTexts();
+			boolean partial = event.partial();
+			if (blockMentions == null && partial) {
+				blockTexts = storyPageService.getBlockTexts(event.storyPlotId());
+				partial = false;
+			}
+			Collection<String> rescanBlockIds = blockMentions == null
+				? blockTexts.keySet()
+				: event.changedBlockIds();
+			if (blockMentions == null) {
+				blockMentions = new HashMap<>();
+			}
+
+			for (String blockId : rescanBlockIds) {
+				String text = blockTexts.get(blockId);
+				if (text == null) {
+					blockMentions.remove(blockId);
+				} else {
+					blockMentions.put(blockId, matcher.match(text).definite().stream()
+						.map(cast -> String.valueOf(cast.id()))
+						.collect(Collectors.joining(",")));
+				}
+			}
+			if (!partial) {
+				blockMentions.keySet().retainAll(blockTexts.keySet());
+			}
+
+			Set<Long> appearedCastIds = blockMentions.values().stream()
+				.filter(mentions -> !mentions.isEmpty())
+				.flatMap(mentions -> Arrays.stream(mentions.split(",")))
+				.map(Long::valueOf)
+				.collect(Collectors.toSet());
+			syncAppearedCastings(event.storyPlotId(), appearedCastIds);
+			saveBlockMentions(event.storyPlotId(), castsFingerprint, blockMentions);
+		} catch (RuntimeException e) {
+			log.warn("출연 관계 색인 실패. storyPlotId:{}", event.storyPlotId(), e);
+		}
+	}
+
+	private void syncAppearedCastings(Long storyPlotId, Set<Long> appearedCastIds) {
+		Set<Long> indexedCastIds = new HashSet<>(storyPlotNodeRepository.findAutoAppearedCastIds(storyPlotId));
+
+		List<Long> addedCastIds = appearedCastIds.stream().filter(id -> !indexedCastIds.contains(id)).toList();
+		List<Long> removedCastIds = indexedCastIds.stream().filter(id -> !appearedCastIds.contains(id)).toList();
+		for (int from = 0; from < addedCastIds.size(); from += batchSize) {
+			storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId,
+				addedCastIds.subList(from, Math.min(from + batchSize, addedCastIds.size())));
+		}
+		for (int from = 0; from < removedCastIds.size(); from += batchSize) {
+			storyPlotNodeRepository.deleteAutoAppearedCastings(storyPlotId,
+				removedCastIds.subList(from, Math.min(from + batchSize, removedCastIds.size())));
+		}
+	}
+
+	/**
+	 * @return 보관된 블록별 인물 id 목록. 없거나 인물 목록이 바뀌었으면 null
+	 */
+	private Map<String, String> loadBlockMentions(Long storyPlotId, String castsFingerprint) {
+		try {
+			Map<Object, Object> entries = redisTemplate.opsForHash().entries(KEY_PREFIX + storyPlotId);
+			if (!castsFingerprint.equals(entries.get(CASTS_FIELD))) {
+				return null;
+			}
+			Map<String, String> blockMentions = new HashMap<>();
+			entries.forEach((field, mentions) -> {
+				String fieldName = (String)field;
+				if (fieldName.startsWith(BLOCK_FIELD_PREFIX)) {
+					blockMentions.put(fieldName.substring(BLOCK_FIELD_PREFIX.length()), (String)mentions);
+				}
+			});
+			return blockMentions;
+		} catch (DataAccessException e) {
+			log.warn("출연 관계 색인 조회 실패. 전체를 다시 검사합니다. storyPlotId:{}", storyPlotId, e);
+			return null;
+		}
+	}
+
+	private void saveBlockMentions(Long storyPlotId, String castsFingerprint, Map<String, String> blockMentions) {
+		Map<String, String> fields = new HashMap<>();
+		fields.put(CASTS_FIELD, castsFingerprint);
+		blockMentions.forEach((blockId, mentions) -> fields.put(BLOCK_FIELD_PREFIX + blockId, mentions));
+
+		String key = KEY_PREFIX + storyPlotId;
+		try {
+			redisTemplate.delete(key);
+			redisTemplate.opsForHash().putAll(key, fields);
+			redisTemplate.expire(key, ttl);
+		} catch (DataAccessException e) {
+			log.warn("출연 관계 색인 저장 실패. storyPlotId:{}", storyPlotId, e);
+		}
+	}
+
+	/**
+	 * 인물 id 와 이름으로 만든 SHA-256 값. 인물 목록이 바뀌면 보관된 블록별 결과를 버리고 전체를 다시 검사한다.
+	 */
+	static String fingerprint(List<CastingSummaryDto> casts) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			casts.stream()
+				.map(cast -> cast.id() + ":" + cast.name())
+				.sorted()
+				.forEach(cast -> {
+					digest.update(cast.getBytes(StandardCharsets.UTF_8));
+					digest.update((byte)0);
+				});
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
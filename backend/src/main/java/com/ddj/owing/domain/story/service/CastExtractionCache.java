@@ -0,0 +1,139 @@
+package com.ddj.owing.domain.story.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 원고 인물 추출 결과 캐시. 원고 본문과 프로젝트 인물 목록이 같으면 같은 키가 되므로 OpenAI 를 다시 호출하지 않는다.
+ * 프롬프트 버전과 모델 이름도 키에 넣어, 둘 중 하나가 바뀌면 이전 결과를 쓰지 않는다.
+ * 키 수는 삽입 시각 순 ZSET 색인으로 max-entries 이하로 유지하며, 넘치면 오래된 항목부터 지운다.
+ * Redis 장애 시에는 캐시 미스로 취급한다.
+ */
+@Slf4j
+@Component
+public class CastExtractionCache {
+
+	private static final String KEY_PREFIX = "story:cast-extract:";
+	private static final String INDEX_KEY = KEY_PREFIX + "index";
+	private static final String METRIC_NAME = "story.cast.extract.cache";
+
+	/**
+	 * 값을 저장하고 색인을 갱신한 뒤, 만료됐거나 한도를 넘는 오래된 항목을 지운다.
+	 * 색인에서 꺼낸 키를 직접 지우므로 단일 Redis 인스턴스를 전제로 한다.
+	 */
+	private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+		redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+		redis.call('ZADD', KEYS[2], ARGV[3], KEYS[1])
+		redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[3] - ARGV[2])
+		local overflow = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[4])
+		if overflow > 0 then
+			local evicted = redis.call('ZPOPMIN', KEYS[2], overflow)
+			for i = 1, #evicted, 2 do
+				redis.call('DEL', evicted[i])
+			end
+		end
+		return 0
+		""", Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final String resultVersion;
+	private final Duration ttl;
+	private final int maxEntries;
+	private final Counter hitCounter;
+	private final Counter missCounter;
+
+	public CastExtractionCache(
+		StringRedisTemplate redisTemplate,
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry,
+		@Value("${story.cast-extract.cache.prompt-version:1}") String promptVersion,
+		@Value("${spring.ai.openai.chat.options.model:}") String model,
+		@Value("${story.cast-extract.cache.ttl:1d}") Duration ttl,
+		@Value("${story.cast-extract.cache.max-entries:10000}") int maxEntries
+	) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.resultVersion = promptVersion + "/" + model;
+		this.ttl = ttl;
+		this.maxEntries = maxEntries;
+		this.hitCounter = meterRegistry.counter(METRIC_NAME, "result", "hit");
+		this.missCounter = meterRegistry.counter(METRIC_NAME, "result", "miss");
+	}
+
+	/**
+	 * 공백을 정규화한 원고 본문과 id 순으로 정렬한 인물 목록으로 캐시 키를 만든다.
+	 * 사전 필터 사용 여부에 따라 결과가 달라질 수 있으므로 모드도 키에 포함한다.
+	 * 추출 프롬프트를 고치면 story.cast-extract.cache.prompt-version 을 올려 이전 결과를 무효화한다.
+	 */
+	public String key(String storyPlotText, List<CastingSummaryDto> castingSummaryList, boolean prefilterEnabled) {
+		String normalizedText = storyPlotText == null ? "" : storyPlotText.strip().replaceAll("\\s+", " ");
+		List<CastingSummaryDto> sortedCasts = castingSummaryList.stream()
+			.sorted(Comparator.comparing(CastingSummaryDto::id, Comparator.nullsFirst(Comparator.naturalOrder())))
+			.toList();
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(resultVersion.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update((byte)(prefilterEnabled ? 1 : 0));
+			digest.update(normalizedText.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update(objectMapper.writeValueAsBytes(sortedCasts));
+			return KEY_PREFIX + HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException | JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 적중은 곧 생략된 OpenAI 호출 수이므로, hit/miss 카운터로 적중률과 절약한 호출 수를 함께 본다.
+	 */
+	public Optional<List<CastingSummaryDto>> get(String key) {
+		try {
+			String castsJson = redisTemplate.opsForValue().get(key);
+			if (castsJson == null) {
+				missCounter.increment();
+				return Optional.empty();
+			}
+			hitCounter.increment();
+			return Optional.of(objectMapper.readValue(castsJson, new TypeReference<>() {
+			}));
+		} catch (DataAccessException | JsonProcessingException e) {
+			log.warn("인물 추출 캐시 조회 실패. key:{}", key, e);
+			missCounter.increment();
+			return Optional.empty();
+		}
+	}
+
+	public void put(String key, List<CastingSummaryDto> extractedCasts) {
+		try {
+			long now = System.currentTimeMillis();
+			redisTemplate.execute(PUT_SCRIPT, List.of(key, INDEX_KEY), objectMapper.writeValueAsString(extractedCasts),
+				String.valueOf(ttl.toMillis()), String.valueOf(now), String.valueOf(maxEntries));
+		} catch (DataAccessException | JsonProcessingException e) {
+			log.warn("인물 추출 캐시 저장 실패. key:{}", key, e);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.ddj.owing.domain.story.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
+
+/**
+ * 프로젝트 인물 이름으로 Aho-Corasick 오토마톤을 만들어 원고를 한 번 훑으며 등장한 이름을 찾는다.
+ * 겹치는 일치는 왼쪽에서부터 가장 긴 이름을 택하므로, "민수" 안의 "민" 처럼 다른 이름에 포함된 짧은 이름은 따로 세지 않는다.
+ * 라틴 문자 이름은 단어 경계에서만 일치시켜 "Ann" 이 "Annual" 에, "Al" 이 "Also" 에 걸리지 않게 한다.
+ * 한글 이름은 조사가 바로 붙으므로 ("민수가") 경계를 보지 않는다.
+ * <ul>
+ *     <li>확정: 두 글자 이상의 전체 이름이 한 인물에게만 속하고 원고에 등장한 경우</li>
+ *     <li>모호: 같은 이름의 인물이 여럿이거나, 한 글자 이름이거나, 여러 단어 이름의 일부만 등장한 경우</li>
+ * </ul>
+ * 한 번도 일치하지 않은 인물은 어느 쪽에도 포함되지 않는다.
+ */
+final class CastNameMatcher {
+
+	private static final int ROOT = 0;
+
+	private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+	private final List<Integer> failures = new ArrayList<>();
+	private final List<List<Integer>> outputs = new ArrayList<>();
+	private final List<Pattern> patterns = new ArrayList<>();
+
+	private CastNameMatcher() {
+		addNode();
+	}
+
+	static CastNameMatcher of(List<CastingSummaryDto> casts) {
+		Map<String, Pattern> patternsByName = new LinkedHashMap<>();
+		for (CastingSummaryDto cast : casts) {
+			String name = normalize(cast.name());
+			if (name.isEmpty()) {
+				continue;
+			}
+			patternsByName.computeIfAbsent(name, Pattern::new).fullNameCasts.add(cast);
+
+			String[] tokens = name.split(" ");
+			if (tokens.length > 1) {
+				for (String token : tokens) {
+					if (token.length() > 1) {
+						patternsByName.computeIfAbsent(token, Pattern::new).partialNameCasts.add(cast);
+					}
+				}
+			}
+		}
+
+		CastNameMatcher matcher = new CastNameMatcher();
+		patternsByName.values().forEach(matcher::addPattern);
+		matcher.buildFailures();
+		return matcher;
+	}
+
+	/**
+	 * @param text 원고 본문
+	 * @return 확정 인물과 모델 판단이 필요한 후보 인물
+	 */
+	Result match(String text) {
+		Set<CastingSummaryDto> definite = new LinkedHashSet<>();
+		Set<CastingSummaryDto> ambiguous = new LinkedHashSet<>();
+		for (Pattern pattern : findPatterns(normalize(text))) {
+			boolean uniqueFullName = pattern.fullNameCasts.size() == 1 && pattern.name.length() > 1;
+			if (uniqueFullName) {
+				definite.addAll(pattern.fullNameCasts);
+			} else {
+				ambiguous.addAll(pattern.fullNameCasts);
+			}
+			ambiguous.addAll(pattern.partialNameCasts);
+		}
+		ambiguous.removeAll(definite);
+		return new Result(List.copyOf(definite), List.copyOf(ambiguous));
+	}
+
+	private Set<Pattern> findPatterns(String text) {
+		List<int[]> matches = new ArrayList<>();
+		int state = ROOT;
+		for (int i = 0; i < text.length(); i++) {
+			state = next(state, text.charAt(i));
+			for (int patternIndex : outputs.get(state)) {
+				int start = i + 1 - patterns.get(patternIndex).name.length();
+				if (isWordBounded(text, start, i + 1)) {
+					matches.add(new int[] {start, i + 1, patternIndex});
+				}
+			}
+		}
+
+		matches.sort(Comparator.<int[]>comparingInt(match -> match[0]).thenComparingInt(match -> -match[1]));
+		Set<Pattern> found = new LinkedHashSet<>();
+		int coveredUntil = 0;
+		for (int[] match : matches) {
+			if (match[0] >= coveredUntil) {
+				found.add(patterns.get(match[2]));
+				coveredUntil = match[1];
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * 일치 구간의 양 끝이 라틴 문자나 숫자라면, 바깥쪽 이웃 글자도 라틴 문자나 숫자일 때 단어 일부로 보고 버린다.
+	 */
+	private static boolean isWordBounded(String text, int start, int end) {
+		if (isLatinWordChar(text.charAt(start)) && 0 < start && isLatinWordChar(text.charAt(start - 1))) {
+			return false;
+		}
+		return !(isLatinWordChar(text.charAt(end - 1)) && end < text.length() && isLatinWordChar(text.charAt(end)));
+	}
+
+	private static boolean isLatinWordChar(char c) {
+		return Character.isDigit(c)
+			|| Character.isLetter(c) && Character.UnicodeScript.of(c) == Character.UnicodeScript.LATIN;
+	}
+
+	private int next(int state, char c) {
+		while (state != ROOT && !transitions.get(state).containsKey(c)) {
+			state = failures.get(state);
+		}
+		return transitions.get(state).getOrDefault(c, ROOT);
+	}
+
+	private void addPattern(Pattern pattern) {
+		int state = ROOT;
+		for (char c : pattern.name.toCharArray()) {
+			Integer child = transitions.get(state).get(c);
+			if (child == null) {
+				child = addNode();
+				transitions.get(state).put(c, child);
+			}
+			state = child;
+		}
+		outputs.get(state).add(patterns.size());
+		patterns.add(pattern);
+	}
+
+	private void buildFailures() {
+		Queue<Integer> queue = new ArrayDeque<>(transitions.get(ROOT).values());
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+				int child = transition.getValue();
+				int failure = next(failures.get(state), transition.getKey());
+				failures.set(child, failure);
+				outputs.get(child).addAll(outputs.get(failure));
+				queue.add(child);
+			}
+		}
+	}
+
+	private int addNode() {
+		transitions.add(new HashMap<>());
+		failures.add(ROOT);
+		outputs.add(new ArrayList<>());
+		return transitions.size() - 1;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+
+	record Result(List<CastingSummaryDto> definite, List<CastingSummaryDto> ambiguous) {
+	}
+
+	private static final class Pattern {
+		private final String name;
+		private final List<CastingSummaryDto> fullNameCasts = new ArrayList<>();
+		private final List<CastingSummaryDto> partialNameCasts = new ArrayList<>();
+
+		private Pattern(String name) {
+			this.name = name;
+		}
+	}
+}
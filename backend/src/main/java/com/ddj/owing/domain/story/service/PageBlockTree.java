@@ -0,0 +1,144 @@
+package com.ddj.owing.domain.story.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.ddj.owing.domain.story.error.code.StoryPageErrorCode;
+import com.ddj.owing.domain.story.error.exception.StoryPageException;
+import com.ddj.owing.domain.story.model.Content;
+import com.ddj.owing.domain.story.model.PageBlock;
+import com.ddj.owing.domain.story.model.StoryPage;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageBlockDto;
+import com.ddj.owing.global.ordering.OrderKeyGenerator;
+
+/**
+ * 중첩된 원고 블록 트리와 page_block 행 사이의 변환.
+ */
+final class PageBlockTree {
+
+	private PageBlockTree() {
+	}
+
+	/**
+	 * 형제마다 순차 정렬 키를 부여하여 행으로 펼친다.
+	 */
+	static List<PageBlock> flatten(Long storyPageId, List<StoryPage.StoryPageBlock> blocks) {
+		List<PageBlock> rows = new ArrayList<>();
+		addSiblings(storyPageId, blocks, null, rows);
+		return rows;
+	}
+
+	/**
+	 * 블록 하나를 지정한 위치에 두고 하위 블록과 함께 행으로 펼친다.
+	 */
+	static List<PageBlock> flatten(Long storyPageId, StoryPage.StoryPageBlock block, String parentBlockId,
+		String orderKey) {
+		List<PageBlock> rows = new ArrayList<>();
+		addBlock(storyPageId, block, parentBlockId, orderKey, rows);
+		return rows;
+	}
+
+	/**
+	 * 부모가 없는 행을 최상위로 하여 트리를 조립한다.
+	 */
+	static List<StoryPageBlockDto> assemble(Collection<PageBlock> rows) {
+		List<PageBlock> roots = rows.stream()
+			.filter(row -> row.getParentBlockId() == null)
+			.sorted(Comparator.comparing(PageBlock::getOrderKey))
+			.toList();
+		return assemble(roots, rows);
+	}
+
+	/**
+	 * 주어진 최상위 행 순서대로 하위 행을 붙여 트리를 조립한다.
+	 */
+	static List<StoryPageBlockDto> assemble(List<PageBlock> roots, Collection<PageBlock> descendants) {
+		Map<String, List<PageBlock>> childrenByParent = descendants.stream()
+			.filter(row -> row.getParentBlockId() != null)
+			.collect(Collectors.groupingBy(PageBlock::getParentBlockId));
+		return roots.stream().map(root -> toDto(root, childrenByParent)).toList();
+	}
+
+	/**
+	 * 블록 id 별로 블록 자신의 content 텍스트(하위 블록 제외)를 모은다.
+	 */
+	static Map<String, String> texts(List<StoryPage.StoryPageBlock> blocks) {
+		Map<String, String> texts = new LinkedHashMap<>();
+		addTexts(blocks, texts);
+		return texts;
+	}
+
+	static Map<String, String> texts(Collection<PageBlock> rows) {
+		Map<String, String> texts = new LinkedHashMap<>();
+		rows.forEach(row -> texts.put(row.getBlockId(), text(row.getContent())));
+		return texts;
+	}
+
+	/**
+	 * 블록 자신의 content 텍스트(하위 블록 제외)
+	 */
+	static String text(StoryPage.StoryPageBlock block) {
+		return text(block.getContent());
+	}
+
+	private static void addTexts(List<StoryPage.StoryPageBlock> blocks, Map<String, String> texts) {
+		if (blocks == null) {
+			return;
+		}
+		for (StoryPage.StoryPageBlock block : blocks) {
+			if (block.getId() != null) {
+				texts.put(block.getId(), text(block.getContent()));
+			}
+			addTexts(block.getChildren(), texts);
+		}
+	}
+
+	private static String text(List<Content> content) {
+		if (content == null) {
+			return "";
+		}
+		return content.stream().map(Content::getText).filter(Objects::nonNull).collect(Collectors.joining("\n"));
+	}
+
+	private static StoryPageBlockDto toDto(PageBlock row, Map<String, List<PageBlock>> childrenByParent) {
+		List<StoryPageBlockDto> children = childrenByParent.getOrDefault(row.getBlockId(), List.of()).stream()
+			.sorted(Comparator.comparing(PageBlock::getOrderKey))
+			.map(child -> toDto(child, childrenByParent))
+			.toList();
+		return StoryPageBlockDto.from(row, children);
+	}
+
+	private static void addSiblings(Long storyPageId, List<StoryPage.StoryPageBlock> blocks, String parentBlockId,
+		List<PageBlock> rows) {
+		if (blocks == null || blocks.isEmpty()) {
+			return;
+		}
+		List<String> orderKeys = OrderKeyGenerator.sequence(blocks.size());
+		for (int i = 0; i < blocks.size(); i++) {
+			addBlock(storyPageId, blocks.get(i), parentBlockId, orderKeys.get(i), rows);
+		}
+	}
+
+	private static void addBlock(Long storyPageId, StoryPage.StoryPageBlock block, String parentBlockId,
+		String orderKey, List<PageBlock> rows) {
+		if (block.getId() == null) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+		rows.add(PageBlock.builder()
+			.storyPageId(storyPageId)
+			.blockId(block.getId())
+			.parentBlockId(parentBlockId)
+			.orderKey(orderKey)
+			.type(block.getType())
+			.props(block.getProps())
+			.content(block.getContent())
+			.build());
+		addSiblings(storyPageId, block.getChildren(), block.getId(), rows);
+	}
+}
@@ -1,6 +1,7 @@
 package com.ddj.owing.domain.story.service;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,8 @@ import com.ddj.owing.domain.story.model.dto.storyBlock.StoryBlockPositionUpdateD
 import com.ddj.owing.domain.story.model.dto.storyBlock.StoryBlockUpdateDto;
 import com.ddj.owing.domain.story.repository.StoryBlockRepository;
 import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.global.ordering.OrderKeyAssigner;
+import com.ddj.owing.global.ordering.OrderedTable;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class StoryBlockService {
 	private final StoryBlockRepository storyBlockRepository;
 	private final StoryPlotRepository storyPlotRepository;
+	private final OrderKeyAssigner orderKeyAssigner;
 	// private final DailyTextCountRepository dailyTextCountRepository;
 
 	private StoryBlock findById(Long id) {
@@ -37,12 +41,21 @@ public class StoryBlockService {
 
 	public List<StoryBlockDto> getStoryBlockList(Long plotId) {
 		List<StoryBlock> storyBlockList = storyBlockRepository.findTopLevelBlocksByPlotId(plotId);
-		return storyBlockList.stream().map(StoryBlockDto::from).toList();
+		return IntStream.range(0, storyBlockList.size())
+			.mapToObj(i -> StoryBlockDto.from(storyBlockList.get(i), i + 1))
+			.toList();
 	}
 
 	public StoryBlockDto getStoryBlock(Long id) {
 		StoryBlock block = findById(id);
-		return StoryBlockDto.from(block);
+		return toDto(block);
+	}
+
+	private StoryBlockDto toDto(StoryBlock storyBlock) {
+		Long parentBlockId = storyBlock.getParentBlock() == null ? null : storyBlock.getParentBlock().getId();
+		int index = orderKeyAssigner.indexOf(OrderedTable.STORY_BLOCK, storyBlock.getId(),
+			storyBlock.getStoryPlot().getId(), parentBlockId);
+		return StoryBlockDto.from(storyBlock, index + 1);
 	}
 
 	public int getTextCount(List<Content> contents) {
@@ -57,9 +70,10 @@ public class StoryBlockService {
 		StoryPlot storyPlot = storyPlotRepository.findById(storyBlockCreateDto.storyPlotId())
 			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NOT_FOUND));
 
-		Integer position = storyBlockRepository.findMaxOrderByStoryPlotId(storyBlockCreateDto.storyPlotId()) + 1;
+		String orderKey = orderKeyAssigner.last(OrderedTable.STORY_BLOCK, storyPlot.getId(),
+			parentBlock == null ? null : parentBlock.getId());
 
-		StoryBlock newBlock = storyBlockCreateDto.toEntity(storyPlot, parentBlock, position);
+		StoryBlock newBlock = storyBlockCreateDto.toEntity(storyPlot, parentBlock, orderKey);
 		int textCount = getTextCount(newBlock.getContent());
 
 		storyPlot.updateTextCount(textCount);
@@ -71,7 +85,7 @@ public class StoryBlockService {
 		// 	.orElseGet(() -> DailyTextCount.builder().build());
 		// dailyTextCount.updateDailyTextCount(textCount);
 
-		return StoryBlockDto.from(storyBlockRepository.save(newBlock));
+		return toDto(storyBlockRepository.save(newBlock));
 	}
 
 	@Transactional
@@ -92,14 +106,13 @@ public class StoryBlockService {
 		// 	.orElseGet(() -> DailyTextCount.builder().build());
 		// dailyTextCount.updateDailyTextCount(textCountDiff);
 
-		return StoryBlockDto.from(storyBlockRepository.save(storyBlock));
+		return toDto(storyBlockRepository.save(storyBlock));
 	}
 
 	@Transactional
 	public void deleteStoryBlock(Long id) {
 		StoryBlock storyBlock = findById(id);
 
-		storyBlockRepository.decrementPositionAfter(storyBlock.getPosition(), storyBlock.getStoryPlot().getId());
 		int textCount = -getTextCount(storyBlock.getContent());
 		storyBlock.getStoryPlot().updateTextCount(textCount);
 		//
@@ -113,38 +126,24 @@ public class StoryBlockService {
 		storyBlockRepository.deleteById(id);
 	}
 
+	/**
+	 * 블록을 새 부모 블록의 position 번째(1부터) 자식으로 옮긴다. 다른 블록의 순서는 갱신하지 않는다.
+	 */
 	@Transactional
 	public StoryBlockDto updateStoryBlockPosition(Long id, StoryBlockPositionUpdateDto dto) {
 		StoryBlock storyBlock = findById(id);
-
-		StoryBlock oldParentBlock = storyBlock.getParentBlock();
 		StoryBlock newParentBlock = findById(dto.parentBlockId());
 
-		Integer oldPosition = storyBlock.getPosition();
-		Integer newPosition = dto.position();
-
-		if (oldParentBlock.getId().equals(dto.parentBlockId()) && oldPosition.equals(newPosition)) {
-			return StoryBlockDto.from(storyBlock);
-		}
+		Integer index = dto.position() == null ? null : dto.position() - 1;
+		String orderKey = orderKeyAssigner.at(OrderedTable.STORY_BLOCK, storyBlock.getId(), index,
+				newParentBlock.getStoryPlot().getId(), newParentBlock.getId())
+			.orElseThrow(() -> StoryBlockException.of(StoryBlockErrorCode.INVALID_POSITION));
 
-		if (newPosition < 1 || newPosition > newParentBlock.getChildren().size() + 1) {
-			throw StoryBlockException.of(StoryBlockErrorCode.INVALID_POSITION);
-		}
-
-		if (oldParentBlock.getId().equals(dto.parentBlockId())) {
-			if (newPosition < oldPosition) {
-				storyBlockRepository.decrementPositionBetween(oldPosition, newPosition, oldParentBlock.getId());
-			} else {
-				storyBlockRepository.incrementPositionBetween(newPosition, oldPosition - 1, oldParentBlock.getId());
-			}
-		} else {
-			storyBlockRepository.decrementPositionAfter(oldPosition, oldParentBlock.getId());
-			storyBlockRepository.incrementPositionAfter(newPosition, newParentBlock.getId());
+		StoryBlock oldParentBlock = storyBlock.getParentBlock();
+		if (oldParentBlock == null || !oldParentBlock.getId().equals(newParentBlock.getId())) {
 			storyBlock.updateParentBlock(newParentBlock);
 		}
-
-		storyBlock.updatePosition(newPosition);
-		return StoryBlockDto.from(storyBlockRepository.save(storyBlock));
-
+		storyBlock.updateOrderKey(orderKey);
+		return StoryBlockDto.from(storyBlockRepository.save(storyBlock), dto.position());
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package com.ddj.owing.domain.story.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotConflictCheckDto;
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotConflictDto;
+import com.ddj.owing.global.error.code.OpenAiErrorCode;
+import com.ddj.owing.global.error.exception.OpenAiException;
+import com.ddj.owing.global.util.JsonArrayItemStreamParser;
+import com.ddj.owing.global.util.OpenAiUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * 기존 내용을 겹치는 조각으로 나누어 조각마다 설정 오류를 검사하고(map), 결과를 합쳐 중복을 제거한다(reduce).
+ * 원고가 길어도 프롬프트 하나의 크기가 일정하므로 모델 컨텍스트를 넘지 않는다.
+ * 조각 경계에 걸친 문장을 놓치지 않도록 조각끼리 overlap 만큼 겹치며, 그 때문에 같은 오류가 여러 조각에서 나올 수 있다.
+ * 요청 하나가 동시에 호출하는 조각 수는 max-concurrency 로 제한하고, 나머지 조각은 앞 조각이 끝날 때까지 기다린다.
+ * 그래서 원고가 길어도 한 요청이 OpenAiGuard 의 conflict-check bulkhead 를 모두 차지하지 않는다.
+ * 단계별 지연은 story.conflict.check.latency(stage), 조각 수는 .chunks, 합치며 버린 중복은 .duplicates 로 기록한다.
+ */
+@Slf4j
+@Component
+public class StoryConflictChecker {
+
+	private static final String METRIC_PREFIX = "story.conflict.check";
+
+	private final OpenAiUtil openAiUtil;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final int chunkSize;
+	private final int chunkOverlap;
+	private final int maxConcurrency;
+
+	public StoryConflictChecker(
+		OpenAiUtil openAiUtil,
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry,
+		@Value("${story.conflict.chunk-size:6000}") int chunkSize,
+		@Value("${story.conflict.chunk-overlap:500}") int chunkOverlap,
+		@Value("${story.conflict.max-concurrency:2}") int maxConcurrency
+	) {
+		if (chunkOverlap < 0 || chunkSize <= chunkOverlap) {
+			throw new IllegalArgumentException("story.conflict.chunk-size 는 chunk-overlap 보다 커야 합니다.");
+		}
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("story.conflict.max-concurrency 는 1 이상이어야 합니다.");
+		}
+		this.openAiUtil = openAiUtil;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		this.chunkSize = chunkSize;
+		this.chunkOverlap = chunkOverlap;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * @param baseStory 기존 내용
+	 * @param targetStory 검사 대상 내용
+	 * @return 조각별 결과를 합친 설정 오류 목록
+	 */
+	public List<StoryPlotConflictDto> check(String baseStory, String targetStory) {
+		List<String> chunks = split(baseStory == null ? "" : baseStory);
+		meterRegistry.summary(METRIC_PREFIX + ".chunks").record(chunks.size());
+
+		Timer.Sample mapSample = Timer.start(meterRegistry);
+		List<List<StoryPlotConflictDto>> chunkResults = checkChunks(chunks, targetStory);
+		mapSample.stop(meterRegistry.timer(METRIC_PREFIX + ".latency", "stage", "map"));
+
+		Timer.Sample reduceSample = Timer.start(meterRegistry);
+		List<StoryPlotConflictDto> conflicts = merge(chunkResults);
+		reduceSample.stop(meterRegistry.timer(METRIC_PREFIX + ".latency", "stage", "reduce"));
+
+		log.debug("설정 오류 검사 완료. chunks:{}, conflicts:{}", chunks.size(), conflicts.size());
+		return conflicts;
+	}
+
+	/**
+	 * {@link #check(String, String)} 와 같은 조각으로 나누어 조각마다 스트리밍으로 검사하고, 완성된 항목을 도착하는 대로 내보낸다.
+	 * 여러 조각에서 같은 오류가 나오면 먼저 도착한 것만 내보내므로, 항목 순서는 조각 순서와 다를 수 있다.
+	 *
+	 * @param baseStory 기존 내용
+	 * @param targetStory 검사 대상 내용
+	 * @return 중복을 제거한 설정 오류 항목
+	 */
+	public Flux<StoryPlotConflictDto> stream(String baseStory, String targetStory) {
+		List<String> chunks = split(baseStory == null ? "" : baseStory);
+		log.debug("설정 오류 스트리밍 검사 시작. chunks:{}", chunks.size());
+		meterRegistry.summary(METRIC_PREFIX + ".chunks").record(chunks.size());
+
+		Set<String> emitted = ConcurrentHashMap.newKeySet();
+		return timed(Flux.merge(Flux.fromIterable(chunks)
+				.map(chunk -> timed(openAiUtil.streamStoryConflict(
+					openAiUtil.createPrompt(new StoryPlotConflictCheckDto(chunk, targetStory))), "stream-chunk")),
+				maxConcurrency)
+			.filter(conflict -> {
+				if (emitted.add(dedupKey(conflict))) {
+					return true;
+				}
+				meterRegistry.counter(METRIC_PREFIX + ".duplicates").increment();
+				return false;
+			}), "stream");
+	}
+
+	/**
+	 * 구독부터 종료(완료, 오류, 취소)까지의 시간을 stage 별로 기록한다. 조각 스트림은 merge 가 구독할 때 시작하므로 대기 시간은 포함하지 않는다.
+	 */
+	private <T> Flux<T> timed(Flux<T> flux, String stage) {
+		return Flux.defer(() -> {
+			Timer.Sample sample = Timer.start(meterRegistry);
+			return flux.doFinally(
+				signal -> sample.stop(meterRegistry.timer(METRIC_PREFIX + ".latency", "stage", stage)));
+		});
+	}
+
+	/**
+	 * chunkSize 단위로 자르되, 가능하면 조각 끝을 마지막 줄바꿈에 맞춘다. 다음 조각은 chunkOverlap 만큼 앞에서 시작한다.
+	 */
+	private List<String> split(String text) {
+		List<String> chunks = new ArrayList<>();
+		int start = 0;
+		while (true) {
+			int end = Math.min(start + chunkSize, text.length());
+			if (end < text.length()) {
+				int lineBreak = text.lastIndexOf('\n', end - 1);
+				if (lineBreak > start + chunkOverlap) {
+					end = lineBreak + 1;
+				}
+			}
+			chunks.add(text.substring(start, end));
+			if (end == text.length()) {
+				return chunks;
+			}
+			start = end - chunkOverlap;
+		}
+	}
+
+	private List<List<StoryPlotConflictDto>> checkChunks(List<String> chunks, String targetStory) {
+		if (chunks.size() == 1) {
+			return List.of(checkChunk(chunks.get(0), targetStory));
+		}
+
+		Semaphore permits = new Semaphore(maxConcurrency);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<List<StoryPlotConflictDto>>> futures = chunks.stream()
+				.map(chunk -> executor.submit(() -> {
+					permits.acquire();
+					try {
+						return checkChunk(chunk, targetStory);
+					} finally {
+						permits.release();
+					}
+				}))
+				.toList();
+
+			List<List<StoryPlotConflictDto>> results = new ArrayList<>(futures.size());
+			for (Future<List<StoryPlotConflictDto>> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw OpenAiException.of(OpenAiErrorCode.CONFLICT_CHECK_FAIL);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw OpenAiException.of(OpenAiErrorCode.CONFLICT_CHECK_FAIL);
+		}
+	}
+
+	/**
+	 * OpenAI 동시 호출 수는 OpenAiGuard 의 conflict-check bulkhead 가 모든 요청에 걸쳐 제한한다.
+	 */
+	private List<StoryPlotConflictDto> checkChunk(String chunk, String targetStory) {
+		Prompt prompt = openAiUtil.createPrompt(new StoryPlotConflictCheckDto(chunk, targetStory));
+		ChatResponse response;
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			response = openAiUtil.checkStoryConflict(prompt);
+		} finally {
+			sample.stop(meterRegistry.timer(METRIC_PREFIX + ".latency", "stage", "chunk"));
+		}
+		recordUsage(response);
+
+		String content = response.getResult().getOutput().getContent();
+		JsonArrayItemStreamParser<StoryPlotConflictDto> parser =
+			new JsonArrayItemStreamParser<>(objectMapper, StoryPlotConflictDto.class);
+		List<StoryPlotConflictDto> conflicts = new ArrayList<>(parser.feed(content == null ? "" : content));
+		conflicts.addAll(parser.end());
+		return conflicts;
+	}
+
+	private void recordUsage(ChatResponse response) {
+		if (response.getMetadata() == null || response.getMetadata().getUsage() == null) {
+			return;
+		}
+		Usage usage = response.getMetadata().getUsage();
+		if (usage.getPromptTokens() != null) {
+			meterRegistry.counter(METRIC_PREFIX + ".tokens", "type", "prompt").increment(usage.getPromptTokens());
+		}
+		if (usage.getGenerationTokens() != null) {
+			meterRegistry.counter(METRIC_PREFIX + ".tokens", "type", "generation")
+				.increment(usage.getGenerationTokens());
+		}
+	}
+
+	/**
+	 * 조각 순서대로 합치며, 공백과 대소문자를 무시하고 base/add 가 같은 항목은 처음 것만 남긴다.
+	 */
+	private List<StoryPlotConflictDto> merge(List<List<StoryPlotConflictDto>> chunkResults) {
+		Map<String, StoryPlotConflictDto> merged = new LinkedHashMap<>();
+		chunkResults.stream()
+			.flatMap(List::stream)
+			.forEach(conflict -> {
+				if (merged.putIfAbsent(dedupKey(conflict), conflict) != null) {
+					meterRegistry.counter(METRIC_PREFIX + ".duplicates").increment();
+				}
+			});
+		return new ArrayList<>(merged.values());
+	}
+
+	private String dedupKey(StoryPlotConflictDto conflict) {
+		return normalize(conflict.add()) + "\u0000" + normalize(conflict.base());
+	}
+
+	private String normalize(String text) {
+		return text == null ? "" : text.replaceAll("\\s+", "").toLowerCase();
+	}
+}
@@ -1,6 +1,9 @@
 package com.ddj.owing.domain.story.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,8 +14,13 @@ import com.ddj.owing.domain.story.model.StoryFolder;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderCreateDto;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderDto;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderPositionUpdateDto;
+import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderTreeDto;
 import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderUpdateDto;
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotTreeDto;
 import com.ddj.owing.domain.story.repository.StoryFolderRepository;
+import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.global.ordering.OrderKeyAssigner;
+import com.ddj.owing.global.ordering.OrderedTable;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +29,8 @@ import lombok.RequiredArgsConstructor;
 @Transactional(readOnly = true)
 public class StoryFolderService {
 	private final StoryFolderRepository storyFolderRepository;
+	private final StoryPlotRepository storyPlotRepository;
+	private final OrderKeyAssigner orderKeyAssigner;
 
 	private StoryFolder findById(Long id) {
 		return storyFolderRepository.findById(id)
@@ -29,24 +39,43 @@ public class StoryFolderService {
 
 	public List<StoryFolderDto> getStoryFolderList(Long projectId) {
 		// todo: permission
-		return storyFolderRepository.findAllByProjectIdOrderByPositionAsc(projectId)
+		List<StoryFolder> storyFolders = storyFolderRepository.findAllByProjectIdOrderByOrderKey(projectId);
+		return IntStream.range(0, storyFolders.size())
+			.mapToObj(i -> StoryFolderDto.from(storyFolders.get(i), i))
+			.toList();
+	}
+
+	/**
+	 * 사이드바 트리. 폴더 수와 무관하게 폴더와 플롯을 각각 한 번의 projection 쿼리로 읽는다.
+	 */
+	public List<StoryFolderTreeDto> getStoryFolderTree(Long projectId) {
+		// todo: permission
+		Map<Long, List<StoryPlotTreeDto>> filesByFolderId = storyPlotRepository.findTreeByProjectId(projectId)
+			.stream()
+			.collect(Collectors.groupingBy(StoryPlotTreeDto::folderId));
+		return storyFolderRepository.findTreeByProjectId(projectId)
 			.stream()
-			.map(StoryFolderDto::from)
+			.map(folder -> folder.withFiles(filesByFolderId.getOrDefault(folder.id(), List.of())))
 			.toList();
 	}
 
 	public StoryFolderDto getStoryFolder(Long id) {
 		// todo: permission
 		StoryFolder folder = findById(id);
-		return StoryFolderDto.from(folder);
+		return toDto(folder);
+	}
+
+	private StoryFolderDto toDto(StoryFolder storyFolder) {
+		return StoryFolderDto.from(storyFolder,
+			orderKeyAssigner.indexOf(OrderedTable.STORY_FOLDER, storyFolder.getId(), storyFolder.getProjectId()));
 	}
 
 	@Transactional
 	public StoryFolderDto createStoryFolder(StoryFolderCreateDto storyFolderCreateDto) {
 		// todo: permission
-		Integer position = storyFolderRepository.findMaxOrderByProjectId(storyFolderCreateDto.projectId());
-		StoryFolder storyFolder = storyFolderCreateDto.toEntity(position);
-		return StoryFolderDto.from(storyFolderRepository.save(storyFolder));
+		String orderKey = orderKeyAssigner.last(OrderedTable.STORY_FOLDER, storyFolderCreateDto.projectId());
+		StoryFolder storyFolder = storyFolderCreateDto.toEntity(orderKey);
+		return toDto(storyFolderRepository.save(storyFolder));
 	}
 
 	@Transactional
@@ -56,42 +85,28 @@ public class StoryFolderService {
 		StoryFolder storyFolder = findById(id);
 		storyFolder.update(storyFolderUpdateDto.name(), storyFolderUpdateDto.description());
 
-		return StoryFolderDto.from(storyFolderRepository.save(storyFolder));
+		return toDto(storyFolderRepository.save(storyFolder));
 	}
 
 	@Transactional
 	public void deleteStoryFolder(Long id) {
-		StoryFolder storyFolder = findById(id);
-		storyFolderRepository.decrementPositionAfter(storyFolder.getPosition(), storyFolder.getProjectId());
-
+		findById(id);
 		storyFolderRepository.deleteById(id);
 	}
 
+	/**
+	 * 이동하는 폴더를 제외한 목록의 position 번째(0부터) 자리로 옮긴다. 다른 폴더의 순서는 갱신하지 않는다.
+	 */
 	@Transactional
 	public StoryFolderDto updateStoryFolderPosition(Long id,
 		StoryFolderPositionUpdateDto storyFolderPositionUpdateDto) {
 		StoryFolder storyFolder = findById(id);
-		Integer newPosition = storyFolderPositionUpdateDto.position();
-
-		if (storyFolder.getPosition().equals(newPosition)) {
-			return StoryFolderDto.from(storyFolder);
-		}
-
-		Integer maxPosition = storyFolderRepository.findMaxOrderByProjectId(storyFolder.getProjectId());
-		if (newPosition < 0 || newPosition > maxPosition) {
-			throw StoryFolderException.of(StoryFolderErrorCode.INVALID_POSITION);
-		}
-
-		if (storyFolder.getPosition() < newPosition) {
-			storyFolderRepository.decrementPositionBetween(storyFolder.getPosition() + 1, newPosition,
-				storyFolder.getProjectId());
-		} else {
-			storyFolderRepository.incrementPositionBetween(newPosition, storyFolder.getPosition() - 1,
-				storyFolder.getProjectId());
-		}
-		storyFolder.updatePosition(newPosition);
+		String orderKey = orderKeyAssigner.at(OrderedTable.STORY_FOLDER, storyFolder.getId(),
+				storyFolderPositionUpdateDto.position(), storyFolder.getProjectId())
+			.orElseThrow(() -> StoryFolderException.of(StoryFolderErrorCode.INVALID_POSITION));
+		storyFolder.updateOrderKey(orderKey);
 		storyFolder = storyFolderRepository.save(storyFolder);
 
-		return StoryFolderDto.from(storyFolder);
+		return StoryFolderDto.from(storyFolder, storyFolderPositionUpdateDto.position());
 	}
 }
@@ -1,5 +1,15 @@
 package com.ddj.owing.domain.story.service;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -7,12 +17,26 @@ import com.ddj.owing.domain.story.error.code.StoryPageErrorCode;
 import com.ddj.owing.domain.story.error.code.StoryPlotErrorCode;
 import com.ddj.owing.domain.story.error.exception.StoryPageException;
 import com.ddj.owing.domain.story.error.exception.StoryPlotException;
+import com.ddj.owing.domain.story.event.StoryPageChangedEvent;
+import com.ddj.owing.domain.story.model.PageBlock;
 import com.ddj.owing.domain.story.model.StoryPage;
+import com.ddj.owing.domain.story.model.StoryPageStorageMode;
 import com.ddj.owing.domain.story.model.StoryPlot;
 import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageBlockDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageBlockSliceDto;
 import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPagePatchDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPagePatchOperationDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageStorageDto;
+import com.ddj.owing.domain.story.repository.PageBlockRepository;
 import com.ddj.owing.domain.story.repository.StoryPageRepository;
 import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.global.error.code.GlobalErrorCode;
+import com.ddj.owing.global.error.exception.JsonParsingException;
+import com.ddj.owing.global.ordering.OrderKeyGenerator;
+import com.ddj.owing.global.util.JsonHelperUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,32 +44,460 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class StoryPageService {
+	private static final int MAX_SLICE_SIZE = 200;
+
 	private final StoryPageRepository storyPageRepository;
 	private final StoryPlotRepository storyPlotRepository;
+	private final PageBlockRepository pageBlockRepository;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${story.page.default-storage-mode:DOCUMENT}")
+	private StoryPageStorageMode defaultStorageMode;
 
 	private StoryPage findById(Long storyPlotId) {
 		return storyPageRepository.findByStoryPlotId(storyPlotId)
 			.orElseThrow(() -> StoryPageException.of(StoryPageErrorCode.PAGE_NOT_FOUND));
 	}
 
+	private StoryPageStorageDto findStorage(Long storyPlotId) {
+		return storyPageRepository.findStorageByStoryPlotId(storyPlotId)
+			.orElseThrow(() -> StoryPageException.of(StoryPageErrorCode.PAGE_NOT_FOUND));
+	}
+
 	public StoryPageDto getStoryPage(Long storyPlotId) {
+		StoryPageStorageDto storage = findStorage(storyPlotId);
+		if (storage.isBlockStorage()) {
+			return StoryPageDto.builder()
+				.storyPlotId(storyPlotId)
+				.blocks(PageBlockTree.assemble(pageBlockRepository.findAllByStoryPageId(storage.id())))
+				.build();
+		}
 		return StoryPageDto.from(findById(storyPlotId));
 	}
 
+	/**
+	 * 원고를 최상위 블록 단위로 나누어 조회한다. 긴 원고도 첫 화면에 필요한 만큼만 읽을 수 있다.
+	 * 커서는 저장 방식에 따라 정렬 키 또는 마지막 최상위 블록 id 이며, 이전 응답의 nextCursor 를 그대로 넘기면 된다.
+	 *
+	 * @param cursor 첫 조회면 null
+	 * @param size 가져올 최상위 블록 수
+	 */
+	public StoryPageBlockSliceDto getStoryPageBlocks(Long storyPlotId, String cursor, int size) {
+		StoryPageStorageDto storage = findStorage(storyPlotId);
+		int limit = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+		if (storage.isBlockStorage()) {
+			return getPageBlockSlice(storyPlotId, storage.id(), cursor, limit);
+		}
+		return getDocumentBlockSlice(storyPlotId, storage.id(), cursor, limit);
+	}
+
+	private StoryPageBlockSliceDto getPageBlockSlice(Long storyPlotId, Long storyPageId, String cursor, int limit) {
+		List<PageBlock> roots = cursor == null
+			? pageBlockRepository.findTopLevelBlocks(storyPageId, Limit.of(limit + 1))
+			: pageBlockRepository.findTopLevelBlocksAfter(storyPageId, cursor, Limit.of(limit + 1));
+		boolean hasNext = roots.size() > limit;
+		if (hasNext) {
+			roots = roots.subList(0, limit);
+		}
+
+		List<PageBlock> descendants = roots.isEmpty() ? List.of()
+			: pageBlockRepository.findDescendants(storyPageId, roots.stream().map(PageBlock::getBlockId).toList());
+		String nextCursor = hasNext ? roots.get(roots.size() - 1).getOrderKey() : null;
+		return new StoryPageBlockSliceDto(storyPlotId, PageBlockTree.assemble(roots, descendants), nextCursor);
+	}
+
+	/**
+	 * 커서는 이전 조각의 마지막 최상위 블록 id 이다. 그 블록이 그사이 삭제되었으면 이어 읽을 위치를 알 수 없으므로 INVALID_CURSOR 로 실패한다.
+	 */
+	private StoryPageBlockSliceDto getDocumentBlockSlice(Long storyPlotId, Long storyPageId, String cursor,
+		int limit) {
+		List<String> blockJsons = cursor == null
+			? storyPageRepository.findBlockJsonSlice(storyPageId, limit + 1)
+			: storyPageRepository.findBlockJsonSliceAfter(storyPageId, cursor, limit + 1);
+		if (blockJsons.isEmpty() && cursor != null && !storyPageRepository.existsTopLevelBlock(storyPageId, cursor)) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_CURSOR);
+		}
+		boolean hasNext = blockJsons.size() > limit;
+		if (hasNext) {
+			blockJsons = blockJsons.subList(0, limit);
+		}
+
+		List<StoryPage.StoryPageBlock> blocks = blockJsons.stream()
+			.map(this::readBlock)
+			.toList();
+		String nextCursor = hasNext ? blocks.get(blocks.size() - 1).getId() : null;
+		return new StoryPageBlockSliceDto(storyPlotId, blocks.stream().map(StoryPageBlockDto::from).toList(),
+			nextCursor);
+	}
+
+	private StoryPage.StoryPageBlock readBlock(String blockJson) {
+		try {
+			return objectMapper.readValue(blockJson, StoryPage.StoryPageBlock.class);
+		} catch (JsonProcessingException e) {
+			throw JsonParsingException.of(GlobalErrorCode.JSON_PARSING_ERROR);
+		}
+	}
+
 	@Transactional
 	public StoryPageDto createStoryPage(StoryPageDto dto) {
 		StoryPlot storyPlot = storyPlotRepository.findById(dto.storyPlotId())
 			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NOT_FOUND));
 
 		StoryPage storyPage = dto.toEntity(storyPlot);
-		return StoryPageDto.from(storyPageRepository.save(storyPage));
+		List<StoryPage.StoryPageBlock> blocks = storyPage.getBlocks();
+		publishChanged(storyPlot, Map.of(), PageBlockTree.texts(blocks));
+		if (defaultStorageMode != StoryPageStorageMode.BLOCKS) {
+			return StoryPageDto.from(storyPageRepository.save(storyPage));
+		}
+
+		storyPage.changeStorageMode(StoryPageStorageMode.BLOCKS, null);
+		StoryPage savedStoryPage = storyPageRepository.save(storyPage);
+		pageBlockRepository.saveAll(PageBlockTree.flatten(savedStoryPage.getId(), blocks));
+		return dto;
 	}
 
 	@Transactional
 	public StoryPageDto updateStoryPage(StoryPageDto dto) {
 		StoryPage storyPage = findById(dto.storyPlotId());
-		storyPage.updatePageBlocks(dto.blocks().stream().map(StoryPageBlockDto::toEntity).toList());
+		List<StoryPage.StoryPageBlock> blocks = dto.blocks().stream().map(StoryPageBlockDto::toEntity).toList();
+		if (storyPage.isBlockStorage()) {
+			publishChanged(storyPage.getStoryPlot(),
+				PageBlockTree.texts(pageBlockRepository.findAllByStoryPageId(storyPage.getId())),
+				PageBlockTree.texts(blocks));
+			pageBlockRepository.deleteAllOfPage(storyPage.getId());
+			pageBlockRepository.saveAll(PageBlockTree.flatten(storyPage.getId(), blocks));
+			storyPage.updatePlainText(blocks);
+			storyPageRepository.save(storyPage);
+			return dto;
+		}
+
+		publishChanged(storyPage.getStoryPlot(), PageBlockTree.texts(storyPage.getBlocks()), PageBlockTree.texts(blocks));
+		storyPage.updatePageBlocks(blocks);
 		return StoryPageDto.from(storyPageRepository.save(storyPage));
 	}
 
+	/**
+	 * 이전과 본문이 달라진 블록을 골라 이벤트로 알린다. 등장인물 색인은 커밋 후 이 블록들만 다시 검사한다.
+	 */
+	private void publishChanged(StoryPlot storyPlot, Map<String, String> previousTexts, Map<String, String> texts) {
+		Set<String> changedBlockIds = new HashSet<>();
+		texts.forEach((blockId, text) -> {
+			if (!text.equals(previousTexts.get(blockId))) {
+				changedBlockIds.add(blockId);
+			}
+		});
+		previousTexts.keySet().stream().filter(blockId -> !texts.containsKey(blockId)).forEach(changedBlockIds::add);
+
+		eventPublisher.publishEvent(new StoryPageChangedEvent(storyPlot.getId(),
+			storyPlot.getStoryFolder().getProjectId(), texts, changedBlockIds, false));
+	}
+
+	/**
+	 * 블록 단위 변경으로 바뀐 블록만 이벤트로 알린다. 원고 전체를 읽지 않도록 바뀐 블록의 본문만 담는다.
+	 *
+	 * @param patchedTexts 바뀐 블록 id 별 본문. 삭제된 블록은 null
+	 */
+	private void publishPatched(Long storyPlotId, Map<String, String> patchedTexts) {
+		if (patchedTexts.isEmpty()) {
+			return;
+		}
+		StoryPlot storyPlot = storyPlotRepository.findById(storyPlotId)
+			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NOT_FOUND));
+		Map<String, String> texts = new HashMap<>();
+		patchedTexts.forEach((blockId, text) -> {
+			if (text != null) {
+				texts.put(blockId, text);
+			}
+		});
+
+		eventPublisher.publishEvent(new StoryPageChangedEvent(storyPlotId,
+			storyPlot.getStoryFolder().getProjectId(), texts, new HashSet<>(patchedTexts.keySet()), true));
+	}
+
+	/**
+	 * 원고 전체의 블록 id 별 본문(하위 블록 제외)을 조회한다. 원고가 없으면 빈 Map 을 반환한다.
+	 */
+	public Map<String, String> getBlockTexts(Long storyPlotId) {
+		StoryPageStorageDto storage = storyPageRepository.findStorageByStoryPlotId(storyPlotId).orElse(null);
+		if (storage == null) {
+			return Map.of();
+		}
+		if (storage.isBlockStorage()) {
+			return PageBlockTree.texts(pageBlockRepository.findAllByStoryPageId(storage.id()));
+		}
+		return PageBlockTree.texts(findById(storyPlotId).getBlocks());
+	}
+
+	/**
+	 * 원고의 저장 방식을 바꾸고 기존 블록을 새 방식으로 옮긴다.
+	 */
+	@Transactional
+	public void changeStorageMode(Long storyPlotId, StoryPageStorageMode storageMode) {
+		if (storageMode == null) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_STORAGE_MODE);
+		}
+		StoryPage storyPage = findById(storyPlotId);
+		if (storyPage.isBlockStorage() == (storageMode == StoryPageStorageMode.BLOCKS)) {
+			return;
+		}
+
+		if (storageMode == StoryPageStorageMode.BLOCKS) {
+			pageBlockRepository.saveAll(PageBlockTree.flatten(storyPage.getId(), storyPage.getBlocks()));
+			storyPage.changeStorageMode(StoryPageStorageMode.BLOCKS, null);
+		} else {
+			List<StoryPage.StoryPageBlock> blocks = PageBlockTree.assemble(
+					pageBlockRepository.findAllByStoryPageId(storyPage.getId()))
+				.stream()
+				.map(StoryPageBlockDto::toEntity)
+				.toList();
+			pageBlockRepository.deleteAllOfPage(storyPage.getId());
+			storyPage.changeStorageMode(StoryPageStorageMode.DOCUMENT, blocks);
+		}
+		storyPageRepository.save(storyPage);
+	}
+
+	/**
+	 * 블록 단위 변경을 저장된 원고에 순서대로 적용한다. 변경된 블록만 주고받으므로 원고 전체를 다시 쓰지 않는다.
+	 * DOCUMENT 방식은 jsonb 트리를, BLOCKS 방식은 해당 블록 행만 수정한다. 하나라도 실패하면 전체 변경이 롤백된다.
+	 */
+	@Transactional
+	public void patchStoryPage(StoryPagePatchDto dto) {
+		if (dto.storyPlotId() == null || dto.operations() == null || dto.operations().isEmpty()) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+		storyPageRepository.lockByStoryPlotId(dto.storyPlotId())
+			.orElseThrow(() -> StoryPageException.of(StoryPageErrorCode.PAGE_NOT_FOUND));
+		StoryPageStorageDto storage = findStorage(dto.storyPlotId());
+
+		Map<String, String> patchedTexts = new HashMap<>();
+		for (StoryPagePatchOperationDto operation : dto.operations()) {
+			if (operation.type() == null) {
+				throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+			}
+			if (storage.isBlockStorage()) {
+				applyPageBlockPatch(storage.id(), operation, patchedTexts);
+			} else {
+				applyPatch(dto.storyPlotId(), operation, patchedTexts);
+			}
+		}
+		storyPageRepository.clearPlainText(storage.id());
+		publishPatched(dto.storyPlotId(), patchedTexts);
+	}
+
+	/**
+	 * AI 기능에 넘길 원고 본문을 조회한다. 원고가 없으면 빈 문자열을 반환한다.
+	 * 패치 후 비워졌거나 본문 컬럼이 추가되기 전에 저장된 원고는 처음 조회할 때 한 번 계산하여 저장한다.
+	 * 패치마다 원고 전체를 다시 펼치지 않고, 연속된 패치를 본문 조회 한 번으로 몰아서 계산한다.
+	 */
+	@Transactional
+	public String getPlainText(Long storyPlotId) {
+		StoryPageStorageDto storage = storyPageRepository.findStorageByStoryPlotId(storyPlotId).orElse(null);
+		if (storage == null) {
+			return "";
+		}
+		return storyPageRepository.findPlainTextById(storage.id())
+			.orElseGet(() -> {
+				refreshPlainText(storage);
+				return storyPageRepository.findPlainTextById(storage.id()).orElse("");
+			});
+	}
+
+	private void refreshPlainText(StoryPageStorageDto storage) {
+		if (storage.isBlockStorage()) {
+			storyPageRepository.refreshBlocksPlainText(storage.id());
+		} else {
+			storyPageRepository.refreshDocumentPlainText(storage.id());
+		}
+	}
+
+	/**
+	 * @param patchedTexts 본문이 바뀐 블록을 기록한다. 삭제된 블록은 null
+	 */
+	private void applyPatch(Long storyPlotId, StoryPagePatchOperationDto operation,
+		Map<String, String> patchedTexts) {
+		switch (operation.type()) {
+			case INSERT -> {
+				String blockJson = toBlockJson(operation);
+				Map<String, String> texts = PageBlockTree.texts(List.of(operation.block().toEntity()));
+				if (!storyPageRepository.findExistingBlockIds(storyPlotId, texts.keySet()).isEmpty()) {
+					throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+				}
+				insertBlock(storyPlotId, operation, blockJson);
+				patchedTexts.putAll(texts);
+			}
+			case UPDATE -> {
+				String blockId = requireBlockId(operation);
+				checkApplied(storyPageRepository.updateBlockFields(storyPlotId, blockId, toFieldsJson(operation)));
+				if (operation.block().content() != null) {
+					patchedTexts.put(blockId, PageBlockTree.text(operation.block().toEntity()));
+				}
+			}
+			case MOVE -> {
+				String blockId = requireBlockId(operation);
+				if (blockId.equals(operation.afterBlockId()) || blockId.equals(operation.parentBlockId())) {
+					throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+				}
+				String blockJson = storyPageRepository.findBlockJson(storyPlotId, blockId)
+					.orElseThrow(() -> StoryPageException.of(StoryPageErrorCode.BLOCK_NOT_FOUND));
+				checkApplied(storyPageRepository.deleteBlock(storyPlotId, blockId));
+				insertBlock(storyPlotId, operation, blockJson);
+			}
+			case DELETE -> {
+				String blockId = requireBlockId(operation);
+				storyPageRepository.findBlockJson(storyPlotId, blockId)
+					.map(this::readBlock)
+					.ifPresent(block -> PageBlockTree.texts(List.of(block)).keySet()
+						.forEach(removedBlockId -> patchedTexts.put(removedBlockId, null)));
+				checkApplied(storyPageRepository.deleteBlock(storyPlotId, blockId));
+			}
+		}
+	}
+
+	/**
+	 * afterBlockId 가 있으면 그 뒤에, 없으면 parentBlockId 의 첫 번째 자식(없으면 최상위의 맨 앞)으로 넣는다.
+	 * 자기 자신의 하위로 이동하면 삭제 후 기준 블록을 찾지 못하므로 BLOCK_NOT_FOUND 로 롤백된다.
+	 */
+	private void insertBlock(Long storyPlotId, StoryPagePatchOperationDto operation, String blockJson) {
+		int appliedCount;
+		if (operation.afterBlockId() != null) {
+			appliedCount = storyPageRepository.insertBlockAfter(storyPlotId, operation.afterBlockId(), blockJson);
+		} else if (operation.parentBlockId() != null) {
+			appliedCount = storyPageRepository.insertFirstChild(storyPlotId, operation.parentBlockId(), blockJson);
+		} else {
+			appliedCount = storyPageRepository.insertFirstBlock(storyPlotId, blockJson);
+		}
+		checkApplied(appliedCount);
+	}
+
+	private void applyPageBlockPatch(Long storyPageId, StoryPagePatchOperationDto operation,
+		Map<String, String> patchedTexts) {
+		switch (operation.type()) {
+			case INSERT -> {
+				StoryPage.StoryPageBlock block = requireBlock(operation).toEntity();
+				if (pageBlockRepository.findByStoryPageIdAndBlockId(storyPageId, block.getId()).isPresent()) {
+					throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+				}
+				PageBlockPlacement placement = place(storyPageId, operation);
+				pageBlockRepository.saveAll(
+					PageBlockTree.flatten(storyPageId, block, placement.parentBlockId(), placement.orderKey()));
+				patchedTexts.putAll(PageBlockTree.texts(List.of(block)));
+			}
+			case UPDATE -> {
+				PageBlock pageBlock = findPageBlock(storyPageId, requireBlockId(operation));
+				StoryPageBlockDto block = requireBlock(operation);
+				if (block.type() == null && block.props() == null && block.content() == null) {
+					throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+				}
+				StoryPage.StoryPageBlock fields = block.toEntity();
+				pageBlock.update(fields.getType(), fields.getProps(), fields.getContent());
+				pageBlockRepository.save(pageBlock);
+				if (block.content() != null) {
+					patchedTexts.put(pageBlock.getBlockId(), PageBlockTree.text(fields));
+				}
+			}
+			case MOVE -> {
+				PageBlock pageBlock = findPageBlock(storyPageId, requireBlockId(operation));
+				Set<String> subtree = new HashSet<>();
+				subtree.add(pageBlock.getBlockId());
+				pageBlockRepository.findDescendants(storyPageId, List.of(pageBlock.getBlockId()))
+					.forEach(descendant -> subtree.add(descendant.getBlockId()));
+				if (subtree.contains(operation.afterBlockId()) || subtree.contains(operation.parentBlockId())) {
+					throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+				}
+
+				PageBlockPlacement placement = place(storyPageId, operation);
+				pageBlock.move(placement.parentBlockId(), placement.orderKey());
+				pageBlockRepository.save(pageBlock);
+			}
+			case DELETE -> {
+				String blockId = requireBlockId(operation);
+				patchedTexts.put(blockId, null);
+				pageBlockRepository.findDescendants(storyPageId, List.of(blockId))
+					.forEach(descendant -> patchedTexts.put(descendant.getBlockId(), null));
+				checkApplied(pageBlockRepository.deleteSubtree(storyPageId, blockId));
+			}
+		}
+	}
+
+	/**
+	 * afterBlockId 가 있으면 그 뒤에, 없으면 parentBlockId 의 첫 번째 자식(없으면 최상위의 맨 앞)으로 놓일 위치를 구한다.
+	 */
+	private PageBlockPlacement place(Long storyPageId, StoryPagePatchOperationDto operation) {
+		if (operation.afterBlockId() != null) {
+			PageBlock after = findPageBlock(storyPageId, operation.afterBlockId());
+			String nextOrderKey = pageBlockRepository.findNextOrderKey(storyPageId, after.getParentBlockId(),
+				after.getOrderKey()).orElse(null);
+			return new PageBlockPlacement(after.getParentBlockId(),
+				OrderKeyGenerator.between(after.getOrderKey(), nextOrderKey));
+		}
+
+		if (operation.parentBlockId() != null) {
+			findPageBlock(storyPageId, operation.parentBlockId());
+		}
+		String firstOrderKey = pageBlockRepository.findFirstOrderKey(storyPageId, operation.parentBlockId())
+			.orElse(null);
+		return new PageBlockPlacement(operation.parentBlockId(), OrderKeyGenerator.between(null, firstOrderKey));
+	}
+
+	private PageBlock findPageBlock(Long storyPageId, String blockId) {
+		return pageBlockRepository.findByStoryPageIdAndBlockId(storyPageId, blockId)
+			.orElseThrow(() -> StoryPageException.of(StoryPageErrorCode.BLOCK_NOT_FOUND));
+	}
+
+	private StoryPageBlockDto requireBlock(StoryPagePatchOperationDto operation) {
+		if (operation.block() == null) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+		return operation.block();
+	}
+
+	private record PageBlockPlacement(String parentBlockId, String orderKey) {
+	}
+
+	private String toBlockJson(StoryPagePatchOperationDto operation) {
+		if (operation.block() == null || operation.block().id() == null) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+		return JsonHelperUtil.toJsonString(operation.block().toEntity());
+	}
+
+	/**
+	 * 전체 저장과 같은 형식으로 직렬화한 뒤, 요청에 포함된 필드만 남긴다.
+	 */
+	private String toFieldsJson(StoryPagePatchOperationDto operation) {
+		StoryPageBlockDto block = operation.block();
+		if (block == null) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+
+		Map<String, Object> serialized = JsonHelperUtil.fromJsonString(JsonHelperUtil.toJsonString(block.toEntity()));
+		Map<String, Object> fields = new LinkedHashMap<>();
+		if (block.type() != null) {
+			fields.put("type", serialized.get("type"));
+		}
+		if (block.props() != null) {
+			fields.put("props", serialized.get("props"));
+		}
+		if (block.content() != null) {
+			fields.put("content", serialized.get("content"));
+		}
+		if (fields.isEmpty()) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+		return JsonHelperUtil.toJsonString(fields);
+	}
+
+	private String requireBlockId(StoryPagePatchOperationDto operation) {
+		if (operation.blockId() == null) {
+			throw StoryPageException.of(StoryPageErrorCode.INVALID_PATCH_OPERATION);
+		}
+		return operation.blockId();
+	}
+
+	private void checkApplied(int appliedCount) {
+		if (appliedCount < 1) {
+			throw StoryPageException.of(StoryPageErrorCode.BLOCK_NOT_FOUND);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.ddj.owing.domain.story.service;
+
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
+import com.ddj.owing.domain.project.error.exception.ProjectException;
+import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.domain.story.repository.StoryPlotNodeRepository;
+import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphSyncHandler;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class StoryPlotGraphSyncHandler implements GraphSyncHandler {
+
+	private final StoryPlotRepository storyPlotRepository;
+	private final StoryPlotNodeRepository storyPlotNodeRepository;
+
+	@Override
+	public GraphAggregateType aggregateType() {
+		return GraphAggregateType.STORY_PLOT;
+	}
+
+	@Override
+	public void sync(Long storyPlotId) {
+		StoryPlot storyPlot = storyPlotRepository.findById(storyPlotId).orElse(null);
+		if (storyPlot == null) {
+			storyPlotNodeRepository.softDeleteById(storyPlotId);
+			return;
+		}
+
+		Long projectId = storyPlot.getStoryFolder().getProjectId();
+		if (storyPlotNodeRepository.upsertById(storyPlot.getId(), storyPlot.getName(), projectId) < 1) {
+			throw ProjectException.of(ProjectErrorCode.PROJECT_NODE_NOT_FOUND);
+		}
+	}
+}
@@ -1,25 +1,27 @@
 package com.ddj.owing.domain.story.service;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
-import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
-import com.ddj.owing.domain.project.error.exception.ProjectException;
-import com.ddj.owing.domain.project.model.ProjectNode;
-import com.ddj.owing.domain.project.repository.ProjectNodeRepository;
 import com.ddj.owing.domain.story.model.dto.storyPlot.*;
-import com.ddj.owing.domain.story.repository.StoryPageRepository;
+import com.ddj.owing.global.util.JsonHelperUtil;
 import com.ddj.owing.global.util.OpenAiUtil;
-import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.ddj.owing.domain.casting.error.code.CastingErrorCode;
 import com.ddj.owing.domain.casting.error.exception.CastingException;
-import com.ddj.owing.domain.casting.model.CastingNode;
 import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
 import com.ddj.owing.domain.story.error.code.StoryFolderErrorCode;
 import com.ddj.owing.domain.story.error.code.StoryPlotErrorCode;
@@ -27,27 +29,39 @@ import com.ddj.owing.domain.story.error.exception.StoryFolderException;
 import com.ddj.owing.domain.story.error.exception.StoryPlotException;
 import com.ddj.owing.domain.story.model.StoryFolder;
 import com.ddj.owing.domain.story.model.StoryPlot;
-import com.ddj.owing.domain.story.model.StoryPlotNode;
 import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastDto;
+import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastPairDto;
 import com.ddj.owing.domain.story.repository.StoryFolderRepository;
 import com.ddj.owing.domain.story.repository.StoryPlotNodeRepository;
 import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.global.config.Neo4jConfiguration;
+import com.ddj.owing.global.ordering.OrderKeyAssigner;
+import com.ddj.owing.global.ordering.OrderedTable;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphOutboxPublisher;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class StoryPlotService {
-	private final StoryPageRepository storyPageRepository;
+	private final StoryPageService storyPageService;
 	private final StoryPlotRepository storyPlotRepository;
 	private final StoryFolderRepository storyFolderRepository;
 	private final StoryPlotNodeRepository storyPlotNodeRepository;
 	private final CastingNodeRepository castingNodeRepository;
-	private final ProjectNodeRepository projectNodeRepository;
 	private final OpenAiUtil openAiUtil;
+	private final StoryConflictChecker storyConflictChecker;
+	private final CastExtractionCache castExtractionCache;
+	private final OrderKeyAssigner orderKeyAssigner;
+	private final GraphOutboxPublisher graphOutboxPublisher;
+
+	@Value("${story.cast-extract.prefilter.enabled:true}")
+	private boolean castPrefilterEnabled;
 
 	private StoryPlot findById(Long id) {
 		return storyPlotRepository.findById(id)
@@ -56,36 +70,37 @@ public class StoryPlotService {
 
 	public List<StoryPlotDto> getStoryPlotList(Long folderId) {
 		// todo: permission
-		return storyPlotRepository.findByStoryFolderIdOrderByPositionAsc(folderId)
-			.stream()
-			.map(StoryPlotDto::from)
+		List<StoryPlot> storyPlots = storyPlotRepository.findByStoryFolderIdOrderByOrderKey(folderId);
+		return IntStream.range(0, storyPlots.size())
+			.mapToObj(i -> StoryPlotDto.from(storyPlots.get(i), i))
 			.toList();
 	}
 
 	public StoryPlotDto getStoryPlot(Long id) {
 		StoryPlot plot = findById(id);
-		return StoryPlotDto.from(plot);
+		return toDto(plot);
+	}
+
+	private StoryPlotDto toDto(StoryPlot storyPlot) {
+		return StoryPlotDto.from(storyPlot,
+			orderKeyAssigner.indexOf(OrderedTable.STORY_PLOT, storyPlot.getId(), storyPlot.getStoryFolder().getId()));
 	}
 
+	/**
+	 * 플롯 노드는 outbox 를 통해 커밋 후 반영된다.
+	 */
 	@Transactional
 	public StoryPlotDto createStoryPlot(StoryPlotCreateDto storyPlotCreateDto) {
 		StoryFolder storyFolder = storyFolderRepository.findById(storyPlotCreateDto.folderId())
 			.orElseThrow(() -> StoryFolderException.of(StoryFolderErrorCode.FOLDER_NOT_FOUND));
 
-		Integer position = storyPlotRepository.findMaxOrderByStoryFolderId(storyPlotCreateDto.folderId()) + 1;
+		String orderKey = orderKeyAssigner.last(OrderedTable.STORY_PLOT, storyFolder.getId());
 
-		StoryPlot storyPlot = storyPlotCreateDto.toEntity(storyFolder, position);
+		StoryPlot storyPlot = storyPlotCreateDto.toEntity(storyFolder, orderKey);
 		StoryPlot savedStoryPlot = storyPlotRepository.save(storyPlot);
+		graphOutboxPublisher.publish(GraphAggregateType.STORY_PLOT, savedStoryPlot.getId());
 
-		ProjectNode projectNode = projectNodeRepository.findById(storyFolder.getProjectId())
-				.orElseThrow(() -> ProjectException.of(ProjectErrorCode.PROJECT_NODE_NOT_FOUND));
-
-		StoryPlotNode storyPlotNode = storyPlotCreateDto.toNode(savedStoryPlot.getId());
-		storyPlotNode.linkProject(projectNode);
-
-		storyPlotNodeRepository.save(storyPlotNode);
-
-		return StoryPlotDto.from(savedStoryPlot);
+		return toDto(savedStoryPlot);
 	}
 
 	@Transactional
@@ -94,125 +109,179 @@ public class StoryPlotService {
 		// todo: validation
 		StoryPlot storyPlot = findById(id);
 		storyPlot.update(storyPlotUpdateDto.name(), storyPlotUpdateDto.description());
+		graphOutboxPublisher.publish(GraphAggregateType.STORY_PLOT, id);
 
-		StoryPlotNode storyPlotNode = storyPlotNodeRepository.findById(id)
-			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND));
-		storyPlotNode.updateName(storyPlotUpdateDto.name());
-		storyPlotNodeRepository.save(storyPlotNode);
-
-		return StoryPlotDto.from(storyPlotRepository.save(storyPlot));
+		return toDto(storyPlotRepository.save(storyPlot));
 	}
 
 	@Transactional
 	public void deleteStoryPlot(Long id) {
-		StoryPlot storyPlot = findById(id);
-		storyPlotRepository.decrementPositionAfter(storyPlot.getPosition(), storyPlot.getStoryFolder().getId());
+		findById(id);
 		storyPlotRepository.deleteById(id);
-
-		storyPlotNodeRepository.findById(id).ifPresentOrElse(
-			(node) -> {
-				node.delete();
-				storyPlotNodeRepository.save(node);
-			},
-			() -> log.warn("StoryPlot 데이터 불일치 발생. entity id:{}", storyPlot.getId())
-		);
+		graphOutboxPublisher.publish(GraphAggregateType.STORY_PLOT, id);
 	}
 
+	/**
+	 * 플롯을 대상 폴더에서 이동하는 플롯을 제외한 목록의 position 번째(0부터) 자리로 옮긴다. 다른 플롯의 순서는 갱신하지 않는다.
+	 */
 	@Transactional
 	public StoryPlotDto updateStoryPlotPosition(Long id, StoryPlotPositionUpdateDto storyPlotPositionUpdateDto) {
 		StoryPlot storyPlot = findById(id);
 
-		StoryFolder oldFolder = storyPlot.getStoryFolder();
 		StoryFolder newFolder = storyFolderRepository.findById(storyPlotPositionUpdateDto.folderId())
 			.orElseThrow(() -> StoryFolderException.of(StoryFolderErrorCode.FOLDER_NOT_FOUND));
 
-		int oldPosition = storyPlot.getPosition();
-		int newPosition = storyPlotPositionUpdateDto.position();
-
-		if (oldFolder.getId().equals(newFolder.getId()) && oldPosition == newPosition) {
-			return StoryPlotDto.from(storyPlot);
-		}
-
-		if (newPosition < 0 || newPosition > newFolder.getStoryPlots().size()) {
-			throw StoryPlotException.of(StoryPlotErrorCode.INVALID_POSITION);
-		}
+		String orderKey = orderKeyAssigner.at(OrderedTable.STORY_PLOT, storyPlot.getId(),
+				storyPlotPositionUpdateDto.position(), newFolder.getId())
+			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.INVALID_POSITION));
 
-		if (oldFolder.getId().equals(newFolder.getId())) {
-			if (oldPosition < newPosition) {
-				storyPlotRepository.decrementPositionBetween(oldPosition, newPosition, oldFolder.getId());
-			} else {
-				storyPlotRepository.incrementPositionBetween(newPosition, oldPosition - 1, oldFolder.getId());
-			}
-		} else {
-			storyPlotRepository.decrementPositionAfter(oldPosition, oldFolder.getId());
-			storyPlotRepository.incrementPositionAfter(newPosition, newFolder.getId());
+		if (!storyPlot.getStoryFolder().getId().equals(newFolder.getId())) {
 			storyPlot.updateFolder(newFolder);
 		}
-
-		storyPlot.updatePosition(newPosition);
-		return StoryPlotDto.from(storyPlotRepository.save(storyPlot));
+		storyPlot.updateOrderKey(orderKey);
+		return StoryPlotDto.from(storyPlotRepository.save(storyPlot), storyPlotPositionUpdateDto.position());
 	}
 
-	@Transactional
+	@Transactional(transactionManager = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
 	public List<StoryPlotAppearedCastDto> registerCasts(Long storyPlotId,
 		StoryPlotAppearedCastCreateDto appearedCastCreateDto) {
-		StoryPlotNode storyPlotNode = storyPlotNodeRepository.findById(storyPlotId)
-			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND));
+		validateCastIdList(appearedCastCreateDto == null ? null : appearedCastCreateDto.castIdList());
+		if (!storyPlotNodeRepository.existsActiveById(storyPlotId)) {
+			throw StoryPlotException.of(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND);
+		}
 
-		Set<CastingNode> existsCasts = new HashSet<>();
-		for (Long castId : appearedCastCreateDto.castIdList()) {
-			Optional<CastingNode> optionalCast = castingNodeRepository.findById(castId);
-			optionalCast.ifPresent(cast -> {
-				if (!cast.getEpisodes().contains(storyPlotNode)) {
-					existsCasts.add(cast);
-				}
-			});
+		List<Long> castIds = List.copyOf(new LinkedHashSet<>(appearedCastCreateDto.castIdList()));
+		if (castIds.isEmpty()) {
+			return List.of();
 		}
+		return storyPlotNodeRepository.createAppearedCastings(storyPlotId, castIds);
+	}
 
-		storyPlotNode.addCasts(existsCasts);
-		storyPlotNodeRepository.save(storyPlotNode);
+	/**
+	 * 여러 플롯의 출연 인물을 쿼리 한 번으로 등록한다. 이미 등록된 쌍은 건너뛰고 새로 만든 쌍만 반환한다.
+	 */
+	@Transactional(transactionManager = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
+	public List<StoryPlotAppearedCastPairDto> registerCasts(
+		List<StoryPlotAppearedCastBatchCreateDto> appearedCastCreateDtoList) {
+		if (appearedCastCreateDtoList == null) {
+			throw StoryPlotException.of(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST);
+		}
+		Map<Long, Set<Long>> castIdsByStoryPlotId = new LinkedHashMap<>();
+		for (StoryPlotAppearedCastBatchCreateDto createDto : appearedCastCreateDtoList) {
+			if (createDto == null || createDto.storyPlotId() == null) {
+				throw StoryPlotException.of(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST);
+			}
+			validateCastIdList(createDto.castIdList());
+			castIdsByStoryPlotId.computeIfAbsent(createDto.storyPlotId(), storyPlotId -> new LinkedHashSet<>())
+				.addAll(createDto.castIdList());
+		}
+		if (castIdsByStoryPlotId.isEmpty()) {
+			return List.of();
+		}
 
-		return existsCasts.stream()
-			.map(cast -> new StoryPlotAppearedCastDto(cast.getId(), cast.getName()))
+		List<Long> storyPlotIds = List.copyOf(castIdsByStoryPlotId.keySet());
+		if (storyPlotNodeRepository.findActiveIdsByIdIn(storyPlotIds).size() < storyPlotIds.size()) {
+			throw StoryPlotException.of(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND);
+		}
+
+		List<Map<String, Object>> rows = castIdsByStoryPlotId.entrySet().stream()
+			.filter(entry -> !entry.getValue().isEmpty())
+			.map(entry -> Map.<String, Object>of("storyPlotId", entry.getKey(),
+				"castIds", List.copyOf(entry.getValue())))
 			.toList();
+		if (rows.isEmpty()) {
+			return List.of();
+		}
+		return storyPlotNodeRepository.createAppearedCastingsOfPlots(rows);
+	}
+
+	private void validateCastIdList(List<Long> castIdList) {
+		if (castIdList == null || castIdList.stream().anyMatch(Objects::isNull)) {
+			throw StoryPlotException.of(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST);
+		}
 	}
 
+	// OpenAI 응답을 기다리는 동안 DB 커넥션을 붙잡지 않도록 트랜잭션 밖에서 실행한다.
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public List<CastingSummaryDto> extractCasts(Long storyPlotId) {
 		StoryPlot storyPlot = storyPlotRepository.findById(storyPlotId)
 				.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NOT_FOUND));
 		Long projectId = storyPlot.getStoryFolder().getProjectId();
 		List<CastingSummaryDto> castingSummaryList = castingNodeRepository.findAllSummaryByProjectId(projectId);
 
-		String storyPlotText = storyPageRepository.findAllTextListByStoryPlotId(storyPlotId);
-		Prompt castExtractPrompt = openAiUtil.creatPrompt(storyPlotText, castingSummaryList);
+		String storyPlotText = storyPageService.getPlainText(storyPlotId);
+		String cacheKey = castExtractionCache.key(storyPlotText, castingSummaryList, castPrefilterEnabled);
+		Optional<List<CastingSummaryDto>> cachedCasts = castExtractionCache.get(cacheKey);
+		if (cachedCasts.isPresent()) {
+			return cachedCasts.get();
+		}
+
+		if (!castPrefilterEnabled) {
+			List<CastingSummaryDto> extractedCasts =
+				openAiUtil.extractCast(openAiUtil.creatPrompt(storyPlotText, castingSummaryList));
+			castExtractionCache.put(cacheKey, extractedCasts);
+			return extractedCasts;
+		}
+
+		// 이름이 그대로 등장한 인물은 바로 확정하고, 모호한 후보만 모델에 보낸다.
+		CastNameMatcher.Result matched = CastNameMatcher.of(castingSummaryList).match(storyPlotText);
+		if (matched.ambiguous().isEmpty()) {
+			castExtractionCache.put(cacheKey, matched.definite());
+			return matched.definite();
+		}
 
-		return openAiUtil.extractCast(castExtractPrompt);
+		List<CastingSummaryDto> resolvedCasts;
+		try {
+			resolvedCasts = openAiUtil.extractCast(openAiUtil.creatPrompt(storyPlotText, matched.ambiguous()));
+		} catch (RuntimeException e) {
+			// 불완전한 결과이므로 캐시하지 않는다.
+			log.warn("모호한 인물 판별 실패. 이름이 확정된 인물만 반환합니다. storyPlotId: {}", storyPlotId, e);
+			return matched.definite();
+		}
+
+		Set<Long> resolvedIds = resolvedCasts.stream().map(CastingSummaryDto::id).collect(Collectors.toSet());
+		List<CastingSummaryDto> extractedCasts = new ArrayList<>(matched.definite());
+		matched.ambiguous().stream()
+			.filter(cast -> resolvedIds.contains(cast.id()))
+			.forEach(extractedCasts::add);
+		castExtractionCache.put(cacheKey, extractedCasts);
+		return extractedCasts;
 	}
 
-	@Transactional
+	@Transactional(transactionManager = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
 	public void deleteAppearedCast(Long storyPlotId, Long castId) {
-		StoryPlotNode storyPlotNode = storyPlotNodeRepository.findById(storyPlotId)
-			.orElseThrow(() -> StoryPlotException.of(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND));
-		CastingNode castingNode = castingNodeRepository.findById(castId)
-			.orElseThrow(() -> CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND));
-
-		if (!castingNode.getEpisodes().contains(storyPlotNode)) {
-			throw StoryPlotException.of(StoryPlotErrorCode.NOT_APPEARED_RELATIONSHIP);
+		if (!storyPlotNodeRepository.existsActiveById(storyPlotId)) {
+			throw StoryPlotException.of(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND);
+		}
+		if (!castingNodeRepository.existsActiveById(castId)) {
+			throw CastingException.of(CastingErrorCode.CASTING_NODE_NOT_FOUND);
 		}
 
 		int deletedAppearedCount = storyPlotNodeRepository.deleteAppearedCasting(storyPlotId, castId);
+		if (deletedAppearedCount < 1) {
+			throw StoryPlotException.of(StoryPlotErrorCode.NOT_APPEARED_RELATIONSHIP);
+		}
 		if (1 < deletedAppearedCount) {
 			log.warn("예상치 못한 출연 관계가 다수 삭제되었습니다. 예상 삭제 수: 1, 실제 삭제된 수: {}. storyPlotId: {}, castId: {}",
 				deletedAppearedCount, storyPlotId, castId);
 		}
 	}
 
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public String checkStoryConflict(Long storyPlotId, String targetStory) {
-		String baseStory = storyPageRepository.findAllTextListByStoryPlotId(storyPlotId);
+		String baseStory = storyPageService.getPlainText(storyPlotId);
+
+		List<StoryPlotConflictDto> conflicts = storyConflictChecker.check(baseStory, targetStory);
+		return JsonHelperUtil.toJsonString(conflicts);
+	}
 
-		StoryPlotConflictCheckDto storyPlotConflictCheckDto = new StoryPlotConflictCheckDto(baseStory, targetStory);
-		Prompt prompt = openAiUtil.createPrompt(storyPlotConflictCheckDto);
+	/**
+	 * 설정 오류 검사 결과를 모델이 생성하는 대로 항목 단위로 내보낸다. 긴 원고는 조각별로 나누어 검사한다.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Flux<StoryPlotConflictDto> streamStoryConflict(Long storyPlotId, String targetStory) {
+		String baseStory = storyPageService.getPlainText(storyPlotId);
 
-		return openAiUtil.checkStoryConflict(prompt);
+		return storyConflictChecker.stream(baseStory, targetStory);
 	}
 }
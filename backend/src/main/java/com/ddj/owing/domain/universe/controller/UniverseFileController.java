@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
 import com.ddj.owing.domain.universe.model.UniverseFile;
 import com.ddj.owing.domain.universe.model.dto.UniverseFileImageRequestDto;
 import com.ddj.owing.domain.universe.model.dto.UniverseFileRequestDto;
@@ -31,7 +32,7 @@ public class UniverseFileController {
 	}
 
 	@PostMapping("/image")
-	public ResponseEntity<String> generateUniverseImage(@RequestBody UniverseFileRequestDto universeFileRequestDto) {
+	public ResponseEntity<ImageJobDto> generateUniverseImage(@RequestBody UniverseFileRequestDto universeFileRequestDto) {
 		return universeFileService.generateUniverseImage(universeFileRequestDto);
 	}
 
@@ -4,6 +4,7 @@ import org.hibernate.annotations.SoftDelete;
 
 import com.ddj.owing.global.entity.BaseTimeEntity;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -39,6 +40,7 @@ public class UniverseFile extends BaseTimeEntity {
 	private String name;
 
 	@Lob
+	@Basic(fetch = FetchType.LAZY)
 	@Column(columnDefinition = "TEXT")
 	private String description;
 
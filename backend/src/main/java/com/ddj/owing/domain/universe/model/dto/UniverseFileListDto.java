@@ -0,0 +1,17 @@
+package com.ddj.owing.domain.universe.model.dto;
+
+/**
+ * 폴더 목록 조회용 projection. 폴더별로 묶기 위해 folderId 를 함께 읽는다.
+ */
+public record UniverseFileListDto(
+	Long folderId,
+	Long id,
+	String name,
+	String description,
+	String imageUrl
+) {
+
+	public UniverseFileResponseDto toResponseDto() {
+		return new UniverseFileResponseDto(id, name, description, imageUrl);
+	}
+}
@@ -27,4 +27,14 @@ public record UniverseFolderResponseDto(
 			files
 		);
 	}
+
+	public static UniverseFolderResponseDto of(UniverseFolder universeFolder, List<UniverseFileResponseDto> files) {
+
+		return new UniverseFolderResponseDto(
+			universeFolder.getId(),
+			universeFolder.getName(),
+			universeFolder.getDescription(),
+			files
+		);
+	}
 }
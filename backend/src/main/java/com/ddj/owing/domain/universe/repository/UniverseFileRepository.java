@@ -1,9 +1,22 @@
 package com.ddj.owing.domain.universe.repository;
 
+import java.util.List;
+
 import com.ddj.owing.domain.universe.model.UniverseFile;
+import com.ddj.owing.domain.universe.model.dto.UniverseFileListDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UniverseFileRepository extends JpaRepository<UniverseFile, Long> {
+
+    /**
+     * 프로젝트의 모든 파일을 한 번에 읽는다. description 은 엔티티에서 지연 로딩이므로 파일마다 따로 읽지 않도록 직접 고른다.
+     */
+    @Query("SELECT new com.ddj.owing.domain.universe.model.dto.UniverseFileListDto("
+            + "uf.universeFolder.id, uf.id, uf.name, uf.description, uf.imageUrl) "
+            + "FROM UniverseFile uf WHERE uf.universeFolder.projectId = :projectId "
+            + "ORDER BY uf.id ASC")
+    List<UniverseFileListDto> findListByProjectId(Long projectId);
 }
@@ -16,6 +16,8 @@ import com.ddj.owing.domain.universe.model.dto.UniverseFileRequestDto;
 import com.ddj.owing.domain.universe.model.dto.UniverseFileResponseDto;
 import com.ddj.owing.domain.universe.repository.UniverseFileRepository;
 import com.ddj.owing.domain.universe.repository.UniverseFolderRepository;
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.domain.image.service.ImageJobService;
 import com.ddj.owing.global.util.OpenAiUtil;
 import com.ddj.owing.global.util.Parser;
 import com.ddj.owing.global.util.S3FileUtil;
@@ -29,6 +31,7 @@ public class UniverseFileService {
 	private final UniverseFileRepository universeFileRepository;
 	private final UniverseFolderRepository universeFolderRepository;
 	private final OpenAiUtil openAiUtil;
+	private final ImageJobService imageJobService;
 	private final S3FileUtil s3FileUtil;
 
 	@Value("${cloud.aws.s3.directory.universe}")
@@ -53,19 +56,17 @@ public class UniverseFileService {
 	 * OpenAI API 를 이용해 Universe 파일 이미지를 생성하는 메서드
 	 *
 	 * @param universeFileRequestDto 파일 생성 요청을 담은 DTO
-	 * @return 생성된 이미지의 URL 을 ResponseEntity 로 반환
+	 * @return 이미지 생성 작업을 등록하고 작업 상태를 ResponseEntity 로 반환
 	 */
-	@Transactional
-	public ResponseEntity<String> generateUniverseImage(UniverseFileRequestDto universeFileRequestDto) {
+	public ResponseEntity<ImageJobDto> generateUniverseImage(UniverseFileRequestDto universeFileRequestDto) {
 
 		UniverseFolder universeFolder = universeFolderRepository.findById(universeFileRequestDto.folderId())
 			.orElseThrow(() -> UniverseFolderException.of(UniverseFolderErrorCode.UNIVERSE_FOLDER_NOT_FOUND));
 
 		String prompt = openAiUtil.createPrompt(universeFileRequestDto);
-		String result = openAiUtil.createImage(prompt);
-		String imageBase64 = Parser.extractBase64(result);
+		ImageJobDto imageJob = imageJobService.submit(prompt, universeDirectory);
 
-		return ResponseEntity.ok(imageBase64);
+		return ResponseEntity.accepted().body(imageJob);
 	}
 
 	/**
@@ -1,6 +1,8 @@
 package com.ddj.owing.domain.universe.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -9,9 +11,12 @@ import org.springframework.transaction.annotation.Transactional;
 import com.ddj.owing.domain.universe.error.code.UniverseFolderErrorCode;
 import com.ddj.owing.domain.universe.error.exception.UniverseFolderException;
 import com.ddj.owing.domain.universe.model.UniverseFolder;
+import com.ddj.owing.domain.universe.model.dto.UniverseFileListDto;
+import com.ddj.owing.domain.universe.model.dto.UniverseFileResponseDto;
 import com.ddj.owing.domain.universe.model.dto.UniverseFolderCreateRequestDto;
 import com.ddj.owing.domain.universe.model.dto.UniverseFolderResponseDto;
 import com.ddj.owing.domain.universe.model.dto.UniverseFolderUpdateRequestDto;
+import com.ddj.owing.domain.universe.repository.UniverseFileRepository;
 import com.ddj.owing.domain.universe.repository.UniverseFolderRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 public class UniverseFolderService {
 
 	private final UniverseFolderRepository universeFolderRepository;
+	private final UniverseFileRepository universeFileRepository;
 
 	/**
 	 * 새로운 폴더를 생성하는 메서드
@@ -48,8 +54,12 @@ public class UniverseFolderService {
 	public ResponseEntity<List<UniverseFolderResponseDto>> getAllFolders(Long projectId) {
 
 		List<UniverseFolder> universeFolders = universeFolderRepository.findByProjectId(projectId);
+		Map<Long, List<UniverseFileResponseDto>> filesByFolderId = universeFileRepository.findListByProjectId(projectId)
+			.stream()
+			.collect(Collectors.groupingBy(UniverseFileListDto::folderId,
+				Collectors.mapping(UniverseFileListDto::toResponseDto, Collectors.toList())));
 		List<UniverseFolderResponseDto> universeFolderResponseDtoList = universeFolders.stream()
-			.map(UniverseFolderResponseDto::fromEntity)
+			.map(folder -> UniverseFolderResponseDto.of(folder, filesByFolderId.getOrDefault(folder.getId(), List.of())))
 			.toList();
 
 		return ResponseEntity.ok(universeFolderResponseDtoList);
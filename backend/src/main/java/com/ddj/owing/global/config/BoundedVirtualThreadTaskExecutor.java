@@ -0,0 +1,56 @@
+package com.ddj.owing.global.config;
+
+import java.util.concurrent.Semaphore;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * 작업마다 가상 스레드를 만들되, 동시에 실행되는 작업 수와 대기 작업 수를 제한하는 실행기.
+ * SimpleAsyncTaskExecutor 의 concurrencyLimit 은 한도를 넘으면 제출한 스레드를 막으므로,
+ * 대기 한도까지는 바로 받아 가상 스레드 안에서 실행 순서를 기다리게 하고 그 이상은 즉시 거절한다.
+ */
+public class BoundedVirtualThreadTaskExecutor extends SimpleAsyncTaskExecutor {
+
+	private final Semaphore running;
+	private final Semaphore admitted;
+
+	public BoundedVirtualThreadTaskExecutor(String threadNamePrefix, int concurrencyLimit, int queueCapacity) {
+		super(threadNamePrefix);
+		if (concurrencyLimit < 1 || queueCapacity < 0) {
+			throw new IllegalArgumentException("concurrencyLimit 은 1 이상, queueCapacity 는 0 이상이어야 합니다.");
+		}
+		setVirtualThreads(true);
+		this.running = new Semaphore(concurrencyLimit, true);
+		this.admitted = new Semaphore(concurrencyLimit + queueCapacity);
+	}
+
+	@Override
+	protected void doExecute(Runnable task) {
+		if (!admitted.tryAcquire()) {
+			throw new TaskRejectedException("실행 대기 중인 작업이 가득 찼습니다: " + task);
+		}
+		try {
+			super.doExecute(() -> runWithinLimit(task));
+		} catch (RuntimeException e) {
+			admitted.release();
+			throw e;
+		}
+	}
+
+	private void runWithinLimit(Runnable task) {
+		try {
+			running.acquire();
+		} catch (InterruptedException e) {
+			admitted.release();
+			Thread.currentThread().interrupt();
+			return;
+		}
+		try {
+			task.run();
+		} finally {
+			running.release();
+			admitted.release();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.ddj.owing.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CastAppearanceConfig {
+
+	/**
+	 * 출연 관계 색인 작업 전용 단일 스레드. 같은 원고의 연속된 저장이 순서대로 반영되도록 하나씩 처리한다.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor castAppearanceExecutor(
+		@Value("${story.appearance.index.queue-capacity:1000}") int queueCapacity
+	) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("cast-appearance-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+}
@@ -0,0 +1,42 @@
+package com.ddj.owing.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageJobConfig {
+
+	private static final String THREAD_NAME_PREFIX = "image-job-";
+	private static final long TERMINATION_TIMEOUT_MILLIS = 60_000;
+
+	/**
+	 * 이미지 생성 작업 전용 실행기. 대기 작업이 가득 차면 요청을 거절하여 OpenAI 호출 수와 대기 작업 수를 제한한다.
+	 * 가상 스레드 모드에서는 이미지 생성과 S3 업로드를 작업마다 만든 가상 스레드에서 실행하고,
+	 * 동시 실행 수는 모드와 관계없이 pool-size 로 유지된다.
+	 */
+	@Bean
+	public AsyncTaskExecutor imageJobExecutor(
+		@Value("${image.job.executor.pool-size:4}") int poolSize,
+		@Value("${image.job.executor.queue-capacity:50}") int queueCapacity,
+		@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+	) {
+		if (virtualThreads) {
+			BoundedVirtualThreadTaskExecutor executor =
+				new BoundedVirtualThreadTaskExecutor(THREAD_NAME_PREFIX, poolSize, queueCapacity);
+			executor.setTaskTerminationTimeout(TERMINATION_TIMEOUT_MILLIS);
+			return executor;
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationMillis(TERMINATION_TIMEOUT_MILLIS);
+		return executor;
+	}
+}
@@ -0,0 +1,28 @@
+package com.ddj.owing.global.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 두 저장소의 Repository 는 모두 기본 이름 "transactionManager" 를 찾으므로, 저장소마다 트랜잭션 매니저를 이름으로 연결한다.
+ * 이름 없는 {@code @Transactional} 은 Postgres 트랜잭션이 되며, Neo4j 에만 쓰는 메서드는
+ * {@link Neo4jConfiguration#NEO4J_TRANSACTION_MANAGER} 를 지정한다.
+ * 두 저장소에 함께 쓰는 변경은 Postgres 에만 커밋하고 graph outbox 로 Neo4j 에 옮긴다.
+ */
+@Configuration
+@EnableJpaRepositories(basePackages = "com.ddj.owing", transactionManagerRef = JpaTransactionConfig.JPA_TRANSACTION_MANAGER)
+public class JpaTransactionConfig {
+
+	public static final String JPA_TRANSACTION_MANAGER = "jpaTransactionManager";
+
+	@Bean(JPA_TRANSACTION_MANAGER)
+	@Primary
+	public JpaTransactionManager jpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+		return new JpaTransactionManager(entityManagerFactory);
+	}
+}
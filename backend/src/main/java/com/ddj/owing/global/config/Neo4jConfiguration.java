@@ -6,21 +6,29 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.neo4j.config.EnableNeo4jAuditing;
 import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableTransactionManagement
 @EnableNeo4jAuditing
+@EnableNeo4jRepositories(basePackages = "com.ddj.owing",
+        transactionManagerRef = Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
 public class Neo4jConfiguration {
 
+    public static final String NEO4J_TRANSACTION_MANAGER = "neo4jTransactionManager";
+
     @Bean
     protected org.neo4j.cypherdsl.core.renderer.Configuration cypherDslConfiguration() {
         return org.neo4j.cypherdsl.core.renderer.Configuration.newConfig().withDialect(Dialect.NEO4J_5).build();
     }
 
-    @Bean
-    protected PlatformTransactionManager transactionManager(Driver driver) {
+    /**
+     * 그래프 전용 작업에서만 이름으로 지정한다. 기본 트랜잭션 매니저는 JPA 이다.
+     */
+    @Bean(NEO4J_TRANSACTION_MANAGER)
+    protected PlatformTransactionManager neo4jTransactionManager(Driver driver) {
         return new Neo4jTransactionManager(driver);
     }
 }
@@ -1,7 +1,12 @@
 package com.ddj.owing.global.config;
 
+import java.time.Duration;
+
 import org.springframework.ai.openai.api.OpenAiImageApi;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -20,4 +25,20 @@ public class OpenAiConfig {
     public OpenAiImageApi openAiImageApi() {
         return new OpenAiImageApi(openAiApiKey);
     }
+
+    /**
+     * Spring AI 가 사용하는 RestClient 에 연결/읽기 시간 제한을 건다. 제한이 없으면 응답이 멈춘 호출이 bulkhead 자리를 계속 차지한다.
+     *
+     * @return RestClientCustomizer 객체
+     */
+    @Bean
+    public RestClientCustomizer openAiTimeoutCustomizer(
+            @Value("${openai.timeout.connect:5s}") Duration connectTimeout,
+            @Value("${openai.timeout.read:90s}") Duration readTimeout
+    ) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(connectTimeout)
+                .withReadTimeout(readTimeout);
+        return restClientBuilder -> restClientBuilder.requestFactory(ClientHttpRequestFactories.get(settings));
+    }
 }
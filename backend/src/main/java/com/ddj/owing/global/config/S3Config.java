@@ -2,6 +2,7 @@ package com.ddj.owing.global.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +19,8 @@ public class S3Config {
     private String secretKey;
     @Value("${cloud.aws.region.static}")
     private String region;
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
 
     @Bean
     @Primary
@@ -26,12 +29,20 @@ public class S3Config {
         return new BasicAWSCredentials(accessKey, secretKey);
     }
 
+    /**
+     * endpoint 가 설정되면 해당 주소(예: 로컬 MinIO)를 path-style 로 사용한다.
+     */
     @Bean
     public AmazonS3 amazonS3() {
 
-        return AmazonS3ClientBuilder.standard()
-                .withRegion(region)
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentialsProvider()))
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(awsCredentialsProvider()));
+        if (endpoint.isBlank()) {
+            return builder.withRegion(region).build();
+        }
+        return builder
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                .withPathStyleAccessEnabled(true)
                 .build();
     }
 }
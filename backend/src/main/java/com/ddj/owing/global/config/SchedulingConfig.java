@@ -0,0 +1,14 @@
+package com.ddj.owing.global.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 통합 테스트에서는 릴레이, 좌표 반영 같은 주기 작업이 검사 중인 트랜잭션에 끼어들지 않도록 끈다.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
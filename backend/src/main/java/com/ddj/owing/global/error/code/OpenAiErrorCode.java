@@ -7,7 +7,10 @@ import org.springframework.http.HttpStatus;
 public enum OpenAiErrorCode implements OwingErrorCode{
 	CASTING_PARSE_FAIL(HttpStatus.INTERNAL_SERVER_ERROR, "001", "인물을 추출했으나, 변환에 실패했습니다."),
 	CASTING_EXTRACT_FAIL(HttpStatus.INTERNAL_SERVER_ERROR, "002", "인물 추출에 실패했습니다."),
-	IMAGE_GENERATION_FAIL(HttpStatus.INTERNAL_SERVER_ERROR, "003", "이미지 생성에 실패했습니다.");
+	IMAGE_GENERATION_FAIL(HttpStatus.INTERNAL_SERVER_ERROR, "003", "이미지 생성에 실패했습니다."),
+	CONFLICT_CHECK_FAIL(HttpStatus.INTERNAL_SERVER_ERROR, "004", "설정 오류 검사에 실패했습니다."),
+	BUSY(HttpStatus.SERVICE_UNAVAILABLE, "005", "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+	UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "006", "AI 서비스 응답이 불안정하여 요청을 잠시 중단했습니다.");
 
 	private final HttpStatus status;
 	private final String code;
@@ -0,0 +1,20 @@
+package com.ddj.owing.global.error.code;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+
+@Getter
+public enum OrderKeyErrorCode implements OwingErrorCode {
+	REBALANCE_CONFLICT(HttpStatus.CONFLICT, "001", "다른 요청과 순서 변경이 겹쳐 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+
+	private final HttpStatus status;
+	private final String code;
+	private final String message;
+
+	OrderKeyErrorCode(HttpStatus status, String code, String message) {
+		this.status = status;
+		this.code = "ORDER" + code;
+		this.message = message;
+	}
+}
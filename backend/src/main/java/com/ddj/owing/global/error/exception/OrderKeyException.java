@@ -0,0 +1,13 @@
+package com.ddj.owing.global.error.exception;
+
+import com.ddj.owing.global.error.code.OrderKeyErrorCode;
+
+public class OrderKeyException extends OwingException {
+	private OrderKeyException(OrderKeyErrorCode errorCode) {
+		super(errorCode);
+	}
+
+	public static OrderKeyException of(OrderKeyErrorCode errorCode) {
+		return new OrderKeyException(errorCode);
+	}
+}
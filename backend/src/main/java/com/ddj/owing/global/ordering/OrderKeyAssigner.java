@@ -0,0 +1,122 @@
+package com.ddj.owing.global.ordering;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ddj.owing.global.error.code.OrderKeyErrorCode;
+import com.ddj.owing.global.error.exception.OrderKeyException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 새로 추가하거나 이동하는 행의 정렬 키를 계산한다.
+ * 이웃한 두 행의 키만 읽어 그 사이 키를 만들기 때문에, 이동 시에는 이동하는 행 하나만 갱신하면 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderKeyAssigner {
+
+	private static final int MAX_REBALANCE_ATTEMPTS = 3;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final OrderKeyRebalancer orderKeyRebalancer;
+	private final OrderSequenceAllocator orderSequenceAllocator;
+
+	/**
+	 * 그룹의 맨 뒤에 들어갈 키를 만든다. 동시에 추가해도 키가 겹치지 않도록 {@link OrderSequenceAllocator} 로 발급한다.
+	 *
+	 * @param table 대상 테이블
+	 * @param groupValues {@link OrderedTable#getGroupColumns()} 순서의 그룹 값
+	 */
+	public String last(OrderedTable table, Object... groupValues) {
+		return orderSequenceAllocator.next(table, groupValues);
+	}
+
+	/**
+	 * 이동하는 행을 제외한 형제 목록에서 index 번째(0부터)에 들어갈 키를 만든다.
+	 * 이웃 중 아직 키가 없는 기존 행이 있거나 동시 이동으로 키가 겹친 경우에는 그룹을 재정렬한 뒤 다시 계산한다.
+	 * 재정렬은 그사이 그룹이 바뀌면 건너뛰므로, 몇 번 시도해도 이웃 키가 정상이 아니면 잘못된 키를 만들지 않고 실패한다.
+	 *
+	 * @param table 대상 테이블
+	 * @param movingId 이동하는 행의 id. 새로 만드는 행이면 null
+	 * @param index 이동 후 형제 목록에서의 위치
+	 * @param groupValues {@link OrderedTable#getGroupColumns()} 순서의 그룹 값
+	 * @return index 가 없거나 범위를 벗어나면 empty
+	 * @throws OrderKeyException 재정렬 후에도 이웃 키가 없거나 겹치는 경우
+	 */
+	public Optional<String> at(OrderedTable table, Long movingId, Integer index, Object... groupValues) {
+		table.validateGroupValues(groupValues);
+		if (index == null || index < 0) {
+			return Optional.empty();
+		}
+
+		List<String> neighbours = findNeighbours(table, movingId, index, groupValues);
+		for (int attempt = 1; needsRebalance(neighbours, index); attempt++) {
+			if (attempt > MAX_REBALANCE_ATTEMPTS) {
+				throw OrderKeyException.of(OrderKeyErrorCode.REBALANCE_CONFLICT);
+			}
+			orderKeyRebalancer.rebalance(table, groupValues);
+			neighbours = findNeighbours(table, movingId, index, groupValues);
+		}
+
+		if (index == 0) {
+			return Optional.of(neighbours.isEmpty()
+				? last(table, groupValues)
+				: OrderKeyGenerator.between(null, neighbours.get(0)));
+		}
+		if (neighbours.isEmpty()) {
+			return Optional.empty();
+		}
+		if (neighbours.size() == 1) {
+			return Optional.of(last(table, groupValues));
+		}
+		return Optional.of(OrderKeyGenerator.between(neighbours.get(0), neighbours.get(1)));
+	}
+
+	/**
+	 * 형제 목록에서 행이 놓인 위치(0부터)를 구한다. 정렬 키 대신 순번을 쓰는 응답의 position 에 쓴다.
+	 * 행이 아직 저장되지 않았으면 맨 뒤 위치, 즉 형제 수를 반환한다.
+	 *
+	 * @param table 대상 테이블
+	 * @param id 행 id
+	 * @param groupValues {@link OrderedTable#getGroupColumns()} 순서의 그룹 값
+	 */
+	public int indexOf(OrderedTable table, Long id, Object... groupValues) {
+		table.validateGroupValues(groupValues);
+		String siblings = " FROM " + table.getTableName() + " WHERE " + table.groupCondition() + " AND deleted = false";
+		String sql = "SELECT COALESCE("
+			+ "(SELECT s.idx FROM (SELECT id, row_number() OVER (ORDER BY order_key NULLS FIRST, position, id) - 1 AS idx"
+			+ siblings + ") s WHERE s.id = ?), "
+			+ "(SELECT count(*)" + siblings + "))";
+		Object[] args = Stream.of(Stream.of(groupValues), Stream.of(id), Stream.of(groupValues))
+			.flatMap(values -> values)
+			.toArray();
+		Integer index = jdbcTemplate.queryForObject(sql, Integer.class, args);
+		return index == null ? 0 : index;
+	}
+
+	/**
+	 * index 가 0 이면 맨 앞 행 하나를, 그 외에는 index - 1, index 번째 행을 정렬 순서대로 가져온다.
+	 */
+	private List<String> findNeighbours(OrderedTable table, Long movingId, int index, Object[] groupValues) {
+		String sql = "SELECT order_key FROM " + table.getTableName()
+			+ " WHERE " + table.groupCondition() + " AND deleted = false AND id IS DISTINCT FROM ?"
+			+ " ORDER BY order_key NULLS FIRST, position, id"
+			+ " LIMIT ? OFFSET ?";
+		Object[] args = Stream.concat(Stream.of(groupValues),
+			Stream.of(movingId, index == 0 ? 1 : 2, Math.max(index - 1, 0))).toArray();
+		return jdbcTemplate.queryForList(sql, String.class, args);
+	}
+
+	private boolean needsRebalance(List<String> neighbours, int index) {
+		if (neighbours.stream().anyMatch(Objects::isNull)) {
+			return true;
+		}
+		return index > 0 && neighbours.size() > 1 && neighbours.get(0).compareTo(neighbours.get(1)) >= 0;
+	}
+}
@@ -0,0 +1,268 @@
+package com.ddj.owing.global.ordering;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사전순으로 비교되는 정렬 키(fractional indexing)를 만든다.
+ * 키는 정수부와 소수부로 이루어지며, 두 키 사이에는 항상 새로운 키를 만들 수 있으므로 이동 시 형제 행을 갱신할 필요가 없다.
+ * 문자 비교는 바이트 순서를 전제로 하므로 DB 컬럼은 "C" collation 을 사용해야 한다.
+ */
+public final class OrderKeyGenerator {
+
+	private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+	private static final char ZERO = DIGITS.charAt(0);
+	private static final char MAX_DIGIT = DIGITS.charAt(DIGITS.length() - 1);
+	private static final String INTEGER_ZERO = "a" + ZERO;
+	private static final String SMALLEST_INTEGER = "A" + String.valueOf(ZERO).repeat(26);
+
+	private OrderKeyGenerator() {
+	}
+
+	/**
+	 * before 와 after 사이의 키를 만든다. null 은 각각 맨 앞, 맨 뒤를 의미한다.
+	 *
+	 * @throws IllegalArgumentException before 가 after 보다 크거나 같은 경우
+	 */
+	public static String between(String before, String after) {
+		if (before != null) {
+			validate(before);
+		}
+		if (after != null) {
+			validate(after);
+		}
+		if (before != null && after != null && before.compareTo(after) >= 0) {
+			throw new IllegalArgumentException("정렬 키 순서가 올바르지 않습니다. " + before + " >= " + after);
+		}
+
+		if (before == null) {
+			if (after == null) {
+				return INTEGER_ZERO;
+			}
+			String afterInteger = integerPart(after);
+			String afterFraction = after.substring(afterInteger.length());
+			if (afterInteger.equals(SMALLEST_INTEGER)) {
+				return afterInteger + midpoint("", afterFraction);
+			}
+			if (afterInteger.compareTo(after) < 0) {
+				return afterInteger;
+			}
+			String decremented = decrementInteger(afterInteger);
+			if (decremented == null) {
+				throw new IllegalArgumentException("더 작은 정렬 키를 만들 수 없습니다. " + after);
+			}
+			return decremented;
+		}
+
+		String beforeInteger = integerPart(before);
+		String beforeFraction = before.substring(beforeInteger.length());
+		if (after == null) {
+			String incremented = incrementInteger(beforeInteger);
+			return incremented == null ? beforeInteger + midpoint(beforeFraction, null) : incremented;
+		}
+
+		String afterInteger = integerPart(after);
+		String afterFraction = after.substring(afterInteger.length());
+		if (beforeInteger.equals(afterInteger)) {
+			return beforeInteger + midpoint(beforeFraction, afterFraction);
+		}
+		String incremented = incrementInteger(beforeInteger);
+		if (incremented == null) {
+			throw new IllegalArgumentException("더 큰 정렬 키를 만들 수 없습니다. " + before);
+		}
+		if (incremented.compareTo(after) < 0) {
+			return incremented;
+		}
+		return beforeInteger + midpoint(beforeFraction, null);
+	}
+
+	/**
+	 * 재정렬용으로 짧은 키를 count 개 순서대로 만든다.
+	 */
+	public static List<String> sequence(int count) {
+		List<String> keys = new ArrayList<>(count);
+		String key = null;
+		for (int i = 0; i < count; i++) {
+			key = between(key, null);
+			keys.add(key);
+		}
+		return keys;
+	}
+
+	/**
+	 * 0 이상의 정수를 소수부 없는 키로 바꾼다. 값이 클수록 사전순으로도 뒤에 온다.
+	 * "a0" 이 0 이며, {@link #between(String, String)} 에서 before 만 주어졌을 때 정수부가 증가하는 순서와 같다.
+	 */
+	public static String ofInteger(long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("정렬 키 정수는 0 이상이어야 합니다. " + value);
+		}
+		long remaining = value;
+		for (char head = 'a'; head <= 'z'; head++) {
+			int length = head - 'a' + 1;
+			long capacity = capacity(length);
+			if (remaining < capacity) {
+				char[] digits = new char[length];
+				for (int i = length - 1; i >= 0; i--) {
+					digits[i] = DIGITS.charAt((int)(remaining % DIGITS.length()));
+					remaining /= DIGITS.length();
+				}
+				return head + new String(digits);
+			}
+			remaining -= capacity;
+		}
+		throw new IllegalArgumentException("정렬 키로 표현할 수 없는 정수입니다. " + value);
+	}
+
+	/**
+	 * 키의 정수부를 {@link #ofInteger(long)} 기준의 정수로 되돌린다. "a0" 보다 앞선 키는 -1 을 반환한다.
+	 */
+	public static long integerValue(String key) {
+		validate(key);
+		char head = key.charAt(0);
+		if (head < 'a') {
+			return -1;
+		}
+		long value = 0;
+		for (char previous = 'a'; previous < head; previous++) {
+			value = Math.addExact(value, capacity(previous - 'a' + 1));
+		}
+		String integer = integerPart(key);
+		long digits = 0;
+		for (int i = 1; i < integer.length(); i++) {
+			digits = Math.addExact(Math.multiplyExact(digits, DIGITS.length()), DIGITS.indexOf(integer.charAt(i)));
+		}
+		return Math.addExact(value, digits);
+	}
+
+	private static long capacity(int length) {
+		long capacity = 1;
+		for (int i = 0; i < length; i++) {
+			if (capacity > Long.MAX_VALUE / DIGITS.length()) {
+				return Long.MAX_VALUE;
+			}
+			capacity *= DIGITS.length();
+		}
+		return capacity;
+	}
+
+	private static String midpoint(String before, String after) {
+		if (after != null && before.compareTo(after) >= 0) {
+			throw new IllegalArgumentException("정렬 키 순서가 올바르지 않습니다. " + before + " >= " + after);
+		}
+		if (endsWithZero(before) || (after != null && endsWithZero(after))) {
+			throw new IllegalArgumentException("정렬 키는 0 으로 끝날 수 없습니다.");
+		}
+
+		if (after != null) {
+			int n = 0;
+			while (n < after.length() && digitAt(before, n) == after.charAt(n)) {
+				n++;
+			}
+			if (n > 0) {
+				return after.substring(0, n) + midpoint(before.substring(Math.min(n, before.length())),
+					after.substring(n));
+			}
+		}
+
+		int beforeDigit = before.isEmpty() ? 0 : DIGITS.indexOf(before.charAt(0));
+		int afterDigit = after != null ? DIGITS.indexOf(after.charAt(0)) : DIGITS.length();
+		if (afterDigit - beforeDigit > 1) {
+			return String.valueOf(DIGITS.charAt(Math.round(0.5f * (beforeDigit + afterDigit))));
+		}
+		if (after != null && after.length() > 1) {
+			return after.substring(0, 1);
+		}
+		return DIGITS.charAt(beforeDigit) + midpoint(before.isEmpty() ? "" : before.substring(1), null);
+	}
+
+	private static String incrementInteger(String integer) {
+		char head = integer.charAt(0);
+		char[] digits = integer.substring(1).toCharArray();
+		boolean carry = true;
+		for (int i = digits.length - 1; carry && i >= 0; i--) {
+			int digit = DIGITS.indexOf(digits[i]) + 1;
+			if (digit == DIGITS.length()) {
+				digits[i] = ZERO;
+			} else {
+				digits[i] = DIGITS.charAt(digit);
+				carry = false;
+			}
+		}
+		if (!carry) {
+			return head + new String(digits);
+		}
+		if (head == 'Z') {
+			return INTEGER_ZERO;
+		}
+		if (head == 'z') {
+			return null;
+		}
+		char nextHead = (char)(head + 1);
+		String body = new String(digits);
+		return nextHead > 'a' ? nextHead + body + ZERO : nextHead + body.substring(0, body.length() - 1);
+	}
+
+	private static String decrementInteger(String integer) {
+		char head = integer.charAt(0);
+		char[] digits = integer.substring(1).toCharArray();
+		boolean borrow = true;
+		for (int i = digits.length - 1; borrow && i >= 0; i--) {
+			int digit = DIGITS.indexOf(digits[i]) - 1;
+			if (digit == -1) {
+				digits[i] = MAX_DIGIT;
+			} else {
+				digits[i] = DIGITS.charAt(digit);
+				borrow = false;
+			}
+		}
+		if (!borrow) {
+			return head + new String(digits);
+		}
+		if (head == 'a') {
+			return "Z" + MAX_DIGIT;
+		}
+		if (head == 'A') {
+			return null;
+		}
+		char previousHead = (char)(head - 1);
+		String body = new String(digits);
+		return previousHead < 'Z' ? previousHead + body + MAX_DIGIT : previousHead + body.substring(0, body.length() - 1);
+	}
+
+	private static String integerPart(String key) {
+		int length = integerLength(key.charAt(0));
+		if (length > key.length()) {
+			throw new IllegalArgumentException("올바르지 않은 정렬 키입니다. " + key);
+		}
+		return key.substring(0, length);
+	}
+
+	private static int integerLength(char head) {
+		if (head >= 'a' && head <= 'z') {
+			return head - 'a' + 2;
+		}
+		if (head >= 'A' && head <= 'Z') {
+			return 'Z' - head + 2;
+		}
+		throw new IllegalArgumentException("올바르지 않은 정렬 키 시작 문자입니다. " + head);
+	}
+
+	private static void validate(String key) {
+		if (key.isEmpty() || key.equals(SMALLEST_INTEGER)) {
+			throw new IllegalArgumentException("올바르지 않은 정렬 키입니다. " + key);
+		}
+		String fraction = key.substring(integerPart(key).length());
+		if (endsWithZero(fraction)) {
+			throw new IllegalArgumentException("정렬 키는 0 으로 끝날 수 없습니다. " + key);
+		}
+	}
+
+	private static boolean endsWithZero(String value) {
+		return !value.isEmpty() && value.charAt(value.length() - 1) == ZERO;
+	}
+
+	private static char digitAt(String value, int index) {
+		return index < value.length() ? value.charAt(index) : ZERO;
+	}
+}
@@ -0,0 +1,117 @@
+package com.ddj.owing.global.ordering;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 정렬 키를 짧은 순차 키로 다시 부여한다.
+ * 같은 자리에 반복해서 끼워 넣으면 키가 길어지고, 기존 position 만 가진 행은 키가 없으므로 주기적으로 정리한다.
+ */
+@Slf4j
+@Component
+public class OrderKeyRebalancer {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final OrderSequenceAllocator orderSequenceAllocator;
+	private final int maxKeyLength;
+	private final int batchSize;
+
+	public OrderKeyRebalancer(
+		JdbcTemplate jdbcTemplate,
+		OrderSequenceAllocator orderSequenceAllocator,
+		@Value("${ordering.rebalance.max-key-length:32}") int maxKeyLength,
+		@Value("${ordering.rebalance.batch-size:100}") int batchSize
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.orderSequenceAllocator = orderSequenceAllocator;
+		this.maxKeyLength = maxKeyLength;
+		this.batchSize = batchSize;
+	}
+
+	@Scheduled(fixedDelayString = "${ordering.rebalance.interval-ms:60000}")
+	public void rebalancePeriodically() {
+		for (OrderedTable table : OrderedTable.values()) {
+			try {
+				findGroupsToRebalance(table).forEach(groupValues -> rebalance(table, groupValues));
+			} catch (DataAccessException e) {
+				log.warn("정렬 키 재정렬 실패. table:{}", table.getTableName(), e);
+			}
+		}
+	}
+
+	/**
+	 * 그룹의 현재 순서를 유지한 채 키를 다시 부여한다. 키가 없는 기존 행은 position 순서로 맨 앞에 놓인다.
+	 * 조회 이후 그룹의 키나 행 수가 바뀌었다면 아무것도 갱신하지 않고, 다음 주기에 다시 시도한다.
+	 *
+	 * @return 갱신된 행 수
+	 */
+	public int rebalance(OrderedTable table, Object... groupValues) {
+		table.validateGroupValues(groupValues);
+		String selectSql = "SELECT id, order_key FROM " + table.getTableName()
+			+ " WHERE " + table.groupCondition() + " AND deleted = false"
+			+ " ORDER BY order_key NULLS FIRST, position, id";
+		List<Long> ids = new ArrayList<>();
+		List<String> oldKeys = new ArrayList<>();
+		jdbcTemplate.query(selectSql, rs -> {
+			ids.add(rs.getLong("id"));
+			oldKeys.add(rs.getString("order_key"));
+		}, groupValues);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		List<String> newKeys = OrderKeyGenerator.sequence(ids.size());
+		String updateSql = "WITH v AS (SELECT * FROM unnest(?::bigint[], ?::text[], ?::text[]) AS v(id, old_key, new_key)) "
+			+ "UPDATE " + table.getTableName() + " t SET order_key = v.new_key FROM v "
+			+ "WHERE t.id = v.id "
+			+ "AND NOT EXISTS (SELECT 1 FROM " + table.getTableName() + " c JOIN v ON c.id = v.id "
+			+ "WHERE c.order_key IS DISTINCT FROM v.old_key) "
+			+ "AND (SELECT count(*) FROM " + table.getTableName() + " g WHERE "
+			+ table.groupCondition("g") + " AND g.deleted = false) = ?";
+
+		int updatedCount = jdbcTemplate.update(updateSql, ps -> {
+			Connection connection = ps.getConnection();
+			Array idArray = connection.createArrayOf("bigint", ids.toArray());
+			Array oldKeyArray = connection.createArrayOf("text", oldKeys.toArray());
+			Array newKeyArray = connection.createArrayOf("text", newKeys.toArray());
+			ps.setArray(1, idArray);
+			ps.setArray(2, oldKeyArray);
+			ps.setArray(3, newKeyArray);
+			Object[] tail = Stream.concat(Stream.of(groupValues), Stream.of((long)ids.size())).toArray();
+			for (int i = 0; i < tail.length; i++) {
+				ps.setObject(4 + i, tail[i]);
+			}
+		});
+		if (updatedCount == 0) {
+			log.info("정렬 키 재정렬 중 그룹이 변경되어 건너뜀. table:{}", table.getTableName());
+			return 0;
+		}
+		orderSequenceAllocator.advance(table, newKeys.get(newKeys.size() - 1), groupValues);
+		return updatedCount;
+	}
+
+	private List<Object[]> findGroupsToRebalance(OrderedTable table) {
+		String columns = String.join(", ", table.getGroupColumns());
+		String sql = "SELECT DISTINCT " + columns + " FROM " + table.getTableName()
+			+ " WHERE deleted = false AND (order_key IS NULL OR length(order_key) > ?)"
+			+ " LIMIT ?";
+		return jdbcTemplate.query(sql, (rs, rowNum) -> {
+			Object[] groupValues = new Object[table.getGroupColumns().size()];
+			for (int i = 0; i < groupValues.length; i++) {
+				groupValues[i] = rs.getObject(i + 1);
+			}
+			return groupValues;
+		}, maxKeyLength, batchSize);
+	}
+}
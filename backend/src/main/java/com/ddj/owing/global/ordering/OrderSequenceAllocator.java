@@ -0,0 +1,133 @@
+package com.ddj.owing.global.ordering;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 그룹의 맨 뒤에 붙일 정렬 키를 그룹별 Redis 카운터로 발급한다.
+ * INCR 는 원자적이므로 동시에 생성해도 같은 키가 나오지 않으며, 테이블을 집계하지 않아 그룹 크기와 무관하게 O(1) 이다.
+ * 카운터가 없으면 DB 의 마지막 키로 한 번 초기화하고, 발급 후 커밋되지 않은 번호는 버려질 수 있다.
+ */
+@Slf4j
+@Component
+public class OrderSequenceAllocator {
+
+	private static final String KEY_PREFIX = "ordering:seq:";
+
+	/**
+	 * 카운터가 있을 때만 증가시킨다. 없으면 nil 을 반환하여 호출 측에서 초기값을 구하게 한다.
+	 */
+	private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+		if redis.call('EXISTS', KEYS[1]) == 0 then
+			return nil
+		end
+		local value = redis.call('INCR', KEYS[1])
+		redis.call('PEXPIRE', KEYS[1], ARGV[1])
+		return value
+		""", Long.class);
+
+	/**
+	 * 다른 요청이 먼저 초기화했다면 그 값을 유지하고 증가만 한다.
+	 */
+	private static final RedisScript<Long> SEED_AND_INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+		redis.call('SET', KEYS[1], ARGV[2], 'NX')
+		local value = redis.call('INCR', KEYS[1])
+		redis.call('PEXPIRE', KEYS[1], ARGV[1])
+		return value
+		""", Long.class);
+
+	/**
+	 * 카운터가 있고 주어진 값보다 작을 때만 올린다. 없으면 다음 발급 시 DB 기준으로 초기화된다.
+	 */
+	private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>("""
+		local current = redis.call('GET', KEYS[1])
+		if current and tonumber(current) < tonumber(ARGV[1]) then
+			redis.call('SET', KEYS[1], ARGV[1], 'KEEPTTL')
+		end
+		return 0
+		""", Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final Duration ttl;
+
+	public OrderSequenceAllocator(
+		StringRedisTemplate redisTemplate,
+		JdbcTemplate jdbcTemplate,
+		@Value("${ordering.sequence.ttl:1d}") Duration ttl
+	) {
+		this.redisTemplate = redisTemplate;
+		this.jdbcTemplate = jdbcTemplate;
+		this.ttl = ttl;
+	}
+
+	/**
+	 * 그룹의 기존 키보다 뒤에 오는 새 키를 발급한다.
+	 * Redis 를 사용할 수 없으면 DB 의 마지막 키 다음 값을 사용하며, 이 경우 동시 생성 시 키가 겹칠 수 있다.
+	 *
+	 * @param table 대상 테이블
+	 * @param groupValues {@link OrderedTable#getGroupColumns()} 순서의 그룹 값
+	 */
+	public String next(OrderedTable table, Object... groupValues) {
+		table.validateGroupValues(groupValues);
+		List<String> keys = List.of(key(table, groupValues));
+		String ttlMillis = String.valueOf(ttl.toMillis());
+		try {
+			Long value = redisTemplate.execute(INCREMENT_SCRIPT, keys, ttlMillis);
+			if (value == null) {
+				String seed = String.valueOf(lastIntegerValue(table, groupValues));
+				value = redisTemplate.execute(SEED_AND_INCREMENT_SCRIPT, keys, ttlMillis, seed);
+			}
+			return OrderKeyGenerator.ofInteger(value);
+		} catch (DataAccessException e) {
+			log.warn("정렬 키 카운터 사용 실패. DB 기준으로 발급. table:{}", table.getTableName(), e);
+			return OrderKeyGenerator.between(findLastKey(table, groupValues), null);
+		}
+	}
+
+	/**
+	 * 재정렬로 키가 다시 부여된 뒤, 이후 발급되는 키가 재정렬된 키보다 뒤에 오도록 카운터를 올린다.
+	 *
+	 * @param lastKey 재정렬 후 그룹의 마지막 키
+	 */
+	public void advance(OrderedTable table, String lastKey, Object... groupValues) {
+		table.validateGroupValues(groupValues);
+		try {
+			redisTemplate.execute(ADVANCE_SCRIPT, List.of(key(table, groupValues)),
+				String.valueOf(OrderKeyGenerator.integerValue(lastKey)));
+		} catch (DataAccessException e) {
+			log.warn("정렬 키 카운터 갱신 실패. table:{}", table.getTableName(), e);
+		}
+	}
+
+	private long lastIntegerValue(OrderedTable table, Object[] groupValues) {
+		String lastKey = findLastKey(table, groupValues);
+		return lastKey == null ? -1L : OrderKeyGenerator.integerValue(lastKey);
+	}
+
+	/**
+	 * 삭제된 행도 포함하여, 복구된 행과 키가 겹치지 않도록 한다.
+	 */
+	private String findLastKey(OrderedTable table, Object[] groupValues) {
+		String sql = "SELECT max(order_key) FROM " + table.getTableName() + " WHERE " + table.groupCondition();
+		return jdbcTemplate.queryForObject(sql, String.class, groupValues);
+	}
+
+	private String key(OrderedTable table, Object[] groupValues) {
+		return KEY_PREFIX + table.getTableName() + ":" + Arrays.stream(groupValues)
+			.map(String::valueOf)
+			.collect(Collectors.joining(":"));
+	}
+}
@@ -0,0 +1,44 @@
+package com.ddj.owing.global.ordering;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * 정렬 키를 사용하는 테이블과 형제 관계를 결정하는 그룹 컬럼 목록.
+ */
+@Getter
+public enum OrderedTable {
+	CASTING("casting", "casting_folder_id"),
+	CASTING_FOLDER("casting_folder", "project_id"),
+	STORY_PLOT("story_plot", "story_folder_id"),
+	STORY_FOLDER("story_folder", "project_id"),
+	STORY_BLOCK("story_block", "story_plot_id", "parent_id");
+
+	private final String tableName;
+	private final List<String> groupColumns;
+
+	OrderedTable(String tableName, String... groupColumns) {
+		this.tableName = tableName;
+		this.groupColumns = List.of(groupColumns);
+	}
+
+	/**
+	 * 그룹 컬럼 값이 같은 행만 고르는 조건. 최상위 블록처럼 그룹 값이 null 인 경우도 비교할 수 있도록 IS NOT DISTINCT FROM 을 사용한다.
+	 */
+	String groupCondition() {
+		return groupCondition(null);
+	}
+
+	String groupCondition(String alias) {
+		String prefix = alias == null ? "" : alias + ".";
+		return String.join(" AND ",
+			groupColumns.stream().map(column -> prefix + column + " IS NOT DISTINCT FROM ?").toList());
+	}
+
+	void validateGroupValues(Object[] groupValues) {
+		if (groupValues.length != groupColumns.size()) {
+			throw new IllegalArgumentException(name() + " 의 그룹 컬럼 수와 값의 수가 다릅니다.");
+		}
+	}
+}
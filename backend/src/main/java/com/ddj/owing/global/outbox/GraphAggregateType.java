@@ -0,0 +1,21 @@
+package com.ddj.owing.global.outbox;
+
+import lombok.Getter;
+
+/**
+ * Postgres 엔티티와 짝을 이루는 Neo4j 노드 종류. 두 저장소 모두 엔티티 id 를 노드의 id 속성으로 쓴다.
+ */
+@Getter
+public enum GraphAggregateType {
+	PROJECT("project", "Project"),
+	STORY_PLOT("story_plot", "StoryPlot"),
+	CASTING("casting", "Cast");
+
+	private final String tableName;
+	private final String nodeLabel;
+
+	GraphAggregateType(String tableName, String nodeLabel) {
+		this.tableName = tableName;
+		this.nodeLabel = nodeLabel;
+	}
+}
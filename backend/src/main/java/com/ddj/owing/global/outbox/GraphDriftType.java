@@ -0,0 +1,15 @@
+package com.ddj.owing.global.outbox;
+
+/**
+ * Postgres 행과 Neo4j 노드의 불일치 종류. 어느 경우든 outbox 로 다시 반영하면 Postgres 상태로 맞춰진다.
+ */
+public enum GraphDriftType {
+	/** 행은 살아 있는데 노드가 없다. */
+	MISSING_NODE,
+	/** 행은 살아 있는데 노드가 삭제 처리되어 있다. */
+	DELETED_NODE,
+	/** 노드는 살아 있는데 행이 없다. */
+	ORPHAN_NODE,
+	/** 노드는 살아 있는데 행이 삭제 처리되어 있다. */
+	UNDELETED_NODE
+}
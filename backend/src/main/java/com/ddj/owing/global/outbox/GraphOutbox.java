@@ -0,0 +1,75 @@
+package com.ddj.owing.global.outbox;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Neo4j 에 반영해야 할 엔티티 변경. 변경 내용 대신 대상만 기록하고, 릴레이가 반영 시점의 엔티티 상태를 노드에 옮긴다.
+ * 엔티티 변경과 같은 Postgres 트랜잭션에서 저장되므로, 커밋된 변경은 반드시 한 번 이상 반영된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "graph_outbox", indexes = @Index(columnList = "status, next_attempt_at, id"))
+public class GraphOutbox {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private GraphAggregateType aggregateType;
+
+	@Column(nullable = false)
+	private Long aggregateId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private GraphOutboxStatus status;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(columnDefinition = "text")
+	private String lastError;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	public GraphOutbox(GraphAggregateType aggregateType, Long aggregateId) {
+		LocalDateTime now = LocalDateTime.now();
+		this.aggregateType = aggregateType;
+		this.aggregateId = aggregateId;
+		this.status = GraphOutboxStatus.PENDING;
+		this.nextAttemptAt = now;
+		this.createdAt = now;
+	}
+
+	public void retryAt(LocalDateTime nextAttemptAt, String lastError) {
+		this.attempts++;
+		this.nextAttemptAt = nextAttemptAt;
+		this.lastError = lastError;
+	}
+
+	public void fail(String lastError) {
+		this.attempts++;
+		this.status = GraphOutboxStatus.FAILED;
+		this.lastError = lastError;
+	}
+}
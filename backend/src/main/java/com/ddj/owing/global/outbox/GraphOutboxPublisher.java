@@ -0,0 +1,35 @@
+package com.ddj.owing.global.outbox;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ddj.owing.global.config.JpaTransactionConfig;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class GraphOutboxPublisher {
+
+	private final GraphOutboxRepository graphOutboxRepository;
+
+	/**
+	 * 엔티티 변경과 함께 커밋되어야 하므로 호출 측의 JPA 트랜잭션 안에서만 기록한다.
+	 */
+	@Transactional(transactionManager = JpaTransactionConfig.JPA_TRANSACTION_MANAGER,
+		propagation = Propagation.MANDATORY)
+	public void publish(GraphAggregateType aggregateType, Long aggregateId) {
+		graphOutboxRepository.save(new GraphOutbox(aggregateType, aggregateId));
+	}
+
+	@Transactional(transactionManager = JpaTransactionConfig.JPA_TRANSACTION_MANAGER,
+		propagation = Propagation.MANDATORY)
+	public void publishAll(GraphAggregateType aggregateType, Collection<Long> aggregateIds) {
+		graphOutboxRepository.saveAll(aggregateIds.stream()
+			.map(aggregateId -> new GraphOutbox(aggregateType, aggregateId))
+			.toList());
+	}
+}
@@ -0,0 +1,162 @@
+package com.ddj.owing.global.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.global.config.JpaTransactionConfig;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * outbox 에 쌓인 변경을 id 순서대로 묶어 Neo4j 에 반영한다.
+ * 한 묶음 안에서 같은 대상의 변경은 한 번만 반영하고, 실패한 대상은 지수 백오프로 다시 시도하다가 max-attempts 를 넘으면 FAILED 로 남긴다.
+ * 반영은 대상의 현재 상태를 옮기는 방식이라 여러 번 실행되어도 안전하므로, Neo4j 반영 후 outbox 삭제 전에 실패해도 다음 주기에 다시 반영하면 된다.
+ */
+@Slf4j
+@Component
+public class GraphOutboxRelay {
+
+	private static final String METRIC_PREFIX = "graph.outbox";
+	private static final long ADVISORY_LOCK_KEY = 0x6772_6170_686FL;
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final GraphOutboxRepository graphOutboxRepository;
+	private final Map<GraphAggregateType, GraphSyncHandler> handlers = new EnumMap<>(GraphAggregateType.class);
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final AtomicLong lagMillis = new AtomicLong();
+	private final AtomicLong pendingCount = new AtomicLong();
+
+	public GraphOutboxRelay(
+		GraphOutboxRepository graphOutboxRepository,
+		List<GraphSyncHandler> handlers,
+		@Qualifier(JpaTransactionConfig.JPA_TRANSACTION_MANAGER) PlatformTransactionManager jpaTransactionManager,
+		MeterRegistry meterRegistry,
+		@Value("${graph.outbox.relay.batch-size:100}") int batchSize,
+		@Value("${graph.outbox.relay.max-attempts:10}") int maxAttempts,
+		@Value("${graph.outbox.relay.initial-backoff:1s}") Duration initialBackoff,
+		@Value("${graph.outbox.relay.max-backoff:5m}") Duration maxBackoff
+	) {
+		this.graphOutboxRepository = graphOutboxRepository;
+		handlers.forEach(handler -> this.handlers.put(handler.aggregateType(), handler));
+		this.transactionTemplate = new TransactionTemplate(jpaTransactionManager);
+		this.meterRegistry = meterRegistry;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+
+		Gauge.builder(METRIC_PREFIX + ".lag", lagMillis, millis -> millis.get() / 1000.0)
+			.description("가장 오래 대기 중인 outbox 변경의 경과 시간")
+			.baseUnit("seconds")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + ".pending", pendingCount, AtomicLong::get)
+			.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${graph.outbox.relay.interval-ms:500}")
+	public void relayPeriodically() {
+		try {
+			Integer fetched;
+			do {
+				fetched = transactionTemplate.execute(status -> relayBatch());
+			} while (fetched != null && fetched >= batchSize);
+			updateLag();
+		} catch (DataAccessException | TransactionException e) {
+			log.warn("outbox 릴레이 실패", e);
+		}
+	}
+
+	/**
+	 * @return 조회한 outbox 수. 다른 서버가 릴레이 중이면 0
+	 */
+	private int relayBatch() {
+		if (!graphOutboxRepository.tryAdvisoryLock(ADVISORY_LOCK_KEY)) {
+			return 0;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		List<GraphOutbox> batch = graphOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderById(
+			GraphOutboxStatus.PENDING, now, Limit.of(batchSize));
+
+		Map<AggregateKey, List<GraphOutbox>> changesByAggregate = batch.stream()
+			.collect(Collectors.groupingBy(change -> new AggregateKey(change.getAggregateType(), change.getAggregateId()),
+				LinkedHashMap::new, Collectors.toList()));
+
+		List<Long> relayedIds = new ArrayList<>();
+		changesByAggregate.forEach((aggregate, changes) -> {
+			String tag = aggregate.type().name();
+			try {
+				handlers.get(aggregate.type()).sync(aggregate.id());
+			} catch (RuntimeException e) {
+				log.warn("Neo4j 반영 실패. type:{}, id:{}", aggregate.type(), aggregate.id(), e);
+				changes.forEach(change -> retryOrFail(change, now, e));
+				return;
+			}
+			for (GraphOutbox change : changes) {
+				relayedIds.add(change.getId());
+				meterRegistry.timer(METRIC_PREFIX + ".delay", "aggregate", tag)
+					.record(Duration.between(change.getCreatedAt(), LocalDateTime.now()));
+			}
+			meterRegistry.counter(METRIC_PREFIX + ".relayed", "aggregate", tag).increment(changes.size());
+		});
+		if (!relayedIds.isEmpty()) {
+			graphOutboxRepository.deleteAllByIdInBatch(relayedIds);
+		}
+		return batch.size();
+	}
+
+	private void retryOrFail(GraphOutbox change, LocalDateTime now, RuntimeException e) {
+		String error = String.valueOf(e.getMessage());
+		error = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+		String tag = change.getAggregateType().name();
+		if (change.getAttempts() + 1 >= maxAttempts) {
+			change.fail(error);
+			meterRegistry.counter(METRIC_PREFIX + ".failed", "aggregate", tag).increment();
+			log.error("Neo4j 반영을 포기합니다. 수동 확인이 필요합니다. outbox id:{}, type:{}, aggregate id:{}",
+				change.getId(), change.getAggregateType(), change.getAggregateId());
+			return;
+		}
+		change.retryAt(now.plus(backoff(change.getAttempts() + 1)), error);
+		meterRegistry.counter(METRIC_PREFIX + ".retry", "aggregate", tag).increment();
+	}
+
+	private Duration backoff(int attempt) {
+		long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+		return Duration.ofMillis(cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1));
+	}
+
+	private void updateLag() {
+		LocalDateTime now = LocalDateTime.now();
+		lagMillis.set(graphOutboxRepository.findOldestCreatedAt(GraphOutboxStatus.PENDING)
+			.map(oldest -> Duration.between(oldest, now).toMillis())
+			.orElse(0L));
+		pendingCount.set(graphOutboxRepository.countByStatus(GraphOutboxStatus.PENDING));
+	}
+
+	private record AggregateKey(GraphAggregateType type, Long id) {
+	}
+}
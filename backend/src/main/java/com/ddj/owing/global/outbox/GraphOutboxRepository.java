@@ -0,0 +1,32 @@
+package com.ddj.owing.global.outbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface GraphOutboxRepository extends JpaRepository<GraphOutbox, Long> {
+
+	List<GraphOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderById(GraphOutboxStatus status,
+		LocalDateTime now, Limit limit);
+
+	@Query("SELECT min(o.createdAt) FROM GraphOutbox o WHERE o.status = :status")
+	Optional<LocalDateTime> findOldestCreatedAt(GraphOutboxStatus status);
+
+	long countByStatus(GraphOutboxStatus status);
+
+	@Query("SELECT DISTINCT o.aggregateId FROM GraphOutbox o "
+		+ "WHERE o.aggregateType = :aggregateType AND o.status = :status AND o.aggregateId IN :aggregateIds")
+	List<Long> findAggregateIds(GraphAggregateType aggregateType, GraphOutboxStatus status,
+		Collection<Long> aggregateIds);
+
+	/**
+	 * 트랜잭션이 끝나면 풀리는 advisory lock. 여러 서버 중 한 곳만 릴레이를 실행한다.
+	 */
+	@Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+	boolean tryAdvisoryLock(long key);
+}
@@ -0,0 +1,5 @@
+package com.ddj.owing.global.outbox;
+
+public enum GraphOutboxStatus {
+	PENDING, FAILED
+}
@@ -0,0 +1,21 @@
+package com.ddj.owing.global.outbox;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param rowCount 검사한 Postgres 행 수(삭제 처리된 행 포함)
+ * @param nodeCount 검사한 Neo4j 노드 수(삭제 처리된 노드 포함)
+ * @param driftCounts 종류별 불일치 수. 아직 릴레이되지 않은 outbox 가 있는 대상은 제외한다.
+ * @param driftSamples 종류별 불일치 id 일부
+ * @param repairedCount outbox 에 다시 반영하도록 기록한 수
+ */
+public record GraphReconcileReport(
+	GraphAggregateType aggregateType,
+	long rowCount,
+	long nodeCount,
+	Map<GraphDriftType, Long> driftCounts,
+	Map<GraphDriftType, List<Long>> driftSamples,
+	long repairedCount
+) {
+}
@@ -0,0 +1,266 @@
+package com.ddj.owing.global.outbox;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.global.config.JpaTransactionConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Postgres 행과 Neo4j 노드를 id 순으로 나란히 훑어 서로 어긋난 대상을 찾는다.
+ * 두 저장소에서 cursor 이후를 page-size 개씩만 읽고, 두 페이지가 모두 덮는 구간까지만 비교한 뒤 cursor 를 옮기므로
+ * 전체 행 수와 무관하게 두 페이지 분량의 메모리만 쓴다.
+ * repair 가 켜져 있으면 어긋난 대상을 페이지마다 outbox 에 기록하여, 릴레이가 Postgres 상태로 노드를 맞추게 한다.
+ */
+@Slf4j
+@Component
+public class GraphReconciler {
+
+	private static final String METRIC_PREFIX = "graph.reconcile";
+	private static final long ADVISORY_LOCK_KEY = 0x7265_636F_6E63L;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Neo4jClient neo4jClient;
+	private final GraphOutboxRepository graphOutboxRepository;
+	private final GraphOutboxPublisher graphOutboxPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final int pageSize;
+	private final int sampleSize;
+	private final boolean repair;
+
+	public GraphReconciler(
+		JdbcTemplate jdbcTemplate,
+		Neo4jClient neo4jClient,
+		GraphOutboxRepository graphOutboxRepository,
+		GraphOutboxPublisher graphOutboxPublisher,
+		@Qualifier(JpaTransactionConfig.JPA_TRANSACTION_MANAGER) PlatformTransactionManager jpaTransactionManager,
+		MeterRegistry meterRegistry,
+		@Value("${graph.reconcile.page-size:1000}") int pageSize,
+		@Value("${graph.reconcile.sample-size:20}") int sampleSize,
+		@Value("${graph.reconcile.repair:false}") boolean repair
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.neo4jClient = neo4jClient;
+		this.graphOutboxRepository = graphOutboxRepository;
+		this.graphOutboxPublisher = graphOutboxPublisher;
+		this.transactionTemplate = new TransactionTemplate(jpaTransactionManager);
+		this.meterRegistry = meterRegistry;
+		this.pageSize = pageSize;
+		this.sampleSize = sampleSize;
+		this.repair = repair;
+	}
+
+	/**
+	 * 검사 동안 session advisory lock 을 쥔 커넥션 하나를 붙잡아, 여러 서버 중 한 곳만 실행한다.
+	 */
+	@Scheduled(cron = "${graph.reconcile.cron:0 0 4 * * *}")
+	public void reconcilePeriodically() {
+		try {
+			jdbcTemplate.execute((ConnectionCallback<Void>)connection -> {
+				if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+					log.info("다른 서버에서 그래프 정합성 검사가 실행 중이어서 건너뜀");
+					return null;
+				}
+				try {
+					for (GraphAggregateType aggregateType : GraphAggregateType.values()) {
+						log.info("그래프 정합성 검사 결과. {}", reconcile(aggregateType, repair));
+					}
+				} finally {
+					advisoryLock(connection, "pg_advisory_unlock");
+				}
+				return null;
+			});
+		} catch (DataAccessException | TransactionException e) {
+			log.warn("그래프 정합성 검사 실패", e);
+		}
+	}
+
+	/**
+	 * @param aggregateType 검사할 대상 종류
+	 * @param repair 어긋난 대상을 outbox 에 기록할지 여부
+	 * @return 종류별 불일치 수와 id 일부를 담은 결과
+	 */
+	public GraphReconcileReport reconcile(GraphAggregateType aggregateType, boolean repair) {
+		ensureNodeIdIndex(aggregateType);
+
+		Map<GraphDriftType, Long> driftCounts = new EnumMap<>(GraphDriftType.class);
+		Map<GraphDriftType, List<Long>> driftSamples = new EnumMap<>(GraphDriftType.class);
+		long rowCount = 0;
+		long nodeCount = 0;
+		long repairedCount = 0;
+
+		long cursor = 0;
+		while (true) {
+			List<State> rows = findRows(aggregateType, cursor);
+			List<State> nodes = findNodes(aggregateType, cursor);
+			if (rows.isEmpty() && nodes.isEmpty()) {
+				break;
+			}
+			long upperBound = Math.min(lastIdIfFull(rows), lastIdIfFull(nodes));
+
+			Map<Long, GraphDriftType> drifts = compare(rows, nodes, upperBound);
+			rowCount += rows.stream().filter(row -> row.id() <= upperBound).mapToLong(State::count).sum();
+			nodeCount += nodes.stream().filter(node -> node.id() <= upperBound).mapToLong(State::count).sum();
+
+			if (!drifts.isEmpty()) {
+				graphOutboxRepository.findAggregateIds(aggregateType, GraphOutboxStatus.PENDING, drifts.keySet())
+					.forEach(drifts::remove);
+			}
+			drifts.forEach((id, driftType) -> {
+				driftCounts.merge(driftType, 1L, Long::sum);
+				List<Long> samples = driftSamples.computeIfAbsent(driftType, type -> new ArrayList<>());
+				if (samples.size() < sampleSize) {
+					samples.add(id);
+				}
+				meterRegistry.counter(METRIC_PREFIX + ".drift",
+					"aggregate", aggregateType.name(), "drift", driftType.name()).increment();
+			});
+			if (repair && !drifts.isEmpty()) {
+				transactionTemplate.executeWithoutResult(
+					status -> graphOutboxPublisher.publishAll(aggregateType, drifts.keySet()));
+				repairedCount += drifts.size();
+				meterRegistry.counter(METRIC_PREFIX + ".repaired", "aggregate", aggregateType.name())
+					.increment(drifts.size());
+			}
+
+			if (upperBound == Long.MAX_VALUE) {
+				break;
+			}
+			cursor = upperBound;
+		}
+		return new GraphReconcileReport(aggregateType, rowCount, nodeCount, driftCounts, driftSamples,
+			repairedCount);
+	}
+
+	/**
+	 * 가득 찬 페이지 뒤에는 아직 읽지 않은 id 가 있을 수 있으므로, 마지막 id 까지만 비교할 수 있다.
+	 */
+	private long lastIdIfFull(List<State> page) {
+		return page.size() == pageSize ? page.get(page.size() - 1).id() : Long.MAX_VALUE;
+	}
+
+	/**
+	 * 두 목록은 id 오름차순이다. 같은 id 의 노드가 여럿이면 하나라도 살아 있을 때 살아 있는 것으로 본다.
+	 */
+	static Map<Long, GraphDriftType> compare(List<State> rows, List<State> nodes, long upperBound) {
+		Map<Long, GraphDriftType> drifts = new LinkedHashMap<>();
+		int rowIndex = 0;
+		int nodeIndex = 0;
+		while (true) {
+			State row = rowIndex < rows.size() && rows.get(rowIndex).id() <= upperBound ? rows.get(rowIndex) : null;
+			State node = nodeIndex < nodes.size() && nodes.get(nodeIndex).id() <= upperBound
+				? nodes.get(nodeIndex) : null;
+			if (row == null && node == null) {
+				return drifts;
+			}
+
+			long id = row == null ? node.id() : node == null ? row.id() : Math.min(row.id(), node.id());
+			Boolean rowLive = null;
+			if (row != null && row.id() == id) {
+				rowLive = row.live();
+				rowIndex++;
+			}
+			Boolean nodeLive = null;
+			while (nodeIndex < nodes.size() && nodes.get(nodeIndex).id() == id) {
+				nodeLive = Boolean.TRUE.equals(nodeLive) || nodes.get(nodeIndex).live();
+				nodeIndex++;
+			}
+
+			GraphDriftType driftType = classify(rowLive, nodeLive);
+			if (driftType != null) {
+				drifts.put(id, driftType);
+			}
+		}
+	}
+
+	/**
+	 * @param rowLive 행이 없으면 null
+	 * @param nodeLive 노드가 없으면 null
+	 * @return 일치하면 null
+	 */
+	static GraphDriftType classify(Boolean rowLive, Boolean nodeLive) {
+		if (Boolean.TRUE.equals(rowLive)) {
+			if (nodeLive == null) {
+				return GraphDriftType.MISSING_NODE;
+			}
+			return nodeLive ? null : GraphDriftType.DELETED_NODE;
+		}
+		if (Boolean.TRUE.equals(nodeLive)) {
+			return rowLive == null ? GraphDriftType.ORPHAN_NODE : GraphDriftType.UNDELETED_NODE;
+		}
+		return null;
+	}
+
+	private List<State> findRows(GraphAggregateType aggregateType, long cursor) {
+		String sql = "SELECT id, deleted FROM " + aggregateType.getTableName()
+			+ " WHERE id > ? ORDER BY id LIMIT ?";
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new State(rs.getLong("id"), !rs.getBoolean("deleted"), 1),
+			cursor, pageSize);
+	}
+
+	/**
+	 * 같은 id 의 노드를 LIMIT 전에 한 행으로 묶는다. 노드 단위로 자르면 중복 노드가 페이지 경계에 걸쳤을 때
+	 * 다음 페이지가 {@code n.id > cursor} 로 나머지를 건너뛰어, 살아 있는 중복 노드를 놓친다.
+	 */
+	private List<State> findNodes(GraphAggregateType aggregateType, long cursor) {
+		String cypher = "MATCH (n:" + aggregateType.getNodeLabel() + ") "
+			+ "WHERE n.id > $cursor "
+			+ "WITH n.id AS id, count(n) AS nodeCount, "
+			+ "sum(CASE WHEN n.deletedAt IS NULL THEN 1 ELSE 0 END) > 0 AS live "
+			+ "ORDER BY id "
+			+ "LIMIT $limit "
+			+ "RETURN id, live, nodeCount";
+		return List.copyOf(neo4jClient.query(cypher)
+			.bindAll(Map.of("cursor", cursor, "limit", pageSize))
+			.fetchAs(State.class)
+			.mappedBy((typeSystem, record) -> new State(record.get("id").asLong(), record.get("live").asBoolean(),
+				record.get("nodeCount").asLong()))
+			.all());
+	}
+
+	/**
+	 * id 범위 조회가 전체 노드를 훑지 않도록 색인을 만든다. 이미 있으면 아무것도 하지 않는다.
+	 */
+	private void ensureNodeIdIndex(GraphAggregateType aggregateType) {
+		String label = aggregateType.getNodeLabel();
+		neo4jClient.query("CREATE INDEX " + label.toLowerCase() + "_id IF NOT EXISTS FOR (n:" + label + ") ON (n.id)")
+			.run();
+	}
+
+	private boolean advisoryLock(Connection connection, String function) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+			statement.setLong(1, ADVISORY_LOCK_KEY);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() && resultSet.getBoolean(1);
+			}
+		}
+	}
+
+	/**
+	 * @param count 같은 id 로 묶인 행 또는 노드 수
+	 */
+	record State(long id, boolean live, long count) {
+	}
+}
@@ -0,0 +1,12 @@
+package com.ddj.owing.global.outbox;
+
+/**
+ * 엔티티의 현재 상태를 Neo4j 노드에 반영한다. 엔티티가 없으면(삭제되었으면) 노드를 삭제 처리한다.
+ * 같은 대상에 여러 번 호출해도 결과가 같아야 하며, 반영할 수 없으면 예외를 던져 재시도하게 한다.
+ */
+public interface GraphSyncHandler {
+
+	GraphAggregateType aggregateType();
+
+	void sync(Long aggregateId);
+}
@@ -0,0 +1,96 @@
+package com.ddj.owing.global.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ddj.owing.global.error.code.GlobalErrorCode;
+import com.ddj.owing.global.error.exception.JsonParsingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * 조각으로 도착하는 JSON 텍스트에서 배열 원소인 객체를 완성되는 즉시 꺼낸다.
+ * 최상위가 배열이든, 배열을 값으로 가진 객체든 상관없이 배열 안의 객체를 원소 단위로 변환한다.
+ * 스트림 하나당 인스턴스 하나를 사용하며 스레드 안전하지 않다.
+ *
+ * @param <T> 원소 타입
+ */
+public class JsonArrayItemStreamParser<T> {
+
+	private final ObjectMapper objectMapper;
+	private final Class<T> itemType;
+	private final JsonParser parser;
+	private final ByteArrayFeeder feeder;
+
+	private TokenBuffer itemBuffer;
+	private int itemDepth;
+
+	public JsonArrayItemStreamParser(ObjectMapper objectMapper, Class<T> itemType) {
+		this.objectMapper = objectMapper;
+		this.itemType = itemType;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+		} catch (IOException e) {
+			throw JsonParsingException.of(GlobalErrorCode.JSON_PARSING_ERROR);
+		}
+		this.feeder = (ByteArrayFeeder)parser.getNonBlockingInputFeeder();
+	}
+
+	/**
+	 * 다음 조각을 넣고, 이번 조각으로 완성된 원소를 반환한다.
+	 */
+	public List<T> feed(String chunk) {
+		byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+		return feed(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * 바이트 조각을 넣는다. UTF-8 문자 중간에서 잘린 조각도 다음 조각과 이어서 해석한다.
+	 */
+	public List<T> feed(byte[] chunk, int offset, int length) {
+		try {
+			feeder.feedInput(chunk, offset, offset + length);
+			return readAvailableItems();
+		} catch (IOException e) {
+			throw JsonParsingException.of(GlobalErrorCode.JSON_PARSING_ERROR);
+		}
+	}
+
+	/**
+	 * 입력이 끝났음을 알린다. JSON 이 완결되지 않았으면 예외가 발생한다.
+	 */
+	public List<T> end() {
+		feeder.endOfInput();
+		try {
+			return readAvailableItems();
+		} catch (IOException e) {
+			throw JsonParsingException.of(GlobalErrorCode.JSON_PARSING_ERROR);
+		}
+	}
+
+	private List<T> readAvailableItems() throws IOException {
+		List<T> items = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			if (itemBuffer != null) {
+				itemBuffer.copyCurrentEvent(parser);
+				if (token.isStructStart()) {
+					itemDepth++;
+				} else if (token.isStructEnd() && --itemDepth == 0) {
+					items.add(objectMapper.readValue(itemBuffer.asParser(), itemType));
+					itemBuffer = null;
+				}
+			} else if (token == JsonToken.START_OBJECT && parser.getParsingContext().getParent().inArray()) {
+				itemBuffer = new TokenBuffer(parser);
+				itemBuffer.copyCurrentEvent(parser);
+				itemDepth = 1;
+			}
+		}
+		return items;
+	}
+}
@@ -25,4 +25,12 @@ public class JsonHelperUtil {
 			throw JsonParsingException.of(GlobalErrorCode.JSON_PARSING_ERROR);
 		}
 	}
+
+	public static <T> T fromJsonString(String json, Class<T> type) {
+		try {
+			return objectMapper.readValue(json, type);
+		} catch (JsonProcessingException e) {
+			throw JsonParsingException.of(GlobalErrorCode.JSON_PARSING_ERROR);
+		}
+	}
 }
@@ -0,0 +1,311 @@
+package com.ddj.owing.global.util;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.ddj.owing.global.error.code.OpenAiErrorCode;
+import com.ddj.owing.global.error.exception.OpenAiException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * OpenAI 호출을 기능별 bulkhead, 공용 token bucket, 지터 재시도, circuit breaker 로 감싼다.
+ * 느린 응답이나 429 가 이어져도 기능마다 정해진 수의 스레드만 묶이며, bulkhead-wait 안에 자리가 나지 않으면 503 으로 실패한다.
+ * 재시도와 차단은 일시적인 오류(5xx, 429, 연결/읽기 시간 초과)에만 적용하고, 응답 파싱 실패 같은 오류는 그대로 전달한다.
+ * 4xx 같은 일시적이지 않은 오류는 circuit breaker 의 연속 실패 수를 늘리지도, 초기화하지도 않는다.
+ */
+@Slf4j
+@Component
+public class OpenAiGuard {
+
+	private static final String METRIC_PREFIX = "openai.guard";
+
+	public enum Feature {
+		IMAGE("image"),
+		CAST_EXTRACT("cast-extract"),
+		CONFLICT_CHECK("conflict-check");
+
+		private final String tag;
+
+		Feature(String tag) {
+			this.tag = tag;
+		}
+	}
+
+	private final MeterRegistry meterRegistry;
+	private final Map<Feature, Semaphore> bulkheads = new EnumMap<>(Feature.class);
+	private final Map<Feature, CircuitBreaker> circuitBreakers = new EnumMap<>(Feature.class);
+	private final TokenBucket rateLimiter;
+	private final Duration bulkheadWait;
+	private final Duration rateLimitWait;
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final Duration streamIdleTimeout;
+
+	public OpenAiGuard(
+		MeterRegistry meterRegistry,
+		@Value("${openai.guard.image.max-concurrency:4}") int imageConcurrency,
+		@Value("${openai.guard.cast-extract.max-concurrency:4}") int castExtractConcurrency,
+		@Value("${openai.guard.conflict-check.max-concurrency:4}") int conflictCheckConcurrency,
+		@Value("${openai.guard.bulkhead-wait:10s}") Duration bulkheadWait,
+		@Value("${openai.guard.rate-limit.permits-per-second:5}") double permitsPerSecond,
+		@Value("${openai.guard.rate-limit.burst:10}") int burst,
+		@Value("${openai.guard.rate-limit.max-wait:5s}") Duration rateLimitWait,
+		@Value("${openai.guard.retry.max-attempts:3}") int maxAttempts,
+		@Value("${openai.guard.retry.initial-backoff:500ms}") Duration initialBackoff,
+		@Value("${openai.guard.retry.max-backoff:8s}") Duration maxBackoff,
+		@Value("${openai.guard.circuit.failure-threshold:5}") int failureThreshold,
+		@Value("${openai.guard.circuit.open-duration:30s}") Duration openDuration,
+		@Value("${openai.guard.stream.idle-timeout:30s}") Duration streamIdleTimeout
+	) {
+		this.meterRegistry = meterRegistry;
+		this.bulkheads.put(Feature.IMAGE, new Semaphore(imageConcurrency));
+		this.bulkheads.put(Feature.CAST_EXTRACT, new Semaphore(castExtractConcurrency));
+		this.bulkheads.put(Feature.CONFLICT_CHECK, new Semaphore(conflictCheckConcurrency));
+		for (Feature feature : Feature.values()) {
+			this.circuitBreakers.put(feature, new CircuitBreaker(failureThreshold, openDuration));
+		}
+		this.rateLimiter = new TokenBucket(permitsPerSecond, burst);
+		this.bulkheadWait = bulkheadWait;
+		this.rateLimitWait = rateLimitWait;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.streamIdleTimeout = streamIdleTimeout;
+	}
+
+	/**
+	 * @param feature 호출한 기능. bulkhead 와 circuit breaker 를 고르는 데 쓴다.
+	 * @param call OpenAI 호출
+	 * @return 호출 결과
+	 */
+	public <T> T call(Feature feature, Supplier<T> call) {
+		CircuitBreaker circuitBreaker = enter(feature);
+		Semaphore bulkhead = bulkheads.get(feature);
+		try {
+			for (int attempt = 1; ; attempt++) {
+				acquireRateLimit(feature, circuitBreaker);
+				try {
+					T result = call.get();
+					circuitBreaker.onSuccess();
+					return result;
+				} catch (RuntimeException e) {
+					if (!isTransient(e)) {
+						circuitBreaker.release();
+						throw e;
+					}
+					circuitBreaker.onFailure();
+					if (attempt >= maxAttempts || !circuitBreaker.isClosed()) {
+						throw e;
+					}
+					meterRegistry.counter(METRIC_PREFIX + ".retry", "feature", feature.tag).increment();
+					log.warn("OpenAI 호출 실패, 재시도합니다. feature:{}, attempt:{}, cause:{}", feature.tag, attempt,
+						e.getMessage());
+					sleep(backoff(attempt));
+				}
+			}
+		} finally {
+			bulkhead.release();
+		}
+	}
+
+	/**
+	 * 스트리밍 호출은 일부 결과를 이미 내보냈을 수 있으므로 재시도하지 않는다. bulkhead 자리는 스트림이 끝날 때 반납한다.
+	 * 응답 조각이 stream.idle-timeout 동안 오지 않으면 스트림을 끊어, 멈춘 연결이 bulkhead 자리를 계속 차지하지 않게 한다.
+	 */
+	public <T> Flux<T> stream(Feature feature, Supplier<Flux<T>> call) {
+		return Flux.defer(() -> {
+			CircuitBreaker circuitBreaker = enter(feature);
+			try {
+				acquireRateLimit(feature, circuitBreaker);
+			} catch (RuntimeException e) {
+				bulkheads.get(feature).release();
+				throw e;
+			}
+			return call.get()
+				.timeout(streamIdleTimeout)
+				.doOnComplete(circuitBreaker::onSuccess)
+				.doOnError(e -> {
+					if (isTransient(e)) {
+						circuitBreaker.onFailure();
+					}
+				})
+				.doFinally(signal -> {
+					circuitBreaker.release();
+					bulkheads.get(feature).release();
+				});
+		});
+	}
+
+	/**
+	 * circuit 이 열려 있지 않으면 bulkhead 자리를 얻는다. 실패하면 자리를 얻지 않은 상태로 예외를 던진다.
+	 */
+	private CircuitBreaker enter(Feature feature) {
+		CircuitBreaker circuitBreaker = circuitBreakers.get(feature);
+		if (!circuitBreaker.tryPass()) {
+			reject(feature, "circuit-open");
+			throw OpenAiException.of(OpenAiErrorCode.UNAVAILABLE);
+		}
+		try {
+			if (!bulkheads.get(feature).tryAcquire(bulkheadWait.toMillis(), TimeUnit.MILLISECONDS)) {
+				circuitBreaker.release();
+				reject(feature, "bulkhead");
+				throw OpenAiException.of(OpenAiErrorCode.BUSY);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			circuitBreaker.release();
+			throw OpenAiException.of(OpenAiErrorCode.BUSY);
+		}
+		return circuitBreaker;
+	}
+
+	/**
+	 * 토큰을 얻지 못하고 실패하면 호출이 나가지 않았으므로, 시험 호출 자리를 circuit breaker 에 돌려준다.
+	 */
+	private void acquireRateLimit(Feature feature, CircuitBreaker circuitBreaker) {
+		long deadline = System.nanoTime() + rateLimitWait.toNanos();
+		try {
+			while (true) {
+				long waitNanos = rateLimiter.tryAcquire();
+				if (waitNanos == 0) {
+					return;
+				}
+				if (System.nanoTime() + waitNanos > deadline) {
+					reject(feature, "rate-limit");
+					throw OpenAiException.of(OpenAiErrorCode.BUSY);
+				}
+				sleep(Duration.ofNanos(waitNanos));
+			}
+		} catch (RuntimeException e) {
+			circuitBreaker.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * full jitter: 0 과 지수적으로 늘어나는 상한 사이에서 고르게 뽑아, 동시에 실패한 요청들이 같은 시각에 몰리지 않게 한다.
+	 */
+	private Duration backoff(int attempt) {
+		long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+		return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+	}
+
+	private boolean isTransient(Throwable e) {
+		return e instanceof TransientAiException || e instanceof ResourceAccessException
+			|| e instanceof TimeoutException;
+	}
+
+	private void reject(Feature feature, String reason) {
+		meterRegistry.counter(METRIC_PREFIX + ".rejected", "feature", feature.tag, "reason", reason).increment();
+	}
+
+	private void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw OpenAiException.of(OpenAiErrorCode.BUSY);
+		}
+	}
+
+	/**
+	 * 연속 failureThreshold 번 일시적 오류가 나면 openDuration 동안 호출을 막는다.
+	 * 그 뒤에는 한 번만 시험 호출을 허용하여, 성공하면 닫고 실패하면 다시 연다.
+	 */
+	private static final class CircuitBreaker {
+		private final int failureThreshold;
+		private final long openNanos;
+		private int consecutiveFailures;
+		private long openedAt;
+		private boolean open;
+		private boolean trialInFlight;
+
+		private CircuitBreaker(int failureThreshold, Duration openDuration) {
+			this.failureThreshold = failureThreshold;
+			this.openNanos = openDuration.toNanos();
+		}
+
+		synchronized boolean tryPass() {
+			if (!open) {
+				return true;
+			}
+			if (trialInFlight || System.nanoTime() - openedAt < openNanos) {
+				return false;
+			}
+			trialInFlight = true;
+			return true;
+		}
+
+		synchronized boolean isClosed() {
+			return !open;
+		}
+
+		/**
+		 * 시험 호출이 실제로 나가지 못했거나 결과 없이 취소된 경우, 다음 요청이 다시 시험할 수 있게 한다.
+		 */
+		synchronized void release() {
+			trialInFlight = false;
+		}
+
+		synchronized void onSuccess() {
+			consecutiveFailures = 0;
+			open = false;
+			trialInFlight = false;
+		}
+
+		synchronized void onFailure() {
+			consecutiveFailures++;
+			if (trialInFlight || consecutiveFailures >= failureThreshold) {
+				open = true;
+				openedAt = System.nanoTime();
+			}
+			trialInFlight = false;
+		}
+	}
+
+	/**
+	 * OpenAI 요청 한도는 API 키 단위이므로 모든 기능이 하나의 버킷을 나눠 쓴다.
+	 */
+	private static final class TokenBucket {
+		private final double permitsPerNano;
+		private final double capacity;
+		private double tokens;
+		private long refilledAt;
+
+		private TokenBucket(double permitsPerSecond, int burst) {
+			this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+			this.capacity = Math.max(1, burst);
+			this.tokens = capacity;
+			this.refilledAt = System.nanoTime();
+		}
+
+		/**
+		 * @return 토큰을 얻었으면 0, 아니면 다음 토큰까지 기다려야 하는 나노초
+		 */
+		synchronized long tryAcquire() {
+			long now = System.nanoTime();
+			tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+			refilledAt = now;
+			if (tokens >= 1) {
+				tokens -= 1;
+				return 0;
+			}
+			return Math.max(1, (long)Math.ceil((1 - tokens) / permitsPerNano));
+		}
+	}
+}
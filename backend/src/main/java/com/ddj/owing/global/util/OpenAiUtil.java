@@ -4,10 +4,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.StreamingChatModel;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.image.ImageMessage;
 import org.springframework.ai.image.ImageModel;
@@ -23,6 +26,7 @@ import com.ddj.owing.domain.casting.model.dto.casting.CastingRequestDto;
 import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
 import com.ddj.owing.domain.project.model.dto.ProjectRequestDto;
 import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotConflictCheckDto;
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotConflictDto;
 import com.ddj.owing.domain.universe.model.dto.UniverseFileRequestDto;
 import com.ddj.owing.global.error.code.OpenAiErrorCode;
 import com.ddj.owing.global.error.exception.OpenAiException;
@@ -31,6 +35,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 
 @Component
 @RequiredArgsConstructor
@@ -38,13 +43,15 @@ public class OpenAiUtil {
 
 	private final ImageModel imageModel;
 	private final ChatModel chatModel;
+	private final StreamingChatModel streamingChatModel;
 	private final ObjectMapper objectMapper;
+	private final OpenAiGuard openAiGuard;
 
 	/**
 	 * OpenAI API 를 이용해 이미지를 생성하는 메서드
 	 *
 	 * @param prompt 생성할 이미지에 대한 설명
-	 * @return 생성된 이미지 URL
+	 * @return 생성된 이미지의 Base64 문자열
 	 */
 	public String createImage(String prompt) {
 
@@ -52,10 +59,11 @@ public class OpenAiUtil {
 		OpenAiImageOptions imageOptions = imageOptions();
 
 		ImagePrompt imagePrompt = new ImagePrompt(imageMessage, imageOptions);
-		ImageResponse response = imageModel.call(imagePrompt);
+		ImageResponse response = openAiGuard.call(OpenAiGuard.Feature.IMAGE, () -> imageModel.call(imagePrompt));
 
-		if (response.getResults() != null && !response.getResults().isEmpty()) {
-			return response.getResult().getOutput().toString();
+		if (response.getResults() != null && !response.getResults().isEmpty()
+			&& response.getResult().getOutput().getB64Json() != null) {
+			return response.getResult().getOutput().getB64Json();
 		} else {
 			throw OpenAiException.of(OpenAiErrorCode.IMAGE_GENERATION_FAIL);
 		}
@@ -68,7 +76,7 @@ public class OpenAiUtil {
 	 * @return 추출된 캐릭터 요약 정보
 	 */
 	public List<CastingSummaryDto> extractCast(Prompt prompt) {
-		ChatResponse chatResponse = chatModel.call(prompt);
+		ChatResponse chatResponse = openAiGuard.call(OpenAiGuard.Feature.CAST_EXTRACT, () -> chatModel.call(prompt));
 		String extractResult = chatResponse.getResult().getOutput().getContent();
 		try {
 			Map<String, ArrayList<CastingSummaryDto>> mappedResponse =
@@ -83,10 +91,33 @@ public class OpenAiUtil {
 		}
 	}
 
-	public String checkStoryConflict(Prompt prompt) {
-		ChatResponse chatResponse = chatModel.call(prompt);
-		String content = chatResponse.getResult().getOutput().getContent();
-		return content;
+	/**
+	 * OpenAI API를 사용해 설정 오류를 검사하는 메서드
+	 *
+	 * @param prompt 기존 내용과 검사 대상 내용이 담긴 프롬프트
+	 * @return 토큰 사용량 확인을 위해 응답 전체를 반환
+	 */
+	public ChatResponse checkStoryConflict(Prompt prompt) {
+		return openAiGuard.call(OpenAiGuard.Feature.CONFLICT_CHECK, () -> chatModel.call(prompt));
+	}
+
+	/**
+	 * 설정 오류 검사 결과를 스트리밍으로 받아, 오류 항목 하나가 완성될 때마다 내보낸다.
+	 *
+	 * @param prompt 기존 내용과 검사 대상 내용이 담긴 프롬프트
+	 * @return 파싱된 설정 오류 항목
+	 */
+	public Flux<StoryPlotConflictDto> streamStoryConflict(Prompt prompt) {
+		return openAiGuard.stream(OpenAiGuard.Feature.CONFLICT_CHECK, () -> {
+			JsonArrayItemStreamParser<StoryPlotConflictDto> parser =
+				new JsonArrayItemStreamParser<>(objectMapper, StoryPlotConflictDto.class);
+			return streamingChatModel.stream(prompt)
+				.mapNotNull(ChatResponse::getResult)
+				.map(Generation::getOutput)
+				.mapNotNull(AssistantMessage::getContent)
+				.concatMapIterable(parser::feed)
+				.concatWith(Flux.defer(() -> Flux.fromIterable(parser.end())));
+		});
 	}
 
 	/**
@@ -5,11 +5,18 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 
@@ -37,6 +44,32 @@ public class S3FileUtil {
         return url.toString();
     }
 
+    /**
+     * Base64 로 인코딩된 PNG 이미지를 디코딩하면서 바로 업로드
+     * 문자열을 그대로 읽어 디코딩하므로 디코딩된 이미지 전체를 따로 메모리에 올리지 않는다.
+     *
+     * @param directory 디렉토리 이름 (예: project, casting, universe)
+     * @param fileName  저장할 파일 이름
+     * @param base64    Base64 문자열. 끝의 = 패딩은 있어도 없어도 된다.
+     * @return 업로드된 객체의 URL
+     */
+    public String uploadBase64Image(String directory, String fileName, String base64) {
+
+        String fullPath = createPath(directory, fileName);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(MediaType.IMAGE_PNG_VALUE);
+        // 길이를 지정하지 않으면 SDK 가 스트림 전체를 메모리에 버퍼링한다.
+        metadata.setContentLength(decodedLength(base64));
+
+        try (InputStream imageStream = Base64.getDecoder().wrap(new AsciiInputStream(base64))) {
+            amazonS3.putObject(new PutObjectRequest(bucket, fullPath, imageStream, metadata)
+                    .withCannedAcl(CannedAccessControlList.PublicRead));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return amazonS3.getUrl(bucket, fullPath).toString();
+    }
+
     /**
      * 파일 업로드용(PUT) presigned url 생성
      *
@@ -73,6 +106,20 @@ public class S3FileUtil {
         return expiration;
     }
 
+    /**
+     * Base64 문자열을 디코딩했을 때의 바이트 수
+     *
+     * @param base64 Base64 문자열
+     * @return 디코딩된 바이트 수
+     */
+    private long decodedLength(String base64) {
+        int padding = 0;
+        for (int i = base64.length() - 1; i >= 0 && base64.charAt(i) == '='; i--) {
+            padding++;
+        }
+        return (long) (base64.length() - padding) * 3 / 4;
+    }
+
     /**
      * 파일 고유 ID를 생성
      *
@@ -93,4 +140,37 @@ public class S3FileUtil {
         String fileId = createFileId();
         return String.format("%s/%s%s", directory, fileId, fileName);
     }
-}
\ No newline at end of file
+
+    /**
+     * Base64 문자열을 바이트로 복사하지 않고 한 글자씩 읽는 스트림
+     */
+    private static final class AsciiInputStream extends InputStream {
+
+        private final String text;
+        private int position;
+
+        private AsciiInputStream(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read() {
+            return position < text.length() ? text.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= text.length()) {
+                return -1;
+            }
+            int count = Math.min(length, text.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) text.charAt(position++);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ddj.owing.domain.casting.model.dto.casting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.casting.model.Casting;
+import com.ddj.owing.domain.casting.model.Position;
+
+class CastingDtoTest {
+
+	@Test
+	void listItemDoesNotReadDetail() {
+		Casting casting = mock(Casting.class);
+		when(casting.getId()).thenReturn(1L);
+		when(casting.getName()).thenReturn("주인공");
+		when(casting.getCoordX()).thenReturn(10);
+		when(casting.getCoordY()).thenReturn(20);
+
+		CastingDto castingDto = CastingDto.listItemFrom(casting);
+
+		assertThat(castingDto.detail()).isNull();
+		assertThat(castingDto.position()).isEqualTo(new Position(10, 20));
+		verify(casting, never()).getDetail();
+	}
+
+	@Test
+	void projectionConstructorLeavesDetailEmpty() {
+		CastingDto castingDto = new CastingDto(1L, "주인공", 20L, "F", "protagonist", null, 10, 20);
+
+		assertThat(castingDto.detail()).isNull();
+		assertThat(castingDto.position()).isEqualTo(new Position(10, 20));
+	}
+}
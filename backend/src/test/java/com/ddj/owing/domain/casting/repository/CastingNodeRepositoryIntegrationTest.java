@@ -0,0 +1,60 @@
+package com.ddj.owing.domain.casting.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+@ContainerIntegrationTest
+class CastingNodeRepositoryIntegrationTest {
+
+	private static final AtomicLong IDS = new AtomicLong(800_000_000L);
+
+	@Autowired
+	private CastingNodeRepository castingNodeRepository;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@Test
+	void softDeleteReturnsProjectOfIncludedNode() {
+		long projectId = IDS.incrementAndGet();
+		long castingId = IDS.incrementAndGet();
+		neo4jClient.query("CREATE (:Project {id: $projectId})-[:INCLUDED]->(:Cast {id: $castingId})")
+			.bind(projectId).to("projectId")
+			.bind(castingId).to("castingId")
+			.run();
+
+		assertThat(castingNodeRepository.softDeleteReturningProjectId(castingId)).contains(projectId);
+		assertThat(castingNodeRepository.existsActiveById(castingId)).isFalse();
+	}
+
+	@Test
+	void softDeleteMarksNodeWithoutProjectAsDeleted() {
+		long castingId = IDS.incrementAndGet();
+		neo4jClient.query("CREATE (:Cast {id: $castingId})")
+			.bind(castingId).to("castingId")
+			.run();
+
+		assertThat(castingNodeRepository.softDeleteReturningProjectId(castingId)).isEmpty();
+		assertThat(castingNodeRepository.existsActiveById(castingId)).isFalse();
+	}
+
+	@Test
+	void softDeleteOfAlreadyDeletedNodeReturnsNothing() {
+		long projectId = IDS.incrementAndGet();
+		long castingId = IDS.incrementAndGet();
+		neo4jClient.query("CREATE (:Project {id: $projectId})-[:INCLUDED]->(:Cast {id: $castingId})")
+			.bind(projectId).to("projectId")
+			.bind(castingId).to("castingId")
+			.run();
+		castingNodeRepository.softDeleteReturningProjectId(castingId);
+
+		assertThat(castingNodeRepository.softDeleteReturningProjectId(castingId)).isEmpty();
+	}
+}
@@ -0,0 +1,108 @@
+package com.ddj.owing.domain.casting.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ddj.owing.domain.casting.model.Position;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphOutboxPublisher;
+
+/**
+ * JPA 트랜잭션 동기화를 직접 켜고 끄면서 Neo4j 쓰기가 커밋 뒤에만 일어나는지 검사한다.
+ * 실제 두 저장소의 커밋 횟수는 컨테이너가 필요하므로 여기서는 다루지 않는다.
+ */
+class CastingCoordWriterTest {
+
+	private static final Map<Long, Position> COORDS = Map.of(1L, new Position(10, 20));
+
+	private CastingNodeRepository castingNodeRepository;
+	private CastingGraphCache castingGraphCache;
+	private GraphOutboxPublisher graphOutboxPublisher;
+	private PlatformTransactionManager neo4jTransactionManager;
+	private PlatformTransactionManager jpaTransactionManager;
+	private CastingCoordWriter castingCoordWriter;
+
+	@BeforeEach
+	void setUp() {
+		castingNodeRepository = mock(CastingNodeRepository.class);
+		castingGraphCache = mock(CastingGraphCache.class);
+		graphOutboxPublisher = mock(GraphOutboxPublisher.class);
+		neo4jTransactionManager = mock(PlatformTransactionManager.class);
+		jpaTransactionManager = mock(PlatformTransactionManager.class);
+		castingCoordWriter = new CastingCoordWriter(mock(CastingRepository.class), castingNodeRepository,
+			castingGraphCache, graphOutboxPublisher, neo4jTransactionManager, jpaTransactionManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void writesNodesOnlyAfterCommit() {
+		when(castingNodeRepository.updateCoords(anyList())).thenReturn(List.of(7L));
+		TransactionSynchronizationManager.initSynchronization();
+
+		castingCoordWriter.writeNodes(COORDS);
+
+		verifyNoInteractions(castingNodeRepository);
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		verify(castingNodeRepository).updateCoords(List.of(Map.of("id", 1L, "x", 10, "y", 20)));
+		verify(castingGraphCache).evict(7L);
+		verify(neo4jTransactionManager).commit(any());
+	}
+
+	@Test
+	void skipsNodesWhenRolledBack() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		castingCoordWriter.writeNodes(COORDS);
+		TransactionSynchronizationManager.getSynchronizations()
+			.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		verifyNoInteractions(castingNodeRepository, neo4jTransactionManager, graphOutboxPublisher);
+	}
+
+	@Test
+	void writesNodesImmediatelyWithoutTransaction() {
+		when(castingNodeRepository.updateCoords(anyList())).thenReturn(List.of());
+
+		castingCoordWriter.writeNodes(COORDS);
+
+		verify(castingNodeRepository).updateCoords(anyList());
+		verify(graphOutboxPublisher, never()).publishAll(any(), any());
+	}
+
+	@Test
+	void publishesToOutboxWhenNeo4jFails() {
+		when(castingNodeRepository.updateCoords(anyList()))
+			.thenThrow(new TransientDataAccessResourceException("neo4j down"));
+
+		castingCoordWriter.writeNodes(COORDS);
+
+		verify(graphOutboxPublisher).publishAll(eq(GraphAggregateType.CASTING), eq(Set.of(1L)));
+		verify(jpaTransactionManager).commit(any());
+	}
+}
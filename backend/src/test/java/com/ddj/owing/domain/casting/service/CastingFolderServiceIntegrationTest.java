@@ -0,0 +1,105 @@
+package com.ddj.owing.domain.casting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ddj.owing.domain.casting.model.Casting;
+import com.ddj.owing.domain.casting.model.CastingFolder;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingTreeDto;
+import com.ddj.owing.domain.casting.model.dto.castingFolder.CastingFolderTreeDto;
+import com.ddj.owing.domain.casting.repository.CastingFolderRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 사이드바 트리가 폴더 수와 무관하게 SQL 두 번으로 끝나고, detail 같은 긴 컬럼을 가진 엔티티를 읽지 않는지
+ * Hibernate 통계로 검사한다.
+ */
+@ContainerIntegrationTest
+class CastingFolderServiceIntegrationTest {
+
+	private static final AtomicLong PROJECT_IDS = new AtomicLong(710_000_000L);
+
+	@Autowired
+	private CastingFolderService castingFolderService;
+
+	@Autowired
+	private CastingFolderRepository castingFolderRepository;
+
+	@Autowired
+	private CastingRepository castingRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void treeUsesTwoStatementsRegardlessOfFolderCount() {
+		Long projectId = PROJECT_IDS.incrementAndGet();
+		for (int folderIndex = 0; folderIndex < 30; folderIndex++) {
+			CastingFolder folder = saveFolder(projectId, "folder" + folderIndex, "a" + folderIndex);
+			for (int castingIndex = 0; castingIndex < 5; castingIndex++) {
+				saveCasting(folder, "casting" + castingIndex, "a" + castingIndex);
+			}
+		}
+		statistics.clear();
+
+		List<CastingFolderTreeDto> tree = castingFolderService.getCastingFolderTree(projectId);
+
+		assertThat(tree).hasSize(30).allSatisfy(folder -> assertThat(folder.files()).hasSize(5));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void treeKeepsFolderAndCastingOrder() {
+		Long projectId = PROJECT_IDS.incrementAndGet();
+		CastingFolder first = saveFolder(projectId, "first", "a1");
+		CastingFolder second = saveFolder(projectId, "second", "a0");
+		CastingFolder empty = saveFolder(projectId, "empty", "a2");
+		Casting a = saveCasting(first, "a", "a1");
+		Casting b = saveCasting(first, "b", "a0");
+		Casting c = saveCasting(second, "c", "a0");
+
+		List<CastingFolderTreeDto> tree = castingFolderService.getCastingFolderTree(projectId);
+
+		assertThat(tree).extracting(CastingFolderTreeDto::id)
+			.containsExactly(second.getId(), first.getId(), empty.getId());
+		assertThat(tree.get(0).files()).extracting(CastingTreeDto::id).containsExactly(c.getId());
+		assertThat(tree.get(1).files()).extracting(CastingTreeDto::id).containsExactly(b.getId(), a.getId());
+		assertThat(tree.get(2).files()).isEmpty();
+	}
+
+	private CastingFolder saveFolder(Long projectId, String name, String orderKey) {
+		return castingFolderRepository.save(CastingFolder.builder()
+			.projectId(projectId)
+			.name(name)
+			.orderKey(orderKey)
+			.build());
+	}
+
+	private Casting saveCasting(CastingFolder folder, String name, String orderKey) {
+		return castingRepository.save(Casting.builder()
+			.castingFolder(folder)
+			.name(name)
+			.detail("detail ".repeat(1000))
+			.orderKey(orderKey)
+			.build());
+	}
+}
@@ -0,0 +1,133 @@
+package com.ddj.owing.domain.casting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 실제 Redis 에서 세대 비교 Lua 스크립트를 실행하여 저장 조건과 크기 상한을 검사한다.
+ * 상한을 작게 잡아 몇십 명의 인물만으로 상한을 넘는 관계도를 만든다.
+ */
+@ContainerIntegrationTest
+@TestPropertySource(properties = {
+	"casting.graph.cache.ttl=10m",
+	"casting.graph.cache.max-bytes=" + CastingGraphCacheIntegrationTest.MAX_BYTES
+})
+class CastingGraphCacheIntegrationTest {
+
+	static final int MAX_BYTES = 4096;
+
+	private static final AtomicLong IDS = new AtomicLong(800_000_000L);
+
+	@Autowired
+	private CastingGraphCache castingGraphCache;
+
+	@Autowired
+	private CastingService castingService;
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@Test
+	void putStoresGraphWithTtlWhenVersionIsUnchanged() {
+		long projectId = IDS.incrementAndGet();
+
+		String version = castingGraphCache.version(projectId).orElseThrow();
+		castingGraphCache.put(projectId, version, "{\"nodes\":[]}");
+
+		assertThat(version).isEmpty();
+		assertThat(castingGraphCache.get(projectId)).contains("{\"nodes\":[]}");
+		assertThat(redisTemplate.getExpire("casting:graph:" + projectId, TimeUnit.MILLISECONDS))
+			.isPositive()
+			.isLessThanOrEqualTo(Duration.ofMinutes(10).toMillis());
+	}
+
+	@Test
+	void putIsSkippedWhenEvictedAfterVersionWasRead() {
+		long projectId = IDS.incrementAndGet();
+
+		String staleVersion = castingGraphCache.version(projectId).orElseThrow();
+		castingGraphCache.evict(projectId);
+		castingGraphCache.put(projectId, staleVersion, "{\"stale\":true}");
+
+		assertThat(castingGraphCache.get(projectId)).isEmpty();
+
+		String currentVersion = castingGraphCache.version(projectId).orElseThrow();
+		castingGraphCache.put(projectId, currentVersion, "{\"stale\":false}");
+
+		assertThat(currentVersion).isEqualTo("1");
+		assertThat(castingGraphCache.get(projectId)).contains("{\"stale\":false}");
+	}
+
+	@Test
+	void getGraphCachesGraphWithinMaxBytes() {
+		long projectId = createProject(2);
+
+		castingService.getGraph(projectId);
+
+		assertThat(castingGraphCache.get(projectId)).hasValueSatisfying(
+			graphJson -> assertThat(graphJson.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(MAX_BYTES));
+	}
+
+	@Test
+	void getGraphSkipsGraphOverMaxBytes() {
+		long projectId = createProject(60);
+
+		assertThat(castingService.getGraph(projectId).nodes()).hasSize(60);
+		assertThat(castingGraphCache.get(projectId)).isEmpty();
+	}
+
+	@Test
+	void writeGraphCachesExactlyTheStreamedBytes() throws Exception {
+		long projectId = createProject(2);
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+		castingService.writeGraph(projectId, response);
+
+		assertThat(castingGraphCache.get(projectId)).contains(response.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void writeGraphSkipsGraphOverMaxBytes() throws Exception {
+		long projectId = createProject(60);
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+		castingService.writeGraph(projectId, response);
+
+		assertThat(response.size()).isGreaterThan(MAX_BYTES);
+		assertThat(castingGraphCache.get(projectId)).isEmpty();
+	}
+
+	/**
+	 * 인물 하나의 JSON 이 100 바이트를 넘도록 이름을 길게 만든다.
+	 */
+	private long createProject(int castCount) {
+		long projectId = IDS.incrementAndGet();
+		List<Long> castingIds = LongStream.range(0, castCount).map(i -> IDS.incrementAndGet()).boxed().toList();
+		neo4jClient.query("CREATE (p:Project {id: $projectId}) "
+				+ "WITH p UNWIND $castingIds AS castingId "
+				+ "CREATE (p)-[:INCLUDED]->(:Cast {id: castingId, name: $name, coordX: 0, coordY: 0})")
+			.bind(projectId).to("projectId")
+			.bind(castingIds).to("castingIds")
+			.bind("인물".repeat(50)).to("name")
+			.run();
+		return projectId;
+	}
+}
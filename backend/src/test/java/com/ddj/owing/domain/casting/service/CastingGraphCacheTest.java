@@ -0,0 +1,101 @@
+package com.ddj.owing.domain.casting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Redis 대신 mock 템플릿으로 캐시가 Redis 에 보내는 명령을 검사한다.
+ * 세대 비교 자체는 Redis 의 Lua 스크립트가 수행하므로 여기서는 스크립트에 넘기는 키와 인자만 확인한다.
+ */
+class CastingGraphCacheTest {
+
+	private static final Long PROJECT_ID = 1L;
+
+	private StringRedisTemplate redisTemplate;
+	private ValueOperations<String, String> valueOperations;
+	private CastingGraphCache castingGraphCache;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		redisTemplate = mock(StringRedisTemplate.class);
+		valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		castingGraphCache = new CastingGraphCache(redisTemplate, new SimpleMeterRegistry(), Duration.ofMinutes(10),
+			1024);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void versionIsEmptyStringBeforeFirstEviction() {
+		assertThat(castingGraphCache.version(PROJECT_ID)).contains("");
+	}
+
+	@Test
+	void versionIsAbsentWhenRedisFails() {
+		when(valueOperations.get(anyString())).thenThrow(new QueryTimeoutException("timeout"));
+
+		assertThat(castingGraphCache.version(PROJECT_ID)).isEmpty();
+		assertThat(castingGraphCache.get(PROJECT_ID)).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void putComparesVersionBeforeSetting() {
+		castingGraphCache.put(PROJECT_ID, "3", "{}");
+
+		verify(redisTemplate).execute(any(RedisScript.class),
+			eq(List.of("casting:graph:version:1", "casting:graph:1")),
+			eq("3"), eq("{}"), eq(String.valueOf(Duration.ofMinutes(10).toMillis())));
+	}
+
+	@Test
+	void evictInTransactionWaitsForCommitAndBumpsVersionFirst() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		castingGraphCache.evict(PROJECT_ID);
+		verify(redisTemplate, never()).delete(anyString());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		InOrder order = inOrder(valueOperations, redisTemplate);
+		order.verify(valueOperations).increment("casting:graph:version:1");
+		order.verify(redisTemplate).delete("casting:graph:1");
+	}
+
+	@Test
+	void evictOutsideTransactionDeletesImmediately() {
+		castingGraphCache.evict(PROJECT_ID);
+
+		verify(valueOperations).increment("casting:graph:version:1");
+		verify(redisTemplate).delete("casting:graph:1");
+	}
+}
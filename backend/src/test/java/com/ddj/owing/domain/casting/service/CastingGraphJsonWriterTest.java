@@ -0,0 +1,105 @@
+package com.ddj.owing.domain.casting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.casting.model.ConnectionHandle;
+import com.ddj.owing.domain.casting.model.Position;
+import com.ddj.owing.domain.casting.model.dto.CastingRelationshipInfoDto;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingGraphDto;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingNodeDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 레코드 단위로 쓴 JSON 이 CastingGraphDto 를 한 번에 직렬화한 결과와 같은지 검사한다.
+ */
+class CastingGraphJsonWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void writesSameJsonAsGraphDto() throws IOException {
+		List<CastingNodeDto> nodes = List.of(
+			new CastingNodeDto(1L, "주인공", "protagonist", null, new Position(10, 20)),
+			new CastingNodeDto(2L, "조력자", null, "https://image", new Position(null, null))
+		);
+		List<CastingRelationshipInfoDto> edges = List.of(
+			new CastingRelationshipInfoDto("uuid-1", "CONNECTION", "친구", 1L, 2L, ConnectionHandle.TOP,
+				ConnectionHandle.LEFT)
+		);
+
+		String json = write(nodes, edges);
+
+		assertThat(objectMapper.readTree(json))
+			.isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(new CastingGraphDto(nodes, edges))));
+	}
+
+	@Test
+	void writesEmptyEdgesWhenGraphHasOnlyNodes() throws IOException {
+		List<CastingNodeDto> nodes = List.of(new CastingNodeDto(1L, "주인공", null, null, new Position(0, 0)));
+
+		String json = write(nodes, List.of());
+
+		assertThat(objectMapper.readValue(json, CastingGraphDto.class)).isEqualTo(new CastingGraphDto(nodes, List.of()));
+	}
+
+	@Test
+	void writesEmptyGraph() throws IOException {
+		assertThat(write(List.of(), List.of())).isEqualTo("{\"nodes\":[],\"edges\":[]}");
+	}
+
+	@Test
+	void unfinishedGraphIsNotValidJson() throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		try (CastingGraphJsonWriter writer = new CastingGraphJsonWriter(objectMapper, response)) {
+			writer.writeNode(new CastingNodeDto(1L, "주인공", null, null, new Position(0, 0)));
+		}
+
+		assertThatThrownBy(() -> objectMapper.readTree(response.toString(StandardCharsets.UTF_8)))
+			.isInstanceOf(JsonProcessingException.class);
+	}
+
+	@Test
+	void cappedCopyKeepsContentWithinLimit() throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		CastingGraphJsonWriter.CappedCopy copy = new CastingGraphJsonWriter.CappedCopy(16);
+
+		OutputStream tee = CastingGraphJsonWriter.tee(response, copy);
+		tee.write("{\"nodes\":[]}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(copy.content()).contains("{\"nodes\":[]}");
+		assertThat(response.toString(StandardCharsets.UTF_8)).isEqualTo("{\"nodes\":[]}");
+	}
+
+	@Test
+	void cappedCopyDropsContentOverLimitButResponseIsComplete() throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		CastingGraphJsonWriter.CappedCopy copy = new CastingGraphJsonWriter.CappedCopy(8);
+
+		OutputStream tee = CastingGraphJsonWriter.tee(response, copy);
+		tee.write("{\"nodes\":".getBytes(StandardCharsets.UTF_8));
+		tee.write("[]}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(copy.content()).isEmpty();
+		assertThat(response.toString(StandardCharsets.UTF_8)).isEqualTo("{\"nodes\":[]}");
+	}
+
+	private String write(List<CastingNodeDto> nodes, List<CastingRelationshipInfoDto> edges) throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		try (CastingGraphJsonWriter writer = new CastingGraphJsonWriter(objectMapper, response)) {
+			nodes.forEach(writer::writeNode);
+			edges.forEach(writer::writeEdge);
+			writer.finish();
+		}
+		return response.toString(StandardCharsets.UTF_8);
+	}
+}
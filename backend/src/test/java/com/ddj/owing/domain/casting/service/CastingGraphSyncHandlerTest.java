@@ -0,0 +1,100 @@
+package com.ddj.owing.domain.casting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.casting.model.Casting;
+import com.ddj.owing.domain.casting.model.CastingFolder;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
+import com.ddj.owing.domain.project.error.exception.ProjectException;
+
+class CastingGraphSyncHandlerTest {
+
+	private CastingRepository castingRepository;
+	private CastingNodeRepository castingNodeRepository;
+	private CastingGraphCache castingGraphCache;
+	private CastingGraphSyncHandler castingGraphSyncHandler;
+
+	@BeforeEach
+	void setUp() {
+		castingRepository = mock(CastingRepository.class);
+		castingNodeRepository = mock(CastingNodeRepository.class);
+		castingGraphCache = mock(CastingGraphCache.class);
+		castingGraphSyncHandler = new CastingGraphSyncHandler(castingRepository, castingNodeRepository,
+			castingGraphCache);
+	}
+
+	@Test
+	void upsertsNodeFromEntityAndEvictsProjectGraph() {
+		when(castingRepository.findById(1L)).thenReturn(Optional.of(casting(1L, 10L)));
+		when(castingNodeRepository.upsertById(1L, 10L, "name", 20L, "F", "lead", "url", 3, 4)).thenReturn(1);
+
+		castingGraphSyncHandler.sync(1L);
+
+		verify(castingNodeRepository).upsertById(1L, 10L, "name", 20L, "F", "lead", "url", 3, 4);
+		verify(castingGraphCache).evict(10L);
+	}
+
+	@Test
+	void failsWithoutEvictingWhenProjectNodeIsMissing() {
+		when(castingRepository.findById(1L)).thenReturn(Optional.of(casting(1L, 10L)));
+		when(castingNodeRepository.upsertById(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+			.thenReturn(0);
+
+		assertThatThrownBy(() -> castingGraphSyncHandler.sync(1L))
+			.isInstanceOfSatisfying(ProjectException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(ProjectErrorCode.PROJECT_NODE_NOT_FOUND));
+		verify(castingGraphCache, never()).evict(anyLong());
+	}
+
+	@Test
+	void softDeletesNodeOfDeletedEntityAndEvictsItsProjectGraph() {
+		when(castingRepository.findById(1L)).thenReturn(Optional.empty());
+		when(castingNodeRepository.softDeleteReturningProjectId(1L)).thenReturn(Optional.of(10L));
+
+		castingGraphSyncHandler.sync(1L);
+
+		verify(castingNodeRepository).softDeleteReturningProjectId(1L);
+		verify(castingGraphCache).evict(10L);
+	}
+
+	@Test
+	void softDeletesNodeWithoutProjectWithoutEvicting() {
+		when(castingRepository.findById(1L)).thenReturn(Optional.empty());
+		when(castingNodeRepository.softDeleteReturningProjectId(1L)).thenReturn(Optional.empty());
+
+		castingGraphSyncHandler.sync(1L);
+
+		verify(castingNodeRepository).softDeleteReturningProjectId(1L);
+		verify(castingGraphCache, never()).evict(anyLong());
+	}
+
+	private static Casting casting(Long id, Long projectId) {
+		CastingFolder castingFolder = mock(CastingFolder.class);
+		when(castingFolder.getProjectId()).thenReturn(projectId);
+		Casting casting = mock(Casting.class);
+		when(casting.getId()).thenReturn(id);
+		when(casting.getCastingFolder()).thenReturn(castingFolder);
+		when(casting.getName()).thenReturn("name");
+		when(casting.getAge()).thenReturn(20L);
+		when(casting.getGender()).thenReturn("F");
+		when(casting.getRole()).thenReturn("lead");
+		when(casting.getImageUrl()).thenReturn("url");
+		when(casting.getCoordX()).thenReturn(3);
+		when(casting.getCoordY()).thenReturn(4);
+		return casting;
+	}
+}
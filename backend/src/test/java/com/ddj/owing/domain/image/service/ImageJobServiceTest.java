@@ -0,0 +1,218 @@
+package com.ddj.owing.domain.image.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.image.Image;
+import org.springframework.ai.image.ImageGeneration;
+import org.springframework.ai.image.ImageModel;
+import org.springframework.ai.image.ImageResponse;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.amazonaws.AmazonClientException;
+import com.ddj.owing.domain.image.error.code.ImageJobErrorCode;
+import com.ddj.owing.domain.image.error.exception.ImageJobException;
+import com.ddj.owing.domain.image.model.ImageDeliveryMode;
+import com.ddj.owing.domain.image.model.ImageJobStatus;
+import com.ddj.owing.domain.image.model.dto.ImageJobDto;
+import com.ddj.owing.global.error.code.OpenAiErrorCode;
+import com.ddj.owing.global.util.OpenAiGuard;
+import com.ddj.owing.global.util.OpenAiUtil;
+import com.ddj.owing.global.util.S3FileUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 고정된 이미지를 돌려주는 ImageModel 과 메모리 작업 저장소로 작업 상태 전이를 검사한다.
+ * 작업은 호출 스레드에서 바로 실행하여 submit 이 끝나면 결과를 확인할 수 있게 한다.
+ */
+class ImageJobServiceTest {
+
+	private static final String IMAGE_BASE64 = "aGVsbG8=";
+	private static final String DIRECTORY = "casting/1";
+
+	private final AtomicInteger imageCalls = new AtomicInteger();
+	private InMemoryImageJobStore imageJobStore;
+	private S3FileUtil s3FileUtil;
+	private ImageResponse imageResponse;
+
+	@BeforeEach
+	void setUp() {
+		imageJobStore = new InMemoryImageJobStore();
+		s3FileUtil = mock(S3FileUtil.class);
+		imageResponse = new ImageResponse(List.of(new ImageGeneration(new Image(null, IMAGE_BASE64))));
+	}
+
+	@Test
+	void submitReturnsPendingJobAndStoresResult() {
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.BASE64);
+
+		ImageJobDto job = imageJobService.submit("고양이", DIRECTORY);
+
+		assertThat(job.status()).isEqualTo(ImageJobStatus.PENDING);
+		ImageJobDto finished = imageJobService.getJob(job.jobId());
+		assertThat(finished.status()).isEqualTo(ImageJobStatus.SUCCEEDED);
+		assertThat(finished.imageBase64()).isEqualTo(IMAGE_BASE64);
+		assertThat(finished.imageUrl()).isNull();
+	}
+
+	@Test
+	void samePromptReusesExistingJob() {
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.BASE64);
+
+		ImageJobDto first = imageJobService.submit("고양이", DIRECTORY);
+		ImageJobDto second = imageJobService.submit("고양이", DIRECTORY);
+
+		assertThat(second.jobId()).isEqualTo(first.jobId());
+		assertThat(second.status()).isEqualTo(ImageJobStatus.SUCCEEDED);
+		assertThat(imageCalls).hasValue(1);
+	}
+
+	@Test
+	void samePromptBeforeFirstJobIsSavedReturnsClaimedJobAsPending() {
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.BASE64);
+		imageJobStore.claimedByOtherRequest = "claimed-job";
+
+		ImageJobDto job = imageJobService.submit("고양이", DIRECTORY);
+
+		assertThat(job.jobId()).isEqualTo("claimed-job");
+		assertThat(job.status()).isEqualTo(ImageJobStatus.PENDING);
+		assertThat(imageJobStore.find("claimed-job")).isEmpty();
+		assertThat(imageCalls).hasValue(0);
+	}
+
+	@Test
+	void failedGenerationReleasesPrompt() {
+		imageResponse = new ImageResponse(List.of());
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.BASE64);
+
+		ImageJobDto first = imageJobService.submit("고양이", DIRECTORY);
+
+		ImageJobDto failed = imageJobService.getJob(first.jobId());
+		assertThat(failed.status()).isEqualTo(ImageJobStatus.FAILED);
+		assertThat(failed.errorCode()).isEqualTo(OpenAiErrorCode.IMAGE_GENERATION_FAIL.getCode());
+
+		ImageJobDto retried = imageJobService.submit("고양이", DIRECTORY);
+		assertThat(retried.jobId()).isNotEqualTo(first.jobId());
+		assertThat(imageCalls).hasValue(2);
+	}
+
+	@Test
+	void s3DeliveryStoresUploadedUrl() {
+		when(s3FileUtil.uploadBase64Image(DIRECTORY, "ai-image.png", IMAGE_BASE64))
+			.thenReturn("https://bucket/casting/1/ai-image.png");
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.S3);
+
+		ImageJobDto job = imageJobService.submit("고양이", DIRECTORY);
+
+		ImageJobDto finished = imageJobService.getJob(job.jobId());
+		assertThat(finished.status()).isEqualTo(ImageJobStatus.SUCCEEDED);
+		assertThat(finished.imageUrl()).isEqualTo("https://bucket/casting/1/ai-image.png");
+		assertThat(finished.imageBase64()).isNull();
+	}
+
+	@Test
+	void uploadFailureFailsJob() {
+		when(s3FileUtil.uploadBase64Image(anyString(), anyString(), anyString()))
+			.thenThrow(new AmazonClientException("s3 down"));
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.S3);
+
+		ImageJobDto job = imageJobService.submit("고양이", DIRECTORY);
+
+		ImageJobDto failed = imageJobService.getJob(job.jobId());
+		assertThat(failed.status()).isEqualTo(ImageJobStatus.FAILED);
+		assertThat(failed.errorCode()).isEqualTo(ImageJobErrorCode.IMAGE_UPLOAD_FAIL.getCode());
+	}
+
+	@Test
+	void rejectedTaskFailsJobAndReleasesPrompt() {
+		TaskExecutor rejectingExecutor = task -> {
+			throw new TaskRejectedException("queue full");
+		};
+		ImageJobService imageJobService = service(rejectingExecutor, ImageDeliveryMode.BASE64);
+
+		assertThatThrownBy(() -> imageJobService.submit("고양이", DIRECTORY))
+			.isInstanceOfSatisfying(ImageJobException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(ImageJobErrorCode.JOB_QUEUE_FULL));
+		assertThat(imageJobStore.promptCount()).isZero();
+		assertThat(imageCalls).hasValue(0);
+	}
+
+	@Test
+	void unknownJobIsNotFound() {
+		ImageJobService imageJobService = service(new SyncTaskExecutor(), ImageDeliveryMode.BASE64);
+
+		assertThatThrownBy(() -> imageJobService.getJob("missing"))
+			.isInstanceOfSatisfying(ImageJobException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(ImageJobErrorCode.JOB_NOT_FOUND));
+	}
+
+	private ImageJobService service(TaskExecutor executor, ImageDeliveryMode deliveryMode) {
+		ImageModel imageModel = prompt -> {
+			imageCalls.incrementAndGet();
+			return imageResponse;
+		};
+		OpenAiGuard openAiGuard = new OpenAiGuard(new SimpleMeterRegistry(), 4, 4, 4, Duration.ofSeconds(1), 100, 100,
+			Duration.ofSeconds(1), 1, Duration.ofMillis(1), Duration.ofMillis(1), 5, Duration.ofSeconds(30),
+			Duration.ofSeconds(30));
+		OpenAiUtil openAiUtil = new OpenAiUtil(imageModel, null, null, new ObjectMapper(), openAiGuard);
+		return new ImageJobService(openAiUtil, imageJobStore, executor, s3FileUtil, deliveryMode);
+	}
+
+	/**
+	 * Redis 대신 메모리에 작업과 프롬프트 연결을 보관한다.
+	 */
+	private static final class InMemoryImageJobStore extends ImageJobStore {
+
+		private final Map<String, ImageJobDto> jobs = new ConcurrentHashMap<>();
+		private final Map<String, String> prompts = new ConcurrentHashMap<>();
+		// 다른 요청이 프롬프트를 연결만 하고 작업은 아직 저장하지 않은 상태를 흉내 낸다.
+		private String claimedByOtherRequest;
+
+		private InMemoryImageJobStore() {
+			super(null, Duration.ofMinutes(10));
+		}
+
+		@Override
+		public Optional<ImageJobDto> find(String jobId) {
+			return Optional.ofNullable(jobs.get(jobId));
+		}
+
+		@Override
+		public void save(ImageJobDto job) {
+			jobs.put(job.jobId(), job);
+		}
+
+		@Override
+		public Optional<String> claimPrompt(String promptHash, String jobId) {
+			if (claimedByOtherRequest != null) {
+				return Optional.of(claimedByOtherRequest);
+			}
+			return Optional.ofNullable(prompts.putIfAbsent(promptHash, jobId));
+		}
+
+		@Override
+		public void releasePrompt(String promptHash, String jobId) {
+			prompts.remove(promptHash, jobId);
+		}
+
+		private int promptCount() {
+			return prompts.size();
+		}
+	}
+}
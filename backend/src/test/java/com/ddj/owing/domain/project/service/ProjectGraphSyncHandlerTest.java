@@ -0,0 +1,54 @@
+package com.ddj.owing.domain.project.service;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.project.model.Project;
+import com.ddj.owing.domain.project.repository.ProjectNodeRepository;
+import com.ddj.owing.domain.project.repository.ProjectRepository;
+
+class ProjectGraphSyncHandlerTest {
+
+	private ProjectRepository projectRepository;
+	private ProjectNodeRepository projectNodeRepository;
+	private ProjectGraphSyncHandler projectGraphSyncHandler;
+
+	@BeforeEach
+	void setUp() {
+		projectRepository = mock(ProjectRepository.class);
+		projectNodeRepository = mock(ProjectNodeRepository.class);
+		projectGraphSyncHandler = new ProjectGraphSyncHandler(projectRepository, projectNodeRepository);
+	}
+
+	@Test
+	void upsertsNodeFromEntity() {
+		Project project = mock(Project.class);
+		when(project.getId()).thenReturn(10L);
+		when(project.getTitle()).thenReturn("title");
+		when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+		projectGraphSyncHandler.sync(10L);
+
+		verify(projectNodeRepository).upsertById(10L, "title");
+		verify(projectNodeRepository, never()).softDeleteById(anyLong());
+	}
+
+	@Test
+	void softDeletesNodeOfDeletedEntity() {
+		when(projectRepository.findById(10L)).thenReturn(Optional.empty());
+
+		projectGraphSyncHandler.sync(10L);
+
+		verify(projectNodeRepository).softDeleteById(10L);
+		verify(projectNodeRepository, never()).upsertById(anyLong(), anyString());
+	}
+}
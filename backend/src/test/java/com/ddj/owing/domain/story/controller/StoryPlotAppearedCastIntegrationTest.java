@@ -0,0 +1,134 @@
+package com.ddj.owing.domain.story.controller;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.ddj.owing.domain.story.error.code.StoryPlotErrorCode;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 출연 인물 등록 API 를 실제 Neo4j 위에서 호출하여 응답과 입력 검증을 검사한다.
+ */
+@ContainerIntegrationTest
+@AutoConfigureMockMvc
+class StoryPlotAppearedCastIntegrationTest {
+
+	private static final AtomicLong IDS = new AtomicLong(840_000_000L);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@Test
+	void batchRegistersCastsOfSeveralPlotsAndReturnsOnlyNewPairs() throws Exception {
+		long firstStoryPlotId = createStoryPlot();
+		long secondStoryPlotId = createStoryPlot();
+		long firstCastId = createCast();
+		long secondCastId = createCast();
+		String body = """
+			[
+				{"storyPlotId": %d, "castIdList": [%d]},
+				{"storyPlotId": %d, "castIdList": [%d, %d]},
+				{"storyPlotId": %d, "castIdList": [%d]}
+			]
+			""".formatted(firstStoryPlotId, firstCastId, secondStoryPlotId, firstCastId, secondCastId,
+			firstStoryPlotId, secondCastId);
+
+		postBatch(body)
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(4)))
+			.andExpect(jsonPath("$[*].storyPlotId").value(containsInAnyOrder(
+				(int)firstStoryPlotId, (int)firstStoryPlotId, (int)secondStoryPlotId, (int)secondStoryPlotId)));
+
+		postBatch(body)
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(0)));
+	}
+
+	@Test
+	void batchRejectsMissingCastList() throws Exception {
+		long storyPlotId = createStoryPlot();
+
+		postBatch("[{\"storyPlotId\": %d}]".formatted(storyPlotId))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST.getCode()));
+	}
+
+	@Test
+	void batchRejectsNullCastId() throws Exception {
+		long storyPlotId = createStoryPlot();
+
+		postBatch("[{\"storyPlotId\": %d, \"castIdList\": [null]}]".formatted(storyPlotId))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST.getCode()));
+	}
+
+	@Test
+	void batchRejectsMissingStoryPlotId() throws Exception {
+		postBatch("[{\"castIdList\": [1]}]")
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST.getCode()));
+	}
+
+	@Test
+	void batchRejectsUnknownStoryPlotWithoutWriting() throws Exception {
+		long storyPlotId = createStoryPlot();
+		long castId = createCast();
+
+		postBatch("[{\"storyPlotId\": %d, \"castIdList\": [%d]}, {\"storyPlotId\": %d, \"castIdList\": [%d]}]"
+			.formatted(storyPlotId, castId, IDS.incrementAndGet(), castId))
+			.andExpect(status().isNotFound())
+			.andExpect(jsonPath("$.code").value(StoryPlotErrorCode.PLOT_NODE_NOT_FOUND.getCode()));
+
+		mockMvc.perform(post("/api/storyPlot/{storyPlotId}/appearedCast", storyPlotId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"castIdList\": [%d]}".formatted(castId)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)));
+	}
+
+	@Test
+	void singlePlotRejectsMissingCastList() throws Exception {
+		long storyPlotId = createStoryPlot();
+
+		mockMvc.perform(post("/api/storyPlot/{storyPlotId}/appearedCast", storyPlotId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{}"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value(StoryPlotErrorCode.INVALID_APPEARED_CAST_LIST.getCode()));
+	}
+
+	private ResultActions postBatch(String body) throws Exception {
+		return mockMvc.perform(post("/api/storyPlot/appearedCast")
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(body));
+	}
+
+	private long createStoryPlot() {
+		long storyPlotId = IDS.incrementAndGet();
+		neo4jClient.query("CREATE (:StoryPlot {id: $id})").bindAll(Map.of("id", storyPlotId)).run();
+		return storyPlotId;
+	}
+
+	private long createCast() {
+		long castId = IDS.incrementAndGet();
+		neo4jClient.query("CREATE (:Cast {id: $id, name: 'cast' + $id})").bindAll(Map.of("id", castId)).run();
+		return castId;
+	}
+}
@@ -0,0 +1,164 @@
+package com.ddj.owing.domain.story.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.domain.story.model.PageBlock;
+import com.ddj.owing.domain.story.model.StoryFolder;
+import com.ddj.owing.domain.story.model.StoryPage;
+import com.ddj.owing.domain.story.model.StoryPageStorageMode;
+import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 실제 Postgres 에서 BLOCKS 방식 원고의 정렬 키 커서 조회와 하위 블록 조회, 삭제를 검사한다.
+ */
+@ContainerIntegrationTest
+class PageBlockRepositoryIntegrationTest {
+
+	private static final AtomicLong PROJECT_IDS = new AtomicLong(730_000_000L);
+
+	@Autowired
+	private PageBlockRepository pageBlockRepository;
+
+	@Autowired
+	private StoryPageRepository storyPageRepository;
+
+	@Autowired
+	private StoryFolderRepository storyFolderRepository;
+
+	@Autowired
+	private StoryPlotRepository storyPlotRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Long storyPageId;
+
+	@BeforeEach
+	void setUp() {
+		storyPageId = savePage().getId();
+	}
+
+	@Test
+	void topLevelBlocksAreOrderedByBinaryOrderKey() {
+		saveBlock("lower", null, "aa");
+		saveBlock("digit", null, "a0");
+		saveBlock("upper", null, "aA");
+		saveBlock("child", "digit", "a0");
+
+		List<PageBlock> blocks = pageBlockRepository.findTopLevelBlocks(storyPageId, Limit.of(10));
+
+		assertThat(blocks).extracting(PageBlock::getBlockId).containsExactly("digit", "upper", "lower");
+	}
+
+	@Test
+	void cursorPagesTopLevelBlocksAfterOrderKey() {
+		for (int i = 0; i < 5; i++) {
+			saveBlock("b" + i, null, "a" + i);
+		}
+
+		List<PageBlock> first = pageBlockRepository.findTopLevelBlocks(storyPageId, Limit.of(2));
+		List<PageBlock> second = pageBlockRepository.findTopLevelBlocksAfter(storyPageId,
+			first.get(1).getOrderKey(), Limit.of(2));
+		List<PageBlock> last = pageBlockRepository.findTopLevelBlocksAfter(storyPageId,
+			second.get(1).getOrderKey(), Limit.of(2));
+
+		assertThat(first).extracting(PageBlock::getBlockId).containsExactly("b0", "b1");
+		assertThat(second).extracting(PageBlock::getBlockId).containsExactly("b2", "b3");
+		assertThat(last).extracting(PageBlock::getBlockId).containsExactly("b4");
+	}
+
+	@Test
+	void cursorStaysValidWhenItsBlockIsDeleted() {
+		for (int i = 0; i < 4; i++) {
+			saveBlock("b" + i, null, "a" + i);
+		}
+		inTransaction(() -> pageBlockRepository.deleteSubtree(storyPageId, "b1"));
+
+		List<PageBlock> next = pageBlockRepository.findTopLevelBlocksAfter(storyPageId, "a1", Limit.of(10));
+
+		assertThat(next).extracting(PageBlock::getBlockId).containsExactly("b2", "b3");
+	}
+
+	@Test
+	void descendantsIncludeEveryLevelOfTheGivenRoots() {
+		saveBlock("a", null, "a0");
+		saveBlock("a1", "a", "a0");
+		saveBlock("a1x", "a1", "a0");
+		saveBlock("b", null, "a1");
+		saveBlock("b1", "b", "a0");
+
+		List<PageBlock> descendants = pageBlockRepository.findDescendants(storyPageId, List.of("a"));
+
+		assertThat(descendants).extracting(PageBlock::getBlockId).containsExactlyInAnyOrder("a1", "a1x");
+	}
+
+	@Test
+	void deleteSubtreeRemovesBlockAndAllDescendants() {
+		saveBlock("a", null, "a0");
+		saveBlock("a1", "a", "a0");
+		saveBlock("a1x", "a1", "a0");
+		saveBlock("b", null, "a1");
+
+		int deleted = inTransaction(() -> pageBlockRepository.deleteSubtree(storyPageId, "a"));
+
+		assertThat(deleted).isEqualTo(3);
+		assertThat(pageBlockRepository.findAllByStoryPageId(storyPageId))
+			.extracting(PageBlock::getBlockId).containsExactly("b");
+	}
+
+	@Test
+	void siblingOrderKeysAreScopedToParent() {
+		saveBlock("a", null, "a0");
+		saveBlock("a1", "a", "a0");
+		saveBlock("a2", "a", "a5");
+		saveBlock("b", null, "a3");
+
+		assertThat(pageBlockRepository.findFirstOrderKey(storyPageId, null)).contains("a0");
+		assertThat(pageBlockRepository.findNextOrderKey(storyPageId, null, "a0")).contains("a3");
+		assertThat(pageBlockRepository.findNextOrderKey(storyPageId, "a", "a0")).contains("a5");
+		assertThat(pageBlockRepository.findNextOrderKey(storyPageId, "a", "a5")).isEmpty();
+	}
+
+	private StoryPage savePage() {
+		StoryFolder folder = storyFolderRepository.save(StoryFolder.builder()
+			.projectId(PROJECT_IDS.incrementAndGet())
+			.name("folder")
+			.orderKey("a0")
+			.build());
+		StoryPlot plot = storyPlotRepository.save(StoryPlot.builder()
+			.storyFolder(folder)
+			.name("plot")
+			.orderKey("a0")
+			.build());
+		return storyPageRepository.save(StoryPage.builder()
+			.storyPlot(plot)
+			.storageMode(StoryPageStorageMode.BLOCKS)
+			.build());
+	}
+
+	private void saveBlock(String blockId, String parentBlockId, String orderKey) {
+		pageBlockRepository.save(PageBlock.builder()
+			.storyPageId(storyPageId)
+			.blockId(blockId)
+			.parentBlockId(parentBlockId)
+			.orderKey(orderKey)
+			.type("paragraph")
+			.build());
+	}
+
+	private int inTransaction(IntSupplier action) {
+		return new TransactionTemplate(transactionManager).execute(status -> action.getAsInt());
+	}
+}
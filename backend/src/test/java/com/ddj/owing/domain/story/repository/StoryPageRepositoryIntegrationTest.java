@@ -0,0 +1,362 @@
+package com.ddj.owing.domain.story.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.domain.story.model.Content;
+import com.ddj.owing.domain.story.model.PageBlock;
+import com.ddj.owing.domain.story.model.StoryFolder;
+import com.ddj.owing.domain.story.model.StoryPage;
+import com.ddj.owing.domain.story.model.StoryPageStorageMode;
+import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.support.ContainerIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 실제 Postgres 에서 원고 jsonb 트리에 대한 블록 단위 삽입, 이동, 삭제 쿼리와 최상위 블록 조각 조회,
+ * plain_text 재계산을 검사한다.
+ * 결과 트리는 블록 id 를 "a[a1,a2],b" 형태로 펼쳐 비교한다.
+ */
+@ContainerIntegrationTest
+class StoryPageRepositoryIntegrationTest {
+
+	private static final AtomicLong PROJECT_IDS = new AtomicLong(720_000_000L);
+
+	@Autowired
+	private StoryPageRepository storyPageRepository;
+
+	@Autowired
+	private PageBlockRepository pageBlockRepository;
+
+	@Autowired
+	private StoryFolderRepository storyFolderRepository;
+
+	@Autowired
+	private StoryPlotRepository storyPlotRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Test
+	void insertFirstBlockIntoPageWithoutBlocks() {
+		StoryPage page = savePage(null);
+
+		int updated = inTransaction(() -> storyPageRepository.insertFirstBlock(plotId(page), json("x")));
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(tree(page)).isEqualTo("x");
+	}
+
+	@Test
+	void insertBlockAfterNestedSibling() {
+		StoryPage page = savePage(List.of(block("a", block("a1"), block("a2")), block("b")));
+
+		int updated = inTransaction(() -> storyPageRepository.insertBlockAfter(plotId(page), "a1", json("x")));
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(tree(page)).isEqualTo("a[a1,x,a2],b");
+	}
+
+	@Test
+	void insertFirstChildCreatesMissingChildren() {
+		StoryPage page = savePage(List.of(block("a")));
+		inTransaction(() -> storyPageRepository.insertBlockAfter(plotId(page), "a",
+			"{\"id\":\"b\",\"type\":\"paragraph\"}"));
+
+		int updated = inTransaction(() -> storyPageRepository.insertFirstChild(plotId(page), "b", json("x")));
+		inTransaction(() -> storyPageRepository.insertFirstChild(plotId(page), "b", json("y")));
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(tree(page)).isEqualTo("a,b[y,x]");
+	}
+
+	@Test
+	void updateBlockFieldsKeepsChildrenAndOtherFields() {
+		StoryPage page = savePage(List.of(block("a", block("a1"))));
+
+		int updated = inTransaction(() -> storyPageRepository.updateBlockFields(plotId(page), "a",
+			"{\"type\":\"heading\"}"));
+
+		assertThat(updated).isEqualTo(1);
+		StoryPage.StoryPageBlock a = findPage(page).getBlocks().get(0);
+		assertThat(a.getType()).isEqualTo("heading");
+		assertThat(a.getContent()).extracting(Content::getText).containsExactly("a");
+		assertThat(tree(page)).isEqualTo("a[a1]");
+	}
+
+	@Test
+	void moveSubtreeByDeletingAndReinsertingItsJson() {
+		StoryPage page = savePage(List.of(block("a", block("a1"), block("a2")), block("b", block("b1"))));
+
+		inTransaction(() -> {
+			String blockJson = storyPageRepository.findBlockJson(plotId(page), "a").orElseThrow();
+			storyPageRepository.deleteBlock(plotId(page), "a");
+			return storyPageRepository.insertFirstChild(plotId(page), "b", blockJson);
+		});
+
+		assertThat(tree(page)).isEqualTo("b[a[a1,a2],b1]");
+	}
+
+	@Test
+	void deleteNestedBlockRemovesItsSubtree() {
+		StoryPage page = savePage(List.of(block("a", block("a1", block("a1x")), block("a2")), block("b")));
+
+		int updated = inTransaction(() -> storyPageRepository.deleteBlock(plotId(page), "a1"));
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(tree(page)).isEqualTo("a[a2],b");
+	}
+
+	@Test
+	void operationsOnUnknownBlockChangeNothing() {
+		StoryPage page = savePage(List.of(block("a")));
+
+		assertThat(inTransaction(() -> storyPageRepository.deleteBlock(plotId(page), "missing"))).isZero();
+		assertThat(inTransaction(() -> storyPageRepository.insertBlockAfter(plotId(page), "missing", json("x"))))
+			.isZero();
+		assertThat(inTransaction(() -> storyPageRepository.updateBlockFields(plotId(page), "missing", "{}")))
+			.isZero();
+		assertThat(storyPageRepository.findBlockJson(plotId(page), "missing")).isEmpty();
+		assertThat(tree(page)).isEqualTo("a");
+	}
+
+	@Test
+	void findExistingBlockIdsSearchesNestedBlocks() {
+		StoryPage page = savePage(List.of(block("a", block("a1", block("a1x"))), block("b")));
+
+		List<String> existing = storyPageRepository.findExistingBlockIds(plotId(page), List.of("a1x", "b", "new"));
+
+		assertThat(existing).containsExactlyInAnyOrder("a1x", "b");
+	}
+
+	@Test
+	void sliceReadsTopLevelBlocksInDocumentOrder() throws Exception {
+		StoryPage page = savePage(numberedBlocks(12));
+
+		List<String> first = storyPageRepository.findBlockJsonSlice(page.getId(), 5);
+
+		assertThat(ids(first)).containsExactly("b0", "b1", "b2", "b3", "b4");
+		assertThat(first.get(0)).contains("\"b0-child\"");
+	}
+
+	@Test
+	void sliceAfterPagesByLastBlockIdUntilTheEnd() throws Exception {
+		StoryPage page = savePage(numberedBlocks(12));
+
+		List<String> second = storyPageRepository.findBlockJsonSliceAfter(page.getId(), "b4", 5);
+		List<String> last = storyPageRepository.findBlockJsonSliceAfter(page.getId(), "b9", 5);
+		List<String> afterLast = storyPageRepository.findBlockJsonSliceAfter(page.getId(), "b11", 5);
+
+		assertThat(ids(second)).containsExactly("b5", "b6", "b7", "b8", "b9");
+		assertThat(ids(last)).containsExactly("b10", "b11");
+		assertThat(afterLast).isEmpty();
+		assertThat(storyPageRepository.existsTopLevelBlock(page.getId(), "b11")).isTrue();
+	}
+
+	@Test
+	void sliceCursorIsNotShiftedByEditsBeforeIt() throws Exception {
+		StoryPage page = savePage(numberedBlocks(6));
+		inTransaction(() -> {
+			storyPageRepository.insertFirstBlock(plotId(page), json("x"));
+			storyPageRepository.insertBlockAfter(plotId(page), "b1", json("y"));
+			return storyPageRepository.deleteBlock(plotId(page), "b0");
+		});
+
+		List<String> next = storyPageRepository.findBlockJsonSliceAfter(page.getId(), "b2", 2);
+
+		assertThat(ids(next)).containsExactly("b3", "b4");
+	}
+
+	@Test
+	void unknownOrNestedCursorIsNotATopLevelBlock() {
+		StoryPage page = savePage(numberedBlocks(3));
+
+		assertThat(storyPageRepository.findBlockJsonSliceAfter(page.getId(), "missing", 5)).isEmpty();
+		assertThat(storyPageRepository.existsTopLevelBlock(page.getId(), "missing")).isFalse();
+		assertThat(storyPageRepository.findBlockJsonSliceAfter(page.getId(), "b0-child", 5)).isEmpty();
+		assertThat(storyPageRepository.existsTopLevelBlock(page.getId(), "b0-child")).isFalse();
+	}
+
+	@Test
+	void refreshDocumentPlainTextFollowsNestedDocumentOrder() {
+		StoryPage page = savePage(List.of(
+			block("a", block("a1", block("a1x")), block("a2")),
+			StoryPage.StoryPageBlock.builder()
+				.id("b")
+				.type("paragraph")
+				.content(List.of(text("b-first"), Content.builder().type("link").build(), text("b-second")))
+				.children(List.of())
+				.build()));
+		clearPlainText(page.getId());
+
+		inTransaction(() -> storyPageRepository.refreshDocumentPlainText(page.getId()));
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId()))
+			.contains("a\na1\na1x\na2\nb-first\nb-second");
+	}
+
+	@Test
+	void refreshDocumentPlainTextMatchesTextComputedOnSave() {
+		StoryPage page = savePage(numberedBlocks(12));
+		String savedPlainText = storyPageRepository.findPlainTextById(page.getId()).orElseThrow();
+		clearPlainText(page.getId());
+
+		inTransaction(() -> storyPageRepository.refreshDocumentPlainText(page.getId()));
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).contains(savedPlainText);
+		assertThat(savedPlainText).startsWith("b0\nb0-child\nb1\nb1-child\n").endsWith("b11\nb11-child");
+	}
+
+	@Test
+	void refreshDocumentPlainTextOfEmptyPageIsEmptyString() {
+		StoryPage page = savePage(null);
+		clearPlainText(page.getId());
+
+		inTransaction(() -> storyPageRepository.refreshDocumentPlainText(page.getId()));
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).contains("");
+	}
+
+	@Test
+	void clearedPlainTextIsReadAsMissing() {
+		StoryPage page = savePage(List.of(block("a")));
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).contains("a");
+
+		clearPlainText(page.getId());
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).isEmpty();
+	}
+
+	@Test
+	void refreshBlocksPlainTextFollowsOrderKeyPaths() {
+		StoryPage page = savePage(null);
+		saveBlock(page, "a", null, "a0");
+		saveBlock(page, "a-lower", "a", "aa");
+		saveBlock(page, "a-upper", "a", "aA");
+		saveBlock(page, "c", null, "a0V");
+		saveBlock(page, "b", null, "a1");
+
+		inTransaction(() -> storyPageRepository.refreshBlocksPlainText(page.getId()));
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId()))
+			.contains("a\na-upper\na-lower\nc\nb");
+	}
+
+	private StoryPage savePage(List<StoryPage.StoryPageBlock> blocks) {
+		StoryFolder folder = storyFolderRepository.save(StoryFolder.builder()
+			.projectId(PROJECT_IDS.incrementAndGet())
+			.name("folder")
+			.orderKey("a0")
+			.build());
+		StoryPlot plot = storyPlotRepository.save(StoryPlot.builder()
+			.storyFolder(folder)
+			.name("plot")
+			.orderKey("a0")
+			.build());
+		return storyPageRepository.save(StoryPage.builder()
+			.storyPlot(plot)
+			.blocks(blocks)
+			.storageMode(StoryPageStorageMode.DOCUMENT)
+			.build());
+	}
+
+	private void saveBlock(StoryPage page, String blockId, String parentBlockId, String orderKey) {
+		pageBlockRepository.save(PageBlock.builder()
+			.storyPageId(page.getId())
+			.blockId(blockId)
+			.parentBlockId(parentBlockId)
+			.orderKey(orderKey)
+			.type("paragraph")
+			.content(List.of(text(blockId)))
+			.build());
+	}
+
+	private void clearPlainText(Long storyPageId) {
+		inTransaction(() -> storyPageRepository.clearPlainText(storyPageId));
+	}
+
+	private StoryPage findPage(StoryPage page) {
+		return storyPageRepository.findById(page.getId()).orElseThrow();
+	}
+
+	private String tree(StoryPage page) {
+		return render(findPage(page).getBlocks());
+	}
+
+	private static String render(List<StoryPage.StoryPageBlock> blocks) {
+		return blocks.stream()
+			.map(block -> block.getChildren() == null || block.getChildren().isEmpty() ? block.getId()
+				: block.getId() + "[" + render(block.getChildren()) + "]")
+			.collect(Collectors.joining(","));
+	}
+
+	private List<String> ids(List<String> blockJsons) throws Exception {
+		List<String> ids = new ArrayList<>();
+		for (String blockJson : blockJsons) {
+			ids.add(objectMapper.readTree(blockJson).get("id").asText());
+		}
+		return ids;
+	}
+
+	private <T> T inTransaction(Supplier<T> action) {
+		return transactionTemplate.execute(status -> action.get());
+	}
+
+	private static Long plotId(StoryPage page) {
+		return page.getStoryPlot().getId();
+	}
+
+	/**
+	 * 본문이 블록 id 와 같은 블록을 만든다.
+	 */
+	private static StoryPage.StoryPageBlock block(String id, StoryPage.StoryPageBlock... children) {
+		return StoryPage.StoryPageBlock.builder()
+			.id(id)
+			.type("paragraph")
+			.content(List.of(text(id)))
+			.children(Arrays.asList(children))
+			.build();
+	}
+
+	private static Content text(String text) {
+		return Content.builder().type("text").text(text).build();
+	}
+
+	/**
+	 * b0 부터 번호를 붙인 최상위 블록을 만든다. 각 블록은 자식 하나를 가진다.
+	 */
+	private static List<StoryPage.StoryPageBlock> numberedBlocks(int count) {
+		List<StoryPage.StoryPageBlock> blocks = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			blocks.add(block("b" + i, block("b" + i + "-child")));
+		}
+		return blocks;
+	}
+
+	private static String json(String id) {
+		return "{\"id\":\"" + id + "\",\"type\":\"paragraph\",\"content\":[{\"type\":\"text\",\"text\":\"" + id
+			+ "\"}],\"children\":[]}";
+	}
+}
@@ -0,0 +1,193 @@
+package com.ddj.owing.domain.story.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastDto;
+import com.ddj.owing.domain.story.model.dto.StoryPlotAppearedCastPairDto;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+@ContainerIntegrationTest
+class StoryPlotNodeRepositoryIntegrationTest {
+
+	private static final AtomicLong IDS = new AtomicLong(820_000_000L);
+
+	@Autowired
+	private StoryPlotNodeRepository storyPlotNodeRepository;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@Test
+	void autoMergeSkipsSuppressedCast() {
+		long storyPlotId = createStoryPlot();
+		long appearedCastId = createCast();
+		long suppressedCastId = createCast();
+		run("MATCH (p:StoryPlot {id: $storyPlotId}), (c:Cast {id: $castId}) "
+			+ "CREATE (c)-[:APPEARANCE_SUPPRESSED]->(p)", Map.of("storyPlotId", storyPlotId, "castId", suppressedCastId));
+
+		storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId, List.of(appearedCastId, suppressedCastId));
+
+		assertThat(appearedSources(storyPlotId)).containsExactly(Map.entry(appearedCastId, "AUTO"));
+	}
+
+	@Test
+	void deletedAppearanceIsNotRecreatedByAutoMerge() {
+		long storyPlotId = createStoryPlot();
+		long castId = createCast();
+		storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId, List.of(castId));
+
+		assertThat(storyPlotNodeRepository.deleteAppearedCasting(storyPlotId, castId)).isEqualTo(1);
+		storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId, List.of(castId));
+
+		assertThat(appearedSources(storyPlotId)).isEmpty();
+		assertThat(storyPlotNodeRepository.findAutoAppearedCastIds(storyPlotId)).isEmpty();
+	}
+
+	@Test
+	void autoIndexNeverTouchesManualAppearance() {
+		long storyPlotId = createStoryPlot();
+		long castId = createCast();
+		run("MATCH (p:StoryPlot {id: $storyPlotId}), (c:Cast {id: $castId}) "
+			+ "CREATE (c)-[:APPEARED {source: 'MANUAL'}]->(p)", Map.of("storyPlotId", storyPlotId, "castId", castId));
+
+		storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId, List.of(castId));
+		storyPlotNodeRepository.deleteAutoAppearedCastings(storyPlotId, List.of(castId));
+
+		assertThat(appearedSources(storyPlotId)).containsExactly(Map.entry(castId, "MANUAL"));
+		assertThat(storyPlotNodeRepository.findAutoAppearedCastIds(storyPlotId)).isEmpty();
+	}
+
+	@Test
+	void autoDeleteRemovesOnlyListedAutoAppearances() {
+		long storyPlotId = createStoryPlot();
+		long removedCastId = createCast();
+		long keptCastId = createCast();
+		storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId, List.of(removedCastId, keptCastId));
+
+		storyPlotNodeRepository.deleteAutoAppearedCastings(storyPlotId, List.of(removedCastId));
+
+		assertThat(storyPlotNodeRepository.findAutoAppearedCastIds(storyPlotId)).containsExactly(keptCastId);
+	}
+
+	@Test
+	void createReturnsOnlyNewAppearancesAndLeavesNoMarker() {
+		long storyPlotId = createStoryPlot();
+		long firstCastId = createCast();
+		long secondCastId = createCast();
+
+		assertThat(storyPlotNodeRepository.createAppearedCastings(storyPlotId, List.of(firstCastId)))
+			.extracting(StoryPlotAppearedCastDto::castId)
+			.containsExactly(firstCastId);
+		assertThat(storyPlotNodeRepository.createAppearedCastings(storyPlotId, List.of(firstCastId, secondCastId)))
+			.extracting(StoryPlotAppearedCastDto::castId)
+			.containsExactly(secondCastId);
+
+		assertThat(appearedSources(storyPlotId))
+			.containsOnly(Map.entry(firstCastId, "MANUAL"), Map.entry(secondCastId, "MANUAL"));
+		assertThat(markedAppearanceCount()).isZero();
+	}
+
+	@Test
+	void createPromotesAutoAppearanceAndClearsSuppression() {
+		long storyPlotId = createStoryPlot();
+		long autoCastId = createCast();
+		long suppressedCastId = createCast();
+		storyPlotNodeRepository.mergeAutoAppearedCastings(storyPlotId, List.of(autoCastId));
+		run("MATCH (p:StoryPlot {id: $storyPlotId}), (c:Cast {id: $castId}) "
+			+ "CREATE (c)-[:APPEARANCE_SUPPRESSED]->(p)", Map.of("storyPlotId", storyPlotId, "castId", suppressedCastId));
+
+		List<StoryPlotAppearedCastDto> created =
+			storyPlotNodeRepository.createAppearedCastings(storyPlotId, List.of(autoCastId, suppressedCastId));
+
+		assertThat(created).extracting(StoryPlotAppearedCastDto::castId).containsExactly(suppressedCastId);
+		assertThat(appearedSources(storyPlotId))
+			.containsOnly(Map.entry(autoCastId, "MANUAL"), Map.entry(suppressedCastId, "MANUAL"));
+		assertThat(suppressedCount(storyPlotId)).isZero();
+		assertThat(markedAppearanceCount()).isZero();
+	}
+
+	@Test
+	void createSkipsDeletedCast() {
+		long storyPlotId = createStoryPlot();
+		long castId = createCast();
+		run("MATCH (c:Cast {id: $id}) SET c.deletedAt = localdatetime()", Map.of("id", castId));
+
+		assertThat(storyPlotNodeRepository.createAppearedCastings(storyPlotId, List.of(castId))).isEmpty();
+		assertThat(appearedSources(storyPlotId)).isEmpty();
+	}
+
+	@Test
+	void createOfPlotsReturnsOnlyNewPairsAndLeavesNoMarker() {
+		long firstStoryPlotId = createStoryPlot();
+		long secondStoryPlotId = createStoryPlot();
+		long sharedCastId = createCast();
+		long otherCastId = createCast();
+		storyPlotNodeRepository.createAppearedCastings(firstStoryPlotId, List.of(sharedCastId));
+
+		List<StoryPlotAppearedCastPairDto> created = storyPlotNodeRepository.createAppearedCastingsOfPlots(List.of(
+			Map.<String, Object>of("storyPlotId", firstStoryPlotId, "castIds", List.of(sharedCastId, otherCastId)),
+			Map.<String, Object>of("storyPlotId", secondStoryPlotId, "castIds", List.of(sharedCastId))));
+
+		assertThat(created)
+			.extracting(StoryPlotAppearedCastPairDto::storyPlotId, StoryPlotAppearedCastPairDto::castId)
+			.containsExactlyInAnyOrder(tuple(firstStoryPlotId, otherCastId), tuple(secondStoryPlotId, sharedCastId));
+		assertThat(storyPlotNodeRepository.createAppearedCastingsOfPlots(List.of(
+			Map.<String, Object>of("storyPlotId", secondStoryPlotId, "castIds", List.of(sharedCastId))))).isEmpty();
+		assertThat(markedAppearanceCount()).isZero();
+	}
+
+	private long createStoryPlot() {
+		long storyPlotId = IDS.incrementAndGet();
+		run("CREATE (:StoryPlot {id: $id})", Map.of("id", storyPlotId));
+		return storyPlotId;
+	}
+
+	private long createCast() {
+		long castId = IDS.incrementAndGet();
+		run("CREATE (:Cast {id: $id})", Map.of("id", castId));
+		return castId;
+	}
+
+	private Map<Long, String> appearedSources(long storyPlotId) {
+		return neo4jClient.query("MATCH (c:Cast)-[r:APPEARED]->(:StoryPlot {id: $storyPlotId}) "
+				+ "RETURN c.id AS castId, r.source AS source")
+			.bind(storyPlotId).to("storyPlotId")
+			.fetch()
+			.all()
+			.stream()
+			.collect(Collectors.toMap(row -> (Long)row.get("castId"), row -> (String)row.get("source")));
+	}
+
+	private long suppressedCount(long storyPlotId) {
+		return neo4jClient.query("MATCH (:Cast)-[s:APPEARANCE_SUPPRESSED]->(:StoryPlot {id: $storyPlotId}) "
+				+ "RETURN count(s)")
+			.bind(storyPlotId).to("storyPlotId")
+			.fetchAs(Long.class)
+			.one()
+			.orElseThrow();
+	}
+
+	/**
+	 * 새로 만든 관계를 가려내려고 잠시 붙이는 created 속성이 남아 있는 관계 수.
+	 */
+	private long markedAppearanceCount() {
+		return neo4jClient.query("MATCH (:Cast)-[r:APPEARED]->(:StoryPlot) WHERE r.created IS NOT NULL RETURN count(r)")
+			.fetchAs(Long.class)
+			.one()
+			.orElseThrow();
+	}
+
+	private void run(String cypher, Map<String, Object> parameters) {
+		neo4jClient.query(cypher).bindAll(parameters).run();
+	}
+}
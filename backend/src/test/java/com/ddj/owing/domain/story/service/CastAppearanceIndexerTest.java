@@ -0,0 +1,182 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.story.event.StoryPageChangedEvent;
+import com.ddj.owing.domain.story.repository.StoryPlotNodeRepository;
+
+/**
+ * Redis 해시를 메모리 맵으로 대신하여 블록별 보관본을 이용한 재검사 범위와 출연 관계 변경을 검사한다.
+ */
+class CastAppearanceIndexerTest {
+
+	private static final Long STORY_PLOT_ID = 10L;
+	private static final Long PROJECT_ID = 1L;
+	private static final String KEY = "story:appearance:" + STORY_PLOT_ID;
+	private static final CastingSummaryDto MINSU = new CastingSummaryDto(1L, "민수", "male");
+	private static final CastingSummaryDto JIYOUNG = new CastingSummaryDto(2L, "지영", "female");
+
+	private final Map<Object, Object> storedHash = new HashMap<>();
+	private CastingNodeRepository castingNodeRepository;
+	private StoryPlotNodeRepository storyPlotNodeRepository;
+	private StoryPageService storyPageService;
+	private CastAppearanceIndexer castAppearanceIndexer;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+		HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+		when(hashOperations.entries(KEY)).thenAnswer(invocation -> new HashMap<>(storedHash));
+		doAnswer(invocation -> {
+			storedHash.putAll(invocation.getArgument(1));
+			return null;
+		}).when(hashOperations).putAll(eq(KEY), anyMap());
+		when(redisTemplate.delete(KEY)).thenAnswer(invocation -> {
+			storedHash.clear();
+			return true;
+		});
+
+		castingNodeRepository = mock(CastingNodeRepository.class);
+		storyPlotNodeRepository = mock(StoryPlotNodeRepository.class);
+		storyPageService = mock(StoryPageService.class);
+		when(castingNodeRepository.findAllSummaryByProjectId(PROJECT_ID)).thenReturn(List.of(MINSU, JIYOUNG));
+		castAppearanceIndexer = new CastAppearanceIndexer(redisTemplate, castingNodeRepository,
+			storyPlotNodeRepository, storyPageService, new SyncTaskExecutor(), Duration.ofDays(7), 100);
+	}
+
+	@Test
+	void firstSaveScansEveryBlockAndStoresMentions() {
+		publish(Map.of("b1", "민수가 왔다.", "b2", "지영이 웃었다.", "b3", "아무도 없다."), Set.of("b1", "b2", "b3"),
+			false);
+
+		assertThat(mergedCastIds()).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(storedHash).containsEntry("casts", CastAppearanceIndexer.fingerprint(List.of(MINSU, JIYOUNG)))
+			.containsEntry("block:b1", "1")
+			.containsEntry("block:b2", "2")
+			.containsEntry("block:b3", "");
+	}
+
+	@Test
+	void storedIndexRescansOnlyChangedBlocks() {
+		givenStoredIndex(Map.of("b1", "1", "b2", "2"));
+		when(storyPlotNodeRepository.findAutoAppearedCastIds(STORY_PLOT_ID)).thenReturn(List.of(1L, 2L));
+
+		// b1 본문에는 이름이 없지만 바뀌지 않은 블록이므로 보관된 결과를 그대로 쓴다.
+		publish(Map.of("b1", "이름 없는 문장", "b2", "아무도 없다."), Set.of("b2"), false);
+
+		verify(storyPlotNodeRepository, never()).mergeAutoAppearedCastings(anyLong(), anyList());
+		verify(storyPlotNodeRepository).deleteAutoAppearedCastings(STORY_PLOT_ID, List.of(2L));
+		assertThat(storedHash).containsEntry("block:b1", "1").containsEntry("block:b2", "");
+	}
+
+	@Test
+	void deletedBlockDropsItsMentions() {
+		givenStoredIndex(Map.of("b1", "1", "b2", "2"));
+		when(storyPlotNodeRepository.findAutoAppearedCastIds(STORY_PLOT_ID)).thenReturn(List.of(1L, 2L));
+
+		publish(Map.of("b1", "민수"), Set.of("b2"), false);
+
+		verify(storyPlotNodeRepository).deleteAutoAppearedCastings(STORY_PLOT_ID, List.of(2L));
+		assertThat(storedHash).containsKey("block:b1").doesNotContainKey("block:b2");
+	}
+
+	@Test
+	void partialEventKeepsBlocksOutsideTheEvent() {
+		givenStoredIndex(Map.of("b1", "1"));
+		when(storyPlotNodeRepository.findAutoAppearedCastIds(STORY_PLOT_ID)).thenReturn(List.of(1L));
+
+		publish(Map.of("b2", "지영이 들어왔다."), Set.of("b2"), true);
+
+		verify(storyPageService, never()).getBlockTexts(anyLong());
+		verify(storyPlotNodeRepository).mergeAutoAppearedCastings(STORY_PLOT_ID, List.of(2L));
+		verify(storyPlotNodeRepository, never()).deleteAutoAppearedCastings(anyLong(), anyList());
+		assertThat(storedHash).containsEntry("block:b1", "1").containsEntry("block:b2", "2");
+	}
+
+	@Test
+	void partialEventWithoutStoredIndexLoadsWholePage() {
+		when(storyPageService.getBlockTexts(STORY_PLOT_ID)).thenReturn(Map.of("b1", "민수", "b2", "지영"));
+
+		publish(Map.of("b2", "지영"), Set.of("b2"), true);
+
+		verify(storyPageService).getBlockTexts(STORY_PLOT_ID);
+		assertThat(mergedCastIds()).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(storedHash).containsEntry("block:b1", "1").containsEntry("block:b2", "2");
+	}
+
+	@Test
+	void changedCastListRescansEveryBlock() {
+		storedHash.put("casts", CastAppearanceIndexer.fingerprint(List.of(MINSU)));
+		storedHash.put("block:b1", "");
+
+		publish(Map.of("b1", "지영"), Set.of(), false);
+
+		assertThat(mergedCastIds()).containsExactly(2L);
+		assertThat(storedHash).containsEntry("casts", CastAppearanceIndexer.fingerprint(List.of(MINSU, JIYOUNG)))
+			.containsEntry("block:b1", "2");
+	}
+
+	@Test
+	void fingerprintIgnoresCastOrderButNotNames() {
+		String fingerprint = CastAppearanceIndexer.fingerprint(List.of(MINSU, JIYOUNG));
+
+		assertThat(CastAppearanceIndexer.fingerprint(List.of(JIYOUNG, MINSU))).isEqualTo(fingerprint);
+		assertThat(CastAppearanceIndexer.fingerprint(List.of(MINSU, new CastingSummaryDto(2L, "지연", "female"))))
+			.isNotEqualTo(fingerprint)
+			.hasSize(64);
+	}
+
+	@Test
+	void repositoryFailureIsSwallowed() {
+		when(storyPlotNodeRepository.findAutoAppearedCastIds(STORY_PLOT_ID))
+			.thenThrow(new IllegalStateException("neo4j down"));
+
+		publish(Map.of("b1", "민수"), Set.of("b1"), false);
+
+		verify(storyPlotNodeRepository, never()).mergeAutoAppearedCastings(anyLong(), anyList());
+		assertThat(storedHash).isEmpty();
+	}
+
+	private void givenStoredIndex(Map<String, String> blockMentions) {
+		storedHash.put("casts", CastAppearanceIndexer.fingerprint(List.of(MINSU, JIYOUNG)));
+		blockMentions.forEach((blockId, mentions) -> storedHash.put("block:" + blockId, mentions));
+	}
+
+	private void publish(Map<String, String> blockTexts, Set<String> changedBlockIds, boolean partial) {
+		castAppearanceIndexer.onStoryPageChanged(
+			new StoryPageChangedEvent(STORY_PLOT_ID, PROJECT_ID, blockTexts, changedBlockIds, partial));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Long> mergedCastIds() {
+		ArgumentCaptor<List<Long>> captor = ArgumentCaptor.forClass(List.class);
+		verify(storyPlotNodeRepository).mergeAutoAppearedCastings(eq(STORY_PLOT_ID), captor.capture());
+		return captor.getValue();
+	}
+}
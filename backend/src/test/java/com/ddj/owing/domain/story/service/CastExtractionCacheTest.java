@@ -0,0 +1,113 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 캐시 키가 같은 입력에는 같고 결과를 바꿀 수 있는 입력에는 달라지는지, Redis 장애가 미스로 처리되는지 검사한다.
+ */
+class CastExtractionCacheTest {
+
+	private static final CastingSummaryDto MINSU = new CastingSummaryDto(1L, "민수", "male");
+	private static final CastingSummaryDto JIYOUNG = new CastingSummaryDto(2L, "지영", "female");
+
+	private StringRedisTemplate redisTemplate;
+	private ValueOperations<String, String> valueOperations;
+	private SimpleMeterRegistry meterRegistry;
+	private CastExtractionCache castExtractionCache;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		redisTemplate = mock(StringRedisTemplate.class);
+		valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		meterRegistry = new SimpleMeterRegistry();
+		castExtractionCache = cache("1", "gpt-4o-mini");
+	}
+
+	@Test
+	void keyIgnoresWhitespaceDifferences() {
+		String key = castExtractionCache.key("민수가  문을\n열었다.", List.of(MINSU), true);
+
+		assertThat(castExtractionCache.key("  민수가 문을\t열었다.\n", List.of(MINSU), true)).isEqualTo(key);
+	}
+
+	@Test
+	void keyIgnoresCastOrder() {
+		String key = castExtractionCache.key("원고", List.of(MINSU, JIYOUNG), true);
+
+		assertThat(castExtractionCache.key("원고", List.of(JIYOUNG, MINSU), true)).isEqualTo(key);
+	}
+
+	@Test
+	void keyChangesWithTextCastsAndMode() {
+		String key = castExtractionCache.key("원고", List.of(MINSU), true);
+
+		assertThat(castExtractionCache.key("다른 원고", List.of(MINSU), true)).isNotEqualTo(key);
+		assertThat(castExtractionCache.key("원고", List.of(MINSU, JIYOUNG), true)).isNotEqualTo(key);
+		assertThat(castExtractionCache.key("원고", List.of(MINSU), false)).isNotEqualTo(key);
+	}
+
+	@Test
+	void keyChangesWithPromptVersionAndModel() {
+		String key = castExtractionCache.key("원고", List.of(MINSU), true);
+
+		assertThat(cache("2", "gpt-4o-mini").key("원고", List.of(MINSU), true)).isNotEqualTo(key);
+		assertThat(cache("1", "gpt-4o").key("원고", List.of(MINSU), true)).isNotEqualTo(key);
+	}
+
+	@Test
+	void getReturnsCachedCasts() {
+		when(valueOperations.get("key")).thenReturn("[{\"id\":1,\"name\":\"민수\",\"gender\":\"male\"}]");
+
+		assertThat(castExtractionCache.get("key")).contains(List.of(MINSU));
+		assertThat(counter("hit")).isEqualTo(1);
+	}
+
+	@Test
+	void redisFailureOnGetIsMiss() {
+		when(valueOperations.get(anyString())).thenThrow(new QueryTimeoutException("timeout"));
+
+		assertThat(castExtractionCache.get("key")).isEmpty();
+		assertThat(counter("miss")).isEqualTo(1);
+		assertThat(counter("hit")).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void redisFailureOnPutIsIgnored() {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+			.thenThrow(new QueryTimeoutException("timeout"));
+
+		castExtractionCache.put("key", List.of(MINSU));
+	}
+
+	private CastExtractionCache cache(String promptVersion, String model) {
+		return new CastExtractionCache(redisTemplate, new ObjectMapper(), meterRegistry, promptVersion, model,
+			Duration.ofDays(1), 10000);
+	}
+
+	private double counter(String result) {
+		return meterRegistry.counter("story.cast.extract.cache", "result", result).count();
+	}
+}
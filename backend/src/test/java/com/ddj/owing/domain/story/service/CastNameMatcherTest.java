@@ -0,0 +1,90 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.casting.model.dto.casting.CastingSummaryDto;
+
+class CastNameMatcherTest {
+
+	@Test
+	void shorterNameInsideLongerNameIsNotCounted() {
+		CastingSummaryDto minsu = cast(1L, "민수");
+		CastingSummaryDto min = cast(2L, "민");
+
+		CastNameMatcher.Result result = CastNameMatcher.of(List.of(minsu, min)).match("민수가 문을 열었다.");
+
+		assertThat(result.definite()).containsExactly(minsu);
+		assertThat(result.ambiguous()).isEmpty();
+	}
+
+	@Test
+	void overlappingNamesKeepLeftmostLongestMatch() {
+		CastingSummaryDto kimMinsu = cast(1L, "Kim Minsu");
+		CastingSummaryDto minsuPark = cast(2L, "Minsu Park");
+
+		CastNameMatcher.Result result = CastNameMatcher.of(List.of(kimMinsu, minsuPark)).match("Kim Minsu Park");
+
+		assertThat(result.definite()).containsExactly(kimMinsu);
+		assertThat(result.ambiguous()).containsExactly(minsuPark);
+	}
+
+	@Test
+	void sharedNameIsAmbiguous() {
+		CastingSummaryDto first = cast(1L, "민수");
+		CastingSummaryDto second = cast(2L, "민수");
+
+		CastNameMatcher.Result result = CastNameMatcher.of(List.of(first, second)).match("민수는 웃었다.");
+
+		assertThat(result.definite()).isEmpty();
+		assertThat(result.ambiguous()).containsExactly(first, second);
+	}
+
+	@Test
+	void singleCharacterNameIsAmbiguous() {
+		CastingSummaryDto min = cast(1L, "민");
+
+		CastNameMatcher.Result result = CastNameMatcher.of(List.of(min)).match("민이 돌아왔다.");
+
+		assertThat(result.definite()).isEmpty();
+		assertThat(result.ambiguous()).containsExactly(min);
+	}
+
+	@Test
+	void partialMultiWordNameIsAmbiguous() {
+		CastingSummaryDto kimMinsu = cast(1L, "Kim Minsu");
+
+		CastNameMatcher.Result result = CastNameMatcher.of(List.of(kimMinsu)).match("Minsu left early.");
+
+		assertThat(result.definite()).isEmpty();
+		assertThat(result.ambiguous()).containsExactly(kimMinsu);
+	}
+
+	@Test
+	void latinNameMatchesOnlyAtWordBoundaries() {
+		CastingSummaryDto ann = cast(1L, "Ann");
+		CastingSummaryDto al = cast(2L, "Al");
+
+		CastNameMatcher matcher = CastNameMatcher.of(List.of(ann, al));
+
+		assertThat(matcher.match("The annual report was also late.").definite()).isEmpty();
+		assertThat(matcher.match("The annual report was also late.").ambiguous()).isEmpty();
+		assertThat(matcher.match("ANN's report, said Al.").definite()).containsExactly(ann, al);
+	}
+
+	@Test
+	void hangulNameMatchesWithAttachedParticle() {
+		CastingSummaryDto minsu = cast(1L, "민수");
+
+		CastNameMatcher.Result result = CastNameMatcher.of(List.of(minsu)).match("그날 민수에게 편지가 왔다.");
+
+		assertThat(result.definite()).containsExactly(minsu);
+	}
+
+	private static CastingSummaryDto cast(Long id, String name) {
+		return new CastingSummaryDto(id, name, null);
+	}
+}
@@ -0,0 +1,150 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotConflictCheckDto;
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotConflictDto;
+import com.ddj.owing.global.util.OpenAiUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+class StoryConflictCheckerTest {
+
+	private OpenAiUtil openAiUtil;
+	private SimpleMeterRegistry meterRegistry;
+	private StoryConflictChecker storyConflictChecker;
+
+	@BeforeEach
+	void setUp() {
+		openAiUtil = mock(OpenAiUtil.class);
+		when(openAiUtil.createPrompt(any(StoryPlotConflictCheckDto.class))).thenReturn(new Prompt("prompt"));
+		meterRegistry = new SimpleMeterRegistry();
+		storyConflictChecker = new StoryConflictChecker(openAiUtil, new ObjectMapper(), meterRegistry, 20, 5, 2);
+	}
+
+	@Test
+	void streamChecksEveryChunk() {
+		when(openAiUtil.streamStoryConflict(any())).thenReturn(Flux.empty());
+		String baseStory = "a".repeat(50);
+
+		storyConflictChecker.stream(baseStory, "target").collectList().block();
+
+		ArgumentCaptor<StoryPlotConflictCheckDto> captor = ArgumentCaptor.forClass(StoryPlotConflictCheckDto.class);
+		verify(openAiUtil, times(3)).createPrompt(captor.capture());
+		List<String> chunks = new ArrayList<>();
+		captor.getAllValues().forEach(dto -> chunks.add(dto.baseStory()));
+		assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(20));
+		verify(openAiUtil, times(3)).streamStoryConflict(any());
+	}
+
+	@Test
+	void streamDropsConflictsRepeatedAcrossChunks() {
+		when(openAiUtil.streamStoryConflict(any())).thenReturn(
+			Flux.just(new StoryPlotConflictDto("왕은 죽었다", "왕이 웃었다", "first")),
+			Flux.just(new StoryPlotConflictDto("왕은  죽었다", "왕이 웃었다 ", "second"),
+				new StoryPlotConflictDto("성은 무너졌다", "성에 들어갔다", "other")),
+			Flux.empty());
+
+		List<StoryPlotConflictDto> conflicts =
+			storyConflictChecker.stream("a".repeat(50), "target").collectList().block();
+
+		assertThat(conflicts).extracting(StoryPlotConflictDto::reason).containsExactly("first", "other");
+	}
+
+	@Test
+	void shortStoryIsStreamedAsOneChunk() {
+		when(openAiUtil.streamStoryConflict(any())).thenReturn(
+			Flux.just(new StoryPlotConflictDto("base", "add", "reason")));
+
+		List<StoryPlotConflictDto> conflicts = storyConflictChecker.stream("short", "target").collectList().block();
+
+		assertThat(conflicts).hasSize(1);
+		verify(openAiUtil, times(1)).streamStoryConflict(any());
+	}
+
+	@Test
+	void streamSubscribesAtMostMaxConcurrencyChunks() {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		when(openAiUtil.streamStoryConflict(any())).thenAnswer(invocation -> Flux.<StoryPlotConflictDto>empty()
+			.delaySubscription(Duration.ofMillis(20))
+			.doOnSubscribe(subscription -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+			.doFinally(signal -> active.decrementAndGet()));
+
+		storyConflictChecker.stream("a".repeat(200), "target").collectList().block();
+
+		verify(openAiUtil, times(13)).streamStoryConflict(any());
+		assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void checkCallsAtMostMaxConcurrencyChunks() {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		when(openAiUtil.checkStoryConflict(any())).thenAnswer(invocation -> {
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20);
+			} finally {
+				active.decrementAndGet();
+			}
+			return new ChatResponse(List.of(new Generation("[]")));
+		});
+
+		List<StoryPlotConflictDto> conflicts = storyConflictChecker.check("a".repeat(200), "target");
+
+		assertThat(conflicts).isEmpty();
+		verify(openAiUtil, times(13)).checkStoryConflict(any());
+		assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void streamRecordsChunkLatencyAndDroppedDuplicates() {
+		when(openAiUtil.streamStoryConflict(any())).thenReturn(
+			Flux.just(new StoryPlotConflictDto("왕은 죽었다", "왕이 웃었다", "first")),
+			Flux.just(new StoryPlotConflictDto("왕은 죽었다", "왕이 웃었다", "second")),
+			Flux.empty());
+
+		storyConflictChecker.stream("a".repeat(50), "target").collectList().block();
+
+		assertThat(meterRegistry.timer("story.conflict.check.latency", "stage", "stream-chunk").count()).isEqualTo(3);
+		assertThat(meterRegistry.timer("story.conflict.check.latency", "stage", "stream").count()).isEqualTo(1);
+		assertThat(meterRegistry.summary("story.conflict.check.chunks").totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.counter("story.conflict.check.duplicates").count()).isEqualTo(1);
+	}
+
+	@Test
+	void checkRecordsStageLatencyAndDroppedDuplicates() {
+		ChatResponse response = new ChatResponse(List.of(new Generation("""
+			[{"base": "왕은 죽었다", "add": "왕이 웃었다", "reason": "r"}]
+			""")));
+		when(openAiUtil.checkStoryConflict(any())).thenReturn(response);
+
+		List<StoryPlotConflictDto> conflicts = storyConflictChecker.check("a".repeat(50), "target");
+
+		assertThat(conflicts).hasSize(1);
+		assertThat(meterRegistry.timer("story.conflict.check.latency", "stage", "chunk").count()).isEqualTo(3);
+		assertThat(meterRegistry.timer("story.conflict.check.latency", "stage", "map").count()).isEqualTo(1);
+		assertThat(meterRegistry.timer("story.conflict.check.latency", "stage", "reduce").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("story.conflict.check.duplicates").count()).isEqualTo(2);
+	}
+}
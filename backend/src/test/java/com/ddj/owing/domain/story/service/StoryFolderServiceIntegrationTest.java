@@ -0,0 +1,103 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ddj.owing.domain.story.model.StoryFolder;
+import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.domain.story.model.dto.storyFolder.StoryFolderTreeDto;
+import com.ddj.owing.domain.story.model.dto.storyPlot.StoryPlotTreeDto;
+import com.ddj.owing.domain.story.repository.StoryFolderRepository;
+import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 사이드바 트리가 폴더 수와 무관하게 SQL 두 번으로 끝나고 엔티티를 읽지 않는지 Hibernate 통계로 검사한다.
+ */
+@ContainerIntegrationTest
+class StoryFolderServiceIntegrationTest {
+
+	private static final AtomicLong PROJECT_IDS = new AtomicLong(700_000_000L);
+
+	@Autowired
+	private StoryFolderService storyFolderService;
+
+	@Autowired
+	private StoryFolderRepository storyFolderRepository;
+
+	@Autowired
+	private StoryPlotRepository storyPlotRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void treeUsesTwoStatementsRegardlessOfFolderCount() {
+		Long projectId = PROJECT_IDS.incrementAndGet();
+		for (int folderIndex = 0; folderIndex < 30; folderIndex++) {
+			StoryFolder folder = saveFolder(projectId, "folder" + folderIndex, "a" + folderIndex);
+			for (int plotIndex = 0; plotIndex < 5; plotIndex++) {
+				savePlot(folder, "plot" + plotIndex, "a" + plotIndex);
+			}
+		}
+		statistics.clear();
+
+		List<StoryFolderTreeDto> tree = storyFolderService.getStoryFolderTree(projectId);
+
+		assertThat(tree).hasSize(30).allSatisfy(folder -> assertThat(folder.files()).hasSize(5));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void treeKeepsFolderAndPlotOrder() {
+		Long projectId = PROJECT_IDS.incrementAndGet();
+		StoryFolder first = saveFolder(projectId, "first", "a1");
+		StoryFolder second = saveFolder(projectId, "second", "a0");
+		StoryFolder empty = saveFolder(projectId, "empty", "a2");
+		StoryPlot a = savePlot(first, "a", "a1");
+		StoryPlot b = savePlot(first, "b", "a0");
+		StoryPlot c = savePlot(second, "c", "a0");
+
+		List<StoryFolderTreeDto> tree = storyFolderService.getStoryFolderTree(projectId);
+
+		assertThat(tree).extracting(StoryFolderTreeDto::id)
+			.containsExactly(second.getId(), first.getId(), empty.getId());
+		assertThat(tree.get(0).files()).extracting(StoryPlotTreeDto::id).containsExactly(c.getId());
+		assertThat(tree.get(1).files()).extracting(StoryPlotTreeDto::id).containsExactly(b.getId(), a.getId());
+		assertThat(tree.get(2).files()).isEmpty();
+	}
+
+	private StoryFolder saveFolder(Long projectId, String name, String orderKey) {
+		return storyFolderRepository.save(StoryFolder.builder()
+			.projectId(projectId)
+			.name(name)
+			.orderKey(orderKey)
+			.build());
+	}
+
+	private StoryPlot savePlot(StoryFolder folder, String name, String orderKey) {
+		return storyPlotRepository.save(StoryPlot.builder()
+			.storyFolder(folder)
+			.name(name)
+			.orderKey(orderKey)
+			.build());
+	}
+}
@@ -0,0 +1,124 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ddj.owing.domain.story.model.StoryFolder;
+import com.ddj.owing.domain.story.model.StoryPage;
+import com.ddj.owing.domain.story.model.StoryPagePatchType;
+import com.ddj.owing.domain.story.model.StoryPageStorageMode;
+import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.domain.story.model.dto.storyBlock.ContentDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPageBlockDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPagePatchDto;
+import com.ddj.owing.domain.story.model.dto.storyPage.StoryPagePatchOperationDto;
+import com.ddj.owing.domain.story.repository.StoryFolderRepository;
+import com.ddj.owing.domain.story.repository.StoryPageRepository;
+import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 블록 패치가 plain_text 를 비우고, 다음 본문 조회가 한 번만 다시 계산하여 저장하는지 실제 Postgres 에서 검사한다.
+ */
+@ContainerIntegrationTest
+class StoryPageServiceIntegrationTest {
+
+	private static final AtomicLong PROJECT_IDS = new AtomicLong(740_000_000L);
+
+	@Autowired
+	private StoryPageService storyPageService;
+
+	@Autowired
+	private StoryPageRepository storyPageRepository;
+
+	@Autowired
+	private StoryFolderRepository storyFolderRepository;
+
+	@Autowired
+	private StoryPlotRepository storyPlotRepository;
+
+	@Test
+	void documentPatchIsReflectedOnNextPlainTextRead() {
+		StoryPage page = savePage();
+
+		storyPageService.patchStoryPage(editPatch(page));
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).isEmpty();
+		assertThat(storyPageService.getPlainText(plotId(page))).isEqualTo("a\na1-edited\nx");
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).contains("a\na1-edited\nx");
+	}
+
+	@Test
+	void blocksPatchIsReflectedOnNextPlainTextRead() {
+		StoryPage page = savePage();
+		storyPageService.changeStorageMode(plotId(page), StoryPageStorageMode.BLOCKS);
+
+		storyPageService.patchStoryPage(editPatch(page));
+
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).isEmpty();
+		assertThat(storyPageService.getPlainText(plotId(page))).isEqualTo("a\na1-edited\nx");
+		assertThat(storyPageRepository.findPlainTextById(page.getId())).contains("a\na1-edited\nx");
+	}
+
+	@Test
+	void storedPlainTextIsReadWithoutRebuilding() {
+		StoryPage page = savePage();
+
+		assertThat(storyPageService.getPlainText(plotId(page))).isEqualTo("a\na1");
+	}
+
+	@Test
+	void missingPageHasEmptyPlainText() {
+		assertThat(storyPageService.getPlainText(Long.MAX_VALUE)).isEmpty();
+	}
+
+	/**
+	 * a1 의 본문을 바꾸고 a 뒤에 x 를 넣는다.
+	 */
+	private static StoryPagePatchDto editPatch(StoryPage page) {
+		return new StoryPagePatchDto(plotId(page), List.of(
+			new StoryPagePatchOperationDto(StoryPagePatchType.UPDATE, "a1", null, null,
+				StoryPageBlockDto.builder().content(List.of(text("a1-edited"))).build()),
+			new StoryPagePatchOperationDto(StoryPagePatchType.INSERT, null, null, "a", block("x"))));
+	}
+
+	private StoryPage savePage() {
+		StoryFolder folder = storyFolderRepository.save(StoryFolder.builder()
+			.projectId(PROJECT_IDS.incrementAndGet())
+			.name("folder")
+			.orderKey("a0")
+			.build());
+		StoryPlot plot = storyPlotRepository.save(StoryPlot.builder()
+			.storyFolder(folder)
+			.name("plot")
+			.orderKey("a0")
+			.build());
+		return storyPageRepository.save(StoryPage.builder()
+			.storyPlot(plot)
+			.blocks(List.of(block("a", block("a1")).toEntity()))
+			.storageMode(StoryPageStorageMode.DOCUMENT)
+			.build());
+	}
+
+	private static Long plotId(StoryPage page) {
+		return page.getStoryPlot().getId();
+	}
+
+	private static StoryPageBlockDto block(String id, StoryPageBlockDto... children) {
+		return StoryPageBlockDto.builder()
+			.id(id)
+			.type("paragraph")
+			.content(List.of(text(id)))
+			.children(List.of(children))
+			.build();
+	}
+
+	private static ContentDto text(String text) {
+		return ContentDto.builder().type("text").text(text).build();
+	}
+}
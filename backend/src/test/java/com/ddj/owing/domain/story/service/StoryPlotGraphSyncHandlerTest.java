@@ -0,0 +1,75 @@
+package com.ddj.owing.domain.story.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.project.error.code.ProjectErrorCode;
+import com.ddj.owing.domain.project.error.exception.ProjectException;
+import com.ddj.owing.domain.story.model.StoryFolder;
+import com.ddj.owing.domain.story.model.StoryPlot;
+import com.ddj.owing.domain.story.repository.StoryPlotNodeRepository;
+import com.ddj.owing.domain.story.repository.StoryPlotRepository;
+
+class StoryPlotGraphSyncHandlerTest {
+
+	private StoryPlotRepository storyPlotRepository;
+	private StoryPlotNodeRepository storyPlotNodeRepository;
+	private StoryPlotGraphSyncHandler storyPlotGraphSyncHandler;
+
+	@BeforeEach
+	void setUp() {
+		storyPlotRepository = mock(StoryPlotRepository.class);
+		storyPlotNodeRepository = mock(StoryPlotNodeRepository.class);
+		storyPlotGraphSyncHandler = new StoryPlotGraphSyncHandler(storyPlotRepository, storyPlotNodeRepository);
+	}
+
+	@Test
+	void upsertsNodeFromEntity() {
+		when(storyPlotRepository.findById(1L)).thenReturn(Optional.of(storyPlot(1L, 10L)));
+		when(storyPlotNodeRepository.upsertById(1L, "plot", 10L)).thenReturn(1);
+
+		storyPlotGraphSyncHandler.sync(1L);
+
+		verify(storyPlotNodeRepository).upsertById(1L, "plot", 10L);
+		verify(storyPlotNodeRepository, never()).softDeleteById(anyLong());
+	}
+
+	@Test
+	void failsWhenProjectNodeIsMissing() {
+		when(storyPlotRepository.findById(1L)).thenReturn(Optional.of(storyPlot(1L, 10L)));
+		when(storyPlotNodeRepository.upsertById(1L, "plot", 10L)).thenReturn(0);
+
+		assertThatThrownBy(() -> storyPlotGraphSyncHandler.sync(1L))
+			.isInstanceOfSatisfying(ProjectException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(ProjectErrorCode.PROJECT_NODE_NOT_FOUND));
+	}
+
+	@Test
+	void softDeletesNodeOfDeletedEntity() {
+		when(storyPlotRepository.findById(1L)).thenReturn(Optional.empty());
+
+		storyPlotGraphSyncHandler.sync(1L);
+
+		verify(storyPlotNodeRepository).softDeleteById(1L);
+	}
+
+	private static StoryPlot storyPlot(Long id, Long projectId) {
+		StoryFolder storyFolder = mock(StoryFolder.class);
+		when(storyFolder.getProjectId()).thenReturn(projectId);
+		StoryPlot storyPlot = mock(StoryPlot.class);
+		when(storyPlot.getId()).thenReturn(id);
+		when(storyPlot.getName()).thenReturn("plot");
+		when(storyPlot.getStoryFolder()).thenReturn(storyFolder);
+		return storyPlot;
+	}
+}
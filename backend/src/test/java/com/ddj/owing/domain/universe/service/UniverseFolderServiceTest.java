@@ -0,0 +1,56 @@
+package com.ddj.owing.domain.universe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.domain.universe.model.UniverseFolder;
+import com.ddj.owing.domain.universe.model.dto.UniverseFileListDto;
+import com.ddj.owing.domain.universe.model.dto.UniverseFileResponseDto;
+import com.ddj.owing.domain.universe.model.dto.UniverseFolderResponseDto;
+import com.ddj.owing.domain.universe.repository.UniverseFileRepository;
+import com.ddj.owing.domain.universe.repository.UniverseFolderRepository;
+
+/**
+ * 폴더 목록이 파일을 폴더마다 지연 로딩하지 않고 projection 한 번으로 채우는지 검사한다.
+ */
+class UniverseFolderServiceTest {
+
+	private static final Long PROJECT_ID = 1L;
+
+	@Test
+	void folderListReadsFilesWithOneProjection() {
+		UniverseFolderRepository universeFolderRepository = mock(UniverseFolderRepository.class);
+		UniverseFileRepository universeFileRepository = mock(UniverseFileRepository.class);
+		UniverseFolder first = folder(10L);
+		UniverseFolder empty = folder(20L);
+		when(universeFolderRepository.findByProjectId(PROJECT_ID)).thenReturn(List.of(first, empty));
+		when(universeFileRepository.findListByProjectId(PROJECT_ID)).thenReturn(List.of(
+			new UniverseFileListDto(10L, 1L, "왕국", "긴 설명", null),
+			new UniverseFileListDto(10L, 2L, "마법", "긴 설명", "https://image")
+		));
+		UniverseFolderService universeFolderService =
+			new UniverseFolderService(universeFolderRepository, universeFileRepository);
+
+		List<UniverseFolderResponseDto> folders = universeFolderService.getAllFolders(PROJECT_ID).getBody();
+
+		assertThat(folders).hasSize(2);
+		assertThat(folders.get(0).files()).extracting(UniverseFileResponseDto::id).containsExactly(1L, 2L);
+		assertThat(folders.get(1).files()).isEmpty();
+		verify(first, never()).getUniverseFiles();
+		verify(empty, never()).getUniverseFiles();
+	}
+
+	private UniverseFolder folder(Long id) {
+		UniverseFolder folder = mock(UniverseFolder.class);
+		when(folder.getId()).thenReturn(id);
+		when(folder.getName()).thenReturn("folder" + id);
+		return folder;
+	}
+}
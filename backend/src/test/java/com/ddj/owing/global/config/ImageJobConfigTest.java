@@ -0,0 +1,139 @@
+package com.ddj.owing.global.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 가상 스레드 모드에서도 이미지 작업 실행기의 동시 실행 수와 대기 작업 수 제한이 유지되는지 검사한다.
+ */
+class ImageJobConfigTest {
+
+	private final ImageJobConfig imageJobConfig = new ImageJobConfig();
+
+	@Test
+	void virtualModeRunsJobsOnVirtualThreads() throws Exception {
+		assertThat(runsOnVirtualThread(true)).isTrue();
+	}
+
+	@Test
+	void platformModeRunsJobsOnPlatformThreads() throws Exception {
+		assertThat(runsOnVirtualThread(false)).isFalse();
+	}
+
+	@Test
+	void virtualModeUsesThreadPerTaskExecutor() {
+		AsyncTaskExecutor executor = imageJobConfig.imageJobExecutor(2, 0, true);
+		try {
+			assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class)
+				.isNotInstanceOf(ThreadPoolTaskExecutor.class);
+		} finally {
+			shutdown(executor);
+		}
+	}
+
+	@Test
+	void virtualModeRejectsWhenPoolAndQueueAreFull() throws Exception {
+		AsyncTaskExecutor executor = start(imageJobConfig.imageJobExecutor(2, 1, true));
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch finish = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 3; i++) {
+				executor.execute(() -> {
+					started.countDown();
+					await(finish);
+				});
+			}
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> executor.execute(() -> {
+			})).isInstanceOf(TaskRejectedException.class);
+		} finally {
+			finish.countDown();
+			shutdown(executor);
+		}
+	}
+
+	@Test
+	void virtualModeKeepsPoolSizeLimit() throws Exception {
+		AsyncTaskExecutor executor = start(imageJobConfig.imageJobExecutor(2, 8, true));
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(10);
+		try {
+			for (int i = 0; i < 10; i++) {
+				executor.execute(() -> {
+					maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+					sleep(20);
+					active.decrementAndGet();
+					done.countDown();
+				});
+			}
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(maxActive.get()).isEqualTo(2);
+		} finally {
+			shutdown(executor);
+		}
+	}
+
+	@Test
+	void virtualModeAdmitsAgainAfterJobsFinish() throws Exception {
+		AsyncTaskExecutor executor = start(imageJobConfig.imageJobExecutor(1, 0, true));
+		try {
+			assertThat(executor.submit(() -> 1).get(5, TimeUnit.SECONDS)).isEqualTo(1);
+			assertThat(executor.submit(() -> 2).get(5, TimeUnit.SECONDS)).isEqualTo(2);
+		} finally {
+			shutdown(executor);
+		}
+	}
+
+	private boolean runsOnVirtualThread(boolean virtualThreads) throws Exception {
+		AsyncTaskExecutor executor = start(imageJobConfig.imageJobExecutor(1, 1, virtualThreads));
+		try {
+			return executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+		} finally {
+			shutdown(executor);
+		}
+	}
+
+	private static AsyncTaskExecutor start(AsyncTaskExecutor executor) {
+		if (executor instanceof ThreadPoolTaskExecutor pool) {
+			pool.initialize();
+		}
+		return executor;
+	}
+
+	private static void shutdown(AsyncTaskExecutor executor) {
+		if (executor instanceof ThreadPoolTaskExecutor pool) {
+			pool.shutdown();
+		} else if (executor instanceof SimpleAsyncTaskExecutor simple) {
+			simple.close();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
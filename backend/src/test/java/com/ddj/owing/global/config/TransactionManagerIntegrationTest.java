@@ -0,0 +1,225 @@
+package com.ddj.owing.global.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.domain.casting.model.Position;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.domain.casting.service.CastingCoordWriter;
+import com.ddj.owing.global.outbox.GraphAggregateType;
+import com.ddj.owing.global.outbox.GraphOutboxPublisher;
+import com.ddj.owing.global.outbox.GraphOutboxRepository;
+import com.ddj.owing.global.outbox.GraphOutboxStatus;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 실제 Postgres, Neo4j 위에서 트랜잭션 매니저 연결과 저장소별 커밋 횟수를 검사한다.
+ * 커밋 횟수는 각 매니저에 붙인 리스너로 세므로, 새 트랜잭션을 연 경우만 집계된다.
+ */
+@ContainerIntegrationTest
+class TransactionManagerIntegrationTest {
+
+	private static final AtomicLong IDS = new AtomicLong(900_000_000L);
+
+	@Autowired
+	private PlatformTransactionManager primaryTransactionManager;
+
+	@Autowired
+	@Qualifier(JpaTransactionConfig.JPA_TRANSACTION_MANAGER)
+	private ConfigurableTransactionManager jpaTransactionManager;
+
+	@Autowired
+	@Qualifier(Neo4jConfiguration.NEO4J_TRANSACTION_MANAGER)
+	private ConfigurableTransactionManager neo4jTransactionManager;
+
+	@SpyBean
+	private CastingNodeRepository castingNodeRepository;
+
+	@Autowired
+	private GraphOutboxRepository graphOutboxRepository;
+
+	@Autowired
+	private GraphOutboxPublisher graphOutboxPublisher;
+
+	@Autowired
+	private CastingCoordWriter castingCoordWriter;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	private final TransactionCounter jpaTransactions = new TransactionCounter();
+	private final TransactionCounter neo4jTransactions = new TransactionCounter();
+
+	@BeforeEach
+	void setUp() {
+		jpaTransactionManager.addListener(jpaTransactions);
+		neo4jTransactionManager.addListener(neo4jTransactions);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jpaTransactionManager.getTransactionExecutionListeners().remove(jpaTransactions);
+		neo4jTransactionManager.getTransactionExecutionListeners().remove(neo4jTransactions);
+	}
+
+	@Test
+	void jpaTransactionManagerIsPrimary() {
+		assertThat(primaryTransactionManager)
+			.isSameAs(jpaTransactionManager)
+			.isInstanceOf(JpaTransactionManager.class);
+	}
+
+	@Test
+	void repositoriesCommitOnTheirOwnTransactionManager() {
+		graphOutboxRepository.count();
+
+		assertThat(jpaTransactions.commits).hasValue(1);
+		assertThat(neo4jTransactions.commits).hasValue(0);
+
+		castingNodeRepository.count();
+
+		assertThat(jpaTransactions.commits).hasValue(1);
+		assertThat(neo4jTransactions.commits).hasValue(1);
+	}
+
+	@Test
+	void coordWriteCommitsOnceOnEachStore() {
+		long projectId = IDS.incrementAndGet();
+		long castingId = IDS.incrementAndGet();
+		createCastNodes(projectId, List.of(castingId));
+
+		castingCoordWriter.write(Map.of(castingId, new Position(10, 20)));
+
+		assertThat(jpaTransactions.commits).hasValue(1);
+		assertThat(neo4jTransactions.commits).hasValue(1);
+		assertThat(findCastPosition(castingId)).isEqualTo(new Position(10, 20));
+	}
+
+	@Test
+	void rolledBackTransactionsUnderLoadWriteNothingToEitherStore() throws Exception {
+		int taskCount = 32;
+		long projectId = IDS.incrementAndGet();
+		List<Long> castingIds = LongStream.range(0, taskCount).map(i -> IDS.incrementAndGet()).boxed().toList();
+		createCastNodes(projectId, castingIds);
+
+		TransactionTemplate jpaTemplate = new TransactionTemplate((PlatformTransactionManager)jpaTransactionManager);
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int i = 0; i < taskCount; i++) {
+			Long castingId = castingIds.get(i);
+			boolean rollback = i % 2 == 1;
+			tasks.add(() -> {
+				jpaTemplate.executeWithoutResult(status -> {
+					graphOutboxPublisher.publish(GraphAggregateType.CASTING, castingId);
+					castingCoordWriter.writeNodes(Map.of(castingId, new Position(1, 1)));
+					if (rollback) {
+						status.setRollbackOnly();
+					}
+				});
+				return null;
+			});
+		}
+		try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		}
+
+		assertThat(jpaTransactions.commits).hasValue(taskCount / 2);
+		assertThat(jpaTransactions.rollbacks).hasValue(taskCount / 2);
+		assertThat(neo4jTransactions.commits).hasValue(taskCount / 2);
+		assertThat(neo4jTransactions.rollbacks).hasValue(0);
+
+		List<Long> committedIds = new ArrayList<>();
+		List<Long> rolledBackIds = new ArrayList<>();
+		for (int i = 0; i < taskCount; i++) {
+			(i % 2 == 1 ? rolledBackIds : committedIds).add(castingIds.get(i));
+		}
+		assertThat(graphOutboxRepository.findAggregateIds(GraphAggregateType.CASTING, GraphOutboxStatus.PENDING,
+			castingIds)).containsExactlyInAnyOrderElementsOf(committedIds);
+		committedIds.forEach(id -> assertThat(findCastPosition(id)).isEqualTo(new Position(1, 1)));
+		rolledBackIds.forEach(id -> assertThat(findCastPosition(id)).isEqualTo(new Position(0, 0)));
+	}
+
+	@Test
+	void failedNeo4jWriteAfterCommitFallsBackToOutbox() {
+		long projectId = IDS.incrementAndGet();
+		long castingId = IDS.incrementAndGet();
+		createCastNodes(projectId, List.of(castingId));
+		doThrow(new TransientDataAccessResourceException("neo4j unavailable"))
+			.when(castingNodeRepository).updateCoords(anyList());
+
+		castingCoordWriter.write(Map.of(castingId, new Position(10, 20)));
+
+		assertThat(jpaTransactions.commits).hasValue(2);
+		assertThat(neo4jTransactions.commits).hasValue(0);
+		assertThat(neo4jTransactions.rollbacks).hasValue(1);
+		assertThat(graphOutboxRepository.findAggregateIds(GraphAggregateType.CASTING, GraphOutboxStatus.PENDING,
+			List.of(castingId))).containsExactly(castingId);
+		assertThat(findCastPosition(castingId)).isEqualTo(new Position(0, 0));
+	}
+
+	private void createCastNodes(long projectId, List<Long> castingIds) {
+		neo4jClient.query("MERGE (p:Project {id: $projectId}) "
+				+ "WITH p UNWIND $castingIds AS castingId "
+				+ "CREATE (p)-[:INCLUDED]->(:Cast {id: castingId, coordX: 0, coordY: 0})")
+			.bind(projectId).to("projectId")
+			.bind(castingIds).to("castingIds")
+			.run();
+	}
+
+	private Position findCastPosition(long castingId) {
+		return neo4jClient.query("MATCH (c:Cast {id: $castingId}) RETURN c.coordX AS x, c.coordY AS y")
+			.bind(castingId).to("castingId")
+			.fetchAs(Position.class)
+			.mappedBy((typeSystem, record) -> new Position(record.get("x").asInt(), record.get("y").asInt()))
+			.one()
+			.orElseThrow();
+	}
+
+	private static class TransactionCounter implements TransactionExecutionListener {
+
+		private final AtomicInteger commits = new AtomicInteger();
+		private final AtomicInteger rollbacks = new AtomicInteger();
+
+		@Override
+		public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+			if (commitFailure == null) {
+				commits.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+			if (rollbackFailure == null) {
+				rollbacks.incrementAndGet();
+			}
+		}
+	}
+}
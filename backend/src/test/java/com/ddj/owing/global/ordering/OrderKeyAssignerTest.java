@@ -0,0 +1,89 @@
+package com.ddj.owing.global.ordering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ddj.owing.global.error.exception.OrderKeyException;
+
+class OrderKeyAssignerTest {
+
+	private static final Long FOLDER_ID = 3L;
+	private static final Long MOVING_ID = 10L;
+
+	private JdbcTemplate jdbcTemplate;
+	private OrderKeyRebalancer orderKeyRebalancer;
+	private OrderKeyAssigner orderKeyAssigner;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		orderKeyRebalancer = mock(OrderKeyRebalancer.class);
+		orderKeyAssigner = new OrderKeyAssigner(jdbcTemplate, orderKeyRebalancer, mock(OrderSequenceAllocator.class));
+	}
+
+	@Test
+	void keyIsBetweenNeighbours() {
+		givenNeighbours(List.of("a1", "a2"));
+
+		String key = orderKeyAssigner.at(OrderedTable.STORY_PLOT, MOVING_ID, 2, FOLDER_ID).orElseThrow();
+
+		assertThat(key).isGreaterThan("a1").isLessThan("a2");
+		verify(orderKeyRebalancer, never()).rebalance(any(), any(Object[].class));
+	}
+
+	@Test
+	void rebalancesWhenNeighbourHasNoKey() {
+		givenNeighbours(Arrays.asList(null, "a1"), List.of("a0", "a1"));
+
+		String key = orderKeyAssigner.at(OrderedTable.STORY_PLOT, MOVING_ID, 1, FOLDER_ID).orElseThrow();
+
+		assertThat(key).isGreaterThan("a0").isLessThan("a1");
+		verify(orderKeyRebalancer).rebalance(OrderedTable.STORY_PLOT, FOLDER_ID);
+	}
+
+	@Test
+	void failsWhenNeighbourStillHasNoKeyAfterRebalance() {
+		givenNeighbours(Arrays.asList(null, null));
+
+		assertThatThrownBy(() -> orderKeyAssigner.at(OrderedTable.STORY_PLOT, MOVING_ID, 1, FOLDER_ID))
+			.isInstanceOf(OrderKeyException.class);
+		verify(orderKeyRebalancer, times(3)).rebalance(OrderedTable.STORY_PLOT, FOLDER_ID);
+	}
+
+	@Test
+	void failsWhenFirstRowStillHasNoKeyAfterRebalance() {
+		givenNeighbours(Arrays.asList((String)null));
+
+		assertThatThrownBy(() -> orderKeyAssigner.at(OrderedTable.STORY_PLOT, MOVING_ID, 0, FOLDER_ID))
+			.isInstanceOf(OrderKeyException.class);
+	}
+
+	@Test
+	void failsWhenNeighbourKeysStillCollideAfterRebalance() {
+		givenNeighbours(List.of("a1", "a1"));
+
+		assertThatThrownBy(() -> orderKeyAssigner.at(OrderedTable.STORY_PLOT, MOVING_ID, 1, FOLDER_ID))
+			.isInstanceOf(OrderKeyException.class);
+	}
+
+	@SafeVarargs
+	private void givenNeighbours(List<String> first, List<String>... next) {
+		when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+			.thenReturn(first, next);
+	}
+}
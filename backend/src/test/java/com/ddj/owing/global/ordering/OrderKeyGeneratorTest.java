@@ -0,0 +1,116 @@
+package com.ddj.owing.global.ordering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OrderKeyGeneratorTest {
+
+	@Test
+	void firstKeyIsIntegerZero() {
+		assertThat(OrderKeyGenerator.between(null, null)).isEqualTo("a0");
+	}
+
+	@Test
+	void sequenceMatchesOfInteger() {
+		List<String> keys = OrderKeyGenerator.sequence(5000);
+
+		for (int i = 0; i < keys.size(); i++) {
+			assertThat(keys.get(i)).isEqualTo(OrderKeyGenerator.ofInteger(i));
+		}
+		assertThat(keys).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void ofIntegerKeepsOrderAcrossLengthBoundaries() {
+		assertThat(OrderKeyGenerator.ofInteger(61)).isEqualTo("az");
+		assertThat(OrderKeyGenerator.ofInteger(62)).isEqualTo("b00");
+		assertThat(OrderKeyGenerator.ofInteger(3905)).isEqualTo("bzz");
+		assertThat(OrderKeyGenerator.ofInteger(3906)).isEqualTo("c000");
+		assertThat(OrderKeyGenerator.ofInteger(61)).isLessThan(OrderKeyGenerator.ofInteger(62));
+		assertThat(OrderKeyGenerator.ofInteger(3905)).isLessThan(OrderKeyGenerator.ofInteger(3906));
+	}
+
+	@Test
+	void integerValueReversesOfInteger() {
+		for (long value : new long[] {0, 1, 61, 62, 3905, 3906, 1L << 40, Long.MAX_VALUE}) {
+			assertThat(OrderKeyGenerator.integerValue(OrderKeyGenerator.ofInteger(value))).isEqualTo(value);
+		}
+	}
+
+	@Test
+	void integerValueIgnoresFraction() {
+		String key = OrderKeyGenerator.between("a5", "a6");
+
+		assertThat(OrderKeyGenerator.integerValue(key)).isEqualTo(5);
+	}
+
+	@Test
+	void keysBeforeZeroHaveNegativeIntegerValue() {
+		String key = OrderKeyGenerator.between(null, "a0");
+
+		assertThat(key).isLessThan("a0");
+		assertThat(OrderKeyGenerator.integerValue(key)).isEqualTo(-1);
+	}
+
+	@Test
+	void ofIntegerRejectsNegativeValue() {
+		assertThatThrownBy(() -> OrderKeyGenerator.ofInteger(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void betweenRejectsReversedBounds() {
+		assertThatThrownBy(() -> OrderKeyGenerator.between("a1", "a0"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> OrderKeyGenerator.between("a1", "a1"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void betweenRejectsTrailingZero() {
+		assertThatThrownBy(() -> OrderKeyGenerator.between("a0V0", null))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void repeatedBisectionStaysBetweenBounds() {
+		String before = "a0";
+		String after = "a1";
+		for (int i = 0; i < 50; i++) {
+			String key = OrderKeyGenerator.between(before, after);
+
+			assertThat(key).isGreaterThan(before).isLessThan(after);
+			after = key;
+		}
+	}
+
+	@Test
+	void repeatedInsertAtFrontStaysOrdered() {
+		String first = "a0";
+		for (int i = 0; i < 1000; i++) {
+			String key = OrderKeyGenerator.between(null, first);
+
+			assertThat(key).isLessThan(first);
+			first = key;
+		}
+	}
+
+	@Test
+	void randomInsertionsKeepListSorted() {
+		Random random = new Random(1);
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			int index = random.nextInt(keys.size() + 1);
+			String before = index == 0 ? null : keys.get(index - 1);
+			String after = index == keys.size() ? null : keys.get(index);
+			keys.add(index, OrderKeyGenerator.between(before, after));
+		}
+
+		assertThat(keys).isSorted().doesNotHaveDuplicates();
+	}
+}
@@ -0,0 +1,181 @@
+package com.ddj.owing.global.ordering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 실제 Redis 에서 EXISTS, SET NX, advance 스크립트를 실행하여 발급 순서와 유일성을 검사한다.
+ * DB 의 마지막 키는 목으로 고정하여 카운터 초기화 시점만 확인한다.
+ */
+@ContainerIntegrationTest
+class OrderSequenceAllocatorIntegrationTest {
+
+	private static final AtomicLong IDS = new AtomicLong(910_000_000L);
+	private static final long LAST_INTEGER = 41;
+	private static final Duration TTL = Duration.ofDays(1);
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	private JdbcTemplate jdbcTemplate;
+	private OrderSequenceAllocator orderSequenceAllocator;
+	private ExecutorService executorService;
+	private Long folderId;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+			.thenReturn(OrderKeyGenerator.ofInteger(LAST_INTEGER));
+		orderSequenceAllocator = new OrderSequenceAllocator(redisTemplate, jdbcTemplate, TTL);
+		executorService = Executors.newFixedThreadPool(8);
+		folderId = IDS.incrementAndGet();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void firstKeyFollowsLastStoredKeyAndSetsTtl() {
+		String key = orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		assertThat(key).isEqualTo(OrderKeyGenerator.ofInteger(LAST_INTEGER + 1));
+		assertThat(redisTemplate.opsForValue().get(counterKey(folderId))).isEqualTo(String.valueOf(LAST_INTEGER + 1));
+		assertThat(redisTemplate.getExpire(counterKey(folderId), TimeUnit.SECONDS))
+			.isPositive()
+			.isLessThanOrEqualTo(TTL.toSeconds());
+	}
+
+	@Test
+	void existingCounterIsIncrementedWithoutReadingDatabase() {
+		orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		String key = orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		assertThat(key).isEqualTo(OrderKeyGenerator.ofInteger(LAST_INTEGER + 2));
+		verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(String.class), any(Object[].class));
+	}
+
+	@Test
+	void seedKeepsCounterInitializedByAnotherRequest() {
+		redisTemplate.opsForValue().set(counterKey(folderId), "100");
+
+		String key = orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		assertThat(key).isEqualTo(OrderKeyGenerator.ofInteger(101));
+	}
+
+	@Test
+	void concurrentNextIssuesUniqueKeys() throws Exception {
+		int threads = 8;
+		int perThread = 500;
+		Queue<String> keys = new ConcurrentLinkedQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(executorService.submit(() -> {
+				start.await();
+				for (int j = 0; j < perThread; j++) {
+					keys.add(orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId));
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+
+		assertThat(keys).hasSize(threads * perThread).doesNotHaveDuplicates();
+		assertThat(keys.stream().mapToLong(OrderKeyGenerator::integerValue).sorted().toArray())
+			.containsExactly(LongStream.rangeClosed(LAST_INTEGER + 1, LAST_INTEGER + threads * perThread).toArray());
+	}
+
+	@Test
+	void groupsHaveSeparateCounters() {
+		Long otherFolderId = IDS.incrementAndGet();
+		orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		String key = orderSequenceAllocator.next(OrderedTable.STORY_PLOT, otherFolderId);
+
+		assertThat(key).isEqualTo(OrderKeyGenerator.ofInteger(LAST_INTEGER + 1));
+	}
+
+	@Test
+	void advanceMovesCounterPastReorderedKeysAndKeepsTtl() {
+		orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		orderSequenceAllocator.advance(OrderedTable.STORY_PLOT, OrderKeyGenerator.ofInteger(100), folderId);
+
+		assertThat(redisTemplate.getExpire(counterKey(folderId), TimeUnit.SECONDS)).isPositive();
+		assertThat(orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId))
+			.isEqualTo(OrderKeyGenerator.ofInteger(101));
+	}
+
+	@Test
+	void advanceNeverMovesCounterBackwards() {
+		redisTemplate.opsForValue().set(counterKey(folderId), "200");
+
+		orderSequenceAllocator.advance(OrderedTable.STORY_PLOT, OrderKeyGenerator.ofInteger(100), folderId);
+
+		assertThat(redisTemplate.opsForValue().get(counterKey(folderId))).isEqualTo("200");
+	}
+
+	@Test
+	void advanceWithoutCounterLeavesSeedingToNextAllocation() {
+		orderSequenceAllocator.advance(OrderedTable.STORY_PLOT, OrderKeyGenerator.ofInteger(100), folderId);
+
+		assertThat(redisTemplate.hasKey(counterKey(folderId))).isFalse();
+		assertThat(orderSequenceAllocator.next(OrderedTable.STORY_PLOT, folderId))
+			.isEqualTo(OrderKeyGenerator.ofInteger(LAST_INTEGER + 1));
+	}
+
+	@Test
+	void fallsBackToLastStoredKeyWhenRedisFails() {
+		StringRedisTemplate failingRedisTemplate = mock(StringRedisTemplate.class);
+		when(failingRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+			.thenThrow(new RedisConnectionFailureException("redis down"));
+		OrderSequenceAllocator allocator = new OrderSequenceAllocator(failingRedisTemplate, jdbcTemplate, TTL);
+
+		String key = allocator.next(OrderedTable.STORY_PLOT, folderId);
+
+		assertThat(key).isGreaterThan(OrderKeyGenerator.ofInteger(LAST_INTEGER));
+	}
+
+	private static String counterKey(Long folderId) {
+		return "ordering:seq:story_plot:" + folderId;
+	}
+}
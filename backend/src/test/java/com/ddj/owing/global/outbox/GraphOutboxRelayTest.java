@@ -0,0 +1,171 @@
+package com.ddj.owing.global.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 저장소와 핸들러를 목으로 두고 릴레이의 잠금, 순서, 재시도 규칙을 검사한다.
+ */
+class GraphOutboxRelayTest {
+
+	private static final int BATCH_SIZE = 3;
+	private static final int MAX_ATTEMPTS = 3;
+	private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+	private GraphOutboxRepository graphOutboxRepository;
+	private GraphSyncHandler projectHandler;
+	private GraphSyncHandler storyPlotHandler;
+	private GraphSyncHandler castingHandler;
+	private MeterRegistry meterRegistry;
+	private GraphOutboxRelay graphOutboxRelay;
+	private long nextOutboxId;
+
+	@BeforeEach
+	void setUp() {
+		graphOutboxRepository = mock(GraphOutboxRepository.class);
+		projectHandler = handler(GraphAggregateType.PROJECT);
+		storyPlotHandler = handler(GraphAggregateType.STORY_PLOT);
+		castingHandler = handler(GraphAggregateType.CASTING);
+		meterRegistry = new SimpleMeterRegistry();
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		graphOutboxRelay = new GraphOutboxRelay(graphOutboxRepository,
+			List.of(projectHandler, storyPlotHandler, castingHandler), transactionManager, meterRegistry,
+			BATCH_SIZE, MAX_ATTEMPTS, INITIAL_BACKOFF, Duration.ofMinutes(5));
+		nextOutboxId = 1;
+		when(graphOutboxRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+	}
+
+	@Test
+	void skipsWhenAnotherInstanceHoldsTheLock() {
+		when(graphOutboxRepository.tryAdvisoryLock(anyLong())).thenReturn(false);
+
+		graphOutboxRelay.relayPeriodically();
+
+		verify(graphOutboxRepository, never()).findByStatusAndNextAttemptAtLessThanEqualOrderById(any(), any(), any());
+		verify(projectHandler, never()).sync(anyLong());
+		verify(storyPlotHandler, never()).sync(anyLong());
+		verify(castingHandler, never()).sync(anyLong());
+		verify(graphOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+	}
+
+	@Test
+	void syncsEachAggregateOnceInFirstChangeOrder() {
+		GraphOutbox castingChange = outbox(GraphAggregateType.CASTING, 7L);
+		GraphOutbox projectChange = outbox(GraphAggregateType.PROJECT, 3L);
+		GraphOutbox castingChangeAgain = outbox(GraphAggregateType.CASTING, 7L);
+		givenBatches(List.of(castingChange, projectChange, castingChangeAgain));
+
+		graphOutboxRelay.relayPeriodically();
+
+		InOrder inOrder = inOrder(castingHandler, projectHandler);
+		inOrder.verify(castingHandler).sync(7L);
+		inOrder.verify(projectHandler).sync(3L);
+		verify(castingHandler, times(1)).sync(7L);
+		verify(graphOutboxRepository).deleteAllByIdInBatch(
+			List.of(castingChange.getId(), castingChangeAgain.getId(), projectChange.getId()));
+		assertThat(meterRegistry.counter("graph.outbox.relayed", "aggregate", "CASTING").count()).isEqualTo(2);
+	}
+
+	@Test
+	void keepsFailedAggregateForRetryWithBackoff() {
+		GraphOutbox failedChange = outbox(GraphAggregateType.STORY_PLOT, 5L);
+		GraphOutbox relayedChange = outbox(GraphAggregateType.PROJECT, 3L);
+		givenBatches(List.of(failedChange, relayedChange));
+		doThrow(new TransientDataAccessResourceException("neo4j unavailable")).when(storyPlotHandler).sync(5L);
+		LocalDateTime before = LocalDateTime.now();
+
+		graphOutboxRelay.relayPeriodically();
+
+		assertThat(failedChange.getStatus()).isEqualTo(GraphOutboxStatus.PENDING);
+		assertThat(failedChange.getAttempts()).isEqualTo(1);
+		assertThat(failedChange.getLastError()).isEqualTo("neo4j unavailable");
+		assertThat(failedChange.getNextAttemptAt())
+			.isAfterOrEqualTo(before.plus(INITIAL_BACKOFF.dividedBy(2)))
+			.isBeforeOrEqualTo(LocalDateTime.now().plus(INITIAL_BACKOFF));
+		verify(graphOutboxRepository).deleteAllByIdInBatch(List.of(relayedChange.getId()));
+		assertThat(meterRegistry.counter("graph.outbox.retry", "aggregate", "STORY_PLOT").count()).isEqualTo(1);
+	}
+
+	@Test
+	void marksAggregateFailedAfterMaxAttempts() {
+		GraphOutbox change = outbox(GraphAggregateType.CASTING, 7L);
+		for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+			change.retryAt(LocalDateTime.now().minusSeconds(1), "previous failure");
+		}
+		givenBatches(List.of(change));
+		doThrow(new TransientDataAccessResourceException("neo4j unavailable")).when(castingHandler).sync(7L);
+
+		graphOutboxRelay.relayPeriodically();
+
+		assertThat(change.getStatus()).isEqualTo(GraphOutboxStatus.FAILED);
+		assertThat(change.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+		verify(graphOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+		assertThat(meterRegistry.counter("graph.outbox.failed", "aggregate", "CASTING").count()).isEqualTo(1);
+	}
+
+	@Test
+	void keepsFetchingWhileBatchesAreFull() {
+		List<GraphOutbox> fullBatch = IntStream.range(0, BATCH_SIZE)
+			.mapToObj(i -> outbox(GraphAggregateType.PROJECT, (long)i))
+			.toList();
+		GraphOutbox lastChange = outbox(GraphAggregateType.PROJECT, 100L);
+		givenBatches(fullBatch, List.of(lastChange));
+
+		graphOutboxRelay.relayPeriodically();
+
+		verify(graphOutboxRepository, times(2)).findByStatusAndNextAttemptAtLessThanEqualOrderById(
+			eq(GraphOutboxStatus.PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)));
+		verify(projectHandler).sync(100L);
+		verify(graphOutboxRepository).deleteAllByIdInBatch(List.of(lastChange.getId()));
+	}
+
+	@SafeVarargs
+	private void givenBatches(List<GraphOutbox> first, List<GraphOutbox>... next) {
+		List<List<GraphOutbox>> rest = new ArrayList<>(List.of(next));
+		rest.add(List.of());
+		when(graphOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderById(
+			eq(GraphOutboxStatus.PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+			.thenReturn(first, rest.toArray(List[]::new));
+	}
+
+	private GraphOutbox outbox(GraphAggregateType aggregateType, Long aggregateId) {
+		GraphOutbox outbox = new GraphOutbox(aggregateType, aggregateId);
+		ReflectionTestUtils.setField(outbox, "id", nextOutboxId++);
+		return outbox;
+	}
+
+	private static GraphSyncHandler handler(GraphAggregateType aggregateType) {
+		GraphSyncHandler handler = mock(GraphSyncHandler.class);
+		when(handler.aggregateType()).thenReturn(aggregateType);
+		return handler;
+	}
+}
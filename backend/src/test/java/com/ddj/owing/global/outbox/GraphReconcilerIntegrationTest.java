@@ -0,0 +1,102 @@
+package com.ddj.owing.global.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ddj.owing.global.config.JpaTransactionConfig;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 페이지 크기를 2 로 줄여, 중복 노드가 페이지 경계에 걸쳐도 다음 페이지에서 빠지지 않는지 실제 두 저장소로 검사한다.
+ * 검사 결과가 다른 테스트의 데이터에 흔들리지 않도록 프로젝트 행과 노드를 비우고 시작한다.
+ */
+@ContainerIntegrationTest
+class GraphReconcilerIntegrationTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@Autowired
+	private GraphOutboxRepository graphOutboxRepository;
+
+	@Autowired
+	private GraphOutboxPublisher graphOutboxPublisher;
+
+	@Autowired
+	@Qualifier(JpaTransactionConfig.JPA_TRANSACTION_MANAGER)
+	private PlatformTransactionManager jpaTransactionManager;
+
+	private GraphReconciler graphReconciler;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("DELETE FROM project");
+		jdbcTemplate.update("DELETE FROM graph_outbox WHERE aggregate_type = 'PROJECT'");
+		neo4jClient.query("MATCH (n:Project) DETACH DELETE n").run();
+		graphReconciler = new GraphReconciler(jdbcTemplate, neo4jClient, graphOutboxRepository,
+			graphOutboxPublisher, jpaTransactionManager, new SimpleMeterRegistry(), 2, 100, false);
+	}
+
+	@Test
+	void keepsDuplicateNodesTogetherAcrossPageBoundary() {
+		insertRows(Map.of(1L, false, 2L, false, 3L, false, 4L, true, 5L, false));
+		createNodes(List.of(
+			node(1, true),
+			node(2, false), node(2, true), node(2, false),
+			node(3, false),
+			node(4, true),
+			node(6, true)));
+
+		GraphReconcileReport report = graphReconciler.reconcile(GraphAggregateType.PROJECT, false);
+
+		assertThat(report.rowCount()).isEqualTo(5);
+		assertThat(report.nodeCount()).isEqualTo(7);
+		assertThat(report.driftSamples()).containsOnly(
+			Map.entry(GraphDriftType.DELETED_NODE, List.of(3L)),
+			Map.entry(GraphDriftType.UNDELETED_NODE, List.of(4L)),
+			Map.entry(GraphDriftType.MISSING_NODE, List.of(5L)),
+			Map.entry(GraphDriftType.ORPHAN_NODE, List.of(6L)));
+	}
+
+	@Test
+	void skipsDriftThatIsAlreadyWaitingInOutbox() {
+		insertRows(Map.of(1L, false));
+		graphOutboxRepository.save(new GraphOutbox(GraphAggregateType.PROJECT, 1L));
+
+		GraphReconcileReport report = graphReconciler.reconcile(GraphAggregateType.PROJECT, false);
+
+		assertThat(report.driftCounts()).isEmpty();
+	}
+
+	private void insertRows(Map<Long, Boolean> deletedById) {
+		deletedById.forEach((id, deleted) ->
+			jdbcTemplate.update("INSERT INTO project (id, title, deleted) VALUES (?, ?, ?)", id, "p" + id, deleted));
+	}
+
+	private void createNodes(List<Map<String, Object>> nodes) {
+		neo4jClient.query("UNWIND $nodes AS node "
+				+ "CREATE (n:Project {id: node.id}) "
+				+ "SET n.deletedAt = CASE WHEN node.live THEN null ELSE localdatetime() END")
+			.bind(nodes).to("nodes")
+			.run();
+	}
+
+	private static Map<String, Object> node(long id, boolean live) {
+		return Map.of("id", id, "live", live);
+	}
+}
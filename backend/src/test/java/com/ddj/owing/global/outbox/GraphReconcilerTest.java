@@ -0,0 +1,89 @@
+package com.ddj.owing.global.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.ddj.owing.global.outbox.GraphReconciler.State;
+
+class GraphReconcilerTest {
+
+	private static final long NO_BOUND = Long.MAX_VALUE;
+
+	@Test
+	void classifiesEveryCombinationOfRowAndNodeState() {
+		assertThat(GraphReconciler.classify(true, null)).isEqualTo(GraphDriftType.MISSING_NODE);
+		assertThat(GraphReconciler.classify(true, false)).isEqualTo(GraphDriftType.DELETED_NODE);
+		assertThat(GraphReconciler.classify(true, true)).isNull();
+		assertThat(GraphReconciler.classify(null, true)).isEqualTo(GraphDriftType.ORPHAN_NODE);
+		assertThat(GraphReconciler.classify(false, true)).isEqualTo(GraphDriftType.UNDELETED_NODE);
+		assertThat(GraphReconciler.classify(false, false)).isNull();
+		assertThat(GraphReconciler.classify(false, null)).isNull();
+		assertThat(GraphReconciler.classify(null, false)).isNull();
+	}
+
+	@Test
+	void reportsLiveRowWithoutNodeAsMissing() {
+		Map<Long, GraphDriftType> drifts = GraphReconciler.compare(
+			List.of(live(1), live(2)),
+			List.of(live(2)),
+			NO_BOUND);
+
+		assertThat(drifts).containsExactly(Map.entry(1L, GraphDriftType.MISSING_NODE));
+	}
+
+	@Test
+	void reportsLiveNodeWithoutRowAsOrphanButIgnoresDeletedExtraNode() {
+		Map<Long, GraphDriftType> drifts = GraphReconciler.compare(
+			List.of(live(1)),
+			List.of(live(1), live(2), deleted(3)),
+			NO_BOUND);
+
+		assertThat(drifts).containsExactly(Map.entry(2L, GraphDriftType.ORPHAN_NODE));
+	}
+
+	@Test
+	void reportsStaleDeletionStateOnEitherSide() {
+		Map<Long, GraphDriftType> drifts = GraphReconciler.compare(
+			List.of(live(1), deleted(2), deleted(3)),
+			List.of(deleted(1), live(2), deleted(3)),
+			NO_BOUND);
+
+		assertThat(drifts).containsExactly(
+			Map.entry(1L, GraphDriftType.DELETED_NODE),
+			Map.entry(2L, GraphDriftType.UNDELETED_NODE));
+	}
+
+	@Test
+	void treatsDuplicateNodesAsLiveWhenAnyOfThemIsLive() {
+		Map<Long, GraphDriftType> drifts = GraphReconciler.compare(
+			List.of(live(1), live(2)),
+			List.of(deleted(1), live(1), deleted(2), deleted(2), live(3), live(3)),
+			NO_BOUND);
+
+		assertThat(drifts).containsExactly(
+			Map.entry(2L, GraphDriftType.DELETED_NODE),
+			Map.entry(3L, GraphDriftType.ORPHAN_NODE));
+	}
+
+	@Test
+	void ignoresIdsBeyondUpperBound() {
+		Map<Long, GraphDriftType> drifts = GraphReconciler.compare(
+			List.of(live(1), live(5)),
+			List.of(live(1), live(6)),
+			4);
+
+		assertThat(drifts).isEmpty();
+	}
+
+	private static State live(long id) {
+		return new State(id, true, 1);
+	}
+
+	private static State deleted(long id) {
+		return new State(id, false, 1);
+	}
+}
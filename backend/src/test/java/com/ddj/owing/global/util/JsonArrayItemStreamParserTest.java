@@ -0,0 +1,124 @@
+package com.ddj.owing.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.ddj.owing.global.error.exception.JsonParsingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 같은 JSON 을 가능한 모든 바이트 위치에서 나누어 넣어도 결과가 같은지 검사한다.
+ * 한글이 들어 있어 UTF-8 문자 중간에서 잘리는 경우도 포함된다.
+ */
+class JsonArrayItemStreamParserTest {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final Item FIRST = new Item("왕은 죽었다", new Detail(1, List.of("a")), List.of(1, 2));
+	private static final Item SECOND = new Item("성 \"북문\" ]}", new Detail(2, List.of()), List.of());
+
+	private static final String FIRST_JSON =
+		"{\"name\":\"왕은 죽었다\",\"detail\":{\"level\":1,\"notes\":[\"a\"]},\"tags\":[1,2]}";
+	private static final String SECOND_JSON =
+		"{\"tags\":[],\"name\":\"성 \\\"북문\\\" ]}\",\"detail\":{\"notes\":[],\"level\":2}}";
+
+	static Stream<Arguments> documents() {
+		return Stream.of(
+			Arguments.of("empty top-level array", "[]", List.of()),
+			Arguments.of("top-level array",
+				"[" + FIRST_JSON + "," + SECOND_JSON + "]", List.of(FIRST, SECOND)),
+			Arguments.of("whitespace between items",
+				" [\n  " + FIRST_JSON + " ,\n  " + SECOND_JSON + "\n] ", List.of(FIRST, SECOND)),
+			Arguments.of("wrapped array",
+				"{\"conflicts\":[" + FIRST_JSON + "," + SECOND_JSON + "]}", List.of(FIRST, SECOND)),
+			Arguments.of("wrapped array after nested object",
+				"{\"meta\":{\"model\":\"gpt\",\"nested\":{\"depth\":2}},\"conflicts\":[" + FIRST_JSON + "]}",
+				List.of(FIRST)),
+			Arguments.of("wrapped empty array", "{\"conflicts\":[]}", List.of())
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("documents")
+	void wholeDocument(String name, String json, List<Item> expected) {
+		JsonArrayItemStreamParser<Item> parser = new JsonArrayItemStreamParser<>(OBJECT_MAPPER, Item.class);
+
+		List<Item> items = new ArrayList<>(parser.feed(json));
+		items.addAll(parser.end());
+
+		assertThat(items).isEqualTo(expected);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("documents")
+	void splitAtEveryByteOffset(String name, String json, List<Item> expected) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		for (int offset = 1; offset < bytes.length; offset++) {
+			JsonArrayItemStreamParser<Item> parser = new JsonArrayItemStreamParser<>(OBJECT_MAPPER, Item.class);
+
+			List<Item> items = new ArrayList<>(parser.feed(bytes, 0, offset));
+			items.addAll(parser.feed(bytes, offset, bytes.length - offset));
+			items.addAll(parser.end());
+
+			assertThat(items).as("offset %d", offset).isEqualTo(expected);
+		}
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("documents")
+	void oneByteAtATime(String name, String json, List<Item> expected) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		JsonArrayItemStreamParser<Item> parser = new JsonArrayItemStreamParser<>(OBJECT_MAPPER, Item.class);
+
+		List<Item> items = new ArrayList<>();
+		for (int offset = 0; offset < bytes.length; offset++) {
+			items.addAll(parser.feed(bytes, offset, 1));
+		}
+		items.addAll(parser.end());
+
+		assertThat(items).isEqualTo(expected);
+	}
+
+	@Test
+	void emitsItemAsSoonAsItCloses() {
+		JsonArrayItemStreamParser<Item> parser = new JsonArrayItemStreamParser<>(OBJECT_MAPPER, Item.class);
+
+		assertThat(parser.feed("[" + FIRST_JSON.substring(0, 20))).isEmpty();
+		assertThat(parser.feed(FIRST_JSON.substring(20) + ",")).containsExactly(FIRST);
+		assertThat(parser.feed(SECOND_JSON)).containsExactly(SECOND);
+		assertThat(parser.feed("]")).isEmpty();
+		assertThat(parser.end()).isEmpty();
+	}
+
+	@Test
+	void truncatedDocumentFailsAtEnd() {
+		JsonArrayItemStreamParser<Item> parser = new JsonArrayItemStreamParser<>(OBJECT_MAPPER, Item.class);
+
+		parser.feed("[" + FIRST_JSON.substring(0, 20));
+
+		assertThatThrownBy(parser::end).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	void malformedDocumentFailsOnFeed() {
+		JsonArrayItemStreamParser<Item> parser = new JsonArrayItemStreamParser<>(OBJECT_MAPPER, Item.class);
+
+		assertThatThrownBy(() -> parser.feed("[{\"name\":}]")).isInstanceOf(JsonParsingException.class);
+	}
+
+	record Item(String name, Detail detail, List<Integer> tags) {
+	}
+
+	record Detail(int level, List<String> notes) {
+	}
+}
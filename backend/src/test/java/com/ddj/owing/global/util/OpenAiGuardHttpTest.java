@@ -0,0 +1,208 @@
+package com.ddj.owing.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.autoconfigure.openai.OpenAiAutoConfiguration;
+import org.springframework.ai.autoconfigure.retry.SpringAiRetryAutoConfiguration;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.StreamingChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.ddj.owing.global.config.OpenAiConfig;
+import com.ddj.owing.global.util.OpenAiGuard.Feature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * 로컬 HTTP 서버를 OpenAI 로 두고, 운영과 같은 자동 설정(RestClient 시간 제한, spring.ai.retry.on-http-codes)으로 만든
+ * ChatModel 을 guard 로 감싸 429, 읽기 시간 초과, 멈춘 스트림을 실제 HTTP 응답으로 검사한다.
+ */
+class OpenAiGuardHttpTest {
+
+	private static final String COMPLETION = """
+		{"id":"chatcmpl-1","object":"chat.completion","created":1,"model":"gpt-4o-mini",
+		"choices":[{"index":0,"message":{"role":"assistant","content":"ok"},"finish_reason":"stop"}],
+		"usage":{"prompt_tokens":1,"completion_tokens":1,"total_tokens":2}}
+		""";
+
+	private static final String STREAM_CHUNK = """
+		data: {"id":"chatcmpl-1","object":"chat.completion.chunk","created":1,"model":"gpt-4o-mini",\
+		"choices":[{"index":0,"delta":{"role":"assistant","content":"[{"},"finish_reason":null}]}
+
+		""";
+
+	private final Queue<Responder> responders = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger requests = new AtomicInteger();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+	private ApplicationContextRunner contextRunner;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		serverExecutor = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(serverExecutor);
+		server.createContext("/v1/chat/completions", exchange -> {
+			requests.incrementAndGet();
+			Responder responder = responders.poll();
+			try {
+				if (responder == null) {
+					respond(exchange, 200, "application/json", COMPLETION);
+				} else {
+					responder.respond(exchange);
+				}
+			} finally {
+				exchange.close();
+			}
+		});
+		server.start();
+
+		contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(RestClientAutoConfiguration.class,
+				WebClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class, OpenAiAutoConfiguration.class))
+			.withUserConfiguration(OpenAiConfig.class, OpenAiGuard.class)
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withPropertyValues(
+				"spring.ai.openai.api-key=test-key",
+				"spring.ai.openai.base-url=http://localhost:" + server.getAddress().getPort(),
+				"spring.ai.retry.max-attempts=1",
+				"spring.ai.retry.on-http-codes=429",
+				"openai.timeout.connect=1s",
+				"openai.timeout.read=300ms",
+				"openai.guard.bulkhead-wait=0s",
+				"openai.guard.retry.max-attempts=2",
+				"openai.guard.retry.initial-backoff=1ms",
+				"openai.guard.retry.max-backoff=1ms",
+				"openai.guard.stream.idle-timeout=300ms");
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void retriesTooManyRequests() {
+		responders.add(exchange -> respond(exchange, 429, "application/json", "{\"error\":{\"message\":\"rate\"}}"));
+
+		contextRunner.run(context -> {
+			ChatModel chatModel = context.getBean(ChatModel.class);
+			OpenAiGuard guard = context.getBean(OpenAiGuard.class);
+
+			ChatResponse response = guard.call(Feature.CAST_EXTRACT, () -> chatModel.call(new Prompt("hi")));
+
+			assertThat(response.getResult().getOutput().getContent()).isEqualTo("ok");
+			assertThat(requests).hasValue(2);
+			assertThat(context.getBean(MeterRegistry.class)
+				.counter("openai.guard.retry", "feature", "cast-extract").count()).isEqualTo(1);
+		});
+	}
+
+	@Test
+	void doesNotRetryClientError() {
+		responders.add(exchange -> respond(exchange, 400, "application/json", "{\"error\":{\"message\":\"bad\"}}"));
+
+		contextRunner.run(context -> {
+			ChatModel chatModel = context.getBean(ChatModel.class);
+			OpenAiGuard guard = context.getBean(OpenAiGuard.class);
+
+			assertThatThrownBy(() -> guard.call(Feature.CAST_EXTRACT, () -> chatModel.call(new Prompt("hi"))))
+				.isInstanceOf(NonTransientAiException.class);
+			assertThat(requests).hasValue(1);
+		});
+	}
+
+	@Test
+	void retriesReadTimeout() {
+		responders.add(this::stall);
+		responders.add(this::stall);
+
+		contextRunner.run(context -> {
+			ChatModel chatModel = context.getBean(ChatModel.class);
+			OpenAiGuard guard = context.getBean(OpenAiGuard.class);
+
+			assertThatThrownBy(() -> guard.call(Feature.CAST_EXTRACT, () -> chatModel.call(new Prompt("hi"))))
+				.isInstanceOf(ResourceAccessException.class);
+			assertThat(requests).hasValue(2);
+		});
+	}
+
+	@Test
+	void stalledStreamTimesOutAfterFirstChunk() {
+		responders.add(exchange -> {
+			exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+			exchange.sendResponseHeaders(200, 0);
+			OutputStream body = exchange.getResponseBody();
+			body.write(STREAM_CHUNK.getBytes(StandardCharsets.UTF_8));
+			body.flush();
+			stall(exchange);
+		});
+
+		contextRunner.run(context -> {
+			StreamingChatModel streamingChatModel = context.getBean(StreamingChatModel.class);
+			OpenAiGuard guard = context.getBean(OpenAiGuard.class);
+			AtomicInteger received = new AtomicInteger();
+
+			Flux<ChatResponse> stream = guard.stream(Feature.CONFLICT_CHECK,
+				() -> streamingChatModel.stream(new Prompt("hi")));
+
+			assertThatThrownBy(() -> stream.doOnNext(response -> received.incrementAndGet()).blockLast(
+				Duration.ofSeconds(5))).hasCauseInstanceOf(TimeoutException.class);
+			assertThat(received).hasValue(1);
+			assertThat(guard.call(Feature.CONFLICT_CHECK, () -> "released")).isEqualTo("released");
+		});
+	}
+
+	private void stall(HttpExchange exchange) {
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body)
+		throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+	}
+
+	@FunctionalInterface
+	private interface Responder {
+		void respond(HttpExchange exchange) throws IOException;
+	}
+}
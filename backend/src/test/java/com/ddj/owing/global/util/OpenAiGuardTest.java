@@ -0,0 +1,289 @@
+package com.ddj.owing.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import com.ddj.owing.global.error.code.OpenAiErrorCode;
+import com.ddj.owing.global.error.exception.OpenAiException;
+import com.ddj.owing.global.util.OpenAiGuard.Feature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * OpenAI 대신 호출 횟수를 세는 Supplier 를 넘겨 재시도, 차단, 한도 동작을 검사한다.
+ */
+class OpenAiGuardTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		executorService = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void retriesTransientFailureThenSucceeds() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 3, 5, Duration.ofSeconds(30));
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = guard.call(Feature.IMAGE, () -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new TransientAiException("429");
+			}
+			return "ok";
+		});
+
+		assertThat(result).isEqualTo("ok");
+		assertThat(calls).hasValue(2);
+		assertThat(meterRegistry.counter("openai.guard.retry", "feature", "image").count()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotRetryNonTransientFailure() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 3, 5, Duration.ofSeconds(30));
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(calls, new IllegalStateException("parse"))))
+			.isInstanceOf(IllegalStateException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void stopsRetryingAfterMaxAttempts() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 3, 10, Duration.ofSeconds(30));
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(calls, new TransientAiException("503"))))
+			.isInstanceOf(TransientAiException.class);
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void opensCircuitAfterConsecutiveTransientFailures() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 2, Duration.ofSeconds(30));
+		AtomicInteger calls = new AtomicInteger();
+		Supplier<String> failing = failing(calls, new TransientAiException("503"));
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing)).isInstanceOf(TransientAiException.class);
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing)).isInstanceOf(TransientAiException.class);
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing))
+			.isInstanceOfSatisfying(OpenAiException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(OpenAiErrorCode.UNAVAILABLE));
+		assertThat(calls).hasValue(2);
+		assertThat(meterRegistry.counter("openai.guard.rejected", "feature", "image", "reason", "circuit-open")
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void nonTransientFailureDoesNotResetCircuit() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 2, Duration.ofSeconds(30));
+		Supplier<String> transientFailure = failing(new AtomicInteger(), new TransientAiException("503"));
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, transientFailure))
+			.isInstanceOf(TransientAiException.class);
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(new AtomicInteger(),
+			new NonTransientAiException("400")))).isInstanceOf(NonTransientAiException.class);
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, transientFailure))
+			.isInstanceOf(TransientAiException.class);
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, () -> "next"))
+			.isInstanceOfSatisfying(OpenAiException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(OpenAiErrorCode.UNAVAILABLE));
+	}
+
+	@Test
+	void nonTransientFailureDuringTrialKeepsCircuitOpenForNextTrial() throws InterruptedException {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 1, Duration.ofMillis(50));
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(new AtomicInteger(), new TransientAiException(
+			"503")))).isInstanceOf(TransientAiException.class);
+		Thread.sleep(100);
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(new AtomicInteger(),
+			new NonTransientAiException("400")))).isInstanceOf(NonTransientAiException.class);
+
+		assertThat(guard.call(Feature.IMAGE, () -> "trial")).isEqualTo("trial");
+		assertThat(guard.call(Feature.IMAGE, () -> "closed")).isEqualTo("closed");
+	}
+
+	@Test
+	void openCircuitOnlyAffectsItsFeature() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 1, Duration.ofSeconds(30));
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(new AtomicInteger(), new TransientAiException(
+			"503")))).isInstanceOf(TransientAiException.class);
+
+		assertThat(guard.call(Feature.CAST_EXTRACT, () -> "ok")).isEqualTo("ok");
+	}
+
+	@Test
+	void closesCircuitAfterSuccessfulTrial() throws InterruptedException {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 1, Duration.ofMillis(50));
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing(new AtomicInteger(), new TransientAiException(
+			"503")))).isInstanceOf(TransientAiException.class);
+		Thread.sleep(100);
+
+		assertThat(guard.call(Feature.IMAGE, () -> "trial")).isEqualTo("trial");
+		assertThat(guard.call(Feature.IMAGE, () -> "closed")).isEqualTo("closed");
+	}
+
+	@Test
+	void reopensCircuitWhenTrialFails() throws InterruptedException {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 3, Duration.ofMillis(50));
+		AtomicInteger calls = new AtomicInteger();
+		Supplier<String> failing = failing(calls, new TransientAiException("503"));
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing)).isInstanceOf(TransientAiException.class);
+		}
+		Thread.sleep(100);
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing)).isInstanceOf(TransientAiException.class);
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, failing)).isInstanceOf(OpenAiException.class);
+		assertThat(calls).hasValue(4);
+	}
+
+	@Test
+	void rejectsWhenTokenBucketIsEmpty() {
+		OpenAiGuard guard = guard(4, 0.001, 2, Duration.ZERO, 1, 5, Duration.ofSeconds(30));
+
+		guard.call(Feature.IMAGE, () -> "1");
+		guard.call(Feature.CONFLICT_CHECK, () -> "2");
+
+		assertThatThrownBy(() -> guard.call(Feature.CAST_EXTRACT, () -> "3"))
+			.isInstanceOfSatisfying(OpenAiException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(OpenAiErrorCode.BUSY));
+		assertThat(meterRegistry.counter("openai.guard.rejected", "feature", "cast-extract", "reason", "rate-limit")
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void waitsForTokenRefillWithinMaxWait() {
+		OpenAiGuard guard = guard(4, 50, 1, Duration.ofSeconds(1), 1, 5, Duration.ofSeconds(30));
+
+		guard.call(Feature.IMAGE, () -> "1");
+		long startedAt = System.nanoTime();
+
+		assertThat(guard.call(Feature.IMAGE, () -> "2")).isEqualTo("2");
+		assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+	}
+
+	@Test
+	void rejectsWhenBulkheadIsFull() throws Exception {
+		OpenAiGuard guard = guard(1, 1000, 10, Duration.ZERO, 1, 5, Duration.ofSeconds(30));
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		Future<String> running = executorService.submit(() -> guard.call(Feature.IMAGE, () -> {
+			entered.countDown();
+			await(finish);
+			return "first";
+		}));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> guard.call(Feature.IMAGE, () -> "second"))
+			.isInstanceOfSatisfying(OpenAiException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(OpenAiErrorCode.BUSY));
+		finish.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+		assertThat(guard.call(Feature.IMAGE, () -> "third")).isEqualTo("third");
+	}
+
+	@Test
+	void streamReleasesBulkheadWhenCompleted() {
+		OpenAiGuard guard = guard(1, 1000, 10, Duration.ZERO, 1, 5, Duration.ofSeconds(30));
+
+		List<Integer> items = guard.stream(Feature.CONFLICT_CHECK, () -> Flux.just(1, 2)).collectList().block();
+
+		assertThat(items).containsExactly(1, 2);
+		assertThat(guard.call(Feature.CONFLICT_CHECK, () -> "next")).isEqualTo("next");
+	}
+
+	@Test
+	void streamErrorCountsTowardCircuit() {
+		OpenAiGuard guard = guard(4, 1000, 10, Duration.ZERO, 1, 1, Duration.ofSeconds(30));
+
+		assertThatThrownBy(() -> guard.stream(Feature.CONFLICT_CHECK,
+			() -> Flux.<Integer>error(new TransientAiException("503"))).blockLast())
+			.isInstanceOf(TransientAiException.class);
+
+		assertThatThrownBy(() -> guard.call(Feature.CONFLICT_CHECK, () -> "next"))
+			.isInstanceOfSatisfying(OpenAiException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(OpenAiErrorCode.UNAVAILABLE));
+	}
+
+	@Test
+	void stalledStreamTimesOutAndReleasesBulkhead() {
+		OpenAiGuard guard = guard(1, 1000, 10, Duration.ZERO, 1, 1, Duration.ofSeconds(30), Duration.ofMillis(50));
+
+		assertThatThrownBy(() -> guard.stream(Feature.CONFLICT_CHECK, () -> Flux.<Integer>never()).blockLast())
+			.hasCauseInstanceOf(TimeoutException.class);
+
+		assertThatThrownBy(() -> guard.call(Feature.CONFLICT_CHECK, () -> "next"))
+			.isInstanceOfSatisfying(OpenAiException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(OpenAiErrorCode.UNAVAILABLE));
+	}
+
+	@Test
+	void streamTimeoutAppliesBetweenItems() {
+		OpenAiGuard guard = guard(1, 1000, 10, Duration.ZERO, 1, 5, Duration.ofSeconds(30), Duration.ofMillis(200));
+
+		List<Long> items = guard.stream(Feature.CONFLICT_CHECK,
+			() -> Flux.interval(Duration.ofMillis(20)).take(20)).collectList().block();
+
+		assertThat(items).hasSize(20);
+	}
+
+	private OpenAiGuard guard(int concurrency, double permitsPerSecond, int burst, Duration rateLimitWait,
+		int maxAttempts, int failureThreshold, Duration openDuration) {
+		return guard(concurrency, permitsPerSecond, burst, rateLimitWait, maxAttempts, failureThreshold, openDuration,
+			Duration.ofSeconds(5));
+	}
+
+	private OpenAiGuard guard(int concurrency, double permitsPerSecond, int burst, Duration rateLimitWait,
+		int maxAttempts, int failureThreshold, Duration openDuration, Duration streamIdleTimeout) {
+		return new OpenAiGuard(meterRegistry, concurrency, concurrency, concurrency, Duration.ZERO, permitsPerSecond,
+			burst, rateLimitWait, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(1), failureThreshold,
+			openDuration, streamIdleTimeout);
+	}
+
+	private static Supplier<String> failing(AtomicInteger calls, RuntimeException exception) {
+		return () -> {
+			calls.incrementAndGet();
+			throw exception;
+		};
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
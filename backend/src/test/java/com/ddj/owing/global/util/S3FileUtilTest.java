@@ -0,0 +1,100 @@
+package com.ddj.owing.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+
+/**
+ * 업로드 스트림을 읽어 두는 AmazonS3 mock 으로, 디코딩하며 올린 바이트와 미리 계산한 길이가 원본과 같은지 검사한다.
+ */
+class S3FileUtilTest {
+
+	private static final String BUCKET = "owing-test";
+
+	private AmazonS3 amazonS3;
+	private S3FileUtil s3FileUtil;
+	private PutObjectRequest uploadedRequest;
+	private byte[] uploadedBytes;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		amazonS3 = mock(AmazonS3.class);
+		when(amazonS3.putObject(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+			uploadedRequest = invocation.getArgument(0);
+			uploadedBytes = uploadedRequest.getInputStream().readAllBytes();
+			return null;
+		});
+		when(amazonS3.getUrl(eq(BUCKET), anyString())).thenAnswer(
+			invocation -> new URL("https://" + BUCKET + ".s3.amazonaws.com/" + invocation.getArgument(1)));
+		s3FileUtil = new S3FileUtil(amazonS3);
+		ReflectionTestUtils.setField(s3FileUtil, "bucket", BUCKET);
+	}
+
+	@Test
+	void uploadsPaddedImage() {
+		byte[] image = image(1001);
+		String base64 = Base64.getEncoder().encodeToString(image);
+
+		String url = s3FileUtil.uploadBase64Image("casting/1", "ai-image.png", base64);
+
+		assertThat(base64).endsWith("=");
+		assertUploaded(image);
+		assertThat(url).startsWith("https://" + BUCKET + ".s3.amazonaws.com/casting/1/").endsWith("ai-image.png");
+	}
+
+	@Test
+	void uploadsUnpaddedImage() {
+		byte[] image = image(1000);
+		String base64 = Base64.getEncoder().withoutPadding().encodeToString(image);
+
+		s3FileUtil.uploadBase64Image("casting/1", "ai-image.png", base64);
+
+		assertThat(base64).doesNotEndWith("=");
+		assertUploaded(image);
+	}
+
+	@Test
+	void uploadsImageLargerThanDecoderBuffer() {
+		byte[] image = image(256 * 1024 + 2);
+
+		s3FileUtil.uploadBase64Image("casting/1", "ai-image.png", Base64.getEncoder().encodeToString(image));
+
+		assertUploaded(image);
+	}
+
+	@Test
+	void uploadsEmptyImage() {
+		s3FileUtil.uploadBase64Image("casting/1", "ai-image.png", "");
+
+		assertUploaded(new byte[0]);
+	}
+
+	private void assertUploaded(byte[] image) {
+		assertThat(uploadedRequest.getBucketName()).isEqualTo(BUCKET);
+		assertThat(uploadedRequest.getCannedAcl()).isEqualTo(CannedAccessControlList.PublicRead);
+		assertThat(uploadedRequest.getMetadata().getContentType()).isEqualTo("image/png");
+		assertThat(uploadedRequest.getMetadata().getContentLength()).isEqualTo(image.length);
+		assertThat(uploadedBytes).isEqualTo(image);
+	}
+
+	private static byte[] image(int length) {
+		byte[] image = new byte[length];
+		new Random(length).nextBytes(image);
+		return image;
+	}
+}
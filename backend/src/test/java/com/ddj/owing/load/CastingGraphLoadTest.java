@@ -0,0 +1,108 @@
+package com.ddj.owing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ddj.owing.domain.casting.service.CastingService;
+import com.ddj.owing.support.ContainerIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 관계도 조회를 SDN 엔티티로 읽어 DTO 를 직렬화하는 getGraph 와, projection 쿼리 하나를 바로 JSON 으로 쓰는 writeGraph 로
+ * 각각 수행하여 노드 수별 지연과 호출 스레드 할당량을 비교한다. 인물마다 다음 인물과 관계 하나를 둔다.
+ * 캐시 상한을 0 으로 두어 매번 Neo4j 에서 읽는다. 기본 test 작업에서는 제외되며 {@code ./gradlew loadTest} 로 실행한다.
+ */
+@Tag("load")
+@ContainerIntegrationTest
+@TestPropertySource(properties = "casting.graph.cache.max-bytes=0")
+class CastingGraphLoadTest {
+
+	private static final int SEED_BATCH_SIZE = 5_000;
+	private static final int WARMUPS = 2;
+	private static final int RUNS = 5;
+	private static final AtomicLong IDS = new AtomicLong(2_000_000_000L);
+
+	@Autowired
+	private CastingService castingService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@BeforeAll
+	static void createIndex(@Autowired Neo4jClient neo4jClient) {
+		neo4jClient.query("CREATE INDEX cast_id IF NOT EXISTS FOR (n:Cast) ON (n.id)").run();
+		neo4jClient.query("CALL db.awaitIndexes()").run();
+	}
+
+	@ParameterizedTest(name = "nodes={0}")
+	@ValueSource(ints = {1_000, 10_000, 50_000})
+	void compareEntityAndStreamingGraphReads(int nodeCount) throws Exception {
+		long projectId = seedProject(nodeCount);
+		ByteArrayOutputStream entityJson = new ByteArrayOutputStream();
+		ByteArrayOutputStream streamedJson = new ByteArrayOutputStream();
+
+		LoadBenchmark.Result entity = LoadBenchmark.measure(WARMUPS, RUNS, () -> {
+			entityJson.reset();
+			objectMapper.writeValue(entityJson, castingService.getGraph(projectId));
+		});
+		LoadBenchmark.Result streamed = LoadBenchmark.measure(WARMUPS, RUNS, () -> {
+			streamedJson.reset();
+			castingService.writeGraph(projectId, streamedJson);
+		});
+
+		report(nodeCount, "entity", entity, entityJson.size());
+		report(nodeCount, "streaming", streamed, streamedJson.size());
+		JsonNode entityGraph = objectMapper.readTree(entityJson.toByteArray());
+		JsonNode streamedGraph = objectMapper.readTree(streamedJson.toByteArray());
+		assertThat(streamedGraph.get("nodes").size()).isEqualTo(entityGraph.get("nodes").size()).isEqualTo(nodeCount);
+		assertThat(streamedGraph.get("edges").size()).isEqualTo(entityGraph.get("edges").size()).isEqualTo(nodeCount - 1);
+	}
+
+	private long seedProject(int nodeCount) {
+		long projectId = IDS.incrementAndGet();
+		long firstCastingId = IDS.getAndAdd(nodeCount) + 1;
+		neo4jClient.query("CREATE (:Project {id: $projectId})").bindAll(Map.of("projectId", projectId)).run();
+		for (int from = 0; from < nodeCount; from += SEED_BATCH_SIZE) {
+			long batchFrom = firstCastingId + from;
+			long batchTo = firstCastingId + Math.min(from + SEED_BATCH_SIZE, nodeCount) - 1;
+			neo4jClient.query("MATCH (p:Project {id: $projectId}) "
+					+ "UNWIND range($from, $to) AS castingId "
+					+ "CREATE (p)-[:INCLUDED]->(:Cast {id: castingId, name: 'cast-' + castingId, age: 30, "
+					+ "gender: 'F', role: 'supporting', imageUrl: 'https://images/' + castingId + '.png', "
+					+ "coordX: castingId % 1000, coordY: castingId / 1000})")
+				.bindAll(Map.of("projectId", projectId, "from", batchFrom, "to", batchTo))
+				.run();
+		}
+		long lastCastingId = firstCastingId + nodeCount - 1;
+		for (long from = firstCastingId; from < lastCastingId; from += SEED_BATCH_SIZE) {
+			neo4jClient.query("UNWIND range($from, $to) AS sourceId "
+					+ "MATCH (a:Cast {id: sourceId}), (b:Cast {id: sourceId + 1}) "
+					+ "CREATE (a)-[:CONNECTION {uuid: 'edge-' + sourceId, label: 'knows', sourceId: sourceId, "
+					+ "targetId: sourceId + 1, sourceHandle: 'RIGHT', targetHandle: 'LEFT'}]->(b)")
+				.bindAll(Map.of("from", from, "to", Math.min(from + SEED_BATCH_SIZE, lastCastingId) - 1))
+				.run();
+		}
+		return projectId;
+	}
+
+	private static void report(int nodeCount, String path, LoadBenchmark.Result result, int responseBytes) {
+		System.out.printf("[load] castingGraph nodes=%d path=%s p50=%dms max=%dms allocatedPerCall=%dKB "
+				+ "responseBytes=%d%n",
+			nodeCount, path, result.p50Millis(), result.maxMillis(), result.allocatedKilobytesPerRun(), responseBytes);
+	}
+}
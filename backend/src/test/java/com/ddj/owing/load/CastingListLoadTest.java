@@ -0,0 +1,120 @@
+package com.ddj.owing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ddj.owing.domain.casting.model.Casting;
+import com.ddj.owing.domain.casting.model.CastingFolder;
+import com.ddj.owing.domain.casting.model.dto.casting.CastingDto;
+import com.ddj.owing.domain.casting.repository.CastingFolderRepository;
+import com.ddj.owing.domain.casting.repository.CastingRepository;
+import com.ddj.owing.domain.casting.service.CastingService;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 긴 설정(detail)을 가진 인물이 수천 명인 폴더의 목록 조회를 세 방식으로 재어 지연과 호출 스레드 할당량을 비교한다.
+ * <ul>
+ *     <li>projection: 현재 getCastingList 의 생성자 projection</li>
+ *     <li>lazyEntity: 엔티티를 읽되 detail 은 지연 로딩으로 남겨 둔 경우</li>
+ *     <li>eagerEntity: 엔티티와 detail 을 한 쿼리로 함께 읽는 경우. detail 이 즉시 로딩이던 이전 목록 조회에 해당한다.</li>
+ * </ul>
+ * 기본 test 작업에서는 제외되며 {@code ./gradlew loadTest} 로 실행한다.
+ */
+@Tag("load")
+@ContainerIntegrationTest
+class CastingListLoadTest {
+
+	private static final int DETAIL_LENGTH = 16 * 1024;
+	private static final int SEED_BATCH_SIZE = 500;
+	private static final int WARMUPS = 2;
+	private static final int RUNS = 7;
+	private static final AtomicLong PROJECT_IDS = new AtomicLong(4_000_000_000L);
+
+	@Autowired
+	private CastingService castingService;
+
+	@Autowired
+	private CastingFolderRepository castingFolderRepository;
+
+	@Autowired
+	private CastingRepository castingRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@ParameterizedTest(name = "castings={0}")
+	@ValueSource(ints = {1_000, 3_000})
+	void compareListQueries(int castingCount) throws Exception {
+		Long folderId = seedFolder(castingCount);
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+
+		LoadBenchmark.Result projection = LoadBenchmark.measure(WARMUPS, RUNS, () ->
+			assertThat(castingService.getCastingList(folderId)).hasSize(castingCount));
+		LoadBenchmark.Result lazyEntity = LoadBenchmark.measure(WARMUPS, RUNS, () ->
+			readOnly.executeWithoutResult(status ->
+				assertThat(castingRepository.findByCastingFolderIdOrderByOrderKey(folderId).stream()
+					.map(CastingDto::listItemFrom)
+					.toList()).hasSize(castingCount)));
+		LoadBenchmark.Result eagerEntity = LoadBenchmark.measure(WARMUPS, RUNS, () ->
+			readOnly.executeWithoutResult(status ->
+				assertThat(entityManager.createQuery("SELECT c, c.detail FROM Casting c "
+						+ "WHERE c.castingFolder.id = :folderId ORDER BY c.orderKey", Object[].class)
+					.setParameter("folderId", folderId)
+					.getResultList()).hasSize(castingCount)));
+
+		report(castingCount, "projection", projection);
+		report(castingCount, "lazyEntity", lazyEntity);
+		report(castingCount, "eagerEntity", eagerEntity);
+	}
+
+	private Long seedFolder(int castingCount) {
+		CastingFolder folder = castingFolderRepository.save(CastingFolder.builder()
+			.projectId(PROJECT_IDS.incrementAndGet())
+			.name("folder-" + castingCount)
+			.orderKey("a0")
+			.build());
+		String detail = "backstory ".repeat(DETAIL_LENGTH / 10);
+		for (int from = 0; from < castingCount; from += SEED_BATCH_SIZE) {
+			List<Casting> castings = new ArrayList<>();
+			for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, castingCount); i++) {
+				castings.add(Casting.builder()
+					.castingFolder(folder)
+					.name("cast-" + i)
+					.age(30L)
+					.gender("F")
+					.role("supporting")
+					.detail(detail)
+					.imageUrl("https://images/" + i + ".png")
+					.coordX(i)
+					.coordY(i)
+					.orderKey("a%05d".formatted(i))
+					.build());
+			}
+			castingRepository.saveAll(castings);
+		}
+		return folder.getId();
+	}
+
+	private static void report(int castingCount, String path, LoadBenchmark.Result result) {
+		System.out.printf("[load] castingList castings=%d detailBytes=%d path=%s p50=%dms max=%dms "
+				+ "allocatedPerCall=%dKB%n",
+			castingCount, DETAIL_LENGTH, path, result.p50Millis(), result.maxMillis(),
+			result.allocatedKilobytesPerRun());
+	}
+}
@@ -0,0 +1,96 @@
+package com.ddj.owing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import com.ddj.owing.domain.casting.model.CastingNode;
+import com.ddj.owing.domain.casting.repository.CastingNodeRepository;
+import com.ddj.owing.support.ContainerIntegrationTest;
+
+/**
+ * 관계가 수백 개인 인물 노드에서, 이웃 전체를 엔티티로 읽고 저장하던 이전 방식과 속성만 바꾸는 Cypher 를 비교한다.
+ * 좌표 변경은 findById + save 와 updateCoords 를, 존재 확인은 findById 와 existsActiveById 를 잰다.
+ * 허브 노드는 degree 명의 인물과 CONNECTION 관계를, degree 개의 플롯과 APPEARED 관계를 가진다.
+ * 기본 test 작업에서는 제외되며 {@code ./gradlew loadTest} 로 실행한다.
+ */
+@Tag("load")
+@ContainerIntegrationTest
+class CastingNodeMutationLoadTest {
+
+	private static final int WARMUPS = 3;
+	private static final int RUNS = 20;
+	private static final AtomicLong IDS = new AtomicLong(3_000_000_000L);
+
+	@Autowired
+	private CastingNodeRepository castingNodeRepository;
+
+	@Autowired
+	private Neo4jClient neo4jClient;
+
+	@BeforeAll
+	static void createIndex(@Autowired Neo4jClient neo4jClient) {
+		neo4jClient.query("CREATE INDEX cast_id IF NOT EXISTS FOR (n:Cast) ON (n.id)").run();
+		neo4jClient.query("CALL db.awaitIndexes()").run();
+	}
+
+	@ParameterizedTest(name = "degree={0}")
+	@ValueSource(ints = {100, 500, 1_000})
+	void compareEntityAndPropertyOnlyMutations(int degree) throws Exception {
+		long hubId = seedHub(degree);
+		AtomicInteger coord = new AtomicInteger();
+
+		LoadBenchmark.Result entityCoord = LoadBenchmark.measure(WARMUPS, RUNS, () -> {
+			CastingNode hub = castingNodeRepository.findById(hubId).orElseThrow();
+			hub.updateCoord(coord.incrementAndGet(), coord.get());
+			castingNodeRepository.save(hub);
+		});
+		LoadBenchmark.Result propertyCoord = LoadBenchmark.measure(WARMUPS, RUNS, () ->
+			castingNodeRepository.updateCoords(List.of(
+				Map.of("id", hubId, "x", coord.incrementAndGet(), "y", coord.get()))));
+		LoadBenchmark.Result entityExists = LoadBenchmark.measure(WARMUPS, RUNS, () ->
+			assertThat(castingNodeRepository.findById(hubId)).isPresent());
+		LoadBenchmark.Result propertyExists = LoadBenchmark.measure(WARMUPS, RUNS, () ->
+			assertThat(castingNodeRepository.existsActiveById(hubId)).isTrue());
+
+		report(degree, "coord", "findById+save", entityCoord);
+		report(degree, "coord", "updateCoords", propertyCoord);
+		report(degree, "exists", "findById", entityExists);
+		report(degree, "exists", "existsActiveById", propertyExists);
+		assertThat(castingNodeRepository.findById(hubId).orElseThrow().getOutConnections()).hasSize(degree);
+		assertThat(castingNodeRepository.findById(hubId).orElseThrow().getCoordX()).isEqualTo(coord.get());
+	}
+
+	private long seedHub(int degree) {
+		long projectId = IDS.incrementAndGet();
+		long hubId = IDS.incrementAndGet();
+		long firstNeighbourId = IDS.getAndAdd(degree) + 1;
+		long firstStoryPlotId = IDS.getAndAdd(degree) + 1;
+		neo4jClient.query("CREATE (p:Project {id: $projectId})-[:INCLUDED]->"
+				+ "(h:Cast {id: $hubId, name: 'hub', coordX: 0, coordY: 0}) "
+				+ "WITH p, h UNWIND range(0, $degree - 1) AS i "
+				+ "CREATE (p)-[:INCLUDED]->(c:Cast {id: $firstNeighbourId + i, name: 'neighbour-' + i}) "
+				+ "CREATE (h)-[:CONNECTION {uuid: 'hub-' + $hubId + '-' + i, label: 'knows', sourceId: $hubId, "
+				+ "targetId: $firstNeighbourId + i, sourceHandle: 'RIGHT', targetHandle: 'LEFT'}]->(c) "
+				+ "CREATE (h)-[:APPEARED {source: 'MANUAL'}]->(:StoryPlot {id: $firstStoryPlotId + i, name: 'plot-' + i})")
+			.bindAll(Map.of("projectId", projectId, "hubId", hubId, "degree", degree,
+				"firstNeighbourId", firstNeighbourId, "firstStoryPlotId", firstStoryPlotId))
+			.run();
+		return hubId;
+	}
+
+	private static void report(int degree, String operation, String path, LoadBenchmark.Result result) {
+		System.out.printf("[load] castMutation degree=%d op=%s path=%s p50=%dms max=%dms allocatedPerCall=%dKB%n",
+			degree, operation, path, result.p50Millis(), result.maxMillis(), result.allocatedKilobytesPerRun());
+	}
+}
@@ -0,0 +1,48 @@
+package com.ddj.owing.load;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * 작업을 몇 번 미리 실행한 뒤 반복 측정하여 중앙값 지연과 호출 스레드의 1회 평균 할당량을 구한다.
+ * 할당량은 호출 스레드 기준이므로 드라이버나 커넥션 풀 스레드에서 일어난 할당은 포함하지 않는다.
+ */
+final class LoadBenchmark {
+
+	private LoadBenchmark() {
+	}
+
+	@FunctionalInterface
+	interface Task {
+		void run() throws Exception;
+	}
+
+	record Result(long p50Millis, long maxMillis, long allocatedBytesPerRun) {
+
+		long allocatedKilobytesPerRun() {
+			return allocatedBytesPerRun / 1024;
+		}
+	}
+
+	static Result measure(int warmups, int runs, Task task) throws Exception {
+		for (int i = 0; i < warmups; i++) {
+			task.run();
+		}
+
+		com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long[] elapsedNanos = new long[runs];
+		long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < runs; i++) {
+			long startedAt = System.nanoTime();
+			task.run();
+			elapsedNanos[i] = System.nanoTime() - startedAt;
+		}
+		long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		Arrays.sort(elapsedNanos);
+		return new Result(elapsedNanos[runs / 2] / 1_000_000, elapsedNanos[runs - 1] / 1_000_000,
+			allocatedBytes / runs);
+	}
+}
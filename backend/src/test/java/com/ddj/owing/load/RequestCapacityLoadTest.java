@@ -0,0 +1,268 @@
+package com.ddj.owing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+
+import com.ddj.owing.domain.casting.controller.CastingController;
+import com.ddj.owing.domain.casting.model.dto.CastingRequestDto;
+import com.ddj.owing.domain.casting.service.CastingService;
+import com.ddj.owing.domain.image.service.ImageJobService;
+import com.ddj.owing.domain.image.service.ImageJobStore;
+import com.ddj.owing.domain.story.controller.StoryPlotController;
+import com.ddj.owing.domain.story.service.StoryPlotService;
+import com.ddj.owing.global.config.ImageJobConfig;
+import com.ddj.owing.global.error.GlobalExceptionHandler;
+import com.ddj.owing.global.util.OpenAiUtil;
+import com.ddj.owing.global.util.S3FileUtil;
+
+/**
+ * 한 노드가 /api/casting/image 와 /api/storyPlot/{id}/extractCasting 요청을 동시에 몇 개까지 붙잡고 있을 수 있는지
+ * 플랫폼 스레드 모드와 가상 스레드 모드에서 각각 측정한다.
+ * 실제 컨트롤러, 예외 처리, 이미지 작업 실행기 위에 Tomcat 을 띄우고, OpenAI 호출만 고정 지연으로 대신한다.
+ * 기본 test 작업에서는 제외되며 {@code ./gradlew loadTest} 로 실행한다.
+ */
+@Tag("load")
+class RequestCapacityLoadTest {
+
+	private static final int CONCURRENT_REQUESTS = 1000;
+	private static final int TOMCAT_MAX_THREADS = 200;
+	private static final int IMAGE_POOL_SIZE = 4;
+	private static final int IMAGE_QUEUE_CAPACITY = 50;
+	private static final Duration MODEL_LATENCY = Duration.ofMillis(500);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+	@ParameterizedTest(name = "virtualThreads={0}")
+	@ValueSource(booleans = {false, true})
+	void extractCastingCapacity(boolean virtualThreads) throws Exception {
+		ModelStub modelStub = new ModelStub(MODEL_LATENCY);
+		try (ConfigurableApplicationContext context = start(virtualThreads, modelStub)) {
+			LoadResult result = fire(index -> HttpRequest.newBuilder()
+				.uri(URI.create("http://localhost:" + port(context) + "/api/storyPlot/" + index + "/extractCasting"))
+				.timeout(REQUEST_TIMEOUT)
+				.GET()
+				.build());
+
+			report("extractCasting", virtualThreads, result, modelStub.peak(ModelStub.EXTRACT_CAST));
+			assertThat(result.count(200)).isEqualTo(CONCURRENT_REQUESTS);
+			if (virtualThreads) {
+				assertThat(modelStub.peak(ModelStub.EXTRACT_CAST)).isGreaterThan(TOMCAT_MAX_THREADS);
+			} else {
+				assertThat(modelStub.peak(ModelStub.EXTRACT_CAST)).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+			}
+		}
+	}
+
+	@ParameterizedTest(name = "virtualThreads={0}")
+	@ValueSource(booleans = {false, true})
+	void imageCapacity(boolean virtualThreads) throws Exception {
+		ModelStub modelStub = new ModelStub(MODEL_LATENCY);
+		try (ConfigurableApplicationContext context = start(virtualThreads, modelStub)) {
+			LoadResult result = fire(index -> HttpRequest.newBuilder()
+				.uri(URI.create("http://localhost:" + port(context) + "/api/casting/image"))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+					"{\"name\":\"cast-" + index + "\",\"age\":20,\"gender\":\"F\",\"role\":\"lead\",\"detail\":\"\"}"))
+				.build());
+
+			report("image", virtualThreads, result, modelStub.peak(ModelStub.CREATE_IMAGE));
+			assertThat(result.count(202)).isGreaterThanOrEqualTo(IMAGE_POOL_SIZE + IMAGE_QUEUE_CAPACITY);
+			assertThat(result.count(202) + result.count(503)).isEqualTo(CONCURRENT_REQUESTS);
+			assertThat(modelStub.peak(ModelStub.CREATE_IMAGE)).isLessThanOrEqualTo(IMAGE_POOL_SIZE);
+		}
+	}
+
+	private static ConfigurableApplicationContext start(boolean virtualThreads, ModelStub modelStub) {
+		return new SpringApplicationBuilder(HarnessConfig.class)
+			.initializers(context -> context.getBeanFactory().registerSingleton("modelStub", modelStub))
+			.run("--server.port=0",
+				"--spring.main.banner-mode=off",
+				"--spring.threads.virtual.enabled=" + virtualThreads,
+				"--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+				"--image.job.executor.pool-size=" + IMAGE_POOL_SIZE,
+				"--image.job.executor.queue-capacity=" + IMAGE_QUEUE_CAPACITY,
+				"--image.job.delivery=BASE64");
+	}
+
+	private static int port(ConfigurableApplicationContext context) {
+		return ((WebServerApplicationContext)context).getWebServer().getPort();
+	}
+
+	private static LoadResult fire(RequestFactory requestFactory) {
+		try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clientExecutor)
+				.build();
+			long startedAt = System.nanoTime();
+			List<CompletableFuture<Sample>> samples = new ArrayList<>();
+			for (int i = 1; i <= CONCURRENT_REQUESTS; i++) {
+				long sentAt = System.nanoTime();
+				samples.add(client.sendAsync(requestFactory.create(i), HttpResponse.BodyHandlers.discarding())
+					.thenApply(response -> new Sample(response.statusCode(), System.nanoTime() - sentAt))
+					.exceptionally(e -> new Sample(-1, System.nanoTime() - sentAt)));
+			}
+			List<Sample> results = samples.stream().map(CompletableFuture::join).toList();
+			return new LoadResult(results, Duration.ofNanos(System.nanoTime() - startedAt));
+		}
+	}
+
+	private static void report(String endpoint, boolean virtualThreads, LoadResult result, int peakModelCalls) {
+		System.out.printf("[load] %s virtualThreads=%s requests=%d statuses=%s peakInFlightModelCalls=%d "
+				+ "p50=%dms p99=%dms wall=%dms%n",
+			endpoint, virtualThreads, CONCURRENT_REQUESTS, result.statusCounts(), peakModelCalls,
+			result.percentileMillis(50), result.percentileMillis(99), result.wall().toMillis());
+	}
+
+	@FunctionalInterface
+	private interface RequestFactory {
+		HttpRequest create(int index);
+	}
+
+	private record Sample(int status, long latencyNanos) {
+	}
+
+	private record LoadResult(List<Sample> samples, Duration wall) {
+
+		long count(int status) {
+			return samples.stream().filter(sample -> sample.status() == status).count();
+		}
+
+		Map<Integer, Long> statusCounts() {
+			Map<Integer, Long> counts = new ConcurrentHashMap<>();
+			samples.forEach(sample -> counts.merge(sample.status(), 1L, Long::sum));
+			return counts;
+		}
+
+		long percentileMillis(int percentile) {
+			long[] sorted = samples.stream().mapToLong(Sample::latencyNanos).sorted().toArray();
+			int index = Math.max(0, (int)Math.ceil(sorted.length * percentile / 100.0) - 1);
+			return Duration.ofNanos(sorted[index]).toMillis();
+		}
+	}
+
+	/**
+	 * OpenAI 호출 대신 고정 시간 동안 현재 스레드를 멈추고, 동시에 대기 중인 호출 수의 최댓값을 기록한다.
+	 */
+	static class ModelStub {
+
+		static final String EXTRACT_CAST = "extract-cast";
+		static final String CREATE_IMAGE = "create-image";
+
+		private final Duration latency;
+		private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> peaks = new ConcurrentHashMap<>();
+
+		ModelStub(Duration latency) {
+			this.latency = latency;
+		}
+
+		void call(String operation) {
+			AtomicInteger current = inFlight.computeIfAbsent(operation, key -> new AtomicInteger());
+			peaks.computeIfAbsent(operation, key -> new AtomicInteger())
+				.accumulateAndGet(current.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(latency);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				current.decrementAndGet();
+			}
+		}
+
+		int peak(String operation) {
+			AtomicInteger peak = peaks.get(operation);
+			return peak == null ? 0 : peak.get();
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ImportAutoConfiguration({
+		ServletWebServerFactoryAutoConfiguration.class,
+		EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+		DispatcherServletAutoConfiguration.class,
+		WebMvcAutoConfiguration.class,
+		HttpMessageConvertersAutoConfiguration.class,
+		JacksonAutoConfiguration.class
+	})
+	@Import({CastingController.class, StoryPlotController.class, GlobalExceptionHandler.class, ImageJobConfig.class,
+		ImageJobService.class})
+	static class HarnessConfig {
+
+		@Bean
+		OpenAiUtil openAiUtil(ModelStub modelStub) {
+			OpenAiUtil openAiUtil = mock(OpenAiUtil.class);
+			when(openAiUtil.createImage(anyString())).thenAnswer(invocation -> {
+				modelStub.call(ModelStub.CREATE_IMAGE);
+				return "aW1hZ2U=";
+			});
+			return openAiUtil;
+		}
+
+		@Bean
+		ImageJobStore imageJobStore() {
+			return mock(ImageJobStore.class);
+		}
+
+		@Bean
+		S3FileUtil s3FileUtil() {
+			return mock(S3FileUtil.class);
+		}
+
+		@Bean
+		CastingService castingService(ImageJobService imageJobService) {
+			CastingService castingService = mock(CastingService.class);
+			when(castingService.generateCharacterImage(any(CastingRequestDto.class))).thenAnswer(invocation -> {
+				CastingRequestDto request = invocation.getArgument(0);
+				return ResponseEntity.accepted().body(imageJobService.submit(request.name(), "casting"));
+			});
+			return castingService;
+		}
+
+		@Bean
+		StoryPlotService storyPlotService(ModelStub modelStub) {
+			StoryPlotService storyPlotService = mock(StoryPlotService.class);
+			when(storyPlotService.extractCasts(anyLong())).thenAnswer(invocation -> {
+				modelStub.call(ModelStub.EXTRACT_CAST);
+				return List.of();
+			});
+			return storyPlotService;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.ddj.owing.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 통합 테스트가 함께 쓰는 Postgres, Neo4j, Redis 컨테이너.
+ * 같은 설정의 테스트는 Spring 컨텍스트 캐시로 컨테이너를 공유한다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+	@Bean
+	@ServiceConnection
+	PostgreSQLContainer<?> postgresContainer() {
+		return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine")).withDatabaseName("owing");
+	}
+
+	@Bean
+	@ServiceConnection
+	Neo4jContainer<?> neo4jContainer() {
+		return new Neo4jContainer<>(DockerImageName.parse("neo4j:5"));
+	}
+
+	@Bean
+	@ServiceConnection(name = "redis")
+	GenericContainer<?> redisContainer() {
+		return new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+	}
+}